@@ -0,0 +1,383 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * AssetPipeline bundles and minifies first-party css and js, then writes precompressed variants of static assets
+ * Runs as single-file program during process-resources, on resources already copied to output directory
+ * <p>
+ * Usage: java AssetPipeline.java bundles.properties target/classes/static
+ * <p>
+ * Brotli variants are written only if brotli command is available, gzip variants are always written
+ */
+public class AssetPipeline
+{
+    /**
+     * Extensions of files, which are worth compressing
+     */
+    private static final Set<String> COMPRESSIBLE = Set.of("css", "js", "svg", "ico", "json");
+
+    /**
+     * Files smaller than this are served as they are
+     */
+    private static final int MIN_COMPRESS_SIZE = 512;
+
+    /**
+     * Keywords, after which slash starts regex literal
+     */
+    private static final Set<String> REGEX_KEYWORDS = Set.of("case", "delete", "do", "else", "in", "instanceof", "new", "of", "return", "throw", "typeof", "void", "yield");
+
+    public static void main(final String[] args) throws IOException, InterruptedException
+    {
+        if (args.length != 2)
+        {
+            throw new IllegalArgumentException("Usage: java AssetPipeline.java <bundles.properties> <static directory>");
+        }
+
+        Path staticDirectory = Path.of(args[1]);
+        Properties bundles = new Properties();
+
+        try (InputStream inputStream = Files.newInputStream(Path.of(args[0])))
+        {
+            bundles.load(inputStream);
+        }
+
+        for (String bundle : bundles.stringPropertyNames())
+        {
+            writeBundle(staticDirectory, bundle, bundles.getProperty(bundle).split("\\s*,\\s*"));
+        }
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(staticDirectory))
+        {
+            files = stream.filter(Files::isRegularFile).filter(AssetPipeline::isCompressible).toList();
+        }
+
+        boolean brotli = isBrotliAvailable();
+        if (!brotli)
+        {
+            System.out.println("[asset-pipeline] brotli command not found, writing gzip variants only");
+        }
+
+        for (Path file : files)
+        {
+            gzip(file);
+
+            if (brotli)
+            {
+                brotli(file);
+            }
+        }
+
+        System.out.printf("[asset-pipeline] %d bundles, %d files precompressed%n", bundles.size(), files.size());
+    }
+
+    /**
+     * Concatenates and minifies sources into one bundle
+     *
+     * @param staticDirectory root of static resources
+     * @param bundle bundle path relative to root
+     * @param sources source paths relative to root, in load order
+     */
+    private static void writeBundle(final Path staticDirectory, final String bundle, final String[] sources) throws IOException
+    {
+        StringBuilder content = new StringBuilder();
+
+        for (String source : sources)
+        {
+            String text = Files.readString(staticDirectory.resolve(source), StandardCharsets.UTF_8);
+            content.append(bundle.endsWith(".css") ? minifyCss(text) : minifyJs(text)).append('\n');
+        }
+
+        Files.writeString(staticDirectory.resolve(bundle), content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Removes comments and whitespace, which does not change meaning of stylesheet
+     *
+     * @param css stylesheet source
+     * @return minified stylesheet
+     */
+    static String minifyCss(final String css)
+    {
+        return css.replaceAll("(?s)/\\*.*?\\*/", "")
+                .replaceAll("\\s+", " ")
+                .replaceAll("\\s*([{};,>])\\s*", "$1")
+                .replaceAll(":\\s+", ":")
+                .replace(";}", "}")
+                .trim();
+    }
+
+    /**
+     * Removes comments, indentation and blank lines
+     * Line breaks are kept, so automatic semicolon insertion is not affected, and string, template and regex literals
+     * are copied as they are, so comment markers inside them are kept
+     *
+     * @param js script source
+     * @return minified script
+     */
+    static String minifyJs(final String js)
+    {
+        StringBuilder result = new StringBuilder();
+        int length = js.length();
+        int i = 0;
+
+        while (i < length)
+        {
+            char c = js.charAt(i);
+            char next = (i + 1 < length) ? js.charAt(i + 1) : 0;
+
+            if ((c == '/') && (next == '/'))
+            {
+                while ((i < length) && (js.charAt(i) != '\n') && (js.charAt(i) != '\r'))
+                {
+                    i++;
+                }
+            }
+            else if ((c == '/') && (next == '*'))
+            {
+                int end = js.indexOf("*/", i + 2);
+                end = (end < 0) ? length : end + 2;
+
+                // Comment spanning lines still separates them, code after comment stays
+                boolean lineBreak = js.substring(i, end).contains("\n");
+                i = end;
+
+                if (lineBreak)
+                {
+                    appendLineBreak(result);
+                }
+
+                if (result.isEmpty() || (result.charAt(result.length() - 1) == '\n'))
+                {
+                    i = skipIndentation(js, i);
+                }
+                else
+                {
+                    result.append(' ');
+                }
+            }
+            else if ((c == '"') || (c == '\'') || (c == '`') || ((c == '/') && isRegexStart(result)))
+            {
+                int end = skipLiteral(js, i);
+                result.append(js, i, end);
+                i = end;
+            }
+            else if ((c == '\n') || (c == '\r'))
+            {
+                appendLineBreak(result);
+                i = skipIndentation(js, i + 1);
+            }
+            else
+            {
+                result.append(c);
+                i++;
+            }
+        }
+
+        appendLineBreak(result);
+
+        return result.toString();
+    }
+
+    /**
+     * Removes trailing whitespace of last line and ends it, blank lines are not written
+     */
+    private static void appendLineBreak(final StringBuilder result)
+    {
+        int end = result.length();
+
+        while ((end > 0) && ((result.charAt(end - 1) == ' ') || (result.charAt(end - 1) == '\t')))
+        {
+            end--;
+        }
+        result.setLength(end);
+
+        if ((end > 0) && (result.charAt(end - 1) != '\n'))
+        {
+            result.append('\n');
+        }
+    }
+
+    /**
+     * @return index of first character after line breaks and indentation
+     */
+    private static int skipIndentation(final String js, final int start)
+    {
+        int i = start;
+
+        while ((i < js.length()) && Character.isWhitespace(js.charAt(i)))
+        {
+            i++;
+        }
+
+        return i;
+    }
+
+    /**
+     * Finds end of string, template or regex literal, which starts at given index
+     * Templates are scanned to closing backtick, so backticks nested in ${} expressions are not supported
+     *
+     * @return index after closing quote, or after flags of regex
+     */
+    private static int skipLiteral(final String js, final int start)
+    {
+        char quote = js.charAt(start);
+        boolean inClass = false;
+        int i = start + 1;
+
+        while (i < js.length())
+        {
+            char c = js.charAt(i);
+
+            if (c == '\\')
+            {
+                i += 2;
+                continue;
+            }
+            if ((quote == '/') && (c == '['))
+            {
+                inClass = true;
+            }
+            else if ((quote == '/') && (c == ']'))
+            {
+                inClass = false;
+            }
+            else if ((c == quote) && !inClass)
+            {
+                i++;
+                break;
+            }
+            else if ((c == '\n') && (quote != '`'))
+            {
+                break;
+            }
+            i++;
+        }
+
+        while ((quote == '/') && (i < js.length()) && Character.isLetter(js.charAt(i)))
+        {
+            i++;
+        }
+
+        return i;
+    }
+
+    /**
+     * Checks, if slash starts regex literal rather than division, by code before it
+     *
+     * @param code minified code so far
+     * @return true, if slash follows operator, bracket, keyword or starts script
+     */
+    private static boolean isRegexStart(final CharSequence code)
+    {
+        int end = code.length();
+
+        while ((end > 0) && Character.isWhitespace(code.charAt(end - 1)))
+        {
+            end--;
+        }
+        if (end == 0)
+        {
+            return true;
+        }
+
+        char last = code.charAt(end - 1);
+
+        if ("(,=:[!&|?{};+-*%<>~^".indexOf(last) >= 0)
+        {
+            return true;
+        }
+
+        int start = end;
+
+        while ((start > 0) && Character.isJavaIdentifierPart(code.charAt(start - 1)))
+        {
+            start--;
+        }
+
+        return REGEX_KEYWORDS.contains(code.subSequence(start, end).toString());
+    }
+
+    /**
+     * Checks, if file should get precompressed variants
+     *
+     * @param file static file
+     * @return true, if file has compressible extension and is large enough
+     */
+    private static boolean isCompressible(final Path file)
+    {
+        String name = file.getFileName().toString();
+        String extension = name.substring(name.lastIndexOf('.') + 1);
+
+        try
+        {
+            return COMPRESSIBLE.contains(extension) && (Files.size(file) >= MIN_COMPRESS_SIZE);
+        }
+        catch (IOException exception)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Writes file.gz with best compression
+     *
+     * @param file static file
+     */
+    private static void gzip(final Path file) throws IOException
+    {
+        Path target = file.resolveSibling(file.getFileName() + ".gz");
+
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(target))
+        {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        })
+        {
+            Files.copy(file, outputStream);
+        }
+    }
+
+    /**
+     * Writes file.br with best compression, using brotli command
+     *
+     * @param file static file
+     */
+    private static void brotli(final Path file) throws IOException, InterruptedException
+    {
+        Process process = new ProcessBuilder("brotli", "--best", "--force", "--keep", file.toString()).inheritIO().start();
+
+        if (process.waitFor() != 0)
+        {
+            throw new IOException("brotli failed for " + file);
+        }
+    }
+
+    /**
+     * Checks, if brotli command can be executed
+     *
+     * @return true, if brotli is installed
+     */
+    private static boolean isBrotliAvailable() throws InterruptedException
+    {
+        try
+        {
+            return new ProcessBuilder("brotli", "--version").redirectErrorStream(true).start().waitFor() == 0;
+        }
+        catch (IOException exception)
+        {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IndexBenchmark measures time to first byte and full render of dashboard of a running Ward
+ * Full render is the whole index page plus the requests, which fill its cards, made one after another like index.js does
+ * <p>
+ * Usage: java src/build/IndexBenchmark.java [--url=http://localhost:4000] [--runs=50] [--warmup=5] [--paths=/api/snapshot]
+ * <p>
+ * To compare two builds, start each one with the same profile and setup.ini and run the benchmark against it.
+ * Builds, which rendered info cards in index page, need --paths= with no value
+ */
+public class IndexBenchmark
+{
+    public static void main(final String[] args) throws IOException, InterruptedException
+    {
+        Map<String, String> options = parseOptions(args);
+
+        String url = options.getOrDefault("url", "http://localhost:4000");
+        int runs = Integer.parseInt(options.getOrDefault("runs", "50"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        List<String> paths = new ArrayList<>();
+
+        for (String path : options.getOrDefault("paths", "/api/snapshot").split(","))
+        {
+            if (!path.isBlank())
+            {
+                paths.add(path.trim());
+            }
+        }
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest index = HttpRequest.newBuilder(URI.create(url + "/")).timeout(Duration.ofSeconds(30)).build();
+        List<HttpRequest> requests = new ArrayList<>();
+
+        for (String path : paths)
+        {
+            requests.add(HttpRequest.newBuilder(URI.create(url + path)).header("Accept", "application/json").timeout(Duration.ofSeconds(30)).build());
+        }
+
+        long[] firstByte = new long[runs];
+        long[] fullRender = new long[runs];
+        String serverTiming = null;
+
+        for (int i = -warmup; i < runs; i++)
+        {
+            long start = System.nanoTime();
+            HttpResponse<InputStream> response = httpClient.send(index, HttpResponse.BodyHandlers.ofInputStream());
+
+            if (response.statusCode() != 200)
+            {
+                throw new IOException("Index answered with " + response.statusCode() + ", is Ward set up?");
+            }
+
+            long firstByteNanos;
+            try (InputStream inputStream = response.body())
+            {
+                inputStream.read();
+                firstByteNanos = System.nanoTime() - start;
+                inputStream.transferTo(OutputStream.nullOutputStream());
+            }
+
+            for (HttpRequest request : requests)
+            {
+                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+
+            if (i >= 0)
+            {
+                firstByte[i] = firstByteNanos;
+                fullRender[i] = System.nanoTime() - start;
+                serverTiming = response.headers().firstValue("Server-Timing").orElse(serverTiming);
+            }
+        }
+
+        System.out.printf("%-12s %10s %10s %10s%n", "target", "min ms", "median ms", "max ms");
+        print("first byte", firstByte);
+        print("full render", fullRender);
+        System.out.println("Server-Timing of last index: " + ((serverTiming != null) ? serverTiming : "not reported"));
+    }
+
+    /**
+     * Prints min, median and max of one target
+     */
+    private static void print(final String target, final long[] nanos)
+    {
+        Arrays.sort(nanos);
+        System.out.printf(Locale.ROOT, "%-12s %10.2f %10.2f %10.2f%n", target, toMillis(nanos[0]), toMillis(nanos[nanos.length / 2]), toMillis(nanos[nanos.length - 1]));
+    }
+
+    /**
+     * Converts nanoseconds to fractional milliseconds
+     *
+     * @return double with milliseconds
+     */
+    private static double toMillis(final long nanos)
+    {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Parses --key=value arguments
+     *
+     * @return Map of options
+     */
+    private static Map<String, String> parseOptions(final String[] args)
+    {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args)
+        {
+            int separator = arg.indexOf('=');
+
+            if (!arg.startsWith("--") || (separator < 0))
+            {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        return options;
+    }
+}
@@ -0,0 +1,659 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+/**
+ * LoadTest simulates dashboards polling a running Ward and checks latency against service level objectives
+ * Every client runs on its own virtual thread and repeats the dashboard sequence: requests paths one after another,
+ * then waits for the poll interval, like index.js does with setTimeout after each response.
+ * By default clients poll /api/snapshot like index.js: CBOR with ETags of known sections in If-None-Match,
+ * so unchanged sections are omitted and unchanged snapshot is answered with 304. Other paths are requested as json
+ * <p>
+ * Usage: java src/build/LoadTest.java [--url=http://localhost:4000] [--clients=100] [--duration=60] [--warmup=10]
+ * [--interval=1000] [--paths=/api/snapshot] [--slo=src/build/load-test-slo.properties] [--pid=1234]
+ * <p>
+ * --paths=/api/usage,/api/info,/api/uptime simulates dashboards of Ward before snapshot endpoint
+ * <p>
+ * Exits with status 1, if any objective is missed, so it can gate a build or a benchmark script
+ */
+public class LoadTest
+{
+    /**
+     * Pattern of processor usage in /api/usage json
+     */
+    private static final Pattern PROCESSOR = Pattern.compile("\"processor\"\\s*:\\s*(\\d+)");
+
+    /**
+     * Path, which dashboard polls
+     */
+    private static final String SNAPSHOT_PATH = "/api/snapshot";
+
+    public static void main(final String[] args) throws IOException, InterruptedException
+    {
+        Map<String, String> options = parseOptions(args);
+
+        URI url = URI.create(options.getOrDefault("url", "http://localhost:4000"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "100"));
+        long duration = Long.parseLong(options.getOrDefault("duration", "60")) * 1_000_000_000L;
+        long warmup = Long.parseLong(options.getOrDefault("warmup", "10")) * 1_000_000_000L;
+        long interval = Long.parseLong(options.getOrDefault("interval", "1000"));
+        List<String> paths = List.of(options.getOrDefault("paths", SNAPSHOT_PATH).split("\\s*,\\s*"));
+        Properties slo = loadSlo(Path.of(options.getOrDefault("slo", "src/build/load-test-slo.properties")));
+        Optional<ProcessHandle> server = Optional.ofNullable(options.get("pid")).flatMap(pid -> ProcessHandle.of(Long.parseLong(pid)));
+
+        System.out.printf("[load-test] %d clients polling %s every %d ms for %d s after %d s warmup%n",
+                clients, paths, interval, duration / 1_000_000_000L, warmup / 1_000_000_000L);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        long start = System.nanoTime();
+        long measureStart = start + warmup;
+        long end = measureStart + duration;
+
+        List<Client> running = new ArrayList<>();
+        long serverCpuStart;
+        long serverCpuEnd;
+
+        // Closing executor waits for requests still in flight, so results are complete and visible
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (int i = 0; i < clients; i++)
+            {
+                Client client = new Client(httpClient, url, paths, interval, measureStart, end);
+                running.add(client);
+                executor.submit(client);
+            }
+
+            serverCpuStart = waitUntil(measureStart, server);
+            serverCpuEnd = waitUntil(end, server);
+        }
+
+        report(running, paths, duration, ((serverCpuStart >= 0) && (serverCpuEnd >= 0)) ? serverCpuEnd - serverCpuStart : -1, slo);
+    }
+
+    /**
+     * Sleeps until given time, then reads cumulative processor time of server
+     *
+     * @return long with server processor nanoseconds, or -1 if server process is unknown
+     */
+    private static long waitUntil(final long time, final Optional<ProcessHandle> server) throws InterruptedException
+    {
+        long remaining = time - System.nanoTime();
+
+        if (remaining > 0)
+        {
+            Thread.sleep(Duration.ofNanos(remaining));
+        }
+
+        return server.flatMap(process -> process.info().totalCpuDuration()).map(Duration::toNanos).orElse(-1L);
+    }
+
+    /**
+     * Prints results of measured window and exits with status 1, if any objective is missed
+     */
+    private static void report(final List<Client> clients, final List<String> paths, final long duration, final long serverCpu, final Properties slo)
+    {
+        double seconds = duration / 1E9;
+        List<String> violations = new ArrayList<>();
+        long totalCount = 0;
+        long totalErrors = 0;
+
+        System.out.printf("%-20s %10s %10s %10s %10s %10s %8s %8s%n", "path", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "304", "errors");
+
+        for (int i = 0; i < paths.size(); i++)
+        {
+            final int path = i;
+            long[] latencies = clients.stream().map(client -> client.latencies[path]).flatMapToLong(LongList::stream).sorted().toArray();
+            long errors = clients.stream().mapToLong(client -> client.errors[path]).sum();
+            long notModified = clients.stream().mapToLong(client -> client.notModified[path]).sum();
+
+            double p50 = percentile(latencies, 0.50) / 1E6;
+            double p99 = percentile(latencies, 0.99) / 1E6;
+            double max = (latencies.length > 0) ? latencies[latencies.length - 1] / 1E6 : 0;
+
+            System.out.printf(Locale.ROOT, "%-20s %10d %10.1f %10.2f %10.2f %10.2f %8d %8d%n",
+                    paths.get(i), latencies.length, latencies.length / seconds, p50, p99, max, notModified, errors);
+
+            checkMax(violations, slo, paths.get(i) + ".p50", p50);
+            checkMax(violations, slo, paths.get(i) + ".p99", p99);
+
+            totalCount += latencies.length;
+            totalErrors += errors;
+        }
+
+        double throughput = totalCount / seconds;
+        double errorRate = (totalCount > 0) ? (double) totalErrors / totalCount : 1;
+        double expected = clients.size() * paths.size() * 1000.0 / clients.getFirst().interval;
+
+        System.out.printf(Locale.ROOT, "%nthroughput %.1f req/s (%.0f%% of %.1f offered), error rate %.4f%n",
+                throughput, throughput * 100 / expected, expected, errorRate);
+
+        if (serverCpu >= 0)
+        {
+            double cores = serverCpu / (double) duration;
+            System.out.printf(Locale.ROOT, "server cpu %.2f cores, %.1f%% of machine%n", cores, cores * 100 / Runtime.getRuntime().availableProcessors());
+            checkMax(violations, slo, "serverCpuCores", cores);
+        }
+
+        double hostProcessor = clients.stream().flatMapToLong(client -> client.processor.stream()).average().orElse(Double.NaN);
+        if (!Double.isNaN(hostProcessor))
+        {
+            System.out.printf(Locale.ROOT, "host processor reported by Ward %.1f%%%n", hostProcessor);
+        }
+
+        checkMax(violations, slo, "errorRate", errorRate);
+        checkMin(violations, slo, "throughputRatio", throughput / expected);
+
+        if (violations.isEmpty())
+        {
+            System.out.println("[load-test] all objectives met");
+        }
+        else
+        {
+            violations.forEach(violation -> System.out.println("[load-test] objective missed: " + violation));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Adds violation, if value is above objective
+     */
+    private static void checkMax(final List<String> violations, final Properties slo, final String key, final double value)
+    {
+        String objective = slo.getProperty(key);
+
+        if ((objective != null) && (value > Double.parseDouble(objective)))
+        {
+            violations.add(String.format(Locale.ROOT, "%s is %.4f, allowed at most %s", key, value, objective));
+        }
+    }
+
+    /**
+     * Adds violation, if value is below objective
+     */
+    private static void checkMin(final List<String> violations, final Properties slo, final String key, final double value)
+    {
+        String objective = slo.getProperty(key);
+
+        if ((objective != null) && (value < Double.parseDouble(objective)))
+        {
+            violations.add(String.format(Locale.ROOT, "%s is %.4f, required at least %s", key, value, objective));
+        }
+    }
+
+    /**
+     * Gets value at percentile by nearest rank
+     *
+     * @param sorted values in ascending order
+     * @param rank percentile between 0 and 1
+     * @return long with value, 0 for no values
+     */
+    private static long percentile(final long[] sorted, final double rank)
+    {
+        if (sorted.length == 0)
+        {
+            return 0;
+        }
+
+        return sorted[Math.max(0, Math.min(sorted.length - 1, (int) Math.ceil(rank * sorted.length) - 1))];
+    }
+
+    /**
+     * Parses --key=value arguments
+     *
+     * @return Map of options
+     */
+    private static Map<String, String> parseOptions(final String[] args)
+    {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args)
+        {
+            int separator = arg.indexOf('=');
+
+            if (!arg.startsWith("--") || (separator < 0))
+            {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        return options;
+    }
+
+    /**
+     * Loads objectives, missing file means no objectives
+     *
+     * @return Properties with objectives
+     */
+    private static Properties loadSlo(final Path file) throws IOException
+    {
+        Properties slo = new Properties();
+
+        if (Files.exists(file))
+        {
+            try (InputStream inputStream = Files.newInputStream(file))
+            {
+                slo.load(inputStream);
+            }
+        }
+        else
+        {
+            System.out.println("[load-test] " + file + " not found, reporting without objectives");
+        }
+
+        return slo;
+    }
+
+    /**
+     * Client is one simulated dashboard, latencies are kept per client, so clients never contend
+     */
+    private static final class Client implements Runnable
+    {
+        private final HttpClient httpClient;
+
+        private final List<HttpRequest> requests = new ArrayList<>();
+
+        /**
+         * ETags of snapshot sections from last snapshot response, without quotes, like snapshotETags of index.js
+         */
+        private Map<String, String> snapshotETags = Map.of();
+
+        private final long interval;
+
+        private final long measureStart;
+
+        private final long end;
+
+        /**
+         * Latencies in nanoseconds of measured requests, by path
+         */
+        private final LongList[] latencies;
+
+        /**
+         * Failed measured requests, by path
+         */
+        private final long[] errors;
+
+        /**
+         * Measured requests answered with 304, by path
+         */
+        private final long[] notModified;
+
+        /**
+         * Processor usage reported in /api/usage responses and usage section of snapshots
+         */
+        private final LongList processor = new LongList();
+
+        private Client(final HttpClient httpClient, final URI url, final List<String> paths, final long interval, final long measureStart, final long end)
+        {
+            this.httpClient = httpClient;
+            this.interval = interval;
+            this.measureStart = measureStart;
+            this.end = end;
+            this.latencies = new LongList[paths.size()];
+            this.errors = new long[paths.size()];
+            this.notModified = new long[paths.size()];
+
+            for (int i = 0; i < paths.size(); i++)
+            {
+                requests.add(HttpRequest.newBuilder(url.resolve(paths.get(i)))
+                        .header("Accept", paths.get(i).equals(SNAPSHOT_PATH) ? "application/cbor" : "application/json")
+                        .timeout(Duration.ofSeconds(10))
+                        .build());
+                latencies[i] = new LongList();
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                // Dashboards are not opened at the same moment
+                Thread.sleep(ThreadLocalRandom.current().nextLong(interval + 1));
+
+                while (System.nanoTime() < end)
+                {
+                    for (int i = 0; i < requests.size(); i++)
+                    {
+                        send(i);
+                    }
+
+                    Thread.sleep(interval);
+                }
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Sends one request and records its latency, if it falls into measured window
+         * Snapshot response is decoded like index.js does, to keep ETags for next request
+         */
+        private void send(final int path) throws InterruptedException
+        {
+            HttpRequest request = requests.get(path);
+            boolean snapshot = request.uri().getPath().equals(SNAPSHOT_PATH);
+
+            if (snapshot && !snapshotETags.isEmpty())
+            {
+                request = HttpRequest.newBuilder(request, (name, value) -> true)
+                        .header("If-None-Match", String.join(", ", snapshotETags.values().stream().map(eTag -> "\"" + eTag + "\"").toList()))
+                        .build();
+            }
+
+            long start = System.nanoTime();
+            int status = 0;
+            byte[] body = null;
+            long usage = -1;
+
+            try
+            {
+                HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                status = response.statusCode();
+                body = response.body();
+
+                if (snapshot && (status == 200))
+                {
+                    Snapshot decoded = Snapshot.decode(body);
+                    snapshotETags = decoded.eTags();
+                    usage = decoded.processor();
+                }
+            }
+            catch (IOException | IllegalArgumentException exception)
+            {
+                status = 0;
+            }
+
+            long stop = System.nanoTime();
+
+            if ((start >= measureStart) && (stop <= end))
+            {
+                latencies[path].add(stop - start);
+
+                if ((status != 200) && (status != 304))
+                {
+                    errors[path]++;
+                }
+                else if (status == 304)
+                {
+                    notModified[path]++;
+                }
+                else if (snapshot)
+                {
+                    if (usage >= 0)
+                    {
+                        processor.add(usage);
+                    }
+                }
+                else if (request.uri().getPath().equals("/api/usage"))
+                {
+                    Matcher matcher = PROCESSOR.matcher(new String(body, StandardCharsets.UTF_8));
+
+                    if (matcher.find())
+                    {
+                        processor.add(Long.parseLong(matcher.group(1)));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Snapshot holds what dashboard keeps from CBOR snapshot response
+     *
+     * @param eTags ETags of all sections, without quotes
+     * @param processor processor usage, -1 if usage section is omitted
+     */
+    private record Snapshot(Map<String, String> eTags, long processor)
+    {
+        /**
+         * Decodes top level map, reads "etags" and processor of "usage", skips other sections
+         *
+         * @throws IllegalArgumentException if body is not CBOR map
+         */
+        private static Snapshot decode(final byte[] body)
+        {
+            CborReader reader = new CborReader(body);
+            Map<String, String> eTags = new LinkedHashMap<>();
+            long processor = -1;
+            long entries = reader.readLength(5);
+
+            for (long i = 0; (entries < 0) ? !reader.readBreak() : (i < entries); i++)
+            {
+                String key = reader.readText();
+
+                if (key.equals("etags"))
+                {
+                    long count = reader.readLength(5);
+                    for (long j = 0; (count < 0) ? !reader.readBreak() : (j < count); j++)
+                    {
+                        eTags.put(reader.readText(), reader.readText());
+                    }
+                }
+                else if (key.equals("usage"))
+                {
+                    long count = reader.readLength(5);
+                    for (long j = 0; (count < 0) ? !reader.readBreak() : (j < count); j++)
+                    {
+                        if (reader.readText().equals("processor"))
+                        {
+                            processor = reader.readUnsigned();
+                        }
+                        else
+                        {
+                            reader.skip();
+                        }
+                    }
+                }
+                else
+                {
+                    reader.skip();
+                }
+            }
+
+            return new Snapshot(eTags, processor);
+        }
+    }
+
+    /**
+     * CborReader reads just enough CBOR for snapshot responses: lengths, text, unsigned integers and skipping of other items
+     */
+    private static final class CborReader
+    {
+        private final byte[] bytes;
+
+        private int position;
+
+        private CborReader(final byte[] bytes)
+        {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Reads header of item with expected major type
+         *
+         * @return long with length or value, -1 for indefinite length
+         */
+        private long readLength(final int majorType)
+        {
+            int initial = next();
+
+            if ((initial >>> 5) != majorType)
+            {
+                throw new IllegalArgumentException("Expected CBOR major type " + majorType + ", got " + (initial >>> 5));
+            }
+
+            return readArgument(initial & 0x1F);
+        }
+
+        private long readArgument(final int info)
+        {
+            if (info < 24)
+            {
+                return info;
+            }
+            if (info == 31)
+            {
+                return -1;
+            }
+            if (info > 27)
+            {
+                throw new IllegalArgumentException("Invalid CBOR additional information " + info);
+            }
+
+            long value = 0;
+            for (int i = 0; i < (1 << (info - 24)); i++)
+            {
+                value = (value << 8) | next();
+            }
+
+            return value;
+        }
+
+        private String readText()
+        {
+            int length = (int) readLength(3);
+
+            if (length < 0)
+            {
+                throw new IllegalArgumentException("Indefinite CBOR text is not supported");
+            }
+
+            String text = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+
+            return text;
+        }
+
+        private long readUnsigned()
+        {
+            return readLength(0);
+        }
+
+        /**
+         * Consumes break of indefinite length item, if it is next
+         *
+         * @return true, if break was consumed
+         */
+        private boolean readBreak()
+        {
+            if ((position < bytes.length) && ((bytes[position] & 0xFF) == 0xFF))
+            {
+                position++;
+                return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * Skips one item with all nested items
+         */
+        private void skip()
+        {
+            int initial = next();
+            int majorType = initial >>> 5;
+            long length = readArgument(initial & 0x1F);
+
+            switch (majorType)
+            {
+                case 0, 1 ->
+                {
+                }
+                case 2, 3 ->
+                {
+                    if (length < 0)
+                    {
+                        while (!readBreak())
+                        {
+                            skip();
+                        }
+                    }
+                    else
+                    {
+                        position += (int) length;
+                    }
+                }
+                case 4, 5 ->
+                {
+                    long items = (majorType == 5) ? length * 2 : length;
+                    for (long i = 0; (length < 0) ? !readBreak() : (i < items); i++)
+                    {
+                        skip();
+                    }
+                }
+                case 6 -> skip();
+                default ->
+                {
+                    // Simple values and floats carry their value in argument, which is already read
+                }
+            }
+        }
+
+        private int next()
+        {
+            if (position >= bytes.length)
+            {
+                throw new IllegalArgumentException("CBOR ends early");
+            }
+
+            return bytes[position++] & 0xFF;
+        }
+    }
+
+    /**
+     * LongList is growable array of primitive longs
+     */
+    private static final class LongList
+    {
+        private long[] values = new long[64];
+
+        private int size;
+
+        private void add(final long value)
+        {
+            if (size == values.length)
+            {
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            values[size++] = value;
+        }
+
+        private LongStream stream()
+        {
+            return Arrays.stream(values, 0, size);
+        }
+    }
+}
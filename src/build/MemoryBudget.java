@@ -0,0 +1,260 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemoryBudget boots Ward in low-memory profile, polls it like dashboards do and checks its resident set size against budget
+ * Ward is started from a temporary directory with setup.ini, so it starts configured, on real host unless --profiles says otherwise
+ * <p>
+ * Usage: java src/build/MemoryBudget.java --jar=target/ward.jar [--options=src/build/low-memory.options]
+ * [--budget=src/build/memory-budget.properties] [--profiles=low-memory] [--clients=5] [--duration=60] [--port=4000] [--calibrate=false]
+ * <p>
+ * Resident set size is read from /proc, so check runs only on Linux. Exits with status 1, if budget is exceeded.
+ * With --calibrate=true measured values with headroom are written to budget file instead of being checked
+ */
+public class MemoryBudget
+{
+    /**
+     * Paths, which every simulated dashboard polls
+     */
+    private static final List<String> PATHS = List.of("/api/usage", "/api/info", "/api/uptime", "/api/snapshot");
+
+    /**
+     * Headroom added to measured values, when budget is calibrated, in percent
+     */
+    private static final long CALIBRATION_HEADROOM = 25;
+
+    public static void main(final String[] args) throws IOException, InterruptedException
+    {
+        Map<String, String> options = parseOptions(args);
+
+        if (!options.containsKey("jar"))
+        {
+            throw new IllegalArgumentException("Usage: java MemoryBudget.java --jar=<ward.jar> [--options=<jvm options file>] [--budget=<properties>]");
+        }
+        if (!Files.isDirectory(Path.of("/proc/self")))
+        {
+            System.out.println("[memory-budget] /proc not available, check runs only on Linux");
+            return;
+        }
+
+        Path jar = Path.of(options.get("jar")).toAbsolutePath();
+        Path jvmOptions = Path.of(options.getOrDefault("options", "src/build/low-memory.options")).toAbsolutePath();
+        Path budgetFile = Path.of(options.getOrDefault("budget", "src/build/memory-budget.properties"));
+        Properties budget = loadBudget(budgetFile);
+        boolean calibrate = Boolean.parseBoolean(options.getOrDefault("calibrate", "false"));
+        String profiles = options.getOrDefault("profiles", "low-memory");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "5"));
+        long duration = Long.parseLong(options.getOrDefault("duration", "60"));
+        int port = Integer.parseInt(options.getOrDefault("port", "4000"));
+
+        Path work = Files.createTempDirectory("ward-memory");
+        Files.writeString(work.resolve("setup.ini"), "[setup]\nserverName = Ward\ntheme = light\nport = " + port
+                + "\nenableFog = true\nbackgroundColor = default\nlowPower = false\n");
+
+        List<String> command = List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString(), "@" + jvmOptions,
+                "--enable-preview", "--enable-native-access=ALL-UNNAMED", "-jar", jar.toString(), "--spring.profiles.active=" + profiles);
+
+        Process process = new ProcessBuilder(command).directory(work.toFile()).redirectErrorStream(true)
+                .redirectOutput(work.resolve("ward.log").toFile()).start();
+
+        long peak = 0;
+        long last = 0;
+
+        try
+        {
+            HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+            List<HttpRequest> requests = new ArrayList<>();
+            for (String path : PATHS)
+            {
+                requests.add(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).header("Accept", "application/json").build());
+            }
+
+            waitForStart(httpClient, requests.getFirst(), process, work);
+            System.out.printf("[memory-budget] %d clients polling %s every second for %d s, profiles %s%n", clients, PATHS, duration, profiles);
+
+            for (long second = 0; second < duration; second++)
+            {
+                long start = System.nanoTime();
+
+                // Same fixed workload every second: every client polls every path once
+                for (int client = 0; client < clients; client++)
+                {
+                    for (HttpRequest request : requests)
+                    {
+                        httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    }
+                }
+
+                last = getResidentSetSize(process.pid());
+                peak = Math.max(peak, last);
+
+                Thread.sleep(Math.max(0, 1000 - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            }
+        }
+        finally
+        {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+
+        long peakMib = peak >> 20;
+        long lastMib = last >> 20;
+        System.out.printf("[memory-budget] rss peak %d MiB, last %d MiB%n", peakMib, lastMib);
+
+        if (calibrate)
+        {
+            writeBudget(budgetFile, withHeadroom(peakMib), withHeadroom(lastMib), clients, duration);
+            System.out.println("[memory-budget] budget written to " + budgetFile);
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        check(violations, budget, "rss.peak.mib", peakMib);
+        check(violations, budget, "rss.last.mib", lastMib);
+
+        if (violations.isEmpty())
+        {
+            System.out.println("[memory-budget] within budget");
+        }
+        else
+        {
+            violations.forEach(violation -> System.out.println("[memory-budget] budget exceeded: " + violation));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Polls first path until Ward answers with 200
+     */
+    private static void waitForStart(final HttpClient httpClient, final HttpRequest request, final Process process, final Path work) throws IOException, InterruptedException
+    {
+        while (process.isAlive())
+        {
+            try
+            {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+                {
+                    return;
+                }
+            }
+            catch (IOException exception)
+            {
+                // Port is not open yet
+            }
+
+            Thread.sleep(100);
+        }
+
+        throw new IOException("Ward exited with status " + process.exitValue() + ", see " + work.resolve("ward.log"));
+    }
+
+    /**
+     * Reads VmRSS of process from /proc
+     *
+     * @return long with bytes
+     */
+    private static long getResidentSetSize(final long pid) throws IOException
+    {
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status")))
+        {
+            if (line.startsWith("VmRSS:"))
+            {
+                return Long.parseLong(line.replaceAll("\\D", "")) << 10;
+            }
+        }
+
+        throw new IOException("VmRSS missing in /proc/" + pid + "/status");
+    }
+
+    /**
+     * Adds violation, if value is above budget
+     */
+    private static void check(final List<String> violations, final Properties budget, final String key, final long value)
+    {
+        String limit = budget.getProperty(key);
+
+        if ((limit != null) && (value > Long.parseLong(limit)))
+        {
+            violations.add(key + " is " + value + ", allowed at most " + limit);
+        }
+    }
+
+    /**
+     * Adds calibration headroom
+     *
+     * @return long with value and headroom, rounded up to whole 8 MiB
+     */
+    private static long withHeadroom(final long mib)
+    {
+        long value = mib + (mib * CALIBRATION_HEADROOM / 100);
+
+        return ((value + 7) / 8) * 8;
+    }
+
+    /**
+     * Writes calibrated budget, replacing previous one
+     */
+    private static void writeBudget(final Path file, final long peakMib, final long lastMib, final int clients, final long duration) throws IOException
+    {
+        Files.writeString(file, "# Resident set size budget checked by MemoryBudget.java, in MiB, a missing key is not checked\n"
+                + "# Raise a budget in the same commit as the change, which needs more memory\n"
+                + "# Calibrated with --calibrate=true: " + clients + " clients for " + duration + " s on " + System.getProperty("os.arch")
+                + ", Java " + Runtime.version() + ", measured values plus " + CALIBRATION_HEADROOM + "%\n"
+                + "rss.peak.mib=" + peakMib + "\n"
+                + "rss.last.mib=" + lastMib + "\n");
+    }
+
+    /**
+     * Loads budget
+     *
+     * @return Properties with budget
+     */
+    private static Properties loadBudget(final Path file) throws IOException
+    {
+        Properties budget = new Properties();
+
+        try (InputStream inputStream = Files.newInputStream(file))
+        {
+            budget.load(inputStream);
+        }
+
+        return budget;
+    }
+
+    /**
+     * Parses --key=value arguments
+     *
+     * @return Map of options
+     */
+    private static Map<String, String> parseOptions(final String[] args)
+    {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args)
+        {
+            int separator = arg.indexOf('=');
+
+            if (!arg.startsWith("--") || (separator < 0))
+            {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        return options;
+    }
+}
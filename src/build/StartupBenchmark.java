@@ -0,0 +1,182 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StartupBenchmark measures time from launching Ward to first setup page, first dashboard and first successful /api/usage response
+ * Ward is started on simulated host from a temporary directory, once without setup.ini for setup page, once with it for the rest
+ * Default mode is measured always, fast-start mode only if AOT cache exists
+ * <p>
+ * Usage: java src/build/StartupBenchmark.java --jar=application/ward.jar [--aot-cache=application/ward.aot] [--runs=5] [--port=4000]
+ * <p>
+ * Dashboard is ready, when index page answers, first /api/usage response also includes one second of processor baseline
+ */
+public class StartupBenchmark
+{
+    /**
+     * JVM options, which Ward needs in every mode
+     */
+    private static final List<String> JVM_OPTIONS = List.of("--enable-preview", "--enable-native-access=ALL-UNNAMED");
+
+    public static void main(final String[] args) throws IOException, InterruptedException
+    {
+        Map<String, String> options = parseOptions(args);
+
+        if (!options.containsKey("jar"))
+        {
+            throw new IllegalArgumentException("Usage: java StartupBenchmark.java --jar=<ward.jar> [--aot-cache=<ward.aot>] [--runs=5] [--port=4000]");
+        }
+
+        Path jar = Path.of(options.get("jar")).toAbsolutePath();
+        Path cache = Path.of(options.getOrDefault("aot-cache", "ward.aot")).toAbsolutePath();
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        int port = Integer.parseInt(options.getOrDefault("port", "4000"));
+
+        Map<String, List<String>> modes = new HashMap<>();
+        modes.put("default", List.of());
+
+        if (Files.exists(cache))
+        {
+            modes.put("fast-start", List.of("-XX:AOTCache=" + cache, "-Dspring.aot.enabled=true"));
+        }
+        else
+        {
+            System.out.println("[startup-benchmark] " + cache + " not found, measuring default mode only");
+        }
+
+        System.out.printf("%-12s %-10s %10s %10s %10s%n", "mode", "target", "min ms", "median ms", "max ms");
+
+        for (String mode : List.of("default", "fast-start"))
+        {
+            if (modes.containsKey(mode))
+            {
+                long[][] times = new long[3][runs];
+
+                for (int i = 0; i < runs; i++)
+                {
+                    times[0][i] = measure(jar, modes.get(mode), port, false, List.of("/"))[0];
+
+                    long[] configured = measure(jar, modes.get(mode), port, true, List.of("/", "/api/usage"));
+                    times[1][i] = configured[0];
+                    times[2][i] = configured[1];
+                }
+
+                print(mode, "setup", times[0]);
+                print(mode, "dashboard", times[1]);
+                print(mode, "usage", times[2]);
+            }
+        }
+    }
+
+    /**
+     * Prints min, median and max of one target
+     */
+    private static void print(final String mode, final String target, final long[] times)
+    {
+        Arrays.sort(times);
+        System.out.printf(Locale.ROOT, "%-12s %-10s %10d %10d %10d%n", mode, target, times[0], times[times.length / 2], times[times.length - 1]);
+    }
+
+    /**
+     * Starts Ward and polls paths one after another, until each answers with 200, then stops Ward
+     *
+     * @param configured true to start with setup.ini, false to start in setup mode
+     * @param paths paths, which are polled in order
+     * @return long array with milliseconds from process start to first successful response of each path
+     */
+    private static long[] measure(final Path jar, final List<String> modeOptions, final int port, final boolean configured, final List<String> paths) throws IOException, InterruptedException
+    {
+        Path work = Files.createTempDirectory("ward-startup");
+        if (configured)
+        {
+            Files.writeString(work.resolve("setup.ini"), "[setup]\nserverName = Ward\ntheme = light\nport = " + port
+                    + "\nenableFog = true\nbackgroundColor = default\nlowPower = false\n");
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(modeOptions);
+        command.addAll(JVM_OPTIONS);
+        command.addAll(List.of("-jar", jar.toString(), "--spring.profiles.active=simulated"));
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        long[] times = new long[paths.size()];
+        int path = 0;
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(work.toFile()).redirectErrorStream(true)
+                .redirectOutput(work.resolve("ward.log").toFile()).start();
+
+        try
+        {
+            while (process.isAlive())
+            {
+                try
+                {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + paths.get(path))).timeout(Duration.ofSeconds(5)).build();
+
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+                    {
+                        times[path++] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                        if (path == paths.size())
+                        {
+                            return times;
+                        }
+
+                        continue;
+                    }
+                }
+                catch (IOException exception)
+                {
+                    // Port is not open yet
+                }
+
+                Thread.sleep(10);
+            }
+
+            throw new IOException("Ward exited with status " + process.exitValue() + ", see " + work.resolve("ward.log"));
+        }
+        finally
+        {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Parses --key=value arguments
+     *
+     * @return Map of options
+     */
+    private static Map<String, String> parseOptions(final String[] args)
+    {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args)
+        {
+            int separator = arg.indexOf('=');
+
+            if (!arg.startsWith("--") || (separator < 0))
+            {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        return options;
+    }
+}
@@ -0,0 +1,62 @@
+#!/bin/bash
+# Training run for JDK AOT cache: starts Ward on simulated host, sends requests of a typical dashboard,
+# then stops Ward, and JVM writes classes and method profiles it used to the cache on exit
+#
+# Usage: aot-training.sh <ward.jar> <ward.aot> [rounds]
+#
+# Jar must be extracted with -Djarmode=tools, classes inside nested jars can not be cached
+# Training and production must use same JVM, same jar path and same JVM options
+
+set -euo pipefail
+
+jar="$(realpath "$1")"
+cache="$(realpath -m "$2")"
+rounds="${3:-30}"
+port=4000
+
+work="$(mktemp -d)"
+cd "$work"
+
+printf '[setup]\nserverName = Ward\ntheme = light\nport = %s\nenableFog = true\nbackgroundColor = default\nlowPower = false\n' "$port" > setup.ini
+
+java -XX:AOTCacheOutput="$cache" -Dspring.aot.enabled=true --enable-preview --enable-native-access=ALL-UNNAMED \
+    -jar "$jar" --spring.profiles.active=simulated &
+ward=$!
+
+# Prints status line of GET request, without curl, which is not part of jre image
+status() {
+    exec 3<>"/dev/tcp/127.0.0.1/$port" || return 1
+    printf 'GET %s HTTP/1.1\r\nHost: localhost\r\nAccept: %s\r\nAccept-Encoding: gzip\r\nConnection: close\r\n\r\n' "$1" "${2:-application/json}" >&3
+    head -n 1 <&3
+    exec 3>&-
+}
+
+for attempt in $(seq 1 600); do
+    if status /api/usage 2>/dev/null | grep -q " 200"; then
+        break
+    fi
+    sleep 0.1
+done
+
+for round in $(seq 1 "$rounds"); do
+    status / text/html > /dev/null
+    status /api/usage > /dev/null
+    status /api/info > /dev/null
+    status /api/uptime > /dev/null
+    status /api/snapshot application/cbor > /dev/null
+    status /kiosk text/html > /dev/null
+    status /api/jvm > /dev/null
+    status /api/probes > /dev/null
+    status /api/metrics > /dev/null
+    status "/api/history?aggregation=lttb" > /dev/null
+    status /api/internal/stats > /dev/null
+    sleep 1
+done
+
+kill -TERM "$ward"
+wait "$ward" || true
+
+rm -rf "$work"
+
+test -s "$cache"
+echo "[aot-training] $rounds rounds, cache written to $cache"
@@ -12,6 +12,7 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.Environment;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 
@@ -19,7 +20,7 @@ import java.net.UnknownHostException;
  * Ward is a Spring Boot application class
  *
  * @author Rudolf Barbu
- * @version 1.0.4
+ * @version 1.0.5
  */
 @Slf4j
 @SpringBootApplication
@@ -51,18 +52,20 @@ public class Ward extends SpringBootServletInitializer {
      * @param args Spring Boot application arguments
      */
     public static void main(final String[] args) {
-
-        isFirstLaunch = true;
-        configurableApplicationContext = SpringApplication.run(Ward.class, args);
-        logAccessUrls(configurableApplicationContext);
-
         File setupFile = new File(Ward.SETUP_FILE_PATH);
 
-        if (System.getenv("WARD_NAME") != null || (System.getenv("WARD_THEME") != null) || (System.getenv("WARD_PORT") != null) || (System.getenv("WARD_FOG") != null)) {
-            SetupService.envSetup();
-        } else if (setupFile.exists()) {
-            restart();
+        if (System.getenv("WARD_NAME") != null || (System.getenv("WARD_THEME") != null) || (System.getenv("WARD_PORT") != null) || (System.getenv("WARD_FOG") != null) || (System.getenv("WARD_LOW_POWER") != null)) {
+            try {
+                SetupService.writeEnvSetup();
+            } catch (IOException e) {
+                log.warn("Could not write setup.ini from environment variables, starting setup");
+            }
         }
+
+        // Configured Ward starts its context once, instead of starting setup context and restarting
+        isFirstLaunch = !setupFile.exists();
+        configurableApplicationContext = SpringApplication.run(Ward.class, args);
+        logAccessUrls(configurableApplicationContext);
     }
 
     /**
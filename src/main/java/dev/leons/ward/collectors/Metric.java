@@ -0,0 +1,58 @@
+package dev.leons.ward.collectors;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Metric is one named value with optional labels, names follow Prometheus rules, so values can be exported as they are
+ *
+ * @param name metric name, such as queue_depth
+ * @param labels label names and values, such as queue=mail, empty if there are none
+ * @param value current value
+ * @version 1.0.0
+ */
+public record Metric(String name, Map<String, String> labels, double value)
+{
+    /**
+     * Valid metric name
+     */
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    /**
+     * Valid label name
+     */
+    private static final Pattern LABEL = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+
+    /**
+     * @throws IllegalArgumentException if name or label name is invalid
+     */
+    public Metric
+    {
+        if ((name == null) || !NAME.matcher(name).matches())
+        {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+
+        for (String label : labels.keySet())
+        {
+            if (!LABEL.matcher(label).matches())
+            {
+                throw new IllegalArgumentException("Invalid label name of " + name + ": " + label);
+            }
+        }
+
+        labels = Map.copyOf(labels);
+    }
+
+    /**
+     * Creates metric without labels
+     *
+     * @param name metric name
+     * @param value current value
+     * @return Metric
+     */
+    public static Metric of(final String name, final double value)
+    {
+        return new Metric(name, Map.of(), value);
+    }
+}
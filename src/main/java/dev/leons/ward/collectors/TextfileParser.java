@@ -0,0 +1,186 @@
+package dev.leons.ward.collectors;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TextfileParser reads metrics in Prometheus text format, like node_exporter textfile collector does
+ * File is read line by line, so only parsed metrics are kept in memory, comments and timestamps are ignored
+ *
+ * @version 1.0.0
+ */
+public final class TextfileParser
+{
+    private TextfileParser()
+    {
+    }
+
+    /**
+     * Parses metrics until end of input
+     *
+     * @param reader input in Prometheus text format
+     * @param limit most metrics to read
+     * @return List of metrics in order of input
+     * @throws IOException if input can not be read
+     * @throws IllegalArgumentException if line is invalid or input has more metrics than limit, message contains line number
+     */
+    public static List<Metric> parse(final Reader reader, final int limit) throws IOException
+    {
+        BufferedReader bufferedReader = (reader instanceof BufferedReader buffered) ? buffered : new BufferedReader(reader);
+        List<Metric> metrics = new ArrayList<>();
+        int lineNumber = 0;
+        String line;
+
+        while ((line = bufferedReader.readLine()) != null)
+        {
+            lineNumber++;
+            line = line.strip();
+
+            if (line.isEmpty() || (line.charAt(0) == '#'))
+            {
+                continue;
+            }
+            if (metrics.size() == limit)
+            {
+                throw new IllegalArgumentException("More than " + limit + " metrics");
+            }
+
+            try
+            {
+                metrics.add(parseLine(line));
+            }
+            catch (IllegalArgumentException exception)
+            {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + exception.getMessage(), exception);
+            }
+        }
+
+        return metrics;
+    }
+
+    /**
+     * Parses one sample: name, optional {labels}, value and optional timestamp
+     *
+     * @return Metric
+     */
+    private static Metric parseLine(final String line)
+    {
+        int position = 0;
+
+        while ((position < line.length()) && (line.charAt(position) != '{') && !Character.isWhitespace(line.charAt(position)))
+        {
+            position++;
+        }
+
+        String name = line.substring(0, position);
+        Map<String, String> labels = new LinkedHashMap<>();
+
+        if ((position < line.length()) && (line.charAt(position) == '{'))
+        {
+            position = parseLabels(line, position + 1, labels);
+        }
+
+        String[] rest = line.substring(position).strip().split("\\s+");
+
+        if (rest[0].isEmpty() || (rest.length > 2))
+        {
+            throw new IllegalArgumentException("Expected value and optional timestamp after " + name);
+        }
+
+        return new Metric(name, labels, parseValue(rest[0]));
+    }
+
+    /**
+     * Parses labels up to closing brace
+     *
+     * @param start position after opening brace
+     * @return int with position after closing brace
+     */
+    private static int parseLabels(final String line, final int start, final Map<String, String> labels)
+    {
+        int position = start;
+
+        while (true)
+        {
+            while ((position < line.length()) && ((line.charAt(position) == ',') || Character.isWhitespace(line.charAt(position))))
+            {
+                position++;
+            }
+            if (position >= line.length())
+            {
+                throw new IllegalArgumentException("Missing closing brace");
+            }
+            if (line.charAt(position) == '}')
+            {
+                return position + 1;
+            }
+
+            int equals = line.indexOf('=', position);
+            if ((equals < 0) || (equals + 1 >= line.length()) || (line.charAt(equals + 1) != '"'))
+            {
+                throw new IllegalArgumentException("Expected label=\"value\"");
+            }
+
+            String labelName = line.substring(position, equals).strip();
+            StringBuilder value = new StringBuilder();
+            position = equals + 2;
+
+            while (true)
+            {
+                if (position >= line.length())
+                {
+                    throw new IllegalArgumentException("Unterminated value of label " + labelName);
+                }
+
+                char character = line.charAt(position++);
+
+                if (character == '"')
+                {
+                    break;
+                }
+                if ((character == '\\') && (position < line.length()))
+                {
+                    char escaped = line.charAt(position++);
+                    value.append((escaped == 'n') ? '\n' : escaped);
+                }
+                else
+                {
+                    value.append(character);
+                }
+            }
+
+            labels.put(labelName, value.toString());
+        }
+    }
+
+    /**
+     * Parses value, including special values of Prometheus format
+     *
+     * @return double value
+     */
+    private static double parseValue(final String value)
+    {
+        return switch (value)
+        {
+            case "NaN" -> Double.NaN;
+            case "+Inf", "Inf" -> Double.POSITIVE_INFINITY;
+            case "-Inf" -> Double.NEGATIVE_INFINITY;
+            default ->
+            {
+                try
+                {
+                    yield Double.parseDouble(value);
+                }
+                catch (NumberFormatException exception)
+                {
+                    throw new IllegalArgumentException("Invalid value " + value);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package dev.leons.ward.collectors;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * WardCollector is service provider interface of custom metrics, such as queue depths or application counters
+ * Implementations are found with ServiceLoader, on classpath and in jars of plugin directory, so they need
+ * public no-argument constructor and META-INF/services/dev.leons.ward.collectors.WardCollector entry.
+ * Every collector runs on its own virtual thread, apart from built-in metrics and from other collectors
+ *
+ * @version 1.0.0
+ */
+public interface WardCollector
+{
+    /**
+     * Gets name of collector, which groups its metrics in API and on dashboard
+     *
+     * @return String with unique name
+     */
+    String getName();
+
+    /**
+     * Gets time between end of one collection and start of next one
+     *
+     * @return Duration, 10 seconds by default
+     */
+    default Duration getInterval()
+    {
+        return Duration.ofSeconds(10);
+    }
+
+    /**
+     * Gets longest time, which one collection may take, collection over budget is interrupted and reported
+     *
+     * @return Duration, 1 second by default
+     */
+    default Duration getTimeBudget()
+    {
+        return Duration.ofSeconds(1);
+    }
+
+    /**
+     * Collects current values, called from one thread at a time
+     *
+     * @return List of metrics, which replaces metrics of previous collection
+     * @throws Exception if values can not be collected, it is reported and previous metrics are dropped
+     */
+    List<Metric> collect() throws Exception;
+}
@@ -0,0 +1,324 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.events.CollectionEvent;
+import dev.leons.ward.events.RequestEvent;
+import dev.leons.ward.exceptions.RecordingNotActiveException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * FlightRecorderComponent keeps optional continuous flight recording of Ward, bounded by size and age
+ * Recording uses default JFR settings, which are meant for production, together with Ward collection and request events
+ * Created eagerly also in low-memory profile, where other beans are lazy.
+ * Dumps are allowed only for loopback clients or with configured token, and only last dumps are kept, so clients can not fill the disk
+ *
+ * @version 1.0.2
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class FlightRecorderComponent
+{
+    /**
+     * Default maximum size of recording on disk, in MiB
+     */
+    public static final long DEFAULT_MAX_SIZE = 64;
+
+    /**
+     * Default maximum age of recorded data, in minutes
+     */
+    public static final long DEFAULT_MAX_AGE = 30;
+
+    /**
+     * Default directory for dumps, relative to working directory
+     */
+    public static final String DEFAULT_DIRECTORY = "recordings";
+
+    /**
+     * Default count of dumps, which are kept in dump directory
+     */
+    public static final long DEFAULT_MAX_DUMPS = 5;
+
+    /**
+     * Dump file name format, without extension, so dumps of same millisecond can get suffix
+     */
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("'ward-'yyyyMMdd-HHmmss-SSS");
+
+    /**
+     * Dump file extension
+     */
+    private static final String FILE_EXTENSION = ".jfr";
+
+    /**
+     * Autowired UtilitiesComponent object
+     * Used for reading recording options
+     */
+    @Autowired
+    private UtilitiesComponent utilitiesComponent;
+
+    /**
+     * Continuous recording, null if not enabled
+     */
+    private Recording recording;
+
+    /**
+     * Directory for dumps
+     */
+    private Path directory;
+
+    /**
+     * Count of dumps, which are kept in dump directory
+     */
+    private long maxDumps;
+
+    /**
+     * Token from flightRecorderToken option, which allows dumps from any client, null if only loopback clients are allowed
+     */
+    private String token;
+
+    /**
+     * Starts recording, if application is configured and flightRecorder option is true
+     * Failure is logged and does not prevent application from starting
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        if (Ward.isFirstLaunch())
+        {
+            return;
+        }
+
+        try
+        {
+            if (Boolean.parseBoolean(utilitiesComponent.getFromIniFile("flightRecorder")))
+            {
+                start(getOption("flightRecorderMaxSize", DEFAULT_MAX_SIZE), getOption("flightRecorderMaxAge", DEFAULT_MAX_AGE),
+                        Path.of(getOption("flightRecorderDirectory", DEFAULT_DIRECTORY)), getOption("flightRecorderMaxDumps", DEFAULT_MAX_DUMPS));
+
+                String tokenOption = utilitiesComponent.getFromIniFile("flightRecorderToken");
+                token = ((tokenOption != null) && !tokenOption.isBlank()) ? tokenOption.trim() : null;
+            }
+        }
+        catch (IOException | ParseException | IllegalArgumentException | IllegalStateException exception)
+        {
+            log.error("Could not start flight recording: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Starts continuous recording
+     *
+     * @param maxSize maximum size on disk, in MiB
+     * @param maxAge maximum age of recorded data, in minutes
+     * @param directory directory for dumps
+     * @param maxDumps count of dumps, which are kept in dump directory
+     * @throws IOException if default configuration can not be read
+     * @throws ParseException if default configuration is malformed
+     */
+    public synchronized void start(final long maxSize, final long maxAge, final Path directory, final long maxDumps) throws IOException, ParseException
+    {
+        if (recording != null)
+        {
+            return;
+        }
+
+        Recording continuous = new Recording(Configuration.getConfiguration("default"));
+
+        continuous.setName("ward");
+        continuous.setToDisk(true);
+        continuous.setMaxSize(maxSize * 1024 * 1024);
+        continuous.setMaxAge(Duration.ofMinutes(maxAge));
+        continuous.enable(CollectionEvent.class);
+        continuous.enable(RequestEvent.class);
+        continuous.start();
+
+        this.recording = continuous;
+        this.directory = directory;
+        this.maxDumps = Math.max(1, maxDumps);
+
+        log.info("Flight recording started, keeping {} minutes, at most {} MiB", maxAge, maxSize);
+    }
+
+    /**
+     * Stops recording and removes its data
+     */
+    @PreDestroy
+    public synchronized void stop()
+    {
+        if (recording != null)
+        {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * Checks, if client may dump recording
+     * Without token option only loopback clients are allowed, they must still send token header with any value,
+     * because browsers can not send custom headers cross-site without preflight, so other sites can not post dumps
+     *
+     * @param remoteAddress ip address of client
+     * @param suppliedToken value of token header, null if missing
+     * @return true, if client is loopback and sent token header while no token is configured, or if it sent configured token
+     */
+    public boolean isAllowed(final String remoteAddress, final String suppliedToken)
+    {
+        if (suppliedToken == null)
+        {
+            return false;
+        }
+
+        String expected = token;
+
+        if (expected == null)
+        {
+            try
+            {
+                return InetAddress.ofLiteral(remoteAddress).isLoopbackAddress();
+            }
+            catch (IllegalArgumentException exception)
+            {
+                return false;
+            }
+        }
+
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), suppliedToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes last minutes of recording to new file in dump directory, and deletes oldest dumps over maxDumps
+     * Dump may contain some data from before requested interval, because recording is written in chunks
+     *
+     * @param minutes length of interval, clamped to maximum age of recording
+     * @return Path of written file
+     * @throws RecordingNotActiveException if recording is not enabled
+     * @throws IOException if file can not be written
+     */
+    public synchronized Path dump(final long minutes) throws RecordingNotActiveException, IOException
+    {
+        if (recording == null)
+        {
+            throw new RecordingNotActiveException();
+        }
+
+        Duration interval = Duration.ofMinutes(Math.clamp(minutes, 1, recording.getMaxAge().toMinutes()));
+        String name = LocalDateTime.now().format(FILE_NAME_FORMAT);
+        Path file = directory.resolve(name + FILE_EXTENSION);
+
+        Files.createDirectories(directory);
+
+        for (int suffix = 1; Files.exists(file); suffix++)
+        {
+            file = directory.resolve(name + "-" + suffix + FILE_EXTENSION);
+        }
+
+        // Running recording can not be read, stopped copy shares its data and closes current chunk
+        try (Recording copy = recording.copy(true); InputStream inputStream = copy.getStream(Instant.now().minus(interval), Instant.now()))
+        {
+            if (inputStream == null)
+            {
+                throw new IOException("Recording has no data yet");
+            }
+
+            Files.copy(inputStream, file);
+        }
+
+        log.info("Dumped last {} minutes of flight recording to {}", interval.toMinutes(), file.toAbsolutePath());
+
+        deleteOldDumps();
+
+        return file;
+    }
+
+    /**
+     * Deletes oldest dumps, so only last maxDumps of them are kept
+     * Failure is logged, dump itself is already written
+     */
+    private void deleteOldDumps()
+    {
+        List<Path> dumps = new ArrayList<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "ward-*" + FILE_EXTENSION))
+        {
+            files.forEach(dumps::add);
+        }
+        catch (IOException exception)
+        {
+            log.warn("Could not list flight recording dumps: {}", exception.getMessage());
+            return;
+        }
+
+        // Names start with timestamp, so they sort oldest first, dumps of same millisecond hold same data and may sort either way
+        dumps.sort(Comparator.comparing(Path::getFileName));
+
+        for (int i = 0; i < dumps.size() - maxDumps; i++)
+        {
+            try
+            {
+                Files.deleteIfExists(dumps.get(i));
+            }
+            catch (IOException exception)
+            {
+                log.warn("Could not delete flight recording dump {}: {}", dumps.get(i), exception.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Checks, if recording is running
+     *
+     * @return true, if recording is running
+     */
+    public synchronized boolean isActive()
+    {
+        return recording != null;
+    }
+
+    /**
+     * Gets numeric option from ini file
+     *
+     * @return long with option value, or default value if option is missing
+     */
+    private long getOption(final String optionName, final long defaultValue) throws IOException
+    {
+        String value = utilitiesComponent.getFromIniFile(optionName);
+
+        return ((value != null) && !value.isBlank()) ? Long.parseLong(value.trim()) : defaultValue;
+    }
+
+    /**
+     * Gets text option from ini file
+     *
+     * @return String with option value, or default value if option is missing
+     */
+    private String getOption(final String optionName, final String defaultValue) throws IOException
+    {
+        String value = utilitiesComponent.getFromIniFile(optionName);
+
+        return ((value != null) && !value.isBlank()) ? value.trim() : defaultValue;
+    }
+}
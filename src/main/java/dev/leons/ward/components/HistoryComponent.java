@@ -0,0 +1,128 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.dto.UsageDto;
+import dev.leons.ward.history.TimeSeries;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HistoryComponent keeps long history of metrics in compressed time series, one series per metric name
+ * Usage is recorded on every tick of SnapshotService, other sources may record own series by name
+ *
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class HistoryComponent
+{
+    /**
+     * Default retention in hours, a week
+     */
+    public static final long DEFAULT_RETENTION = 168;
+
+    /**
+     * Autowired UtilitiesComponent object
+     * Used for reading retention option
+     */
+    @Autowired
+    private UtilitiesComponent utilitiesComponent;
+
+    /**
+     * Series by metric name
+     */
+    private final Map<String, TimeSeries> series = new ConcurrentHashMap<>();
+
+    /**
+     * Retention of new series in milliseconds
+     */
+    private volatile long retention = TimeUnit.HOURS.toMillis(DEFAULT_RETENTION);
+
+    /**
+     * Reads historyRetention option, if application is configured
+     * Invalid option is logged and default retention is kept
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        if (Ward.isFirstLaunch())
+        {
+            return;
+        }
+
+        try
+        {
+            String retentionOption = utilitiesComponent.getFromIniFile("historyRetention");
+
+            if ((retentionOption != null) && !retentionOption.isBlank())
+            {
+                long hours = Long.parseLong(retentionOption.trim());
+
+                if (hours <= 0)
+                {
+                    throw new IllegalArgumentException("historyRetention must be positive");
+                }
+
+                retention = TimeUnit.HOURS.toMillis(hours);
+            }
+        }
+        catch (IOException | IllegalArgumentException exception)
+        {
+            log.error("Could not read history retention, keeping {} hours: {}", DEFAULT_RETENTION, exception.getMessage());
+        }
+    }
+
+    /**
+     * Records usage sample as processor, ram and storage series
+     *
+     * @param time timestamp in milliseconds
+     * @param usage usage sample
+     */
+    public void record(final long time, final UsageDto usage)
+    {
+        record("processor", time, usage.getProcessor());
+        record("ram", time, usage.getRam());
+        record("storage", time, usage.getStorage());
+    }
+
+    /**
+     * Records sample of series, series is created on first sample
+     *
+     * @param name metric name
+     * @param time timestamp in milliseconds
+     * @param value sample value
+     */
+    public void record(final String name, final long time, final double value)
+    {
+        series.computeIfAbsent(name, key -> new TimeSeries(retention)).append(time, value);
+    }
+
+    /**
+     * Gets series by name
+     *
+     * @param name metric name
+     * @return TimeSeries or null if nothing was recorded for name
+     */
+    public TimeSeries getSeries(final String name)
+    {
+        return series.get(name);
+    }
+
+    /**
+     * Gets names of recorded series
+     *
+     * @return Set with metric names
+     */
+    public Set<String> getSeriesNames()
+    {
+        return Set.copyOf(series.keySet());
+    }
+}
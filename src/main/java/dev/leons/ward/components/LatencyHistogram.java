@@ -0,0 +1,206 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.dto.LatencyDto;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram counts durations in log-linear buckets, in the manner of HdrHistogram
+ * Values below 32 ns are counted exactly, larger values are counted with 32 sub-buckets per power of two,
+ * so reported percentiles are within about 3% of recorded values
+ * Recording is lock-free and allocates nothing, reading copies buckets and may miss concurrent records
+ *
+ * @version 1.0.0
+ */
+public final class LatencyHistogram
+{
+    /**
+     * Bits of precision below leading one bit
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * Sub-buckets per power of two
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Highest power of two counted, larger values are clamped, 2^40 ns is about 18 minutes
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    /**
+     * Counts of every bucket
+     */
+    private final AtomicLongArray counts = new AtomicLongArray((MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT);
+
+    /**
+     * Largest recorded value
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one duration
+     *
+     * @param nanos duration in nanoseconds, negative values are counted as zero
+     */
+    public void record(final long nanos)
+    {
+        long value = Math.clamp(nanos, 0, (1L << (MAX_EXPONENT + 1)) - 1);
+
+        counts.incrementAndGet(getIndex(value));
+
+        if (value > max.get())
+        {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Gets total number of recorded values
+     *
+     * @return long with count
+     */
+    public long getCount()
+    {
+        long count = 0;
+
+        for (int i = 0; i < counts.length(); i++)
+        {
+            count += counts.get(i);
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets largest recorded value
+     *
+     * @return long with nanoseconds
+     */
+    public long getMax()
+    {
+        return max.get();
+    }
+
+    /**
+     * Gets value, which given share of recorded values does not exceed
+     *
+     * @param percentile share between 0 and 1
+     * @return long with nanoseconds, middle of matching bucket, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(final double percentile)
+    {
+        long[] snapshot = new long[counts.length()];
+        long total = 0;
+
+        for (int i = 0; i < snapshot.length; i++)
+        {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+
+        if (total == 0)
+        {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+
+        for (int i = 0; i < snapshot.length; i++)
+        {
+            seen += snapshot[i];
+
+            if (seen >= rank)
+            {
+                return Math.min(getLowerBound(i) + (getWidth(i) / 2), getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    /**
+     * Converts histogram to percentiles in microseconds
+     *
+     * @return LatencyDto with filled fields
+     */
+    public LatencyDto toLatencyDto()
+    {
+        LatencyDto latencyDto = new LatencyDto();
+
+        latencyDto.setCount(getCount());
+        latencyDto.setP50(toMicros(getValueAtPercentile(0.5)));
+        latencyDto.setP99(toMicros(getValueAtPercentile(0.99)));
+        latencyDto.setP999(toMicros(getValueAtPercentile(0.999)));
+        latencyDto.setMax(toMicros(getMax()));
+
+        return latencyDto;
+    }
+
+    /**
+     * Converts nanoseconds to microseconds, rounded to one decimal place
+     *
+     * @param nanos value in nanoseconds
+     * @return double with microseconds
+     */
+    private static double toMicros(final long nanos)
+    {
+        return Math.round(nanos / 100.0) / 10.0;
+    }
+
+    /**
+     * Gets bucket of value
+     *
+     * @param value non-negative value within range
+     * @return int with bucket index
+     */
+    static int getIndex(final long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+
+        return ((exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT) + subBucket;
+    }
+
+    /**
+     * Gets smallest value of bucket
+     *
+     * @param index bucket index
+     * @return long with value
+     */
+    static long getLowerBound(final int index)
+    {
+        if (index < SUB_BUCKET_COUNT)
+        {
+            return index;
+        }
+
+        int exponent = (index / SUB_BUCKET_COUNT) + SUB_BUCKET_BITS - 1;
+
+        return (long) (SUB_BUCKET_COUNT + (index % SUB_BUCKET_COUNT)) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * Gets number of values in bucket
+     *
+     * @param index bucket index
+     * @return long with width
+     */
+    private static long getWidth(final int index)
+    {
+        if (index < SUB_BUCKET_COUNT)
+        {
+            return 1;
+        }
+
+        return 1L << ((index / SUB_BUCKET_COUNT) - 1);
+    }
+}
@@ -0,0 +1,149 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.collectors.Metric;
+import dev.leons.ward.dto.MetricDto;
+import dev.leons.ward.dto.MetricSourceDto;
+import dev.leons.ward.dto.MetricsDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MetricsComponent holds custom metrics of all sources, such as collector plugins, together with health of each source
+ * Sources update rarely and dashboards poll often, so dto is built on every update and served as it is
+ *
+ * @version 1.0.0
+ */
+@Component
+public class MetricsComponent
+{
+    /**
+     * Most metrics, which one source may publish, so one faulty source can not fill heap
+     */
+    public static final int MAX_METRICS = 1000;
+
+    /**
+     * Latest state of every source, by name
+     */
+    private final Map<String, Source> sources = new TreeMap<>();
+
+    /**
+     * Dto of current sources
+     */
+    private volatile MetricsDto metricsDto = createMetricsDto(Map.of());
+
+    /**
+     * Replaces metrics of source
+     *
+     * @param name source name
+     * @param type source type, such as plugin
+     * @param metrics new metrics of source
+     * @param duration nanoseconds, which update took
+     */
+    public synchronized void publish(final String name, final String type, final List<Metric> metrics, final long duration)
+    {
+        if (metrics.size() > MAX_METRICS)
+        {
+            fail(name, type, metrics.size() + " metrics, at most " + MAX_METRICS + " allowed", duration);
+            return;
+        }
+
+        Source previous = sources.get(name);
+        sources.put(name, new Source(type, System.currentTimeMillis(), duration, null, (previous != null) ? previous.failures() : 0, List.copyOf(metrics)));
+        metricsDto = createMetricsDto(sources);
+    }
+
+    /**
+     * Reports failed or skipped update of source, its previous metrics are dropped, so stale values are never shown as current
+     *
+     * @param name source name
+     * @param type source type, such as plugin
+     * @param error reason of failure
+     * @param duration nanoseconds, which update took
+     */
+    public synchronized void fail(final String name, final String type, final String error, final long duration)
+    {
+        Source previous = sources.get(name);
+        sources.put(name, new Source(type, (previous != null) ? previous.lastUpdate() : 0, duration, error, ((previous != null) ? previous.failures() : 0) + 1, List.of()));
+        metricsDto = createMetricsDto(sources);
+    }
+
+    /**
+     * Removes source with its metrics
+     *
+     * @param name source name
+     */
+    public synchronized void remove(final String name)
+    {
+        if (sources.remove(name) != null)
+        {
+            metricsDto = createMetricsDto(sources);
+        }
+    }
+
+    /**
+     * Gets metrics of all sources
+     *
+     * @return MetricsDto with sources ordered by name
+     */
+    public MetricsDto getMetrics()
+    {
+        return metricsDto;
+    }
+
+    /**
+     * Creates dto from sources
+     *
+     * @return MetricsDto with filled fields
+     */
+    private static MetricsDto createMetricsDto(final Map<String, Source> sources)
+    {
+        List<MetricSourceDto> sourceDtos = new ArrayList<>(sources.size());
+
+        sources.forEach((name, source) ->
+        {
+            List<MetricDto> metricDtos = new ArrayList<>(source.metrics().size());
+            for (Metric metric : source.metrics())
+            {
+                MetricDto metricDto = new MetricDto();
+                metricDto.setName(metric.name());
+                metricDto.setLabels(metric.labels());
+                metricDto.setValue(metric.value());
+                metricDtos.add(metricDto);
+            }
+
+            MetricSourceDto metricSourceDto = new MetricSourceDto();
+            metricSourceDto.setName(name);
+            metricSourceDto.setType(source.type());
+            metricSourceDto.setLastUpdate(source.lastUpdate());
+            metricSourceDto.setDuration(source.duration() / (double) TimeUnit.MILLISECONDS.toNanos(1));
+            metricSourceDto.setError(source.error());
+            metricSourceDto.setFailures(source.failures());
+            metricSourceDto.setMetrics(metricDtos);
+            sourceDtos.add(metricSourceDto);
+        });
+
+        MetricsDto dto = new MetricsDto();
+        dto.setSources(sourceDtos);
+
+        return dto;
+    }
+
+    /**
+     * Source is latest state of one metric source
+     *
+     * @param type source type
+     * @param lastUpdate end of last successful update in epoch milliseconds
+     * @param duration nanoseconds, which last update took
+     * @param error reason of last failure, null if last update succeeded
+     * @param failures count of failed updates
+     * @param metrics metrics of last successful update
+     */
+    private record Source(String type, long lastUpdate, long duration, String error, long failures, List<Metric> metrics)
+    {
+    }
+}
@@ -0,0 +1,458 @@
+package dev.leons.ward.components;
+
+import lombok.Getter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ResponseCacheComponent encodes every sample once and serves the same bytes to all clients
+ * Json is served by default, CBOR is served to clients, which prefer application/cbor in Accept header
+ *
+ * @version 1.0.4
+ */
+@Component
+public class ResponseCacheComponent
+{
+    /**
+     * Media type of compact binary representation
+     */
+    public static final MediaType APPLICATION_CBOR = MediaType.valueOf("application/cbor");
+
+    /**
+     * Mapper used for encoding samples to json, configured the same way as default Spring mapper
+     */
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    /**
+     * Mapper used for encoding samples to CBOR
+     */
+    private final CBORMapper cborMapper = CBORMapper.builder().build();
+
+    /**
+     * Latest encoded sample for each key
+     */
+    private final ConcurrentHashMap<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Gets encoded representation of source, encoding it only if source differs from the cached one
+     * Sources are compared by identity, so they must not be modified after being passed here
+     *
+     * @param key cache key, for example endpoint name
+     * @param source dto to encode
+     * @return Entry with encoded bytes
+     */
+    public Entry getEncoded(final String key, final Object source)
+    {
+        Entry entry = cache.get(key);
+
+        if ((entry != null) && (entry.getSource() == source))
+        {
+            return entry;
+        }
+
+        return cache.compute(key, (cacheKey, cached) -> ((cached != null) && (cached.getSource() == source)) ? cached : encode(source, cached));
+    }
+
+    /**
+     * Builds response with precomputed bytes
+     * CBOR variant is chosen if client prefers it, otherwise gzip variant is chosen if client accepts it
+     * Conditional requests are answered with 304 by Spring, because ETag header is present
+     * Every variant has its own strong ETag, as its bytes differ, so caches never mix them up
+     * Samples change every second, so caches must revalidate them on every use instead of guessing freshness from Last-Modified
+     *
+     * @param entry encoded sample
+     * @param accept value of Accept header, may be null
+     * @param acceptEncoding value of Accept-Encoding header, may be null
+     * @return ResponseEntity to servlet
+     */
+    public ResponseEntity<byte[]> toResponseEntity(final Entry entry, final String accept, final String acceptEncoding)
+    {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .lastModified(entry.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+        if (prefersCbor(accept))
+        {
+            return builder.contentType(APPLICATION_CBOR).eTag(entry.getCborETag()).body(entry.getCbor());
+        }
+
+        builder.contentType(MediaType.APPLICATION_JSON);
+
+        if (acceptsGzip(acceptEncoding))
+        {
+            return builder.eTag(entry.getGzipETag()).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(entry.getGzip());
+        }
+
+        return builder.eTag(entry.getETag()).body(entry.getJson());
+    }
+
+    /**
+     * Builds response, which joins already encoded sections into one json or CBOR map
+     * Sections, whose ETag is listed in If-None-Match, are omitted, and 304 is returned if all of them are listed
+     * ETag of every section is put in "etags" map, without quotes
+     *
+     * @param sections encoded sections in response order
+     * @param accept value of Accept header, may be null
+     * @param ifNoneMatch value of If-None-Match header, may be null
+     * @return ResponseEntity to servlet
+     */
+    public ResponseEntity<byte[]> toSnapshotResponseEntity(final Map<String, Entry> sections, final String accept, final String ifNoneMatch)
+    {
+        Set<String> knownETags = parseETags(ifNoneMatch);
+        long lastModified = sections.values().stream().mapToLong(Entry::getLastModified).max().orElse(0);
+        boolean unchanged = !knownETags.isEmpty() && sections.values().stream().allMatch(entry -> knownETags.contains(entry.getETag()));
+
+        if (unchanged)
+        {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).lastModified(lastModified).cacheControl(CacheControl.noCache()).build();
+        }
+
+        boolean cbor = prefersCbor(accept);
+
+        return ResponseEntity.ok()
+                .contentType(cbor ? APPLICATION_CBOR : MediaType.APPLICATION_JSON)
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(cbor ? joinCbor(sections, knownETags) : joinJson(sections, knownETags));
+    }
+
+    /**
+     * Joins json sections into one object
+     *
+     * @param sections encoded sections in response order
+     * @param knownETags ETags of sections to omit
+     * @return json bytes
+     */
+    private static byte[] joinJson(final Map<String, Entry> sections, final Set<String> knownETags)
+    {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        StringBuilder eTags = new StringBuilder("\"etags\":{");
+        String separator = "";
+
+        body.write('{');
+        for (Map.Entry<String, Entry> section : sections.entrySet())
+        {
+            Entry entry = section.getValue();
+
+            if (!knownETags.contains(entry.getETag()))
+            {
+                body.writeBytes(("\"" + section.getKey() + "\":").getBytes(StandardCharsets.UTF_8));
+                body.writeBytes(entry.getJson());
+                body.write(',');
+            }
+
+            eTags.append(separator).append('"').append(section.getKey()).append("\":").append(entry.getETag());
+            separator = ",";
+        }
+        body.writeBytes(eTags.append("}}").toString().getBytes(StandardCharsets.UTF_8));
+
+        return body.toByteArray();
+    }
+
+    /**
+     * Joins CBOR sections into one map, layout is the same as in joinJson
+     *
+     * @param sections encoded sections in response order
+     * @param knownETags ETags of sections to omit
+     * @return CBOR bytes
+     */
+    private static byte[] joinCbor(final Map<String, Entry> sections, final Set<String> knownETags)
+    {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int included = (int) sections.values().stream().filter(entry -> !knownETags.contains(entry.getETag())).count();
+
+        writeCborHeader(body, 5, included + 1);
+        for (Map.Entry<String, Entry> section : sections.entrySet())
+        {
+            if (!knownETags.contains(section.getValue().getETag()))
+            {
+                writeCborText(body, section.getKey());
+                body.writeBytes(section.getValue().getCbor());
+            }
+        }
+
+        writeCborText(body, "etags");
+        writeCborHeader(body, 5, sections.size());
+        for (Map.Entry<String, Entry> section : sections.entrySet())
+        {
+            String eTag = section.getValue().getETag();
+
+            writeCborText(body, section.getKey());
+            writeCborText(body, eTag.substring(1, eTag.length() - 1));
+        }
+
+        return body.toByteArray();
+    }
+
+    /**
+     * Writes CBOR text string
+     *
+     * @param outputStream target stream
+     * @param text string to write
+     */
+    private static void writeCborText(final ByteArrayOutputStream outputStream, final String text)
+    {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+
+        writeCborHeader(outputStream, 3, bytes.length);
+        outputStream.writeBytes(bytes);
+    }
+
+    /**
+     * Writes CBOR data item header, lengths up to 65535 are supported
+     *
+     * @param outputStream target stream
+     * @param majorType CBOR major type
+     * @param length length or count of data item
+     */
+    private static void writeCborHeader(final ByteArrayOutputStream outputStream, final int majorType, final int length)
+    {
+        if (length < 24)
+        {
+            outputStream.write((majorType << 5) | length);
+        }
+        else if (length < 256)
+        {
+            outputStream.write((majorType << 5) | 24);
+            outputStream.write(length);
+        }
+        else
+        {
+            outputStream.write((majorType << 5) | 25);
+            outputStream.write(length >> 8);
+            outputStream.write(length & 0xFF);
+        }
+    }
+
+    /**
+     * Parses list of entity tags, weak tags are compared as strong ones
+     *
+     * @param header value of If-None-Match header, may be null
+     * @return Set with quoted tags
+     */
+    private static Set<String> parseETags(final String header)
+    {
+        Set<String> eTags = new HashSet<>();
+
+        if (header != null)
+        {
+            for (String eTag : header.split(","))
+            {
+                String trimmed = eTag.trim();
+                eTags.add(trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed);
+            }
+        }
+
+        return eTags;
+    }
+
+    /**
+     * Checks if client prefers CBOR over json
+     * Only explicit application/cbor counts, wildcards keep json as default
+     *
+     * @param accept value of Accept header, may be null
+     * @return true if CBOR should be served
+     */
+    private static boolean prefersCbor(final String accept)
+    {
+        if (accept == null)
+        {
+            return false;
+        }
+
+        double cborQuality = 0;
+        double jsonQuality = 0;
+
+        try
+        {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept))
+            {
+                if (mediaType.equalsTypeAndSubtype(APPLICATION_CBOR))
+                {
+                    cborQuality = Math.max(cborQuality, mediaType.getQualityValue());
+                }
+                else if (mediaType.includes(MediaType.APPLICATION_JSON))
+                {
+                    jsonQuality = Math.max(jsonQuality, mediaType.getQualityValue());
+                }
+            }
+        }
+        catch (InvalidMediaTypeException exception)
+        {
+            return false;
+        }
+
+        return (cborQuality > 0) && (cborQuality >= jsonQuality);
+    }
+
+    /**
+     * Checks if client accepts gzip encoding
+     *
+     * @param acceptEncoding value of Accept-Encoding header, may be null
+     * @return true if gzip is accepted
+     */
+    private static boolean acceptsGzip(final String acceptEncoding)
+    {
+        if (acceptEncoding == null)
+        {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(","))
+        {
+            String[] parts = coding.trim().split(";");
+
+            if (parts[0].trim().equals("gzip"))
+            {
+                return (parts.length < 2) || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Encodes source to json, gzip, CBOR and strong ETags
+     * Modification time is kept from previous entry, if content has not changed
+     *
+     * @param source dto to encode
+     * @param previous previously cached entry, may be null
+     * @return Entry with encoded bytes
+     */
+    private Entry encode(final Object source, final Entry previous)
+    {
+        byte[] json = jsonMapper.writeValueAsBytes(source);
+        String digest = digest(json);
+        String eTag = "\"" + digest + "\"";
+        long lastModified = ((previous != null) && previous.getETag().equals(eTag)) ? previous.getLastModified() : (System.currentTimeMillis() / 1000) * 1000;
+
+        return new Entry(source, json, gzip(json), cborMapper.writeValueAsBytes(source), eTag, "\"" + digest + "-gzip\"", "\"" + digest + "-cbor\"", lastModified);
+    }
+
+    /**
+     * Compresses bytes with gzip
+     *
+     * @param bytes bytes to compress
+     * @return compressed bytes
+     */
+    private static byte[] gzip(final byte[] bytes)
+    {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(bytes.length);
+
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream))
+        {
+            gzipOutputStream.write(bytes);
+        }
+        catch (IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * Computes content digest, used as strong ETag value
+     *
+     * @param bytes bytes to hash
+     * @return String with first 16 bytes of SHA-256 in hex
+     */
+    private static String digest(final byte[] bytes)
+    {
+        try
+        {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        }
+        catch (NoSuchAlgorithmException exception)
+        {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Entry is an immutable container for encoded sample
+     */
+    @Getter
+    public static final class Entry
+    {
+        /**
+         * Dto, which was encoded
+         */
+        private final Object source;
+
+        /**
+         * Json bytes field
+         */
+        private final byte[] json;
+
+        /**
+         * Gzip compressed json bytes field
+         */
+        private final byte[] gzip;
+
+        /**
+         * CBOR bytes field
+         */
+        private final byte[] cbor;
+
+        /**
+         * Strong ETag of json representation field, quoted
+         */
+        private final String eTag;
+
+        /**
+         * Strong ETag of gzip compressed json representation field, quoted
+         */
+        private final String gzipETag;
+
+        /**
+         * Strong ETag of CBOR representation field, quoted
+         */
+        private final String cborETag;
+
+        /**
+         * Time of last content change field, in milliseconds truncated to seconds
+         */
+        private final long lastModified;
+
+        /**
+         * Setter for all fields
+         */
+        private Entry(final Object source, final byte[] json, final byte[] gzip, final byte[] cbor, final String eTag, final String gzipETag,
+                      final String cborETag, final long lastModified)
+        {
+            this.source = source;
+            this.json = json;
+            this.gzip = gzip;
+            this.cbor = cbor;
+            this.eTag = eTag;
+            this.gzipETag = gzipETag;
+            this.cborETag = cborETag;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.dto.LatencyDto;
+import dev.leons.ward.dto.StatsDto;
+import dev.leons.ward.events.RequestEvent;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * StatsComponent records latency histograms of endpoints and of OSHI collector steps
+ * Endpoints are timed by this component acting as servlet filter, collector steps are timed by services
+ * Histograms are created once, so recording costs one bucket increment and allocates nothing
+ * Every request is also reported as flight recorder event, which costs nothing while recording is off
+ *
+ * @version 1.0.1
+ */
+@Component
+public class StatsComponent implements Filter
+{
+    /**
+     * Request paths, which are timed
+     */
+    public static final List<String> ENDPOINTS = List.of("/", "/api/usage", "/api/info", "/api/uptime", "/api/snapshot", "/kiosk");
+
+    /**
+     * Collector steps, which are timed
+     */
+    public enum Collector
+    {
+        CPU_TICKS("cpu.ticks"),
+        MEMORY("memory"),
+        FILE_STORES("file.stores"),
+        DISK_STORES("disk.stores"),
+        PROCESS_COUNT("process.count");
+
+        /**
+         * Name shown in stats
+         */
+        private final String label;
+
+        Collector(final String label)
+        {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Histograms of endpoints by request path
+     */
+    private final Map<String, LatencyHistogram> endpoints = new LinkedHashMap<>();
+
+    /**
+     * Histograms of collector steps, indexed by ordinal
+     */
+    private final LatencyHistogram[] collectors = new LatencyHistogram[Collector.values().length];
+
+    public StatsComponent()
+    {
+        for (String endpoint : ENDPOINTS)
+        {
+            endpoints.put(endpoint, new LatencyHistogram());
+        }
+
+        for (int i = 0; i < collectors.length; i++)
+        {
+            collectors[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Times request, if its path is one of timed endpoints, and reports it as flight recorder event
+     *
+     * @param request servlet request
+     * @param response servlet response
+     * @param chain rest of filter chain
+     */
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain) throws IOException, ServletException
+    {
+        if (!(request instanceof HttpServletRequest httpServletRequest) || !(response instanceof HttpServletResponse httpServletResponse))
+        {
+            chain.doFilter(request, response);
+
+            return;
+        }
+
+        LatencyHistogram histogram = endpoints.get(httpServletRequest.getRequestURI());
+        RequestEvent event = new RequestEvent();
+        long start = System.nanoTime();
+
+        event.begin();
+
+        try
+        {
+            chain.doFilter(request, response);
+        }
+        finally
+        {
+            if (histogram != null)
+            {
+                histogram.record(System.nanoTime() - start);
+            }
+
+            event.finish(httpServletRequest.getMethod(), httpServletRequest.getRequestURI(), httpServletResponse.getStatus());
+        }
+    }
+
+    /**
+     * Records duration of collector step
+     *
+     * @param collector collector step
+     * @param nanos duration in nanoseconds
+     */
+    public void record(final Collector collector, final long nanos)
+    {
+        collectors[collector.ordinal()].record(nanos);
+    }
+
+    /**
+     * Gets percentiles of all histograms
+     *
+     * @return StatsDto with filled fields
+     */
+    public StatsDto getStats()
+    {
+        Map<String, LatencyDto> endpointStats = new LinkedHashMap<>();
+        Map<String, LatencyDto> collectorStats = new LinkedHashMap<>();
+
+        for (Map.Entry<String, LatencyHistogram> endpoint : endpoints.entrySet())
+        {
+            endpointStats.put(endpoint.getKey(), endpoint.getValue().toLatencyDto());
+        }
+
+        for (Collector collector : Collector.values())
+        {
+            collectorStats.put(collector.label, collectors[collector.ordinal()].toLatencyDto());
+        }
+
+        StatsDto statsDto = new StatsDto();
+
+        statsDto.setEndpoints(endpointStats);
+        statsDto.setCollectors(collectorStats);
+
+        return statsDto;
+    }
+}
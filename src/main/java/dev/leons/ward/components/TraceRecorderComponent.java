@@ -0,0 +1,210 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.simulation.TraceFrame;
+import dev.leons.ward.simulation.TraceHeader;
+import dev.leons.ward.simulation.TraceWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import oshi.SystemInfoFFM;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * TraceRecorderComponent writes raw collector outputs of host to trace file once per second, so ReplaySystemInfo can play them back
+ * Every start writes new file, recording stops when file reaches maximum size
+ * Created eagerly also in low-memory profile, where other beans are lazy
+ *
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class TraceRecorderComponent
+{
+    /**
+     * Default maximum size of trace, in MiB
+     */
+    public static final long DEFAULT_MAX_SIZE = 64;
+
+    /**
+     * Default directory for traces, relative to working directory
+     */
+    public static final String DEFAULT_DIRECTORY = "traces";
+
+    /**
+     * Trace file name format
+     */
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("'ward-'yyyyMMdd-HHmmss'.trace'");
+
+    /**
+     * Autowired UtilitiesComponent object
+     * Used for reading trace options
+     */
+    @Autowired
+    private UtilitiesComponent utilitiesComponent;
+
+    /**
+     * Autowired SystemInfo object
+     * Used for reading raw collector outputs
+     */
+    @Autowired
+    private SystemInfoFFM systemInfo;
+
+    /**
+     * Writer of current trace, null if not recording
+     */
+    private TraceWriter writer;
+
+    /**
+     * Current trace file
+     */
+    private Path file;
+
+    /**
+     * Maximum size of trace, in bytes
+     */
+    private long maxSize;
+
+    /**
+     * Starts recording, if application is configured and traceRecorder option is true
+     * Failure is logged and does not prevent application from starting
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        if (Ward.isFirstLaunch())
+        {
+            return;
+        }
+
+        try
+        {
+            if (Boolean.parseBoolean(utilitiesComponent.getFromIniFile("traceRecorder")))
+            {
+                start(Path.of(getOption("traceDirectory", DEFAULT_DIRECTORY)), getOption("traceMaxSize", DEFAULT_MAX_SIZE));
+            }
+        }
+        catch (IOException | IllegalArgumentException exception)
+        {
+            log.error("Could not start trace recording: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Starts recording to new file, header is written at once
+     *
+     * @param directory directory for traces
+     * @param maxSize maximum size of trace, in MiB
+     * @return Path of trace file
+     */
+    public synchronized Path start(final Path directory, final long maxSize) throws IOException
+    {
+        if (writer != null)
+        {
+            return file;
+        }
+
+        Files.createDirectories(directory);
+        Path traceFile = directory.resolve(LocalDateTime.now().format(FILE_NAME_FORMAT));
+
+        writer = new TraceWriter(Files.newOutputStream(traceFile), TraceHeader.describe(systemInfo));
+        file = traceFile;
+        this.maxSize = maxSize * 1024 * 1024;
+
+        log.info("Recording trace to {}, at most {} MiB", traceFile.toAbsolutePath(), maxSize);
+
+        return traceFile;
+    }
+
+    /**
+     * Writes one frame, stops recording, when trace is full or can not be written
+     */
+    @Scheduled(fixedDelay = 1000)
+    public synchronized void record()
+    {
+        if (writer == null)
+        {
+            return;
+        }
+
+        try
+        {
+            writer.write(TraceFrame.capture(systemInfo, System.currentTimeMillis()));
+
+            if (writer.size() >= maxSize)
+            {
+                log.info("Trace {} has reached {} MiB, recording stopped", file.toAbsolutePath(), maxSize / (1024 * 1024));
+                stop();
+            }
+        }
+        catch (IOException exception)
+        {
+            log.error("Could not write trace {}, recording stopped: {}", file.toAbsolutePath(), exception.getMessage());
+            stop();
+        }
+    }
+
+    /**
+     * Stops recording and closes trace file
+     */
+    @PreDestroy
+    public synchronized void stop()
+    {
+        if (writer != null)
+        {
+            try
+            {
+                writer.close();
+            }
+            catch (IOException exception)
+            {
+                log.debug("Could not close trace", exception);
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Checks, if recording is running
+     *
+     * @return true, if recording is running
+     */
+    public synchronized boolean isActive()
+    {
+        return writer != null;
+    }
+
+    /**
+     * Gets numeric option from ini file
+     *
+     * @return long with option value, or default value if option is missing
+     */
+    private long getOption(final String optionName, final long defaultValue) throws IOException
+    {
+        String value = utilitiesComponent.getFromIniFile(optionName);
+
+        return ((value != null) && !value.isBlank()) ? Long.parseLong(value.trim()) : defaultValue;
+    }
+
+    /**
+     * Gets text option from ini file
+     *
+     * @return String with option value, or default value if option is missing
+     */
+    private String getOption(final String optionName, final String defaultValue) throws IOException
+    {
+        String value = utilitiesComponent.getFromIniFile(optionName);
+
+        return ((value != null) && !value.isBlank()) ? value.trim() : defaultValue;
+    }
+}
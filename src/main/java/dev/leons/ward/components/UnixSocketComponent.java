@@ -0,0 +1,319 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.dto.ErrorDto;
+import dev.leons.ward.services.SnapshotService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * UnixSocketComponent serves usage, info and uptime over Unix domain socket for local clients
+ * Enabled by socketPath option in ini file, access is controlled by socket file permissions
+ * <p>
+ * Protocol is line based: client sends section name ("usage", "info", "uptime")
+ * or "snapshot" with optional comma separated sections, and receives one line of json per request
+ * Created eagerly also in low-memory profile, where other beans are lazy
+ *
+ * @version 1.0.2
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class UnixSocketComponent
+{
+    /**
+     * Permissions of socket file, if socketPermissions option is not set: owner and group may connect
+     */
+    public static final String DEFAULT_PERMISSIONS = "rw-rw----";
+
+    /**
+     * Autowired SnapshotService object
+     * Used for getting latest samples
+     */
+    @Autowired
+    private SnapshotService snapshotService;
+
+    /**
+     * Autowired ResponseCacheComponent object
+     * Used for sharing encoded samples with http endpoints
+     */
+    @Autowired
+    private ResponseCacheComponent responseCacheComponent;
+
+    /**
+     * Autowired UtilitiesComponent object
+     * Used for various utility functions
+     */
+    @Autowired
+    private UtilitiesComponent utilitiesComponent;
+
+    /**
+     * Mapper used for encoding errors
+     */
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    /**
+     * Listening channel, null if socket is disabled
+     */
+    private ServerSocketChannel serverSocketChannel;
+
+    /**
+     * Executor, which runs accept loop and every connection on its own virtual thread
+     */
+    private ExecutorService executorService;
+
+    /**
+     * Path of socket file
+     */
+    private Path socketPath;
+
+    /**
+     * Starts listener, if application is configured and socketPath option is set
+     * Failure is logged and does not prevent http endpoints from starting
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        if (Ward.isFirstLaunch())
+        {
+            return;
+        }
+
+        try
+        {
+            String path = utilitiesComponent.getFromIniFile("socketPath");
+
+            if ((path != null) && !path.isBlank())
+            {
+                String permissions = utilitiesComponent.getFromIniFile("socketPermissions");
+                start(Path.of(path), (permissions != null) ? permissions : DEFAULT_PERMISSIONS);
+            }
+        }
+        catch (IOException | IllegalArgumentException exception)
+        {
+            log.error("Could not start unix socket listener: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Binds socket and starts accepting connections
+     * Stale socket file from previous run is removed, other files are never overwritten
+     * Socket is bound inside private directory and moved to path only after its permissions are set,
+     * so there is no moment, when path accepts connections with default permissions
+     *
+     * @param path socket file path
+     * @param permissions posix permissions of socket file, for example rw-rw----
+     * @throws IOException if socket can not be bound
+     */
+    public synchronized void start(final Path path, final String permissions) throws IOException
+    {
+        if (Files.exists(path, LinkOption.NOFOLLOW_LINKS))
+        {
+            if (!Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isOther())
+            {
+                throw new IOException("Refusing to replace " + path + ", it is not a socket");
+            }
+
+            Files.delete(path);
+        }
+
+        serverSocketChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+
+        try
+        {
+            bind(serverSocketChannel, path, permissions);
+        }
+        catch (IOException exception)
+        {
+            serverSocketChannel.close();
+            serverSocketChannel = null;
+            throw exception;
+        }
+
+        socketPath = path;
+
+        ServerSocketChannel channel = serverSocketChannel;
+        executorService = Executors.newVirtualThreadPerTaskExecutor();
+        executorService.submit(() -> acceptConnections(channel));
+
+        log.info("Listening on unix socket {}", path);
+    }
+
+    /**
+     * Binds channel to path with given permissions
+     * On posix file systems socket is created in directory, which only owner can enter, next to path,
+     * gets its permissions there and is linked to path, which fails instead of replacing file created meanwhile
+     *
+     * @param channel channel to bind
+     * @param path socket file path
+     * @param permissions posix permissions of socket file
+     * @throws IOException if socket can not be bound or moved
+     */
+    private void bind(final ServerSocketChannel channel, final Path path, final String permissions) throws IOException
+    {
+        Path parent = path.toAbsolutePath().getParent();
+
+        if (!parent.getFileSystem().supportedFileAttributeViews().contains("posix"))
+        {
+            log.warn("File system does not support posix permissions, socket {} keeps default permissions", path);
+            channel.bind(UnixDomainSocketAddress.of(path));
+            return;
+        }
+
+        Path directory = Files.createTempDirectory(parent, ".ward-",
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        Path temporary = directory.resolve("s");
+
+        try
+        {
+            channel.bind(UnixDomainSocketAddress.of(temporary));
+            Files.setPosixFilePermissions(temporary, PosixFilePermissions.fromString(permissions));
+            Files.createLink(path, temporary);
+        }
+        finally
+        {
+            Files.deleteIfExists(temporary);
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * Closes socket and removes its file
+     */
+    @PreDestroy
+    public synchronized void stop()
+    {
+        if (serverSocketChannel == null)
+        {
+            return;
+        }
+
+        try
+        {
+            serverSocketChannel.close();
+            Files.deleteIfExists(socketPath);
+        }
+        catch (IOException exception)
+        {
+            log.warn("Could not remove unix socket {}", socketPath);
+        }
+
+        executorService.shutdownNow();
+        serverSocketChannel = null;
+    }
+
+    /**
+     * Accepts connections until socket is closed
+     *
+     * @param channel listening channel
+     */
+    private void acceptConnections(final ServerSocketChannel channel)
+    {
+        while (channel.isOpen())
+        {
+            try
+            {
+                SocketChannel socketChannel = channel.accept();
+                executorService.submit(() -> serve(socketChannel));
+            }
+            catch (ClosedChannelException exception)
+            {
+                return;
+            }
+            catch (IOException exception)
+            {
+                log.warn("Could not accept unix socket connection: {}", exception.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Answers requests of one connection until client closes it
+     *
+     * @param socketChannel client connection
+     */
+    private void serve(final SocketChannel socketChannel)
+    {
+        try (socketChannel;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(socketChannel), StandardCharsets.UTF_8));
+             OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(socketChannel)))
+        {
+            String request;
+
+            while ((request = reader.readLine()) != null)
+            {
+                if (request.isBlank())
+                {
+                    continue;
+                }
+
+                outputStream.write(handle(request.trim()));
+                outputStream.write('\n');
+                outputStream.flush();
+            }
+        }
+        catch (IOException exception)
+        {
+            log.debug("Unix socket connection closed: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Produces response for one request line
+     *
+     * @param request request line, for example "usage" or "snapshot usage,uptime"
+     * @return json bytes without trailing newline
+     */
+    byte[] handle(final String request)
+    {
+        String[] parts = request.split("\\s+", 2);
+
+        try
+        {
+            if (parts[0].equals("snapshot"))
+            {
+                Map<String, ResponseCacheComponent.Entry> sections = new LinkedHashMap<>();
+
+                for (String section : snapshotService.parseFields((parts.length > 1) ? parts[1] : null))
+                {
+                    sections.put(section, responseCacheComponent.getEncoded(section, snapshotService.getSection(section)));
+                }
+
+                return responseCacheComponent.toSnapshotResponseEntity(sections, null, null).getBody();
+            }
+
+            return responseCacheComponent.getEncoded(parts[0], snapshotService.getSection(parts[0])).getJson();
+        }
+        catch (Exception exception)
+        {
+            return jsonMapper.writeValueAsBytes(new ErrorDto(exception));
+        }
+    }
+}
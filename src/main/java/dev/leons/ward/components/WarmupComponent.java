@@ -0,0 +1,68 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.services.SnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WarmupComponent probes hardware in background, as soon as configured application is ready
+ * OSHI builds its hardware layers lazily on first use, so the first probe is the slow one. Here it runs after port is bound,
+ * without delaying setup page or dashboard, and first hardware request finds layers and first samples ready
+ *
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class WarmupComponent
+{
+    /**
+     * Autowired SnapshotService object
+     * Used for taking first samples
+     */
+    @Autowired
+    private SnapshotService snapshotService;
+
+    /**
+     * Starts warmup on virtual thread, setup mode does not touch hardware at all
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady()
+    {
+        if (!Ward.isFirstLaunch())
+        {
+            Thread.ofVirtual().name("ward-warmup").start(this::warmUp);
+        }
+    }
+
+    /**
+     * Takes first samples, info first, because its probes are the slowest and index page shows it
+     */
+    void warmUp()
+    {
+        long start = System.nanoTime();
+
+        try
+        {
+            snapshotService.getInfo();
+            snapshotService.getUptime();
+            snapshotService.getUsage();
+
+            log.info("Hardware probed in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        catch (ApplicationNotConfiguredException exception)
+        {
+            log.debug("Skipping warmup, application is not configured");
+        }
+        catch (RuntimeException exception)
+        {
+            log.warn("Hardware warmup failed, first request will probe hardware", exception);
+        }
+    }
+}
@@ -1,24 +1,56 @@
 package dev.leons.ward.configurations;
 
+import dev.leons.ward.simulation.ReplaySystemInfo;
+import dev.leons.ward.simulation.SimulatedSystemInfo;
+import dev.leons.ward.simulation.SimulationSettings;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import oshi.SystemInfoFFM;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 /**
  * BeanConfiguration provides bean configuration for classes, which are not components
  *
  * @author Rudolf Barbu
- * @version 1.0.2
+ * @version 1.0.6
  */
 @Configuration
+@EnableScheduling
 public class BeanConfiguration
 {
     /**
-     * @return SystemInfo object
+     * Simulated host is chosen at runtime instead of with @Profile, because Spring AOT fixes profile conditions at build time
+     *
+     * @param environment used for checking "simulated" and "replay" profiles and reading ward.simulation and ward.replay properties
+     * @return SystemInfo object, simulated one in "simulated" profile, replayed trace in "replay" profile
+     * @throws IOException if trace of "replay" profile can not be read
      */
     @Bean
-    public SystemInfoFFM systemInfo()
+    public SystemInfoFFM systemInfo(final Environment environment) throws IOException
     {
+        if (environment.matchesProfiles("replay"))
+        {
+            return new ReplaySystemInfo(Path.of(environment.getRequiredProperty("ward.replay.file")),
+                    environment.getProperty("ward.replay.speed", Double.class, 1.0),
+                    environment.getProperty("ward.replay.loop", Boolean.class, true));
+        }
+
+        if (environment.matchesProfiles("simulated"))
+        {
+            return new SimulatedSystemInfo(new SimulationSettings(
+                    environment.getProperty("ward.simulation.seed", Long.class, 42L),
+                    environment.getProperty("ward.simulation.cores", Integer.class, 8),
+                    environment.getProperty("ward.simulation.memory-gib", Long.class, 16L) << 30,
+                    environment.getProperty("ward.simulation.disks", Integer.class, 2),
+                    environment.getProperty("ward.simulation.file-stores", Integer.class, 2),
+                    environment.getProperty("ward.simulation.processes", Integer.class, 300),
+                    environment.getProperty("ward.simulation.network-interfaces", Integer.class, 2)));
+        }
+
         return new SystemInfoFFM();
     }
-}
\ No newline at end of file
+}
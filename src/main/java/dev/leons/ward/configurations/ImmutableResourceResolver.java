@@ -0,0 +1,223 @@
+package dev.leons.ward.configurations;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * ImmutableResourceResolver sets caching headers of static resources
+ * Resources, requested by fingerprinted path, never change and are cached for a year without revalidation
+ * Resources with precompressed variants vary by Accept-Encoding, even if served uncompressed
+ *
+ * @version 1.0.0
+ */
+public class ImmutableResourceResolver extends AbstractResourceResolver
+{
+    /**
+     * Cache-Control of fingerprinted resources
+     */
+    static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    /**
+     * Extensions of precompressed variants, written by the asset pipeline
+     */
+    private static final List<String> ENCODED_EXTENSIONS = List.of(".br", ".gz");
+
+    @Override
+    protected Resource resolveResourceInternal(final HttpServletRequest request, final String requestPath,
+                                               final List<? extends Resource> locations, final ResourceResolverChain chain)
+    {
+        Resource resource = chain.resolveResource(request, requestPath, locations);
+
+        if (resource == null)
+        {
+            return null;
+        }
+
+        String filename = resource.getFilename();
+        boolean fingerprinted = (filename != null) && !requestPath.endsWith(filename);
+        boolean encoded = (filename != null) && hasEncodedVariant(resource, filename);
+
+        if (!fingerprinted && !encoded)
+        {
+            return resource;
+        }
+
+        return new CachedResource(resource, fingerprinted, encoded);
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(final String resourceUrlPath, final List<? extends Resource> locations,
+                                            final ResourceResolverChain chain)
+    {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    /**
+     * Checks, if asset pipeline wrote any precompressed variant of resource
+     *
+     * @param resource resolved resource
+     * @param filename resource file name
+     * @return true, if .br or .gz variant exists
+     */
+    private boolean hasEncodedVariant(final Resource resource, final String filename)
+    {
+        for (String extension : ENCODED_EXTENSIONS)
+        {
+            try
+            {
+                if (resource.createRelative(filename + extension).exists())
+                {
+                    return true;
+                }
+            }
+            catch (IOException exception)
+            {
+                logger.trace("No " + extension + " variant of " + filename);
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * CachedResource delegates to resolved resource and adds caching headers to its own
+     */
+    private static final class CachedResource extends AbstractResource implements HttpResource
+    {
+        /**
+         * Resolved resource, possibly versioned or encoded
+         */
+        private final Resource resource;
+
+        /**
+         * True, if resource was requested by fingerprinted path
+         */
+        private final boolean fingerprinted;
+
+        /**
+         * True, if resource has precompressed variants
+         */
+        private final boolean encoded;
+
+        private CachedResource(final Resource resource, final boolean fingerprinted, final boolean encoded)
+        {
+            this.resource = resource;
+            this.fingerprinted = fingerprinted;
+            this.encoded = encoded;
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders()
+        {
+            HttpHeaders headers = new HttpHeaders();
+
+            if (resource instanceof HttpResource httpResource)
+            {
+                headers.addAll(httpResource.getResponseHeaders());
+            }
+            if (fingerprinted)
+            {
+                headers.setCacheControl(IMMUTABLE);
+            }
+            if (encoded)
+            {
+                headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+            }
+
+            return headers;
+        }
+
+        @Override
+        public boolean exists()
+        {
+            return resource.exists();
+        }
+
+        @Override
+        public boolean isReadable()
+        {
+            return resource.isReadable();
+        }
+
+        @Override
+        public boolean isFile()
+        {
+            return resource.isFile();
+        }
+
+        @Override
+        public URL getURL() throws IOException
+        {
+            return resource.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException
+        {
+            return resource.getURI();
+        }
+
+        @Override
+        public File getFile() throws IOException
+        {
+            return resource.getFile();
+        }
+
+        @Override
+        public ReadableByteChannel readableChannel() throws IOException
+        {
+            return resource.readableChannel();
+        }
+
+        @Override
+        public long contentLength() throws IOException
+        {
+            return resource.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException
+        {
+            return resource.lastModified();
+        }
+
+        @Override
+        public Resource createRelative(final String relativePath) throws IOException
+        {
+            return resource.createRelative(relativePath);
+        }
+
+        @Override
+        public String getFilename()
+        {
+            return resource.getFilename();
+        }
+
+        @Override
+        public String getDescription()
+        {
+            return resource.getDescription();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException
+        {
+            return resource.getInputStream();
+        }
+    }
+}
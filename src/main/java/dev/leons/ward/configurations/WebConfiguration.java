@@ -0,0 +1,47 @@
+package dev.leons.ward.configurations;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+/**
+ * WebConfiguration serves static resources by fingerprinted paths, with precompressed variants
+ * Links in templates are rewritten to fingerprinted paths by ResourceUrlEncodingFilter
+ *
+ * @version 1.0.0
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer
+{
+    /**
+     * Registers static resources with resource chain
+     * Unversioned paths, such as fonts referenced from css, are revalidated on every use
+     *
+     * @param registry resource handler registry
+     */
+    @Override
+    public void addResourceHandlers(final ResourceHandlerRegistry registry)
+    {
+        registry.addResourceHandler("/**")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new ImmutableResourceResolver())
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    /**
+     * @return ResourceUrlEncodingFilter object
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter()
+    {
+        return new ResourceUrlEncodingFilter();
+    }
+}
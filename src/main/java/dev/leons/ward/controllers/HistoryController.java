@@ -0,0 +1,52 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.dto.HistoryDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidHistoryQueryException;
+import dev.leons.ward.services.HistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * HistoryController displays aggregated or downsampled range of long history
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/history")
+public class HistoryController
+{
+    /**
+     * Autowired HistoryService object
+     * Used for querying long history
+     */
+    @Autowired
+    private HistoryService historyService;
+
+    /**
+     * Get request to display range of one metric
+     *
+     * @param metric metric name, such as processor
+     * @param from start of range in epoch milliseconds, an hour before end if missing
+     * @param to end of range in epoch milliseconds, now if missing
+     * @param aggregation avg, min, max, p95, rate, or lttb for downsampling
+     * @param step step of aggregation in seconds
+     * @param points most points of downsampling
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping
+    public ResponseEntity<HistoryDto> getHistory(@RequestParam(value = "metric", defaultValue = "processor") final String metric,
+                                                 @RequestParam(value = "from", required = false) final Long from,
+                                                 @RequestParam(value = "to", required = false) final Long to,
+                                                 @RequestParam(value = "aggregation", defaultValue = "avg") final String aggregation,
+                                                 @RequestParam(value = "step", required = false) final Long step,
+                                                 @RequestParam(value = "points", required = false) final Integer points) throws ApplicationNotConfiguredException, InvalidHistoryQueryException
+    {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(historyService.query(metric, from, to, aggregation, step, points));
+    }
+}
@@ -2,6 +2,7 @@ package dev.leons.ward.controllers;
 
 import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
 import dev.leons.ward.services.IndexService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -9,12 +10,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.io.IOException;
+import java.util.Locale;
 
 /**
  * IndexController displays index page of Ward application
  *
  * @author Rudolf Barbu
- * @version 1.0.2
+ * @version 1.0.3
  */
 @Controller
 @RequestMapping(value = "/")
@@ -29,13 +31,20 @@ public class IndexController
 
     /**
      * Get request to display index page
+     * Time spent before template starts writing is reported in Server-Timing header, so it is visible in browser dev tools
      *
      * @param model used for providing values in to html template
+     * @param response used for adding Server-Timing header
      * @return String name of html template with values from model param
      */
     @GetMapping
-    public String getIndex(final Model model) throws IOException, ApplicationNotConfiguredException
+    public String getIndex(final Model model, final HttpServletResponse response) throws IOException, ApplicationNotConfiguredException
     {
-        return indexService.getIndex(model);
+        long start = System.nanoTime();
+        String template = indexService.getIndex(model);
+
+        response.setHeader("Server-Timing", String.format(Locale.ROOT, "model;dur=%.2f", (System.nanoTime() - start) / 1_000_000.0));
+
+        return template;
     }
 }
\ No newline at end of file
@@ -1,12 +1,13 @@
 package dev.leons.ward.controllers;
 
-import dev.leons.ward.dto.InfoDto;
+import dev.leons.ward.components.ResponseCacheComponent;
 import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
-import dev.leons.ward.services.InfoService;
+import dev.leons.ward.services.SnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -14,27 +15,37 @@ import org.springframework.web.bind.annotation.RestController;
  * InfoController displays responses from rest API, about server
  *
  * @author Rudolf Barbu
- * @version 1.0.1
+ * @version 1.0.3
  */
 @RestController
 @RequestMapping(value = "/api/info")
 public class InfoController
 {
     /**
-     * Autowired InfoService object
-     * Used for getting information about server
+     * Autowired SnapshotService object
+     * Used for getting latest information about server
      */
     @Autowired
-    private InfoService infoService;
+    private SnapshotService snapshotService;
+
+    /**
+     * Autowired ResponseCacheComponent object
+     * Used for encoding each sample only once
+     */
+    @Autowired
+    private ResponseCacheComponent responseCacheComponent;
 
     /**
      * Get request to display current usage information for processor, RAM and storage
      *
+     * @param accept Accept header, used to pick json or CBOR representation
+     * @param acceptEncoding Accept-Encoding header, used to pick gzip variant
      * @return ResponseEntity to servlet
      */
     @GetMapping
-    public ResponseEntity<InfoDto> getInfo() throws ApplicationNotConfiguredException
+    public ResponseEntity<byte[]> getInfo(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) throws ApplicationNotConfiguredException
     {
-        return new ResponseEntity<>(infoService.getInfo(), HttpStatus.OK);
+        return responseCacheComponent.toResponseEntity(responseCacheComponent.getEncoded("info", snapshotService.getInfo()), accept, acceptEncoding);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.dto.JvmDto;
+import dev.leons.ward.services.JvmService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * JvmController displays resources used by Ward itself
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/jvm")
+public class JvmController
+{
+    /**
+     * Autowired JvmService object
+     * Used for getting heap, GC and thread information
+     */
+    @Autowired
+    private JvmService jvmService;
+
+    /**
+     * Get request to display heap, RSS, GC pauses, thread counts and virtual thread pinning of Ward
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping
+    public ResponseEntity<JvmDto> getJvm()
+    {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(jvmService.getJvm());
+    }
+}
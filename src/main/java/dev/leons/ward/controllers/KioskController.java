@@ -0,0 +1,52 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.services.KioskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * KioskController displays kiosk page, which needs neither javascript nor WebGL
+ *
+ * @version 1.0.0
+ */
+@Controller
+@RequestMapping(value = "/kiosk")
+public class KioskController
+{
+    /**
+     * Autowired KioskService object
+     * Used for getting rendered kiosk page
+     */
+    @Autowired
+    private KioskService kioskService;
+
+    /**
+     * Get request to display kiosk page
+     * Page is revalidated on every refresh, unchanged page is answered with 304
+     *
+     * @param theme light or dark, theme from ini file is used if missing
+     * @param refresh refresh interval in seconds
+     * @return ResponseEntity with rendered html
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> getKiosk(@RequestParam(value = "theme", required = false) final String theme,
+                                           @RequestParam(value = "refresh", defaultValue = "5") final int refresh) throws ApplicationNotConfiguredException
+    {
+        KioskService.Page page = kioskService.getPage(theme, refresh);
+
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .cacheControl(CacheControl.noCache())
+                .eTag(page.getETag())
+                .body(page.getHtml());
+    }
+}
@@ -0,0 +1,38 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.components.MetricsComponent;
+import dev.leons.ward.dto.MetricsDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * MetricsController displays custom metrics of collector plugins and other sources
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/metrics")
+public class MetricsController
+{
+    /**
+     * Autowired MetricsComponent object
+     * Used for getting custom metrics
+     */
+    @Autowired
+    private MetricsComponent metricsComponent;
+
+    /**
+     * Get request to display metrics and health of every metric source
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping
+    public ResponseEntity<MetricsDto> getMetrics()
+    {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(metricsComponent.getMetrics());
+    }
+}
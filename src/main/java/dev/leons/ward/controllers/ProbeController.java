@@ -0,0 +1,39 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.dto.ProbesDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.services.ProbeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * ProbeController displays health of probed local services
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/probes")
+public class ProbeController
+{
+    /**
+     * Autowired ProbeService object
+     * Used for getting result of last probe round
+     */
+    @Autowired
+    private ProbeService probeService;
+
+    /**
+     * Get request to display status, latency and latency history of every probed service
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping
+    public ResponseEntity<ProbesDto> getProbes() throws ApplicationNotConfiguredException
+    {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(probeService.getProbes());
+    }
+}
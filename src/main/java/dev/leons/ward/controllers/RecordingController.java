@@ -0,0 +1,61 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.components.FlightRecorderComponent;
+import dev.leons.ward.dto.ResponseDto;
+import dev.leons.ward.exceptions.RecordingNotActiveException;
+import dev.leons.ward.exceptions.RecordingNotAllowedException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * RecordingController dumps continuous flight recording on demand
+ *
+ * @version 1.0.1
+ */
+@RestController
+@RequestMapping(value = "/api/internal/recording")
+public class RecordingController
+{
+    /**
+     * Header with token, which authorizes dump
+     */
+    public static final String TOKEN_HEADER = "X-Ward-Token";
+
+    /**
+     * Autowired FlightRecorderComponent object
+     * Used for dumping recording
+     */
+    @Autowired
+    private FlightRecorderComponent flightRecorderComponent;
+
+    /**
+     * Post request to write last minutes of recording to file on server
+     * File name is chosen by server, so request can not write outside of dump directory, and only file name is returned
+     *
+     * @param minutes length of dumped interval
+     * @param token value of X-Ward-Token header
+     * @param request used for getting client address
+     * @return ResponseEntity to servlet
+     */
+    @PostMapping
+    public ResponseEntity<ResponseDto> postDump(@RequestParam(value = "minutes", defaultValue = "5") final long minutes,
+                                                @RequestHeader(value = TOKEN_HEADER, required = false) final String token,
+                                                final HttpServletRequest request) throws RecordingNotActiveException, RecordingNotAllowedException, IOException
+    {
+        if (!flightRecorderComponent.isAllowed(request.getRemoteAddr(), token))
+        {
+            throw new RecordingNotAllowedException();
+        }
+
+        return new ResponseEntity<>(new ResponseDto("Recording written to " + flightRecorderComponent.dump(minutes).getFileName()), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,64 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.components.ResponseCacheComponent;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.UnknownFieldException;
+import dev.leons.ward.services.SnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SnapshotController displays usage, info and uptime in one response
+ *
+ * @version 1.0.1
+ */
+@RestController
+@RequestMapping(value = "/api/snapshot")
+public class SnapshotController
+{
+    /**
+     * Autowired SnapshotService object
+     * Used for getting latest samples
+     */
+    @Autowired
+    private SnapshotService snapshotService;
+
+    /**
+     * Autowired ResponseCacheComponent object
+     * Used for encoding each sample only once
+     */
+    @Autowired
+    private ResponseCacheComponent responseCacheComponent;
+
+    /**
+     * Get request to display latest samples of requested sections
+     *
+     * @param fields comma separated sections to include, all sections if absent
+     * @param accept Accept header, used to pick json or CBOR representation
+     * @param ifNoneMatch ETags of sections, which client already has
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> getSnapshot(@RequestParam(value = "fields", required = false) final String fields,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) throws ApplicationNotConfiguredException, UnknownFieldException
+    {
+        Map<String, ResponseCacheComponent.Entry> sections = new LinkedHashMap<>();
+
+        for (String section : snapshotService.parseFields(fields))
+        {
+            sections.put(section, responseCacheComponent.getEncoded(section, snapshotService.getSection(section)));
+        }
+
+        return responseCacheComponent.toSnapshotResponseEntity(sections, accept, ifNoneMatch);
+    }
+}
@@ -0,0 +1,56 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.components.StatsComponent;
+import dev.leons.ward.dto.StatsDto;
+import dev.leons.ward.services.InfoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * StatsController displays latencies of Ward endpoints and collector steps, and durations of info section probes
+ *
+ * @version 1.0.1
+ */
+@RestController
+@RequestMapping(value = "/api/internal/stats")
+public class StatsController
+{
+    /**
+     * Autowired StatsComponent object
+     * Used for getting latency histograms
+     */
+    @Autowired
+    private StatsComponent statsComponent;
+
+    /**
+     * Autowired InfoService object
+     * Used for getting durations of info section probes
+     */
+    @Autowired
+    private InfoService infoService;
+
+    /**
+     * Get request to display count, p50, p99, p999 and max of every endpoint and collector step,
+     * and duration of last probe of every info section
+     *
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping
+    public ResponseEntity<StatsDto> getStats()
+    {
+        StatsDto statsDto = statsComponent.getStats();
+        Map<String, Long> sections = new LinkedHashMap<>();
+
+        infoService.getTimings().forEach((name, duration) -> sections.put(name, duration.toMillis()));
+        statsDto.setSections(sections);
+
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(statsDto);
+    }
+}
@@ -0,0 +1,46 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.dto.StorageTreeDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.StorageTreeNotAvailableException;
+import dev.leons.ward.services.StorageTreeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * StorageController displays sizes of directories from last storage scan
+ *
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping(value = "/api/storage")
+public class StorageController
+{
+    /**
+     * Autowired StorageTreeService object
+     * Used for getting scanned directory tree
+     */
+    @Autowired
+    private StorageTreeService storageTreeService;
+
+    /**
+     * Get request to display largest directories and files under scanned roots
+     *
+     * @param path directory to start from, all roots if missing
+     * @param depth levels of subdirectories to include
+     * @param limit largest subdirectories to include per directory
+     * @return ResponseEntity to servlet
+     */
+    @GetMapping(value = "/tree")
+    public ResponseEntity<StorageTreeDto> getTree(@RequestParam(value = "path", required = false) final String path,
+                                                  @RequestParam(value = "depth", defaultValue = "2") final int depth,
+                                                  @RequestParam(value = "limit", defaultValue = "10") final int limit) throws ApplicationNotConfiguredException, StorageTreeNotAvailableException
+    {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(storageTreeService.getTree(path, depth, limit));
+    }
+}
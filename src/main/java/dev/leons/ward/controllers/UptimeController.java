@@ -1,39 +1,50 @@
 package dev.leons.ward.controllers;
 
-import dev.leons.ward.dto.UptimeDto;
-import dev.leons.ward.services.UptimeService;
+import dev.leons.ward.components.ResponseCacheComponent;
+import dev.leons.ward.services.SnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
- * SetupController displays responses from rest API
+ * UptimeController displays responses from rest API
  *
  * @author Rudolf Barbu
- * @version 1.0.0
+ * @version 1.0.1
  */
 @RestController
 @RequestMapping(value = "/api/uptime")
 public class UptimeController
 {
     /**
-     * Autowired UptimeService object
-     * Used for getting uptime information
+     * Autowired SnapshotService object
+     * Used for getting latest uptime sample
      */
     @Autowired
-    private UptimeService uptimeService;
+    private SnapshotService snapshotService;
+
+    /**
+     * Autowired ResponseCacheComponent object
+     * Used for encoding each sample only once
+     */
+    @Autowired
+    private ResponseCacheComponent responseCacheComponent;
 
     /**
      * Get request to display uptime information
      *
+     * @param accept Accept header, used to pick json or CBOR representation
+     * @param acceptEncoding Accept-Encoding header, used to pick gzip variant
      * @return ResponseEntity to servlet
      */
     @GetMapping
-    public ResponseEntity<UptimeDto> getUptime()
+    public ResponseEntity<byte[]> getUptime(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding)
     {
-        return new ResponseEntity<>(uptimeService.getUptime(), HttpStatus.OK);
+        return responseCacheComponent.toResponseEntity(responseCacheComponent.getEncoded("uptime", snapshotService.getUptime()), accept, acceptEncoding);
     }
-}
\ No newline at end of file
+}
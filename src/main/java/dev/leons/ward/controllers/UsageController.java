@@ -1,12 +1,13 @@
 package dev.leons.ward.controllers;
 
-import dev.leons.ward.dto.UsageDto;
+import dev.leons.ward.components.ResponseCacheComponent;
 import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
-import dev.leons.ward.services.UsageService;
+import dev.leons.ward.services.SnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -14,27 +15,37 @@ import org.springframework.web.bind.annotation.RestController;
  * UsageController displays responses from rest API
  *
  * @author Rudolf Barbu
- * @version 1.0.1
+ * @version 1.0.3
  */
 @RestController
 @RequestMapping(value = "/api/usage")
 public class UsageController
 {
     /**
-     * Autowired UsageService object
-     * Used for getting usage information
+     * Autowired SnapshotService object
+     * Used for getting latest usage sample
      */
     @Autowired
-    private UsageService usageService;
+    private SnapshotService snapshotService;
+
+    /**
+     * Autowired ResponseCacheComponent object
+     * Used for encoding each sample only once
+     */
+    @Autowired
+    private ResponseCacheComponent responseCacheComponent;
 
     /**
      * Get request to display current usage information for processor, RAM and storage
      *
+     * @param accept Accept header, used to pick json or CBOR representation
+     * @param acceptEncoding Accept-Encoding header, used to pick gzip variant
      * @return ResponseEntity to servlet
      */
     @GetMapping
-    public ResponseEntity<UsageDto> getUsage() throws ApplicationNotConfiguredException
+    public ResponseEntity<byte[]> getUsage(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) throws ApplicationNotConfiguredException
     {
-        return new ResponseEntity<>(usageService.getUsage(), HttpStatus.OK);
+        return responseCacheComponent.toResponseEntity(responseCacheComponent.getEncoded("usage", snapshotService.getUsage()), accept, acceptEncoding);
     }
-}
\ No newline at end of file
+}
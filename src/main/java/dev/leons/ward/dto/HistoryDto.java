@@ -0,0 +1,49 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * HistoryDto is a values container for presenting aggregated or downsampled range of one metric
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class HistoryDto
+{
+    /**
+     * Metric name field
+     */
+    private String metric;
+
+    /**
+     * Aggregation, or lttb for downsampling field
+     */
+    private String aggregation;
+
+    /**
+     * Start of range in epoch milliseconds field
+     */
+    private long from;
+
+    /**
+     * End of range in epoch milliseconds field
+     */
+    private long to;
+
+    /**
+     * Step in milliseconds, 0 for downsampling field
+     */
+    private long step;
+
+    /**
+     * Timestamps of points in epoch milliseconds field
+     */
+    private long[] timestamps;
+
+    /**
+     * Values of points, in same order as timestamps field
+     */
+    private double[] values;
+}
@@ -1,13 +1,16 @@
 package dev.leons.ward.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 /**
  * InfoDto is a container for other info objects
  *
  * @author Rudolf Barbu
- * @version 1.0.1
+ * @version 1.0.2
  */
 @Getter
 @Setter
@@ -27,4 +30,10 @@ public class InfoDto
      * Storage info field
      */
     private StorageDto storage;
+
+    /**
+     * Names of sections, which are served from their last good value, omitted if all sections are fresh
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> stale;
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * JvmDto is a values container for presenting resources used by Ward itself
+ *
+ * @version 1.0.1
+ */
+@Getter
+@Setter
+public class JvmDto
+{
+    /**
+     * Java runtime version field
+     */
+    private String javaVersion;
+
+    /**
+     * Used heap in bytes field
+     */
+    private long heapUsed;
+
+    /**
+     * Committed heap in bytes field
+     */
+    private long heapCommitted;
+
+    /**
+     * Maximum heap in bytes field, -1 if undefined
+     */
+    private long heapMax;
+
+    /**
+     * Used non-heap memory in bytes field
+     */
+    private long nonHeapUsed;
+
+    /**
+     * Resident set size of Ward process in bytes field
+     */
+    private long rss;
+
+    /**
+     * Garbage collections count field
+     */
+    private long gcCount;
+
+    /**
+     * Garbage collection pauses distribution field
+     */
+    private LatencyDto gcPauses;
+
+    /**
+     * Live platform threads count field
+     */
+    private int platformThreads;
+
+    /**
+     * Virtual threads mounted on carrier threads count field
+     */
+    private int mountedVirtualThreads;
+
+    /**
+     * Virtual threads queued for carrier threads count field, estimate
+     */
+    private long queuedVirtualThreads;
+
+    /**
+     * Pinned virtual thread events count field
+     */
+    private long pinnedEvents;
+
+    /**
+     * Top frame of last pinned virtual thread event field
+     */
+    private String lastPinnedFrame;
+}
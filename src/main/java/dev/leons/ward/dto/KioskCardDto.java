@@ -0,0 +1,39 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * KioskCardDto is a values container for one usage card of kiosk page
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class KioskCardDto
+{
+    /**
+     * Card label field
+     */
+    private String label;
+
+    /**
+     * Latest usage in percent field
+     */
+    private int value;
+
+    /**
+     * Sparkline polyline points field
+     */
+    private String points;
+
+    /**
+     * Sparkline stroke color field
+     */
+    private String color;
+
+    /**
+     * Additional hardware information field
+     */
+    private String detail;
+}
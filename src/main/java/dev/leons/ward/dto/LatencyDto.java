@@ -0,0 +1,39 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * LatencyDto is a values container for presenting latency distribution of one endpoint or collector step
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class LatencyDto
+{
+    /**
+     * Recorded calls count field
+     */
+    private long count;
+
+    /**
+     * Median in microseconds field
+     */
+    private double p50;
+
+    /**
+     * 99th percentile in microseconds field
+     */
+    private double p99;
+
+    /**
+     * 99.9th percentile in microseconds field
+     */
+    private double p999;
+
+    /**
+     * Maximum in microseconds field
+     */
+    private double max;
+}
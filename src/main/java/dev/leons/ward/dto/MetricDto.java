@@ -0,0 +1,31 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * MetricDto is a values container for presenting one custom metric
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class MetricDto
+{
+    /**
+     * Metric name field
+     */
+    private String name;
+
+    /**
+     * Label names and values field
+     */
+    private Map<String, String> labels;
+
+    /**
+     * Current value field
+     */
+    private double value;
+}
@@ -0,0 +1,51 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * MetricSourceDto is a values container for presenting metrics of one source and health of that source
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class MetricSourceDto
+{
+    /**
+     * Source name field
+     */
+    private String name;
+
+    /**
+     * Source type, such as plugin field
+     */
+    private String type;
+
+    /**
+     * End of last successful update in epoch milliseconds, 0 before first one field
+     */
+    private long lastUpdate;
+
+    /**
+     * Duration of last update in milliseconds field
+     */
+    private double duration;
+
+    /**
+     * Reason of last failure, null if last update succeeded field
+     */
+    private String error;
+
+    /**
+     * Count of failed or skipped updates since start field
+     */
+    private long failures;
+
+    /**
+     * Metrics of last successful update field
+     */
+    private List<MetricDto> metrics;
+}
@@ -0,0 +1,21 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * MetricsDto is a values container for presenting custom metrics of all sources
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class MetricsDto
+{
+    /**
+     * Sources, ordered by name field
+     */
+    private List<MetricSourceDto> sources;
+}
@@ -0,0 +1,61 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * ProbeDto is a values container for presenting health of one local service
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class ProbeDto
+{
+    /**
+     * Service name field
+     */
+    private String name;
+
+    /**
+     * Probed uri field
+     */
+    private String target;
+
+    /**
+     * Service answered last check field
+     */
+    private boolean up;
+
+    /**
+     * Latency of last check in milliseconds field
+     */
+    private double latency;
+
+    /**
+     * Reason of last failure, null if service is up field
+     */
+    private String message;
+
+    /**
+     * Median latency of kept successful checks in milliseconds field
+     */
+    private double p50;
+
+    /**
+     * 99th percentile latency of kept successful checks in milliseconds field
+     */
+    private double p99;
+
+    /**
+     * Share of successful kept checks, between 0 and 1 field
+     */
+    private double availability;
+
+    /**
+     * Latencies of kept checks in milliseconds, oldest first, null for failed checks field
+     */
+    private List<Double> history;
+}
@@ -0,0 +1,31 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * ProbesDto is a values container for presenting health of all probed services
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class ProbesDto
+{
+    /**
+     * End of last probe round in epoch milliseconds, 0 before first round field
+     */
+    private long lastRound;
+
+    /**
+     * Seconds between probe rounds field
+     */
+    private long interval;
+
+    /**
+     * Probed services, in configured order field
+     */
+    private List<ProbeDto> probes;
+}
@@ -13,7 +13,7 @@ import lombok.Setter;
  * SetupDto is a values container for setup data
  *
  * @author Rudolf Barbu
- * @version 1.0.3
+ * @version 1.0.4
  */
 @Getter
 @Setter
@@ -57,4 +57,10 @@ public class SetupDto
     @NotEmpty
     @Pattern(regexp = "^#([A-Fa-f0-9]{6}|[A-Fa-f0-9]{3})$|default")
     private String backgroundColor;
+
+    /**
+     * Low power mode field, optional for clients, which do not know it
+     */
+    @Pattern(regexp = "true|false")
+    private String lowPower;
 }
\ No newline at end of file
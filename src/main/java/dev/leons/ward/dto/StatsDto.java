@@ -0,0 +1,31 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * StatsDto is a values container for presenting latencies of Ward itself
+ *
+ * @version 1.0.1
+ */
+@Getter
+@Setter
+public class StatsDto
+{
+    /**
+     * Latencies by request path field
+     */
+    private Map<String, LatencyDto> endpoints;
+
+    /**
+     * Latencies by collector step field
+     */
+    private Map<String, LatencyDto> collectors;
+
+    /**
+     * Duration of last probe in milliseconds by info section field
+     */
+    private Map<String, Long> sections;
+}
@@ -0,0 +1,24 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * StorageFileDto is a values container for presenting size of one file
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class StorageFileDto
+{
+    /**
+     * File name field
+     */
+    private String name;
+
+    /**
+     * Bytes field
+     */
+    private long size;
+}
@@ -0,0 +1,51 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * StorageNodeDto is a values container for presenting size of one directory
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class StorageNodeDto
+{
+    /**
+     * Directory name field
+     */
+    private String name;
+
+    /**
+     * Absolute path field
+     */
+    private String path;
+
+    /**
+     * Bytes of all files in subtree field
+     */
+    private long size;
+
+    /**
+     * Count of all files in subtree field
+     */
+    private long fileCount;
+
+    /**
+     * Count of direct subdirectories, including ones omitted by limit field
+     */
+    private int directoryCount;
+
+    /**
+     * Largest subdirectories, largest first, empty beyond requested depth field
+     */
+    private List<StorageNodeDto> children;
+
+    /**
+     * Largest files directly in directory, largest first field
+     */
+    private List<StorageFileDto> files;
+}
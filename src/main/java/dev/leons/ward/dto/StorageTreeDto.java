@@ -0,0 +1,36 @@
+package dev.leons.ward.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * StorageTreeDto is a values container for presenting scanned directory sizes
+ *
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+public class StorageTreeDto
+{
+    /**
+     * End of last scan in epoch milliseconds field
+     */
+    private long lastScan;
+
+    /**
+     * Duration of last scan in milliseconds field
+     */
+    private long scanDuration;
+
+    /**
+     * Scan in progress field
+     */
+    private boolean scanning;
+
+    /**
+     * Scanned roots, or requested directory field
+     */
+    private List<StorageNodeDto> nodes;
+}
@@ -0,0 +1,54 @@
+package dev.leons.ward.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.function.Supplier;
+
+/**
+ * CollectionEvent is a flight recorder event for one collection pass of a sampled section
+ * Values are formatted only if event is recorded, so disabled event costs nothing but its timestamps
+ *
+ * @version 1.0.0
+ */
+@Name("dev.leons.ward.Collection")
+@Label("Ward Collection")
+@Category("Ward")
+@Description("One collection pass of usage, info or uptime")
+@StackTrace(false)
+public class CollectionEvent extends Event
+{
+    /**
+     * Section name field
+     */
+    @Label("Section")
+    private String section;
+
+    /**
+     * Collected values field
+     */
+    @Label("Values")
+    private String values;
+
+    /**
+     * Ends event and commits it, if it is enabled and passes threshold
+     *
+     * @param section section name
+     * @param values supplier of collected values, called only if event is committed
+     */
+    public void finish(final String section, final Supplier<String> values)
+    {
+        end();
+
+        if (shouldCommit())
+        {
+            this.section = section;
+            this.values = values.get();
+            commit();
+        }
+    }
+}
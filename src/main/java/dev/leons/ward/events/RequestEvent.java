@@ -0,0 +1,59 @@
+package dev.leons.ward.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * RequestEvent is a flight recorder event for one served http request
+ *
+ * @version 1.0.0
+ */
+@Name("dev.leons.ward.Request")
+@Label("Ward Request")
+@Category("Ward")
+@Description("One http request served by Ward")
+@StackTrace(false)
+public class RequestEvent extends Event
+{
+    /**
+     * Http method field
+     */
+    @Label("Method")
+    private String method;
+
+    /**
+     * Request path field
+     */
+    @Label("Path")
+    private String path;
+
+    /**
+     * Response status field
+     */
+    @Label("Status")
+    private int status;
+
+    /**
+     * Ends event and commits it, if it is enabled and passes threshold
+     *
+     * @param method http method
+     * @param path request path
+     * @param status response status
+     */
+    public void finish(final String method, final String path, final int status)
+    {
+        end();
+
+        if (shouldCommit())
+        {
+            this.method = method;
+            this.path = path;
+            this.status = status;
+            commit();
+        }
+    }
+}
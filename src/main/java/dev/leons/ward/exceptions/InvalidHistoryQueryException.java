@@ -0,0 +1,19 @@
+package dev.leons.ward.exceptions;
+
+/**
+ * InvalidHistoryQueryException indicates that history was requested for unknown metric, or with invalid range, step or aggregation
+ *
+ * @version 1.0.0
+ */
+public final class InvalidHistoryQueryException extends Exception
+{
+    /**
+     * Call super class with exception message
+     *
+     * @param message reason, why query is invalid
+     */
+    public InvalidHistoryQueryException(final String message)
+    {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package dev.leons.ward.exceptions;
+
+/**
+ * RecordingNotActiveException indicates that flight recording was requested, but is not enabled
+ *
+ * @version 1.0.0
+ */
+public final class RecordingNotActiveException extends Exception
+{
+    /**
+     * Call super class with exception message
+     */
+    public RecordingNotActiveException()
+    {
+        super("Flight recording is not enabled");
+    }
+}
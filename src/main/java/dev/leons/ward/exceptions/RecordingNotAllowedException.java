@@ -0,0 +1,17 @@
+package dev.leons.ward.exceptions;
+
+/**
+ * RecordingNotAllowedException indicates that flight recording dump was requested by client, which may not dump it
+ *
+ * @version 1.0.0
+ */
+public final class RecordingNotAllowedException extends Exception
+{
+    /**
+     * Call super class with exception message
+     */
+    public RecordingNotAllowedException()
+    {
+        super("Dumping flight recording is allowed from loopback with X-Ward-Token header, or with token from flightRecorderToken option");
+    }
+}
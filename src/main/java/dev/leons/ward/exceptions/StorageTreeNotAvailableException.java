@@ -0,0 +1,20 @@
+package dev.leons.ward.exceptions;
+
+/**
+ * StorageTreeNotAvailableException indicates that storage tree was requested, but explorer is disabled, has not scanned yet,
+ * or requested path is not in scanned tree
+ *
+ * @version 1.0.0
+ */
+public final class StorageTreeNotAvailableException extends Exception
+{
+    /**
+     * Call super class with exception message
+     *
+     * @param message reason, why tree is not available
+     */
+    public StorageTreeNotAvailableException(final String message)
+    {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package dev.leons.ward.exceptions;
+
+/**
+ * UnknownFieldException indicates that user requested field, which does not exist
+ *
+ * @version 1.0.0
+ */
+public final class UnknownFieldException extends Exception
+{
+    /**
+     * Call super class with exception message
+     *
+     * @param field requested field name
+     */
+    public UnknownFieldException(final String field)
+    {
+        super("Unknown field: " + field);
+    }
+}
@@ -4,6 +4,11 @@ import dev.leons.ward.components.UtilitiesComponent;
 import dev.leons.ward.dto.ErrorDto;
 import dev.leons.ward.exceptions.ApplicationAlreadyConfiguredException;
 import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidHistoryQueryException;
+import dev.leons.ward.exceptions.RecordingNotActiveException;
+import dev.leons.ward.exceptions.RecordingNotAllowedException;
+import dev.leons.ward.exceptions.StorageTreeNotAvailableException;
+import dev.leons.ward.exceptions.UnknownFieldException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -23,7 +28,7 @@ import java.io.IOException;
  * ControllerExceptionHandler is standard exception handler for rest api, and white labels
  *
  * @author Rudolf Barbu
- * @version 1.0.0
+ * @version 1.0.3
  */
 @ControllerAdvice
 @Order(value = Ordered.HIGHEST_PRECEDENCE)
@@ -40,12 +45,22 @@ public class ControllerExceptionHandler
      * Handles exceptions with BAD_REQUEST status, then they thrown
      */
     @ResponseBody
-    @ExceptionHandler(value = {ApplicationNotConfiguredException.class, ApplicationAlreadyConfiguredException.class})
+    @ExceptionHandler(value = {ApplicationNotConfiguredException.class, ApplicationAlreadyConfiguredException.class, UnknownFieldException.class, RecordingNotActiveException.class, StorageTreeNotAvailableException.class, InvalidHistoryQueryException.class})
     public ResponseEntity<ErrorDto> applicationNotSetUpExceptionHandler(final Exception exception)
     {
         return new ResponseEntity<>(new ErrorDto(exception), HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles exceptions with FORBIDDEN status, then they thrown
+     */
+    @ResponseBody
+    @ExceptionHandler(value = RecordingNotAllowedException.class)
+    public ResponseEntity<ErrorDto> recordingNotAllowedExceptionHandler(final Exception exception)
+    {
+        return new ResponseEntity<>(new ErrorDto(exception), HttpStatus.FORBIDDEN);
+    }
+
     /**
      * Handles exceptions with UNPROCESSABLE_ENTITY status, then they thrown
      */
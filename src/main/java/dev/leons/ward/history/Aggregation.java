@@ -0,0 +1,48 @@
+package dev.leons.ward.history;
+
+import java.util.Locale;
+
+/**
+ * Aggregation lists functions, which reduce samples of one step to one value
+ *
+ * @version 1.0.0
+ */
+public enum Aggregation
+{
+    /**
+     * Arithmetic mean
+     */
+    AVG,
+
+    /**
+     * Smallest value
+     */
+    MIN,
+
+    /**
+     * Largest value
+     */
+    MAX,
+
+    /**
+     * 95th percentile, nearest rank
+     */
+    P95,
+
+    /**
+     * Change per second between first and last sample of step
+     */
+    RATE;
+
+    /**
+     * Parses aggregation from its lowercase name
+     *
+     * @param name name, such as avg
+     * @return Aggregation
+     * @throws IllegalArgumentException if name is unknown
+     */
+    public static Aggregation parse(final String name)
+    {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
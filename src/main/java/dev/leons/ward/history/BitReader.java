@@ -0,0 +1,80 @@
+package dev.leons.ward.history;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * BitReader reads bit fields written by BitWriter from memory segment, on heap or off heap
+ *
+ * @version 1.0.0
+ */
+final class BitReader
+{
+    /**
+     * Words with bits
+     */
+    private final MemorySegment segment;
+
+    /**
+     * Position of next bit
+     */
+    private long position;
+
+    /**
+     * @param segment words with bits, aligned to long
+     */
+    BitReader(final MemorySegment segment)
+    {
+        this.segment = segment;
+    }
+
+    /**
+     * Reads unsigned field
+     *
+     * @param bits count of bits, between 1 and 64
+     * @return long with field in lowest bits
+     */
+    long read(final int bits)
+    {
+        int index = (int) (position >>> 6);
+        int offset = (int) (position & 63);
+        int free = 64 - offset;
+        long word = segment.getAtIndex(ValueLayout.JAVA_LONG, index) << offset;
+        long field;
+
+        if (bits <= free)
+        {
+            field = word >>> (64 - bits);
+        }
+        else
+        {
+            int rest = bits - free;
+            field = ((word >>> offset) << rest) | (segment.getAtIndex(ValueLayout.JAVA_LONG, index + 1) >>> (64 - rest));
+        }
+
+        position += bits;
+
+        return field;
+    }
+
+    /**
+     * Reads two's complement field
+     *
+     * @param bits count of bits, between 1 and 64
+     * @return long with sign extended field
+     */
+    long readSigned(final int bits)
+    {
+        return (read(bits) << (64 - bits)) >> (64 - bits);
+    }
+
+    /**
+     * Reads one bit
+     *
+     * @return true for 1
+     */
+    boolean readBit()
+    {
+        return read(1) != 0;
+    }
+}
@@ -0,0 +1,86 @@
+package dev.leons.ward.history;
+
+import java.util.Arrays;
+
+/**
+ * BitWriter appends bit fields to growable array of longs, most significant bit first
+ *
+ * @version 1.0.0
+ */
+final class BitWriter
+{
+    /**
+     * Written bits, packed from most significant bit of first word
+     */
+    private long[] words = new long[16];
+
+    /**
+     * Count of written bits
+     */
+    private long size;
+
+    /**
+     * Writes lowest bits of value
+     *
+     * @param value value, higher bits are ignored
+     * @param bits count of bits, between 0 and 64
+     */
+    void write(final long value, final int bits)
+    {
+        if (bits == 0)
+        {
+            return;
+        }
+
+        long field = (bits == 64) ? value : value & ((1L << bits) - 1);
+        int index = (int) (size >>> 6);
+        int free = 64 - (int) (size & 63);
+
+        if (index + 1 >= words.length)
+        {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+
+        if (bits <= free)
+        {
+            words[index] |= field << (free - bits);
+        }
+        else
+        {
+            words[index] |= field >>> (bits - free);
+            words[index + 1] |= field << (64 - (bits - free));
+        }
+
+        size += bits;
+    }
+
+    /**
+     * Gets count of written bits
+     *
+     * @return long with bits
+     */
+    long size()
+    {
+        return size;
+    }
+
+    /**
+     * Gets count of words, which hold written bits
+     *
+     * @return int with words
+     */
+    int wordCount()
+    {
+        return (int) ((size + 63) >>> 6);
+    }
+
+    /**
+     * Gets words, which hold written bits, without copying
+     *
+     * @return long array, longer than written bits
+     */
+    long[] words()
+    {
+        return words;
+    }
+}
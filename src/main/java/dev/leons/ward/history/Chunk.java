@@ -0,0 +1,37 @@
+package dev.leons.ward.history;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Chunk holds compressed samples of time range, sealed chunks live off heap and are never modified
+ *
+ * @param startTime timestamp of first sample in milliseconds
+ * @param endTime timestamp of last sample in milliseconds
+ * @param count number of samples
+ * @param data compressed samples, words of BitWriter
+ * @version 1.0.0
+ */
+record Chunk(long startTime, long endTime, int count, MemorySegment data)
+{
+    /**
+     * Checks whether chunk may contain samples of range
+     *
+     * @param from first timestamp of range, inclusive
+     * @param to last timestamp of range, inclusive
+     * @return true if ranges overlap
+     */
+    boolean overlaps(final long from, final long to)
+    {
+        return (startTime <= to) && (endTime >= from);
+    }
+
+    /**
+     * Creates decoder of samples, every decoder has own position
+     *
+     * @return ChunkDecoder before first sample
+     */
+    ChunkDecoder decoder()
+    {
+        return new ChunkDecoder(new BitReader(data), count);
+    }
+}
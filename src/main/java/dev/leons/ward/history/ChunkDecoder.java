@@ -0,0 +1,146 @@
+package dev.leons.ward.history;
+
+/**
+ * ChunkDecoder decompresses samples written by ChunkEncoder one at a time, without boxing
+ *
+ * @version 1.0.0
+ */
+final class ChunkDecoder
+{
+    /**
+     * Compressed samples
+     */
+    private final BitReader reader;
+
+    /**
+     * Number of samples
+     */
+    private final int count;
+
+    /**
+     * Number of decoded samples
+     */
+    private int index;
+
+    /**
+     * Timestamp of current sample
+     */
+    private long time;
+
+    /**
+     * Difference between last two timestamps
+     */
+    private long delta;
+
+    /**
+     * Bits of current value
+     */
+    private long bits;
+
+    /**
+     * Leading zeros of current window
+     */
+    private int leading;
+
+    /**
+     * Trailing zeros of current window
+     */
+    private int trailing;
+
+    /**
+     * @param reader reader at first sample
+     * @param count number of samples
+     */
+    ChunkDecoder(final BitReader reader, final int count)
+    {
+        this.reader = reader;
+        this.count = count;
+    }
+
+    /**
+     * Moves to next sample
+     *
+     * @return false if there are no more samples
+     */
+    boolean next()
+    {
+        if (index == count)
+        {
+            return false;
+        }
+
+        if (index == 0)
+        {
+            time = reader.read(64);
+            bits = reader.read(64);
+        }
+        else
+        {
+            delta += readDeltaOfDelta();
+            time += delta;
+
+            if (reader.readBit())
+            {
+                if (reader.readBit())
+                {
+                    leading = (int) reader.read(5);
+                    int length = (int) reader.read(6);
+                    trailing = 64 - leading - ((length == 0) ? 64 : length);
+                }
+
+                bits ^= reader.read(64 - leading - trailing) << trailing;
+            }
+        }
+
+        index++;
+
+        return true;
+    }
+
+    /**
+     * Reads delta of delta after its prefix
+     *
+     * @return long with delta of delta
+     */
+    private long readDeltaOfDelta()
+    {
+        if (!reader.readBit())
+        {
+            return 0;
+        }
+        if (!reader.readBit())
+        {
+            return reader.readSigned(7);
+        }
+        if (!reader.readBit())
+        {
+            return reader.readSigned(9);
+        }
+        if (!reader.readBit())
+        {
+            return reader.readSigned(12);
+        }
+
+        return reader.read(64);
+    }
+
+    /**
+     * Gets timestamp of current sample
+     *
+     * @return long with milliseconds
+     */
+    long time()
+    {
+        return time;
+    }
+
+    /**
+     * Gets value of current sample
+     *
+     * @return double value
+     */
+    double value()
+    {
+        return Double.longBitsToDouble(bits);
+    }
+}
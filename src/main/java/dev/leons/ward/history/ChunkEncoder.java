@@ -0,0 +1,212 @@
+package dev.leons.ward.history;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+/**
+ * ChunkEncoder compresses samples of open chunk like Gorilla does
+ * Timestamps are stored as delta of delta, which is zero for regular intervals and fits few bits for jitter of scheduler.
+ * Values are stored as XOR with previous value, only meaningful bits between leading and trailing zeros are written,
+ * and the window of previous value is reused when it fits, so unchanged value costs one bit
+ *
+ * @version 1.0.0
+ */
+final class ChunkEncoder
+{
+    /**
+     * Compressed samples
+     */
+    private final BitWriter writer = new BitWriter();
+
+    /**
+     * Number of samples
+     */
+    private int count;
+
+    /**
+     * Timestamp of first sample
+     */
+    private long startTime;
+
+    /**
+     * Timestamp of last sample
+     */
+    private long endTime;
+
+    /**
+     * Difference between last two timestamps
+     */
+    private long previousDelta;
+
+    /**
+     * Bits of last value
+     */
+    private long previousBits;
+
+    /**
+     * Leading zeros of last written window, -1 before first window
+     */
+    private int previousLeading = -1;
+
+    /**
+     * Trailing zeros of last written window
+     */
+    private int previousTrailing;
+
+    /**
+     * Appends sample, timestamp must not be before last one
+     *
+     * @param time timestamp in milliseconds
+     * @param value sample value, NaN and infinities are kept
+     */
+    void append(final long time, final double value)
+    {
+        long bits = Double.doubleToRawLongBits(value);
+
+        if (count == 0)
+        {
+            startTime = time;
+            writer.write(time, 64);
+            writer.write(bits, 64);
+        }
+        else
+        {
+            writeTimestamp(time);
+            writeValue(bits);
+        }
+
+        endTime = time;
+        previousBits = bits;
+        count++;
+    }
+
+    /**
+     * Writes delta of delta with prefix of its size, '0' for zero, '10', '110' and '1110' for 7, 9 and 12 bits, '1111' for 64 bits
+     */
+    private void writeTimestamp(final long time)
+    {
+        long delta = time - endTime;
+        long deltaOfDelta = delta - previousDelta;
+
+        if (deltaOfDelta == 0)
+        {
+            writer.write(0, 1);
+        }
+        else if ((deltaOfDelta >= -64) && (deltaOfDelta < 64))
+        {
+            writer.write(0b10, 2);
+            writer.write(deltaOfDelta, 7);
+        }
+        else if ((deltaOfDelta >= -256) && (deltaOfDelta < 256))
+        {
+            writer.write(0b110, 3);
+            writer.write(deltaOfDelta, 9);
+        }
+        else if ((deltaOfDelta >= -2048) && (deltaOfDelta < 2048))
+        {
+            writer.write(0b1110, 4);
+            writer.write(deltaOfDelta, 12);
+        }
+        else
+        {
+            writer.write(0b1111, 4);
+            writer.write(deltaOfDelta, 64);
+        }
+
+        previousDelta = delta;
+    }
+
+    /**
+     * Writes XOR with previous value, '0' if equal, '10' and bits in previous window, or '11', 5 bits of leading zeros,
+     * 6 bits of length and bits in new window
+     */
+    private void writeValue(final long bits)
+    {
+        long xor = bits ^ previousBits;
+
+        if (xor == 0)
+        {
+            writer.write(0, 1);
+            return;
+        }
+
+        // Leading zeros are capped, so they fit 5 bits
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+
+        if ((previousLeading >= 0) && (leading >= previousLeading) && (trailing >= previousTrailing))
+        {
+            writer.write(0b10, 2);
+            writer.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+        }
+        else
+        {
+            int length = 64 - leading - trailing;
+
+            writer.write(0b11, 2);
+            writer.write(leading, 5);
+            // Length of 64 does not fit 6 bits and is written as 0, length of 0 is impossible
+            writer.write(length, 6);
+            writer.write(xor >>> trailing, length);
+
+            previousLeading = leading;
+            previousTrailing = trailing;
+        }
+    }
+
+    /**
+     * Gets number of samples
+     *
+     * @return int with samples
+     */
+    int count()
+    {
+        return count;
+    }
+
+    /**
+     * Gets timestamp of last sample
+     *
+     * @return long with milliseconds
+     */
+    long endTime()
+    {
+        return endTime;
+    }
+
+    /**
+     * Gets bytes used by compressed samples so far
+     *
+     * @return long with bytes
+     */
+    long byteSize()
+    {
+        return writer.wordCount() * (long) Long.BYTES;
+    }
+
+    /**
+     * Copies samples to heap, so queries can read them while encoder keeps appending
+     *
+     * @return Chunk backed by heap array
+     */
+    Chunk snapshot()
+    {
+        return new Chunk(startTime, endTime, count, MemorySegment.ofArray(Arrays.copyOf(writer.words(), writer.wordCount())));
+    }
+
+    /**
+     * Copies samples off heap, encoder must not be used afterwards
+     * Automatic arena frees memory once chunk is dropped and last query has finished with it
+     *
+     * @return Chunk backed by native memory
+     */
+    Chunk seal()
+    {
+        MemorySegment data = Arena.ofAuto().allocate(ValueLayout.JAVA_LONG, Math.max(1, writer.wordCount()));
+        MemorySegment.copy(writer.words(), 0, data, ValueLayout.JAVA_LONG, 0, writer.wordCount());
+
+        return new Chunk(startTime, endTime, count, data);
+    }
+}
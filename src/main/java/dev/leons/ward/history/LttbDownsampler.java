@@ -0,0 +1,301 @@
+package dev.leons.ward.history;
+
+import java.util.Arrays;
+
+/**
+ * LttbDownsampler reduces samples to few points, which keep shape of chart, with Largest-Triangle-Three-Buckets
+ * First and last sample are kept, range between them is split into equal time buckets, and from every bucket the sample,
+ * which forms largest triangle with previous chosen point and average of next bucket, is kept.
+ * Buckets are filled while samples stream through, only current and next bucket are held
+ *
+ * @version 1.0.0
+ */
+public final class LttbDownsampler implements SampleConsumer
+{
+    /**
+     * Start of range in milliseconds
+     */
+    private final long from;
+
+    /**
+     * Length of range in milliseconds
+     */
+    private final double length;
+
+    /**
+     * Number of buckets between first and last point
+     */
+    private final int buckets;
+
+    /**
+     * Receives chosen points
+     */
+    private final SampleConsumer consumer;
+
+    /**
+     * Bucket, which waits for average of next bucket
+     */
+    private Bucket pending = new Bucket();
+
+    /**
+     * Bucket, which is being filled
+     */
+    private Bucket current = new Bucket();
+
+    /**
+     * Index of bucket, which is being filled
+     */
+    private long currentIndex = -1;
+
+    /**
+     * Whether first point was passed on
+     */
+    private boolean started;
+
+    /**
+     * Last chosen point
+     */
+    private long anchorTime;
+
+    /**
+     * Value of last chosen point
+     */
+    private double anchorValue;
+
+    /**
+     * Whether latest sample is held back, because it may be last one
+     */
+    private boolean held;
+
+    /**
+     * Latest sample
+     */
+    private long heldTime;
+
+    /**
+     * Value of latest sample
+     */
+    private double heldValue;
+
+    /**
+     * @param from start of range in milliseconds
+     * @param to end of range in milliseconds, inclusive
+     * @param points most points to pass on, at least 3
+     * @param consumer receives chosen points, oldest first
+     */
+    public LttbDownsampler(final long from, final long to, final int points, final SampleConsumer consumer)
+    {
+        if ((points < 3) || (to < from))
+        {
+            throw new IllegalArgumentException("At least 3 points of non-empty range are needed");
+        }
+
+        this.from = from;
+        this.length = (double) (to - from) + 1;
+        this.buckets = points - 2;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Downsamples all samples of iterator
+     *
+     * @param samples samples, oldest first
+     * @param from start of range in milliseconds
+     * @param to end of range in milliseconds, inclusive
+     * @param points most points to pass on, at least 3
+     * @param consumer receives chosen points, oldest first
+     */
+    public static void downsample(final SampleIterator samples, final long from, final long to, final int points, final SampleConsumer consumer)
+    {
+        LttbDownsampler downsampler = new LttbDownsampler(from, to, points, consumer);
+
+        while (samples.next())
+        {
+            downsampler.accept(samples.getTimestamp(), samples.getValue());
+        }
+
+        downsampler.finish();
+    }
+
+    /**
+     * Adds sample, samples must come oldest first, missing values such as NaN are skipped
+     *
+     * @param timestamp timestamp in milliseconds
+     * @param value sample value
+     */
+    @Override
+    public void accept(final long timestamp, final double value)
+    {
+        if (!Double.isFinite(value))
+        {
+            return;
+        }
+
+        if (!started)
+        {
+            consumer.accept(timestamp, value);
+            anchorTime = timestamp;
+            anchorValue = value;
+            started = true;
+            return;
+        }
+
+        if (held)
+        {
+            add(heldTime, heldValue);
+        }
+
+        held = true;
+        heldTime = timestamp;
+        heldValue = value;
+    }
+
+    /**
+     * Passes on points of remaining buckets and last sample, must be called after last sample
+     */
+    public void finish()
+    {
+        if (!held)
+        {
+            return;
+        }
+
+        if (pending.size > 0)
+        {
+            if (current.size > 0)
+            {
+                choose(pending, current.averageTime(), current.averageValue());
+            }
+            else
+            {
+                choose(pending, heldTime, heldValue);
+            }
+        }
+        if (current.size > 0)
+        {
+            choose(current, heldTime, heldValue);
+        }
+
+        consumer.accept(heldTime, heldValue);
+        held = false;
+    }
+
+    /**
+     * Adds sample between first and last one to its bucket, and chooses point of pending bucket when next bucket starts
+     */
+    private void add(final long timestamp, final double value)
+    {
+        long index = Math.min(buckets - 1, (long) (((timestamp - from) / length) * buckets));
+
+        if ((index != currentIndex) && (current.size > 0))
+        {
+            if (pending.size > 0)
+            {
+                choose(pending, current.averageTime(), current.averageValue());
+            }
+
+            Bucket empty = pending;
+            pending = current;
+            current = empty;
+        }
+
+        currentIndex = index;
+        current.add(timestamp, value);
+    }
+
+    /**
+     * Passes on sample of bucket, which forms largest triangle with anchor and next point, and makes it new anchor
+     */
+    private void choose(final Bucket bucket, final double nextTime, final double nextValue)
+    {
+        int chosen = 0;
+        double largestArea = -1;
+
+        for (int i = 0; i < bucket.size; i++)
+        {
+            // Twice the area, which is enough for comparison
+            double area = Math.abs(((anchorTime - nextTime) * (bucket.values[i] - anchorValue)) - ((anchorTime - bucket.times[i]) * (nextValue - anchorValue)));
+
+            if (area > largestArea)
+            {
+                largestArea = area;
+                chosen = i;
+            }
+        }
+
+        anchorTime = bucket.times[chosen];
+        anchorValue = bucket.values[chosen];
+        consumer.accept(anchorTime, anchorValue);
+        bucket.size = 0;
+    }
+
+    /**
+     * Bucket holds samples of one time bucket in reusable arrays
+     */
+    private static final class Bucket
+    {
+        /**
+         * Timestamps of samples
+         */
+        private long[] times = new long[64];
+
+        /**
+         * Values of samples
+         */
+        private double[] values = new double[64];
+
+        /**
+         * Number of samples
+         */
+        private int size;
+
+        /**
+         * Adds sample
+         */
+        private void add(final long timestamp, final double value)
+        {
+            if (size == times.length)
+            {
+                times = Arrays.copyOf(times, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            times[size] = timestamp;
+            values[size] = value;
+            size++;
+        }
+
+        /**
+         * Gets average timestamp
+         *
+         * @return double with milliseconds
+         */
+        private double averageTime()
+        {
+            // Relative to first sample, so large timestamps keep their precision
+            double sum = 0;
+            for (int i = 0; i < size; i++)
+            {
+                sum += times[i] - times[0];
+            }
+
+            return times[0] + (sum / size);
+        }
+
+        /**
+         * Gets average value
+         *
+         * @return double value
+         */
+        private double averageValue()
+        {
+            double sum = 0;
+            for (int i = 0; i < size; i++)
+            {
+                sum += values[i];
+            }
+
+            return sum / size;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package dev.leons.ward.history;
+
+/**
+ * SampleConsumer receives samples one at a time, so results are passed on without boxing or collecting them first
+ *
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface SampleConsumer
+{
+    /**
+     * Receives sample
+     *
+     * @param timestamp timestamp in milliseconds
+     * @param value sample value
+     */
+    void accept(long timestamp, double value);
+}
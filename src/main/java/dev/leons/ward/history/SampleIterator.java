@@ -0,0 +1,105 @@
+package dev.leons.ward.history;
+
+import java.util.List;
+
+/**
+ * SampleIterator decompresses samples of time range chunk by chunk, oldest first
+ * Only one chunk is decoded at a time and values are not boxed, so long ranges are streamed without copying
+ *
+ * @version 1.0.0
+ */
+public final class SampleIterator
+{
+    /**
+     * Chunks, which overlap range, oldest first
+     */
+    private final List<Chunk> chunks;
+
+    /**
+     * First timestamp of range, inclusive
+     */
+    private final long from;
+
+    /**
+     * Last timestamp of range, inclusive
+     */
+    private final long to;
+
+    /**
+     * Index of next chunk
+     */
+    private int chunkIndex;
+
+    /**
+     * Decoder of current chunk, null before first and after last chunk
+     */
+    private ChunkDecoder decoder;
+
+    /**
+     * @param chunks chunks, which overlap range, oldest first
+     * @param from first timestamp of range, inclusive
+     * @param to last timestamp of range, inclusive
+     */
+    SampleIterator(final List<Chunk> chunks, final long from, final long to)
+    {
+        this.chunks = chunks;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Moves to next sample of range
+     *
+     * @return false if there are no more samples
+     */
+    public boolean next()
+    {
+        while (true)
+        {
+            if (decoder != null)
+            {
+                while (decoder.next())
+                {
+                    if (decoder.time() > to)
+                    {
+                        decoder = null;
+                        chunkIndex = chunks.size();
+                        return false;
+                    }
+                    if (decoder.time() >= from)
+                    {
+                        return true;
+                    }
+                }
+            }
+
+            if (chunkIndex == chunks.size())
+            {
+                decoder = null;
+                return false;
+            }
+
+            decoder = chunks.get(chunkIndex++).decoder();
+        }
+    }
+
+    /**
+     * Gets timestamp of current sample
+     *
+     * @return long with milliseconds
+     */
+    public long getTimestamp()
+    {
+        return decoder.time();
+    }
+
+    /**
+     * Gets value of current sample
+     *
+     * @return double value
+     */
+    public double getValue()
+    {
+        return decoder.value();
+    }
+}
@@ -0,0 +1,254 @@
+package dev.leons.ward.history;
+
+import java.util.Arrays;
+
+/**
+ * StepAggregator reduces samples to one value per step, while samples stream through it
+ * Only samples of current step are held, and only for percentiles, at most MAX_VALUES of them, so memory grows neither with
+ * range nor with step. Longer steps keep evenly spaced samples, which estimate percentile of whole step.
+ * Steps are aligned to start of range and reported by their start, steps without samples are left out, like gaps in chart
+ *
+ * @version 1.0.1
+ */
+public final class StepAggregator implements SampleConsumer
+{
+    /**
+     * Most values of one step held for percentiles, 32 KiB
+     */
+    static final int MAX_VALUES = 4096;
+
+    /**
+     * Function, which reduces samples of step
+     */
+    private final Aggregation aggregation;
+
+    /**
+     * Start of first step in milliseconds
+     */
+    private final long from;
+
+    /**
+     * Step in milliseconds
+     */
+    private final long step;
+
+    /**
+     * Receives one sample per step
+     */
+    private final SampleConsumer consumer;
+
+    /**
+     * Index of current step, -1 before first sample
+     */
+    private long stepIndex = -1;
+
+    /**
+     * Number of samples in current step
+     */
+    private int count;
+
+    /**
+     * Sum of current step
+     */
+    private double sum;
+
+    /**
+     * Smallest value of current step
+     */
+    private double min;
+
+    /**
+     * Largest value of current step
+     */
+    private double max;
+
+    /**
+     * First sample of current step
+     */
+    private long firstTime;
+
+    /**
+     * First value of current step
+     */
+    private double firstValue;
+
+    /**
+     * Last sample of current step
+     */
+    private long lastTime;
+
+    /**
+     * Last value of current step
+     */
+    private double lastValue;
+
+    /**
+     * Values of current step for percentiles, reused between steps
+     */
+    private double[] values = new double[0];
+
+    /**
+     * Number of held values of current step
+     */
+    private int kept;
+
+    /**
+     * Every stride-th sample of current step is held, doubles whenever values are full
+     */
+    private int stride = 1;
+
+    /**
+     * @param aggregation function, which reduces samples of step
+     * @param from start of first step in milliseconds
+     * @param step step in milliseconds
+     * @param consumer receives one sample per step
+     */
+    public StepAggregator(final Aggregation aggregation, final long from, final long step, final SampleConsumer consumer)
+    {
+        if (step <= 0)
+        {
+            throw new IllegalArgumentException("Step must be positive");
+        }
+
+        this.aggregation = aggregation;
+        this.from = from;
+        this.step = step;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Aggregates all samples of iterator
+     *
+     * @param samples samples, oldest first
+     * @param aggregation function, which reduces samples of step
+     * @param from start of first step in milliseconds
+     * @param step step in milliseconds
+     * @param consumer receives one sample per step
+     */
+    public static void aggregate(final SampleIterator samples, final Aggregation aggregation, final long from, final long step, final SampleConsumer consumer)
+    {
+        StepAggregator aggregator = new StepAggregator(aggregation, from, step, consumer);
+
+        while (samples.next())
+        {
+            aggregator.accept(samples.getTimestamp(), samples.getValue());
+        }
+
+        aggregator.finish();
+    }
+
+    /**
+     * Adds sample, samples must come oldest first, missing values such as NaN are skipped
+     *
+     * @param timestamp timestamp in milliseconds
+     * @param value sample value
+     */
+    @Override
+    public void accept(final long timestamp, final double value)
+    {
+        if (!Double.isFinite(value))
+        {
+            return;
+        }
+
+        long index = Math.floorDiv(timestamp - from, step);
+
+        if (index != stepIndex)
+        {
+            finish();
+            stepIndex = index;
+            firstTime = timestamp;
+            firstValue = value;
+            min = value;
+            max = value;
+        }
+
+        if (aggregation == Aggregation.P95)
+        {
+            keep(value);
+        }
+
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        lastTime = timestamp;
+        lastValue = value;
+        count++;
+    }
+
+    /**
+     * Holds value for percentile, if it is stride-th sample of step
+     * When values are full, every other one is dropped and stride doubles, so held values stay evenly spaced over step
+     *
+     * @param value sample value
+     */
+    private void keep(final double value)
+    {
+        if ((count % stride) != 0)
+        {
+            return;
+        }
+
+        if (kept == values.length)
+        {
+            if (kept < MAX_VALUES)
+            {
+                values = Arrays.copyOf(values, Math.min(MAX_VALUES, Math.max(64, kept * 2)));
+            }
+            else
+            {
+                for (int i = 0; i < kept / 2; i++)
+                {
+                    values[i] = values[i * 2];
+                }
+                kept /= 2;
+                stride *= 2;
+
+                if ((count % stride) != 0)
+                {
+                    return;
+                }
+            }
+        }
+
+        values[kept++] = value;
+    }
+
+    /**
+     * Passes on value of current step, must be called after last sample
+     */
+    public void finish()
+    {
+        if (count == 0)
+        {
+            return;
+        }
+
+        long stepStart = from + (stepIndex * step);
+
+        switch (aggregation)
+        {
+            case AVG -> consumer.accept(stepStart, sum / count);
+            case MIN -> consumer.accept(stepStart, min);
+            case MAX -> consumer.accept(stepStart, max);
+            case P95 ->
+            {
+                Arrays.sort(values, 0, kept);
+                consumer.accept(stepStart, values[(int) Math.ceil(0.95 * kept) - 1]);
+            }
+            case RATE ->
+            {
+                // One sample has no change to report
+                if (lastTime > firstTime)
+                {
+                    consumer.accept(stepStart, ((lastValue - firstValue) * 1000) / (lastTime - firstTime));
+                }
+            }
+        }
+
+        count = 0;
+        sum = 0;
+        kept = 0;
+        stride = 1;
+    }
+}
@@ -0,0 +1,180 @@
+package dev.leons.ward.history;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * TimeSeries keeps samples of one metric for retention period in compressed chunks of fixed number of samples
+ * Open chunk is encoded on heap, full chunk is sealed off heap, so a week of samples costs few bytes of heap.
+ * Appends and queries are synchronized only for taking snapshot of chunks, decompression runs outside of lock
+ *
+ * @version 1.0.0
+ */
+public final class TimeSeries
+{
+    /**
+     * Default number of samples per chunk, an hour of one second samples
+     */
+    public static final int DEFAULT_CHUNK_SAMPLES = 3600;
+
+    /**
+     * Number of samples per chunk
+     */
+    private final int chunkSamples;
+
+    /**
+     * Retention in milliseconds, sealed chunks, which end before it, are dropped
+     */
+    private final long retention;
+
+    /**
+     * Sealed chunks, oldest first
+     */
+    private final Deque<Chunk> sealed = new ArrayDeque<>();
+
+    /**
+     * Encoder of open chunk
+     */
+    private ChunkEncoder open = new ChunkEncoder();
+
+    /**
+     * Timestamp of last sample, appends before it are rejected
+     */
+    private long lastTime = Long.MIN_VALUE;
+
+    /**
+     * Number of samples in sealed chunks
+     */
+    private long sealedSamples;
+
+    /**
+     * Bytes of sealed chunks
+     */
+    private long sealedBytes;
+
+    /**
+     * @param retention retention in milliseconds
+     */
+    public TimeSeries(final long retention)
+    {
+        this(retention, DEFAULT_CHUNK_SAMPLES);
+    }
+
+    /**
+     * @param retention retention in milliseconds
+     * @param chunkSamples number of samples per chunk
+     */
+    public TimeSeries(final long retention, final int chunkSamples)
+    {
+        if ((retention <= 0) || (chunkSamples <= 0))
+        {
+            throw new IllegalArgumentException("Retention and chunk size must be positive");
+        }
+
+        this.retention = retention;
+        this.chunkSamples = chunkSamples;
+    }
+
+    /**
+     * Appends sample and drops chunks, which are older than retention
+     *
+     * @param time timestamp in milliseconds
+     * @param value sample value
+     * @return false if timestamp is before last one, such as after clock was set back, and sample was dropped
+     */
+    public synchronized boolean append(final long time, final double value)
+    {
+        if (time < lastTime)
+        {
+            return false;
+        }
+
+        open.append(time, value);
+        lastTime = time;
+
+        if (open.count() == chunkSamples)
+        {
+            Chunk chunk = open.seal();
+            sealed.addLast(chunk);
+            sealedSamples += chunk.count();
+            sealedBytes += chunk.data().byteSize();
+            open = new ChunkEncoder();
+        }
+
+        while (!sealed.isEmpty() && (sealed.peekFirst().endTime() < time - retention))
+        {
+            Chunk chunk = sealed.removeFirst();
+            sealedSamples -= chunk.count();
+            sealedBytes -= chunk.data().byteSize();
+        }
+
+        return true;
+    }
+
+    /**
+     * Creates iterator over samples of range
+     *
+     * @param from first timestamp of range, inclusive
+     * @param to last timestamp of range, inclusive
+     * @return SampleIterator over snapshot of chunks, later appends are not visible
+     */
+    public SampleIterator iterator(final long from, final long to)
+    {
+        List<Chunk> chunks = new ArrayList<>();
+
+        synchronized (this)
+        {
+            for (Chunk chunk : sealed)
+            {
+                if (chunk.overlaps(from, to))
+                {
+                    chunks.add(chunk);
+                }
+            }
+
+            if ((open.count() > 0) && (open.endTime() >= from))
+            {
+                Chunk snapshot = open.snapshot();
+
+                if (snapshot.overlaps(from, to))
+                {
+                    chunks.add(snapshot);
+                }
+            }
+        }
+
+        return new SampleIterator(chunks, from, to);
+    }
+
+    /**
+     * Gets number of kept samples
+     *
+     * @return long with samples
+     */
+    public synchronized long getSampleCount()
+    {
+        return sealedSamples + open.count();
+    }
+
+    /**
+     * Gets off heap bytes of sealed chunks
+     *
+     * @return long with bytes
+     */
+    public synchronized long getOffHeapBytes()
+    {
+        return sealedBytes;
+    }
+
+    /**
+     * Gets heap bytes of compressed samples in open chunk
+     *
+     * @return long with bytes
+     */
+    public synchronized long getHeapBytes()
+    {
+        return open.byteSize();
+    }
+}
@@ -0,0 +1,114 @@
+package dev.leons.ward.probes;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * HealthProbe checks, if one local service answers, either by opening TCP connection or by HTTP GET request
+ * TCP probes fit services without HTTP, such as postgres or redis, HTTP probes also check, that service answers requests
+ *
+ * @param name name shown on dashboard
+ * @param target tcp://host:port, http://... or https://...
+ * @version 1.0.1
+ */
+public record HealthProbe(String name, URI target)
+{
+    /**
+     * Parses probe from name=uri definition
+     *
+     * @param definition name=uri, or only uri, then name is host and port
+     * @return HealthProbe
+     * @throws IllegalArgumentException if uri is invalid, has unsupported scheme or misses port for tcp
+     */
+    public static HealthProbe parse(final String definition)
+    {
+        int separator = definition.indexOf('=');
+        String uri = definition.substring(separator + 1).trim();
+        URI target = URI.create(uri);
+        String scheme = (target.getScheme() != null) ? target.getScheme().toLowerCase(Locale.ROOT) : "";
+
+        if ((target.getHost() == null) || !(scheme.equals("tcp") || scheme.equals("http") || scheme.equals("https")))
+        {
+            throw new IllegalArgumentException("Probe must be tcp://host:port, http://... or https://..., got " + uri);
+        }
+        if (scheme.equals("tcp") && (target.getPort() < 0))
+        {
+            throw new IllegalArgumentException("TCP probe needs port, got " + uri);
+        }
+
+        String name = (separator > 0) ? definition.substring(0, separator).trim() : target.getHost() + ((target.getPort() >= 0) ? ":" + target.getPort() : "");
+
+        return new HealthProbe(name, target);
+    }
+
+    /**
+     * Gets target, which may be shown on dashboard: without user info, query and fragment, which may hold credentials
+     *
+     * @return String with scheme, host, port and path of target
+     */
+    public String getPublicTarget()
+    {
+        try
+        {
+            return new URI(target.getScheme(), null, target.getHost(), target.getPort(), target.getPath(), null, null).toString();
+        }
+        catch (URISyntaxException exception)
+        {
+            return target.getScheme() + "://" + target.getHost();
+        }
+    }
+
+    /**
+     * Checks service, never waits longer than timeout for connection and for response each
+     *
+     * @param httpClient client for HTTP probes, must not follow redirects
+     * @param timeout connect and response timeout
+     * @return ProbeResult with status and latency
+     */
+    public ProbeResult check(final HttpClient httpClient, final Duration timeout)
+    {
+        long start = System.nanoTime();
+
+        try
+        {
+            if (target.getScheme().equalsIgnoreCase("tcp"))
+            {
+                try (Socket socket = new Socket())
+                {
+                    socket.connect(new InetSocketAddress(target.getHost(), target.getPort()), (int) timeout.toMillis());
+                }
+
+                return new ProbeResult(true, System.nanoTime() - start, null);
+            }
+
+            HttpRequest request = HttpRequest.newBuilder(target).timeout(timeout).GET().build();
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            long latency = System.nanoTime() - start;
+
+            // Redirects are answers too, only server errors mean service is not healthy
+            return (status < 500) ? new ProbeResult(true, latency, null) : new ProbeResult(false, latency, "HTTP " + status);
+        }
+        catch (HttpTimeoutException exception)
+        {
+            return new ProbeResult(false, System.nanoTime() - start, "Timed out");
+        }
+        catch (IOException exception)
+        {
+            return new ProbeResult(false, System.nanoTime() - start, (exception.getMessage() != null) ? exception.getMessage() : exception.getClass().getSimpleName());
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            return new ProbeResult(false, System.nanoTime() - start, "Interrupted");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package dev.leons.ward.probes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ProbeHistory keeps last results of one probe in fixed ring, so history of long running Ward does not grow
+ * It is written only by probe round, which owns probe, and read after round has finished
+ *
+ * @version 1.0.0
+ */
+public final class ProbeHistory
+{
+    /**
+     * Results kept per probe
+     */
+    public static final int CAPACITY = 60;
+
+    /**
+     * Latencies in nanoseconds, -1 for failed checks
+     */
+    private final long[] latencies = new long[CAPACITY];
+
+    /**
+     * Index of next result
+     */
+    private int next;
+
+    /**
+     * Count of kept results
+     */
+    private int size;
+
+    /**
+     * Last result, null before first check
+     */
+    private ProbeResult last;
+
+    /**
+     * Adds result, oldest one is dropped when ring is full
+     *
+     * @param result result of check
+     */
+    public void add(final ProbeResult result)
+    {
+        latencies[next] = result.up() ? result.latency() : -1;
+        next = (next + 1) % CAPACITY;
+        size = Math.min(size + 1, CAPACITY);
+        last = result;
+    }
+
+    /**
+     * Gets last result
+     *
+     * @return ProbeResult, null before first check
+     */
+    public ProbeResult getLast()
+    {
+        return last;
+    }
+
+    /**
+     * Gets kept latencies, oldest first
+     *
+     * @return List of latencies in milliseconds, null for failed checks
+     */
+    public List<Double> getLatencies()
+    {
+        List<Double> values = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++)
+        {
+            long latency = latencies[(next - size + i + CAPACITY) % CAPACITY];
+            values.add((latency >= 0) ? latency / 1E6 : null);
+        }
+
+        return values;
+    }
+
+    /**
+     * Gets latency at percentile of successful checks, by nearest rank
+     *
+     * @param rank percentile between 0 and 1
+     * @return double with milliseconds, 0 if no check has succeeded
+     */
+    public double getPercentile(final double rank)
+    {
+        long[] sorted = Arrays.stream(latencies, 0, size).filter(latency -> latency >= 0).sorted().toArray();
+
+        if (sorted.length == 0)
+        {
+            return 0;
+        }
+
+        return sorted[Math.max(0, Math.min(sorted.length - 1, (int) Math.ceil(rank * sorted.length) - 1))] / 1E6;
+    }
+
+    /**
+     * Gets share of successful checks
+     *
+     * @return double between 0 and 1, 0 before first check
+     */
+    public double getAvailability()
+    {
+        return (size > 0) ? Arrays.stream(latencies, 0, size).filter(latency -> latency >= 0).count() / (double) size : 0;
+    }
+}
@@ -0,0 +1,13 @@
+package dev.leons.ward.probes;
+
+/**
+ * ProbeResult is outcome of one check of one service
+ *
+ * @param up true, if service answered
+ * @param latency nanoseconds until service answered or check failed
+ * @param message reason of failure, null if service is up
+ * @version 1.0.0
+ */
+public record ProbeResult(boolean up, long latency, String message)
+{
+}
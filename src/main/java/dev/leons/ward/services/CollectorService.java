@@ -0,0 +1,393 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.collectors.Metric;
+import dev.leons.ward.collectors.WardCollector;
+import dev.leons.ward.components.MetricsComponent;
+import dev.leons.ward.components.UtilitiesComponent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * CollectorService runs collector plugins, which provide custom metrics, and publishes their values to MetricsComponent
+ * Every plugin has own loop on virtual thread and every collection runs on another virtual thread, which is awaited for plugin's time budget.
+ * Collection over budget is interrupted, throwing or slow plugin is reported, and its next collections are skipped
+ * while stuck one still runs, so plugins never hold up built-in metrics or each other.
+ * Broken plugin jar or plugin, which throws from its getters, is reported and skipped, and never stops Ward from starting
+ *
+ * @version 1.0.1
+ */
+@Slf4j
+@Service
+@Lazy(false)
+public class CollectorService
+{
+    /**
+     * Source type of plugin metrics
+     */
+    public static final String SOURCE_TYPE = "plugin";
+
+    /**
+     * Default directory with plugin jars, relative to working directory like setup.ini
+     */
+    public static final String DEFAULT_PLUGIN_DIRECTORY = "plugins";
+
+    /**
+     * Most provider entries, which may fail to load, before rest of plugins is given up, so lookup never loops on same broken entry
+     */
+    private static final int MAX_LOAD_ERRORS = 100;
+
+    /**
+     * Collector with name, interval and budget read once, so its getters are never called outside isolation again
+     *
+     * @param collector plugin instance
+     * @param name unique name
+     * @param interval time between collections, at least one millisecond
+     * @param budget time budget of one collection, at least one millisecond
+     */
+    record Plugin(WardCollector collector, String name, Duration interval, Duration budget) {}
+
+    /**
+     * Autowired UtilitiesComponent object
+     * Used for reading plugin directory option
+     */
+    @Autowired
+    private UtilitiesComponent utilitiesComponent;
+
+    /**
+     * Autowired MetricsComponent object
+     * Used for publishing plugin metrics
+     */
+    @Autowired
+    private MetricsComponent metricsComponent;
+
+    /**
+     * Runs collections, one virtual thread per collection
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Loop threads of running plugins
+     */
+    private final List<Thread> loops = new ArrayList<>();
+
+    /**
+     * Loader of plugin jars, null if there are none
+     */
+    private URLClassLoader pluginClassLoader;
+
+    /**
+     * Loads plugins from classpath and plugin directory and starts them, if application is configured
+     * Plugin, which can not be loaded, is logged and skipped
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        if (Ward.isFirstLaunch())
+        {
+            return;
+        }
+
+        try
+        {
+            String directoryOption = utilitiesComponent.getFromIniFile("pluginDirectory");
+            Path directory = Path.of(((directoryOption != null) && !directoryOption.isBlank()) ? directoryOption.trim() : DEFAULT_PLUGIN_DIRECTORY);
+
+            start(loadCollectors(directory));
+        }
+        catch (IOException exception)
+        {
+            log.error("Could not load collector plugins: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Finds collectors with ServiceLoader, on classpath and in jars of directory
+     *
+     * @param directory directory with plugin jars, may not exist
+     * @return List of plugins with unique names
+     */
+    List<Plugin> loadCollectors(final Path directory) throws IOException
+    {
+        List<URL> jars = new ArrayList<>();
+
+        if (Files.isDirectory(directory))
+        {
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*.jar"))
+            {
+                for (Path jar : entries)
+                {
+                    jars.add(toUrl(jar));
+                }
+            }
+        }
+
+        ClassLoader classLoader = getClass().getClassLoader();
+        if (!jars.isEmpty())
+        {
+            pluginClassLoader = new URLClassLoader("ward-plugins", jars.toArray(URL[]::new), classLoader);
+            classLoader = pluginClassLoader;
+        }
+
+        List<Plugin> plugins = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        // Iterator of ServiceLoader, not stream, because iterator is specified to go on with next provider after broken one
+        Iterator<WardCollector> providers = ServiceLoader.load(WardCollector.class, classLoader).iterator();
+        int errors = 0;
+
+        while (errors < MAX_LOAD_ERRORS)
+        {
+            WardCollector collector;
+
+            try
+            {
+                if (!providers.hasNext())
+                {
+                    break;
+                }
+
+                collector = providers.next();
+            }
+            catch (ServiceConfigurationError | LinkageError | RuntimeException exception)
+            {
+                // Missing or invalid class of META-INF/services entry, or constructor, which throws
+                log.warn("Skipping collector: {}", exception.getMessage());
+                errors++;
+                continue;
+            }
+
+            Plugin plugin = describe(collector);
+
+            if (plugin == null)
+            {
+                continue;
+            }
+
+            if (names.add(plugin.name()))
+            {
+                plugins.add(plugin);
+            }
+            else
+            {
+                log.warn("Skipping collector {}, name {} is already used", collector.getClass().getName(), plugin.name());
+            }
+        }
+
+        return plugins;
+    }
+
+    /**
+     * Reads name, interval and time budget of collector
+     * Failure is reported under class name of collector
+     *
+     * @param collector plugin instance
+     * @return Plugin, or null if one of getters throws or name is empty
+     */
+    Plugin describe(final WardCollector collector)
+    {
+        try
+        {
+            String name = collector.getName();
+
+            if ((name == null) || name.isBlank())
+            {
+                throw new IllegalArgumentException("Collector has no name");
+            }
+
+            return new Plugin(collector, name, positive(collector.getInterval()), positive(collector.getTimeBudget()));
+        }
+        catch (RuntimeException | LinkageError exception)
+        {
+            metricsComponent.fail(collector.getClass().getName(), SOURCE_TYPE, getError(exception), 0);
+            log.warn("Skipping collector {}", collector.getClass().getName(), exception);
+
+            return null;
+        }
+    }
+
+    /**
+     * Starts loop of every plugin
+     *
+     * @param plugins plugins to run
+     */
+    synchronized void start(final List<Plugin> plugins)
+    {
+        for (Plugin plugin : plugins)
+        {
+            loops.add(Thread.ofVirtual().name("ward-collector-" + plugin.name()).start(() -> loop(plugin)));
+            log.info("Collector plugin {} started, every {} ms with budget of {} ms", plugin.name(),
+                    plugin.interval().toMillis(), plugin.budget().toMillis());
+        }
+    }
+
+    /**
+     * Stops all collectors and closes plugin jars
+     */
+    @PreDestroy
+    public synchronized void stop()
+    {
+        loops.forEach(Thread::interrupt);
+        loops.clear();
+        executor.shutdownNow();
+
+        if (pluginClassLoader != null)
+        {
+            try
+            {
+                pluginClassLoader.close();
+            }
+            catch (IOException exception)
+            {
+                log.debug("Could not close plugin jars", exception);
+            }
+        }
+    }
+
+    /**
+     * Collects repeatedly until interrupted
+     */
+    private void loop(final Plugin plugin)
+    {
+        CompletableFuture<Void> inFlight = null;
+
+        try
+        {
+            while (!Thread.currentThread().isInterrupted())
+            {
+                try
+                {
+                    inFlight = collect(plugin, inFlight);
+                }
+                catch (RuntimeException exception)
+                {
+                    // Plugin has returned something, which can not be published, such as null metric
+                    metricsComponent.fail(plugin.name(), SOURCE_TYPE, exception.getClass().getSimpleName(), 0);
+                    inFlight = null;
+                }
+
+                Thread.sleep(plugin.interval());
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            // Collections still running are interrupted by stop
+        }
+    }
+
+    /**
+     * Runs one collection and publishes its metrics or its failure
+     *
+     * @param previous end of collection, which has exceeded its budget last time, or null
+     * @return CompletableFuture, which completes when collection running over budget really ends, or null
+     */
+    CompletableFuture<Void> collect(final Plugin plugin, final CompletableFuture<Void> previous) throws InterruptedException
+    {
+        String name = plugin.name();
+
+        // Plugin, which ignores interrupts, is still running, another collection would only pile up threads
+        if ((previous != null) && !previous.isDone())
+        {
+            metricsComponent.fail(name, SOURCE_TYPE, "Skipped, previous collection is still running", 0);
+            return previous;
+        }
+
+        long start = System.nanoTime();
+        Duration budget = plugin.budget();
+        // Cancelled future is done at once, even if plugin ignores interrupt, so real end is tracked separately
+        CompletableFuture<Void> end = new CompletableFuture<>();
+        Future<List<Metric>> collection = executor.submit(() ->
+        {
+            try
+            {
+                return plugin.collector().collect();
+            }
+            finally
+            {
+                end.complete(null);
+            }
+        });
+
+        try
+        {
+            List<Metric> metrics = collection.get(budget.toNanos(), TimeUnit.NANOSECONDS);
+            metricsComponent.publish(name, SOURCE_TYPE, (metrics != null) ? metrics : List.of(), System.nanoTime() - start);
+            return null;
+        }
+        catch (TimeoutException exception)
+        {
+            collection.cancel(true);
+            metricsComponent.fail(name, SOURCE_TYPE, "Exceeded time budget of " + budget.toMillis() + " ms", System.nanoTime() - start);
+            log.warn("Collector {} exceeded time budget of {} ms", name, budget.toMillis());
+            return end;
+        }
+        catch (ExecutionException exception)
+        {
+            Throwable cause = exception.getCause();
+            metricsComponent.fail(name, SOURCE_TYPE, getError(cause), System.nanoTime() - start);
+            log.warn("Collector {} failed", name, cause);
+            return null;
+        }
+        catch (InterruptedException exception)
+        {
+            collection.cancel(true);
+            throw exception;
+        }
+    }
+
+    /**
+     * Describes failure of plugin
+     *
+     * @return String with exception type and message
+     */
+    private static String getError(final Throwable throwable)
+    {
+        return throwable.getClass().getSimpleName() + ((throwable.getMessage() != null) ? ": " + throwable.getMessage() : "");
+    }
+
+    /**
+     * Guards against zero or negative durations of plugins
+     *
+     * @return Duration of at least one millisecond
+     */
+    private static Duration positive(final Duration duration)
+    {
+        return ((duration == null) || (duration.toMillis() < 1)) ? Duration.ofMillis(1) : duration;
+    }
+
+    /**
+     * Converts jar path to url
+     *
+     * @return URL of jar
+     */
+    private static URL toUrl(final Path jar) throws MalformedURLException
+    {
+        return jar.toAbsolutePath().toUri().toURL();
+    }
+}
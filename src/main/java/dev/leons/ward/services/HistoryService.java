@@ -0,0 +1,167 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.HistoryComponent;
+import dev.leons.ward.dto.HistoryDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidHistoryQueryException;
+import dev.leons.ward.history.Aggregation;
+import dev.leons.ward.history.LttbDownsampler;
+import dev.leons.ward.history.SampleConsumer;
+import dev.leons.ward.history.SampleIterator;
+import dev.leons.ward.history.StepAggregator;
+import dev.leons.ward.history.TimeSeries;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HistoryService answers range queries over long history, samples are decompressed and reduced while they stream,
+ * so only resulting points are held, however long the range is
+ *
+ * @version 1.0.0
+ */
+@Service
+public class HistoryService
+{
+    /**
+     * Name of downsampling, which may be requested instead of aggregation
+     */
+    public static final String LTTB = "lttb";
+
+    /**
+     * Default number of points, enough for a chart as wide as a screen
+     */
+    public static final int DEFAULT_POINTS = 500;
+
+    /**
+     * Most points of one response
+     */
+    public static final int MAX_POINTS = 11_000;
+
+    /**
+     * Autowired HistoryComponent object
+     * Used for reading recorded series
+     */
+    @Autowired
+    private HistoryComponent historyComponent;
+
+    /**
+     * Queries range of metric
+     *
+     * @param metric metric name, such as processor
+     * @param from start of range in epoch milliseconds, an hour before end if null
+     * @param to end of range in epoch milliseconds, inclusive, now if null
+     * @param aggregation avg, min, max, p95, rate, or lttb for downsampling
+     * @param step step of aggregation in seconds, range divided into DEFAULT_POINTS steps if null
+     * @param points most points of downsampling, DEFAULT_POINTS if null
+     * @return HistoryDto with points, oldest first
+     * @throws InvalidHistoryQueryException if metric is unknown, or range, step or aggregation is invalid
+     */
+    public HistoryDto query(final String metric, final Long from, final Long to, final String aggregation, final Long step, final Integer points) throws ApplicationNotConfiguredException, InvalidHistoryQueryException
+    {
+        if (Ward.isFirstLaunch())
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+
+        TimeSeries series = historyComponent.getSeries(metric);
+        if (series == null)
+        {
+            throw new InvalidHistoryQueryException("No history of metric " + metric + ", available: " + String.join(", ", historyComponent.getSeriesNames()));
+        }
+
+        long rangeEnd = (to != null) ? to : System.currentTimeMillis();
+        long rangeStart = (from != null) ? from : rangeEnd - TimeUnit.HOURS.toMillis(1);
+        if ((rangeStart < 0) || (rangeStart > rangeEnd))
+        {
+            throw new InvalidHistoryQueryException("Range must start at or after epoch and not after its end");
+        }
+
+        Points result = new Points();
+        HistoryDto historyDto = new HistoryDto();
+        SampleIterator samples = series.iterator(rangeStart, rangeEnd);
+        String function = aggregation.trim().toLowerCase(Locale.ROOT);
+
+        if (LTTB.equals(function))
+        {
+            int pointCount = (points != null) ? points : DEFAULT_POINTS;
+            if ((pointCount < 3) || (pointCount > MAX_POINTS))
+            {
+                throw new InvalidHistoryQueryException("Points must be between 3 and " + MAX_POINTS);
+            }
+
+            LttbDownsampler.downsample(samples, rangeStart, rangeEnd, pointCount, result);
+        }
+        else
+        {
+            Aggregation parsed;
+            try
+            {
+                parsed = Aggregation.parse(function);
+            }
+            catch (IllegalArgumentException exception)
+            {
+                throw new InvalidHistoryQueryException("Unknown aggregation " + aggregation + ", one of avg, min, max, p95, rate, lttb");
+            }
+
+            long range = rangeEnd - rangeStart;
+            // By default whole seconds, which split range into about DEFAULT_POINTS steps
+            long stepMillis = (step != null) ? TimeUnit.SECONDS.toMillis(step) : Math.max(1, Math.ceilDiv(Math.ceilDiv(range, DEFAULT_POINTS), 1000)) * 1000;
+            if ((stepMillis <= 0) || ((range / stepMillis) >= MAX_POINTS))
+            {
+                throw new InvalidHistoryQueryException("Step must be positive and split range into at most " + MAX_POINTS + " points");
+            }
+
+            StepAggregator.aggregate(samples, parsed, rangeStart, stepMillis, result);
+            historyDto.setStep(stepMillis);
+        }
+
+        historyDto.setMetric(metric);
+        historyDto.setAggregation(function);
+        historyDto.setFrom(rangeStart);
+        historyDto.setTo(rangeEnd);
+        historyDto.setTimestamps(Arrays.copyOf(result.timestamps, result.size));
+        historyDto.setValues(Arrays.copyOf(result.values, result.size));
+
+        return historyDto;
+    }
+
+    /**
+     * Points collects resulting points in growing arrays, without boxing
+     */
+    private static final class Points implements SampleConsumer
+    {
+        /**
+         * Timestamps of points
+         */
+        private long[] timestamps = new long[64];
+
+        /**
+         * Values of points
+         */
+        private double[] values = new double[64];
+
+        /**
+         * Number of points
+         */
+        private int size;
+
+        @Override
+        public void accept(final long timestamp, final double value)
+        {
+            if (size == timestamps.length)
+            {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+        }
+    }
+}
@@ -15,24 +15,17 @@ import java.util.Properties;
  * IndexService displays index page of Ward application
  *
  * @author Rudolf Barbu
- * @version 1.0.1
+ * @version 1.0.3
  */
 @Service
 public class IndexService
 {
     /**
-     * Autowired InfoService object
-     * Used for getting machine information for html template
+     * Autowired SnapshotService object
+     * Used for getting latest samples for html template, without waiting for hardware probes
      */
     @Autowired
-    private InfoService infoService;
-
-    /**
-     * Autowired UptimeService object
-     * Used for getting uptime for html template
-     */
-    @Autowired
-    private UptimeService uptimeService;
+    private SnapshotService snapshotService;
 
     /**
      * Autowired UtilitiesComponent object
@@ -67,6 +60,7 @@ public class IndexService
 
     /**
      * Fills model and returns template name
+     * Info is taken from latest sample, if there is none yet, cards are rendered empty and filled by first snapshot request
      *
      * @param model strings container
      * @return template name
@@ -84,9 +78,10 @@ public class IndexService
         model.addAttribute("serverName", utilitiesComponent.getFromIniFile("serverName"));
         model.addAttribute("enableFog", utilitiesComponent.getFromIniFile("enableFog"));
         model.addAttribute("backgroundColor", utilitiesComponent.getFromIniFile("backgroundColor"));
+        model.addAttribute("lowPower", Boolean.parseBoolean(utilitiesComponent.getFromIniFile("lowPower")));
 
-        model.addAttribute("info", infoService.getInfo());
-        model.addAttribute("uptime", uptimeService.getUptime());
+        model.addAttribute("info", snapshotService.getCachedInfo());
+        model.addAttribute("uptime", snapshotService.getUptime());
         model.addAttribute("version", getVersion());
 
         return "index";
@@ -99,5 +94,8 @@ public class IndexService
         if (utilitiesComponent.getFromIniFile("backgroundColor") == null) {
             utilitiesComponent.putInIniFile("backgroundColor", "#303030");
         }
+        if (utilitiesComponent.getFromIniFile("lowPower") == null) {
+            utilitiesComponent.putInIniFile("lowPower", "false");
+        }
     }
 }
\ No newline at end of file
@@ -5,8 +5,10 @@ import dev.leons.ward.dto.InfoDto;
 import dev.leons.ward.dto.MachineDto;
 import dev.leons.ward.dto.ProcessorDto;
 import dev.leons.ward.dto.StorageDto;
+import dev.leons.ward.components.StatsComponent;
 import dev.leons.ward.components.UtilitiesComponent;
 import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import oshi.SystemInfoFFM;
@@ -16,19 +18,42 @@ import oshi.hardware.HWDiskStore;
 import oshi.hardware.PhysicalMemory;
 import oshi.software.os.OperatingSystem;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * InfoService provides various information about machine, such as processor name, core count, Ram amount, etc.
+ * Sections are collected in parallel, each with its own deadline
+ * Section, which misses its deadline, is served from its last good value and reported as stale
  *
  * @author Rudolf Barbu
- * @version 1.0.2
+ * @version 1.0.4
  */
+@Slf4j
 @Service
 public class InfoService
 {
+    /**
+     * Deadline for processor and machine sections
+     */
+    private static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(2);
+
+    /**
+     * Deadline for storage section, disk probes may wait for slow or network mounts
+     */
+    private static final Duration STORAGE_DEADLINE = Duration.ofSeconds(3);
+
     /**
      * Autowired SystemInfo object
      * Used for getting machine information
@@ -43,6 +68,33 @@ public class InfoService
     @Autowired
     private UtilitiesComponent utilitiesComponent;
 
+    /**
+     * Autowired StatsComponent object
+     * Used for timing collector steps
+     */
+    @Autowired
+    private StatsComponent statsComponent;
+
+    /**
+     * Processor section probe
+     */
+    private final Section<ProcessorDto> processorSection = new Section<>("processor", DEFAULT_DEADLINE, this::getProcessor, ProcessorDto::new);
+
+    /**
+     * Machine section probe
+     */
+    private final Section<MachineDto> machineSection = new Section<>("machine", DEFAULT_DEADLINE, this::getMachine, MachineDto::new);
+
+    /**
+     * Storage section probe
+     */
+    private final Section<StorageDto> storageSection = new Section<>("storage", STORAGE_DEADLINE, this::getStorage, StorageDto::new);
+
+    /**
+     * All sections, in InfoDto order
+     */
+    private final List<Section<?>> sections = List.of(processorSection, machineSection, storageSection);
+
     /**
      * Converts frequency to most readable format
      *
@@ -143,7 +195,9 @@ public class InfoService
         }
         machineDto.setRamTypeOrOSBitDepth(ramTypeOrOSBitDepth);
 
+        long start = System.nanoTime();
         int processCount = operatingSystem.getProcessCount();
+        statsComponent.record(StatsComponent.Collector.PROCESS_COUNT, System.nanoTime() - start);
         String procCount = processCount + ((processCount > 1) ? " Procs" : " Proc");
         machineDto.setProcCount(procCount);
 
@@ -158,7 +212,9 @@ public class InfoService
     private StorageDto getStorage()
     {
         StorageDto storageDto = new StorageDto();
+        long start = System.nanoTime();
         List<HWDiskStore> hwDiskStores = systemInfo.getHardware().getDiskStores();
+        statsComponent.record(StatsComponent.Collector.DISK_STORES, System.nanoTime() - start);
         GlobalMemory globalMemory = systemInfo.getHardware().getMemory();
 
     // Retrieve main storage model
@@ -179,6 +235,7 @@ public class InfoService
 
     /**
      * Used to deliver dto to corresponding controller
+     * Sections are collected concurrently, total time is bounded by the longest section deadline
      *
      * @return InfoDto filled with server info
      */
@@ -186,11 +243,50 @@ public class InfoService
     {
         if (!Ward.isFirstLaunch())
         {
+            List<Section.Result<?>> results = new ArrayList<>();
+
+            try (var scope = StructuredTaskScope.open())
+            {
+                List<StructuredTaskScope.Subtask<Section.Result<?>>> subtasks = new ArrayList<>();
+
+                for (Section<?> section : sections)
+                {
+                    subtasks.add(scope.fork(section::collect));
+                }
+
+                scope.join();
+
+                for (StructuredTaskScope.Subtask<Section.Result<?>> subtask : subtasks)
+                {
+                    results.add(subtask.get());
+                }
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+
+                results.clear();
+                for (Section<?> section : sections)
+                {
+                    results.add(section.last());
+                }
+            }
+
             InfoDto infoDto = new InfoDto();
 
-            infoDto.setProcessor(getProcessor());
-            infoDto.setMachine(getMachine());
-            infoDto.setStorage(getStorage());
+            infoDto.setProcessor((ProcessorDto) results.get(0).value());
+            infoDto.setMachine((MachineDto) results.get(1).value());
+            infoDto.setStorage((StorageDto) results.get(2).value());
+
+            List<String> stale = new ArrayList<>();
+            for (Section.Result<?> result : results)
+            {
+                if (result.stale())
+                {
+                    stale.add(result.name());
+                }
+            }
+            infoDto.setStale(stale);
 
             return infoDto;
         }
@@ -199,4 +295,193 @@ public class InfoService
             throw new ApplicationNotConfiguredException();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets duration of last completed probe of every section
+     * Probe, which is still running past its deadline, is reported with its elapsed time
+     *
+     * @return Map with section names and durations, in collection order
+     */
+    public Map<String, Duration> getTimings()
+    {
+        Map<String, Duration> timings = new LinkedHashMap<>();
+
+        for (Section<?> section : sections)
+        {
+            timings.put(section.name, section.duration());
+        }
+
+        return timings;
+    }
+
+    /**
+     * Changes deadline of section
+     *
+     * @param name section name
+     * @param deadline new deadline
+     */
+    void setDeadline(final String name, final Duration deadline)
+    {
+        for (Section<?> section : sections)
+        {
+            if (section.name.equals(name))
+            {
+                section.deadline = deadline;
+            }
+        }
+    }
+
+    /**
+     * Section is one independently probed part of InfoDto
+     * Probe runs on its own virtual thread, which is not tied to the collecting scope, so hung probe never blocks
+     * the scope from closing. Until hung probe returns, no new probe is started, and callers wait for the same one
+     *
+     * @param <T> dto type of section
+     */
+    private static final class Section<T>
+    {
+        /**
+         * Result of one collection
+         *
+         * @param name section name
+         * @param value fresh value, or last good value if stale
+         * @param stale true, if probe failed or missed its deadline
+         */
+        private record Result<T>(String name, T value, boolean stale) {}
+
+        /**
+         * Section name
+         */
+        private final String name;
+
+        /**
+         * Probe, which reads section from the system
+         */
+        private final Supplier<T> probe;
+
+        /**
+         * Factory for empty value, served if probe has never succeeded
+         */
+        private final Supplier<T> empty;
+
+        /**
+         * Maximum time collection waits for probe
+         */
+        private volatile Duration deadline;
+
+        /**
+         * Last good value, null if probe has never succeeded
+         */
+        private volatile T lastGood;
+
+        /**
+         * Currently running or last finished probe
+         */
+        private CompletableFuture<T> inFlight;
+
+        /**
+         * Start time of current probe, in nanoseconds
+         */
+        private long startedAt;
+
+        /**
+         * Duration of last finished probe, in nanoseconds
+         */
+        private volatile long lastDuration;
+
+        private Section(final String name, final Duration deadline, final Supplier<T> probe, final Supplier<T> empty)
+        {
+            this.name = name;
+            this.deadline = deadline;
+            this.probe = probe;
+            this.empty = empty;
+        }
+
+        /**
+         * Waits for probe until deadline, starting it if none is running
+         *
+         * @return Result with fresh value, or last good value marked as stale
+         * @throws InterruptedException if collecting thread is interrupted
+         */
+        private Result<T> collect() throws InterruptedException
+        {
+            try
+            {
+                T value = probe().get(deadline.toNanos(), TimeUnit.NANOSECONDS);
+                lastGood = value;
+
+                return new Result<>(name, value, false);
+            }
+            catch (TimeoutException exception)
+            {
+                log.warn("Info section {} missed its deadline of {} ms, serving last value", name, deadline.toMillis());
+            }
+            catch (ExecutionException exception)
+            {
+                log.warn("Info section {} failed, serving last value: {}", name, exception.getCause().getMessage());
+            }
+
+            return last();
+        }
+
+        /**
+         * Gets last good value without probing
+         *
+         * @return Result with last good value, marked as stale
+         */
+        private Result<T> last()
+        {
+            T value = lastGood;
+
+            return new Result<>(name, (value != null) ? value : empty.get(), true);
+        }
+
+        /**
+         * Gets running probe, or starts new one if previous has finished
+         *
+         * @return CompletableFuture, which completes with probed value
+         */
+        private synchronized CompletableFuture<T> probe()
+        {
+            if ((inFlight == null) || inFlight.isDone())
+            {
+                long started = System.nanoTime();
+
+                CompletableFuture<T> future = CompletableFuture.supplyAsync(() ->
+                {
+                    try
+                    {
+                        return probe.get();
+                    }
+                    finally
+                    {
+                        lastDuration = System.nanoTime() - started;
+                        log.debug("Info section {} probed in {} ms", name, lastDuration / 1_000_000);
+                    }
+                }, runnable -> Thread.ofVirtual().name("ward-info-" + name).start(runnable));
+
+                inFlight = future;
+                startedAt = started;
+            }
+
+            return inFlight;
+        }
+
+        /**
+         * Gets duration of last probe, or elapsed time of running probe, if it has already taken longer
+         *
+         * @return Duration of probe
+         */
+        private synchronized Duration duration()
+        {
+            long duration = lastDuration;
+
+            if ((inFlight != null) && !inFlight.isDone())
+            {
+                duration = Math.max(duration, System.nanoTime() - startedAt);
+            }
+
+            return Duration.ofNanos(duration);
+        }
+    }
+}
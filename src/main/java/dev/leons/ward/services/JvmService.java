@@ -0,0 +1,256 @@
+package dev.leons.ward.services;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import dev.leons.ward.components.LatencyHistogram;
+import dev.leons.ward.dto.JvmDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import jdk.management.VirtualThreadSchedulerMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import oshi.SystemInfoFFM;
+import oshi.software.os.OSProcess;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JvmService provides resources used by Ward itself, such as heap, RSS, GC pauses and threads
+ * Virtual thread counts are taken from VirtualThreadSchedulerMXBean, pinning and GC pauses from JFR event stream.
+ * Stream only subscribes to events, which are rare, so it never sees every virtual thread Ward starts.
+ * GarbageCollectorMXBean notifications count pauses in whole milliseconds, so they are used only while JFR is not available
+ *
+ * @version 1.0.1
+ */
+@Slf4j
+@Service
+public class JvmService
+{
+    /**
+     * Shortest pinning, which is reported, same as JFR default
+     */
+    private static final Duration PINNED_THRESHOLD = Duration.ofMillis(20);
+
+    /**
+     * Autowired SystemInfo object
+     * Used for getting resident set size of Ward process
+     */
+    @Autowired
+    private SystemInfoFFM systemInfo;
+
+    /**
+     * Pauses of all stop-the-world collectors
+     */
+    private final LatencyHistogram gcPauses = new LatencyHistogram();
+
+    /**
+     * Scheduler of virtual threads, used for mounted and queued counts
+     */
+    private final VirtualThreadSchedulerMXBean virtualThreadScheduler = ManagementFactory.getPlatformMXBean(VirtualThreadSchedulerMXBean.class);
+
+    /**
+     * Pinned virtual thread events count
+     */
+    private final LongAdder pinnedEvents = new LongAdder();
+
+    /**
+     * Top frame of last pinned virtual thread event
+     */
+    private volatile String lastPinnedFrame;
+
+    /**
+     * Collectors, which report pauses, concurrent cycles are left out
+     */
+    private final List<GarbageCollectorMXBean> pauseCollectors = new ArrayList<>();
+
+    /**
+     * Listener of GC notifications
+     */
+    private final NotificationListener gcListener = this::onGarbageCollection;
+
+    /**
+     * JFR stream, null if JFR is not available
+     */
+    private RecordingStream recordingStream;
+
+    /**
+     * True, while GC pauses are recorded from JFR stream, with nanosecond resolution
+     */
+    private volatile boolean pausesFromStream;
+
+    /**
+     * Subscribes to GC notifications and starts JFR stream
+     * Missing JFR is logged, pinning then stays at zero and GC pauses are recorded in whole milliseconds from notifications
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        for (GarbageCollectorMXBean garbageCollectorMXBean : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            if (isPauseCollector(garbageCollectorMXBean.getName()))
+            {
+                pauseCollectors.add(garbageCollectorMXBean);
+
+                if (garbageCollectorMXBean instanceof NotificationEmitter notificationEmitter)
+                {
+                    notificationEmitter.addNotificationListener(gcListener, null, null);
+                }
+            }
+        }
+
+        try
+        {
+            recordingStream = new RecordingStream();
+            recordingStream.setMaxAge(Duration.ofSeconds(10));
+            recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(PINNED_THRESHOLD).withStackTrace();
+            recordingStream.enable("jdk.GarbageCollection").withoutStackTrace();
+            recordingStream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+            recordingStream.onEvent("jdk.GarbageCollection", event -> gcPauses.record(event.getDuration("sumOfPauses").toNanos()));
+            recordingStream.startAsync();
+            pausesFromStream = true;
+        }
+        catch (IllegalStateException | SecurityException exception)
+        {
+            log.warn("JFR is not available, pinning is not monitored and GC pauses are rounded to milliseconds: {}", exception.getMessage());
+            recordingStream = null;
+        }
+    }
+
+    /**
+     * Unsubscribes from GC notifications and closes JFR stream
+     */
+    @PreDestroy
+    public void stop()
+    {
+        for (GarbageCollectorMXBean garbageCollectorMXBean : pauseCollectors)
+        {
+            if (garbageCollectorMXBean instanceof NotificationEmitter notificationEmitter)
+            {
+                try
+                {
+                    notificationEmitter.removeNotificationListener(gcListener);
+                }
+                catch (ListenerNotFoundException exception)
+                {
+                    log.debug("GC listener of {} was already removed", garbageCollectorMXBean.getName());
+                }
+            }
+        }
+        pauseCollectors.clear();
+
+        if (recordingStream != null)
+        {
+            recordingStream.close();
+            recordingStream = null;
+            pausesFromStream = false;
+        }
+    }
+
+    /**
+     * Used to deliver dto to corresponding controller
+     *
+     * @return JvmDto filled with resources used by Ward
+     */
+    public JvmDto getJvm()
+    {
+        JvmDto jvmDto = new JvmDto();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+        jvmDto.setJavaVersion(Runtime.version().toString());
+        jvmDto.setHeapUsed(heap.getUsed());
+        jvmDto.setHeapCommitted(heap.getCommitted());
+        jvmDto.setHeapMax(heap.getMax());
+        jvmDto.setNonHeapUsed(ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage().getUsed());
+        jvmDto.setRss(getRss());
+
+        long gcCount = 0;
+        for (GarbageCollectorMXBean garbageCollectorMXBean : pauseCollectors)
+        {
+            gcCount += Math.max(0, garbageCollectorMXBean.getCollectionCount());
+        }
+        jvmDto.setGcCount(gcCount);
+        jvmDto.setGcPauses(gcPauses.toLatencyDto());
+
+        jvmDto.setPlatformThreads(ManagementFactory.getThreadMXBean().getThreadCount());
+        jvmDto.setMountedVirtualThreads(virtualThreadScheduler.getMountedVirtualThreadCount());
+        jvmDto.setQueuedVirtualThreads(virtualThreadScheduler.getQueuedVirtualThreadCount());
+        jvmDto.setPinnedEvents(pinnedEvents.sum());
+        jvmDto.setLastPinnedFrame(lastPinnedFrame);
+
+        return jvmDto;
+    }
+
+    /**
+     * Gets resident set size of Ward process
+     *
+     * @return long with bytes, 0 if process can not be read
+     */
+    private long getRss()
+    {
+        OSProcess process = systemInfo.getOperatingSystem().getCurrentProcess();
+
+        return (process != null) ? process.getResidentSetSize() : 0;
+    }
+
+    /**
+     * Checks, if collector reports stop-the-world pauses
+     * G1 Concurrent GC, ZGC Cycles and Shenandoah Cycles report concurrent work, which does not stop application
+     *
+     * @param name collector name
+     * @return true, if collector durations are pauses
+     */
+    static boolean isPauseCollector(final String name)
+    {
+        return !name.contains("Concurrent") && !name.contains("Cycles");
+    }
+
+    /**
+     * Records pause of finished collection, if JFR stream is not available
+     * Notification has duration in whole milliseconds, so sub-millisecond pauses are recorded as zero
+     *
+     * @param notification GC notification
+     * @param handback unused
+     */
+    private void onGarbageCollection(final Notification notification, final Object handback)
+    {
+        if (!pausesFromStream && GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()))
+        {
+            GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+
+            gcPauses.record(info.getGcInfo().getDuration() * 1_000_000);
+        }
+    }
+
+    /**
+     * Counts pinned virtual thread event and keeps its top frame
+     *
+     * @param event jdk.VirtualThreadPinned event
+     */
+    private void onPinned(final RecordedEvent event)
+    {
+        pinnedEvents.increment();
+
+        if ((event.getStackTrace() != null) && !event.getStackTrace().getFrames().isEmpty())
+        {
+            RecordedFrame frame = event.getStackTrace().getFrames().getFirst();
+
+            lastPinnedFrame = frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+        }
+
+        log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), lastPinnedFrame);
+    }
+}
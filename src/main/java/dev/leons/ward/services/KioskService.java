@@ -0,0 +1,276 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.components.UtilitiesComponent;
+import dev.leons.ward.dto.InfoDto;
+import dev.leons.ward.dto.KioskCardDto;
+import dev.leons.ward.dto.UptimeDto;
+import dev.leons.ward.dto.UsageDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * KioskService renders kiosk page, which works without javascript
+ * Page is rendered once per sample for every theme and refresh interval, and shared between all kiosks
+ *
+ * @version 1.0.1
+ */
+@Slf4j
+@Service
+public class KioskService
+{
+    /**
+     * Themes, which can be requested, any other value falls back to theme from ini file
+     */
+    public static final List<String> THEMES = List.of("light", "dark");
+
+    /**
+     * Shortest allowed refresh interval, in seconds
+     */
+    public static final int MIN_REFRESH = 1;
+
+    /**
+     * Longest allowed refresh interval, in seconds
+     */
+    public static final int MAX_REFRESH = 3600;
+
+    /**
+     * Most pages kept, kiosks use few combinations of theme and refresh interval, pages of other combinations are not kept
+     */
+    static final int MAX_PAGES = 16;
+
+    /**
+     * Sparkline view box width
+     */
+    static final int SPARKLINE_WIDTH = 300;
+
+    /**
+     * Sparkline view box height
+     */
+    static final int SPARKLINE_HEIGHT = 60;
+
+    /**
+     * Autowired SnapshotService object
+     * Used for getting latest samples
+     */
+    @Autowired
+    private SnapshotService snapshotService;
+
+    /**
+     * Autowired UtilitiesComponent object
+     * Used for various utility functions
+     */
+    @Autowired
+    private UtilitiesComponent utilitiesComponent;
+
+    /**
+     * Autowired ITemplateEngine object
+     * Used for rendering kiosk template
+     */
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    /**
+     * Rendered pages by theme and refresh interval
+     */
+    private final Map<String, Page> pages = new ConcurrentHashMap<>();
+
+    /**
+     * Gets kiosk page for latest sample, rendering it only if sample has changed since last request
+     *
+     * @param theme requested theme, null or unknown value for theme from ini file
+     * @param refresh requested refresh interval in seconds, clamped to allowed range
+     * @return Page with rendered html
+     */
+    public Page getPage(final String theme, final int refresh) throws ApplicationNotConfiguredException
+    {
+        String pageTheme = ((theme != null) && THEMES.contains(theme)) ? theme : null;
+        int pageRefresh = Math.clamp(refresh, MIN_REFRESH, MAX_REFRESH);
+
+        List<UsageDto> history = snapshotService.getUsageHistory();
+        InfoDto info = snapshotService.getInfo();
+        UptimeDto uptime = snapshotService.getUptime();
+
+        String key = pageTheme + ":" + pageRefresh;
+        Page current = pages.get(key);
+
+        if ((current != null) && current.isRenderedFrom(history, info, uptime))
+        {
+            return current;
+        }
+        if ((current == null) && (pages.size() >= MAX_PAGES))
+        {
+            return render(pageTheme, pageRefresh, history, info, uptime);
+        }
+
+        return pages.compute(key, (pageKey, previous) ->
+                ((previous != null) && previous.isRenderedFrom(history, info, uptime)) ? previous : render(pageTheme, pageRefresh, history, info, uptime));
+    }
+
+    /**
+     * Renders kiosk template
+     *
+     * @param theme theme or null for theme from ini file
+     * @param refresh refresh interval in seconds
+     * @param history usage samples, oldest first
+     * @param info latest info sample
+     * @param uptime latest uptime sample
+     * @return Page with rendered html
+     */
+    private Page render(final String theme, final int refresh, final List<UsageDto> history, final InfoDto info, final UptimeDto uptime)
+    {
+        Context context = new Context();
+        UsageDto usage = history.getLast();
+
+        context.setVariable("theme", (theme != null) ? theme : getFromIniFile("theme", "light"));
+        context.setVariable("serverName", getFromIniFile("serverName", "Ward"));
+        context.setVariable("refresh", refresh);
+        context.setVariable("viewBox", "0 0 " + SPARKLINE_WIDTH + " " + SPARKLINE_HEIGHT);
+        context.setVariable("uptime", uptime);
+        context.setVariable("cards", List.of(
+                createCard("PROCESSOR", usage.getProcessor(), getPoints(history, UsageDto::getProcessor), "rgb(89, 101, 249)",
+                        info.getProcessor().getName() + " · " + info.getProcessor().getClockSpeed()),
+                createCard("MEMORY", usage.getRam(), getPoints(history, UsageDto::getRam), "rgb(255, 89, 89)",
+                        info.getMachine().getTotalRam() + " · " + info.getMachine().getProcCount()),
+                createCard("STORAGE", usage.getStorage(), getPoints(history, UsageDto::getStorage), "rgb(8, 193, 141)",
+                        info.getStorage().getTotal() + " · " + info.getStorage().getDiskCount())));
+
+        byte[] html = templateEngine.process("kiosk", context).getBytes(StandardCharsets.UTF_8);
+
+        return new Page(history, info, uptime, html, "\"" + DigestUtils.md5DigestAsHex(html) + "\"");
+    }
+
+    /**
+     * Converts usage history to sparkline points, newest sample is at right edge
+     *
+     * @param history usage samples, oldest first
+     * @param metric getter of one usage value
+     * @return String with space separated x,y pairs
+     */
+    static String getPoints(final List<UsageDto> history, final ToIntFunction<UsageDto> metric)
+    {
+        StringBuilder points = new StringBuilder();
+        double step = (double) SPARKLINE_WIDTH / (SnapshotService.HISTORY_SIZE - 1);
+        int offset = SnapshotService.HISTORY_SIZE - history.size();
+
+        for (int i = 0; i < history.size(); i++)
+        {
+            int value = Math.clamp(metric.applyAsInt(history.get(i)), 0, 100);
+
+            if (i > 0)
+            {
+                points.append(' ');
+            }
+
+            points.append(Math.round((offset + i) * step * 10) / 10.0)
+                    .append(',')
+                    .append(Math.round((SPARKLINE_HEIGHT - (value * SPARKLINE_HEIGHT / 100.0)) * 10) / 10.0);
+        }
+
+        return points.toString();
+    }
+
+    /**
+     * Creates card of kiosk page
+     *
+     * @return KioskCardDto with filled fields
+     */
+    private KioskCardDto createCard(final String label, final int value, final String points, final String color, final String detail)
+    {
+        KioskCardDto kioskCardDto = new KioskCardDto();
+
+        kioskCardDto.setLabel(label);
+        kioskCardDto.setValue(value);
+        kioskCardDto.setPoints(points);
+        kioskCardDto.setColor(color);
+        kioskCardDto.setDetail(detail);
+
+        return kioskCardDto;
+    }
+
+    /**
+     * Gets option from ini file, falling back to default value
+     *
+     * @param optionName option in section
+     * @param defaultValue value used, if option is missing or file is unreadable
+     * @return String with option value
+     */
+    private String getFromIniFile(final String optionName, final String defaultValue)
+    {
+        try
+        {
+            String value = utilitiesComponent.getFromIniFile(optionName);
+
+            return (value != null) ? value : defaultValue;
+        }
+        catch (IOException exception)
+        {
+            log.warn("Could not read {} from ini file, using {}", optionName, defaultValue);
+
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Page is rendered kiosk html together with samples it was rendered from
+     */
+    @Getter
+    public static final class Page
+    {
+        /**
+         * Usage history, page was rendered from
+         */
+        private final List<UsageDto> history;
+
+        /**
+         * Info sample, page was rendered from
+         */
+        private final InfoDto info;
+
+        /**
+         * Uptime sample, page was rendered from
+         */
+        private final UptimeDto uptime;
+
+        /**
+         * Rendered html
+         */
+        private final byte[] html;
+
+        /**
+         * Strong ETag of html
+         */
+        private final String eTag;
+
+        private Page(final List<UsageDto> history, final InfoDto info, final UptimeDto uptime, final byte[] html, final String eTag)
+        {
+            this.history = history;
+            this.info = info;
+            this.uptime = uptime;
+            this.html = html;
+            this.eTag = eTag;
+        }
+
+        /**
+         * Checks, if page was rendered from exactly these samples
+         *
+         * @return true, if samples are the same objects
+         */
+        private boolean isRenderedFrom(final List<UsageDto> history, final InfoDto info, final UptimeDto uptime)
+        {
+            return (this.history == history) && (this.info == info) && (this.uptime == uptime);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.UtilitiesComponent;
+import dev.leons.ward.dto.ProbeDto;
+import dev.leons.ward.dto.ProbesDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.probes.HealthProbe;
+import dev.leons.ward.probes.ProbeHistory;
+import dev.leons.ward.probes.ProbeResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ProbeService checks in background, if configured local services answer, and keeps their latency history
+ * Every probe of a round runs on its own virtual thread, semaphore bounds how many check at once.
+ * Dashboard polls only read result of last round, so they never trigger probes
+ *
+ * @version 1.0.1
+ */
+@Slf4j
+@Service
+@Lazy(false)
+public class ProbeService
+{
+    /**
+     * Default seconds between probe rounds
+     */
+    public static final long DEFAULT_INTERVAL = 10;
+
+    /**
+     * Default connect and response timeout, in milliseconds
+     */
+    public static final long DEFAULT_TIMEOUT = 2000;
+
+    /**
+     * Default count of probes, which check at once
+     */
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    /**
+     * Autowired UtilitiesComponent object
+     * Used for reading probe options
+     */
+    @Autowired
+    private UtilitiesComponent utilitiesComponent;
+
+    /**
+     * Configured probes, empty if probing is disabled
+     */
+    private List<HealthProbe> probes = List.of();
+
+    /**
+     * History of every probe, in same order as probes
+     */
+    private List<ProbeHistory> histories = List.of();
+
+    /**
+     * Result of last round
+     */
+    private volatile ProbesDto lastRound = createProbesDto(List.of(), 0, 0);
+
+    /**
+     * Set while round is running
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Start of next round, in nanoseconds
+     */
+    private long nextRound;
+
+    /**
+     * Nanoseconds between rounds
+     */
+    private long interval;
+
+    /**
+     * Connect and response timeout
+     */
+    private Duration timeout;
+
+    /**
+     * Count of probes, which check at once
+     */
+    private int concurrency;
+
+    /**
+     * Bounds probes, which check at once
+     */
+    private Semaphore permits;
+
+    /**
+     * Client of HTTP probes, null if probing is disabled
+     */
+    private HttpClient httpClient;
+
+    /**
+     * Enables probing, if application is configured and probes option is set
+     * Invalid options are logged and do not prevent application from starting
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        if (Ward.isFirstLaunch())
+        {
+            return;
+        }
+
+        try
+        {
+            String probesOption = utilitiesComponent.getFromIniFile("probes");
+
+            if ((probesOption != null) && !probesOption.isBlank())
+            {
+                List<HealthProbe> configuredProbes = new ArrayList<>();
+                for (String definition : probesOption.trim().split("\\s*,\\s*"))
+                {
+                    configuredProbes.add(HealthProbe.parse(definition));
+                }
+
+                start(configuredProbes, getOption("probeInterval", DEFAULT_INTERVAL), getOption("probeTimeout", DEFAULT_TIMEOUT),
+                        (int) getOption("probeConcurrency", DEFAULT_CONCURRENCY));
+            }
+        }
+        catch (IOException | IllegalArgumentException exception)
+        {
+            log.error("Could not start service probes: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Enables probing, first round runs on next tick
+     *
+     * @param probes services to check
+     * @param interval seconds between rounds
+     * @param timeout connect and response timeout, in milliseconds
+     * @param concurrency count of probes, which check at once
+     */
+    public synchronized void start(final List<HealthProbe> probes, final long interval, final long timeout, final int concurrency)
+    {
+        if (httpClient != null)
+        {
+            return;
+        }
+
+        this.probes = List.copyOf(probes);
+        this.histories = probes.stream().map(probe -> new ProbeHistory()).toList();
+        this.interval = TimeUnit.SECONDS.toNanos(Math.max(1, interval));
+        this.timeout = Duration.ofMillis(Math.max(1, timeout));
+        this.concurrency = Math.max(1, concurrency);
+        this.permits = new Semaphore(this.concurrency);
+        this.nextRound = System.nanoTime();
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(this.timeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.lastRound = createProbesDto(this.probes, 0, interval);
+
+        log.info("Probing {} services every {} s", this.probes.size(), interval);
+    }
+
+    /**
+     * Stops probing
+     */
+    @PreDestroy
+    public synchronized void stop()
+    {
+        if (httpClient != null)
+        {
+            httpClient.close();
+            httpClient = null;
+        }
+    }
+
+    /**
+     * Starts round in background, if it is due and previous round has finished
+     * Round runs on own thread, so slow services never hold up scheduler, which also takes usage samples
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void tick()
+    {
+        if ((httpClient == null) || (System.nanoTime() - nextRound < 0) || !running.compareAndSet(false, true))
+        {
+            return;
+        }
+
+        nextRound = System.nanoTime() + interval;
+
+        Thread.ofVirtual().name("ward-probes").start(() ->
+        {
+            try
+            {
+                runRound();
+            }
+            catch (RuntimeException exception)
+            {
+                log.error("Probe round failed", exception);
+            }
+            finally
+            {
+                running.set(false);
+            }
+        });
+    }
+
+    /**
+     * Checks every probe once and publishes results
+     * Round never takes much longer than all probes checking in batches of allowed concurrency,
+     * probes still running after that are interrupted and count as timed out
+     */
+    void runRound()
+    {
+        ProbeResult[] results = new ProbeResult[probes.size()];
+        long batches = (probes.size() + concurrency - 1) / concurrency;
+        long deadline = (batches + 1) * timeout.toMillis();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        for (int i = 0; i < probes.size(); i++)
+        {
+            final int probe = i;
+            executor.execute(() ->
+            {
+                try
+                {
+                    permits.acquire();
+                    try
+                    {
+                        results[probe] = probes.get(probe).check(httpClient, timeout);
+                    }
+                    finally
+                    {
+                        permits.release();
+                    }
+                }
+                catch (InterruptedException exception)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        executor.shutdown();
+
+        try
+        {
+            if (!executor.awaitTermination(deadline, TimeUnit.MILLISECONDS))
+            {
+                executor.shutdownNow();
+                executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        for (int i = 0; i < probes.size(); i++)
+        {
+            // Result of interrupted probe may be written late, so it is read once
+            ProbeResult result = results[i];
+            histories.get(i).add((result != null) ? result : new ProbeResult(false, TimeUnit.MILLISECONDS.toNanos(deadline), "Timed out"));
+        }
+
+        lastRound = createProbesDto(probes, System.currentTimeMillis(), TimeUnit.NANOSECONDS.toSeconds(interval));
+    }
+
+    /**
+     * Gets result of last round, never runs probes
+     *
+     * @return ProbesDto with status and history of every probe, empty if probing is disabled
+     * @throws ApplicationNotConfiguredException if application is in setup mode
+     */
+    public ProbesDto getProbes() throws ApplicationNotConfiguredException
+    {
+        if (Ward.isFirstLaunch())
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+
+        return lastRound;
+    }
+
+    /**
+     * Creates dto from histories
+     *
+     * @return ProbesDto with filled fields
+     */
+    private ProbesDto createProbesDto(final List<HealthProbe> roundProbes, final long roundEnd, final long roundInterval)
+    {
+        List<ProbeDto> probeDtos = new ArrayList<>(roundProbes.size());
+
+        for (int i = 0; i < roundProbes.size(); i++)
+        {
+            ProbeHistory history = histories.get(i);
+            ProbeResult last = history.getLast();
+
+            ProbeDto probeDto = new ProbeDto();
+            probeDto.setName(roundProbes.get(i).name());
+            probeDto.setTarget(roundProbes.get(i).getPublicTarget());
+            probeDto.setUp((last != null) && last.up());
+            probeDto.setLatency((last != null) ? last.latency() / 1E6 : 0);
+            probeDto.setMessage((last != null) ? last.message() : "Not checked yet");
+            probeDto.setP50(history.getPercentile(0.50));
+            probeDto.setP99(history.getPercentile(0.99));
+            probeDto.setAvailability(history.getAvailability());
+            probeDto.setHistory(history.getLatencies());
+            probeDtos.add(probeDto);
+        }
+
+        ProbesDto probesDto = new ProbesDto();
+        probesDto.setLastRound(roundEnd);
+        probesDto.setInterval(roundInterval);
+        probesDto.setProbes(probeDtos);
+
+        return probesDto;
+    }
+
+    /**
+     * Gets numeric option from ini file
+     *
+     * @return long with option value, or default value if option is missing
+     */
+    private long getOption(final String optionName, final long defaultValue) throws IOException
+    {
+        String value = utilitiesComponent.getFromIniFile(optionName);
+
+        return ((value != null) && !value.isBlank()) ? Long.parseLong(value.trim()) : defaultValue;
+    }
+}
@@ -14,7 +14,7 @@ import java.io.IOException;
  * SetupService manipulating setup data
  *
  * @author Rudolf Barbu
- * @version 1.0.2
+ * @version 1.0.4
  */
 @Service
 public class SetupService {
@@ -53,6 +53,7 @@ public class SetupService {
                 putInIniFile(file, "port", setupDto.getPort());
                 putInIniFile(file, "enableFog", setupDto.getEnableFog());
                 putInIniFile(file, "backgroundColor", setupDto.getBackgroundColor());
+                putInIniFile(file, "lowPower", (setupDto.getLowPower() != null) ? setupDto.getLowPower() : "false");
 
                 Ward.restart();
             } else {
@@ -68,28 +69,8 @@ public class SetupService {
     public static ResponseDto envSetup() {
         if (Ward.isFirstLaunch()) {
             try {
-                File file = new File(Ward.SETUP_FILE_PATH);
-                if (file.exists()) {
-                    file.delete();
-                }
-                if (file.createNewFile()) {
-                    String servername = (System.getenv("WARD_NAME") != null) ? System.getenv("WARD_NAME") : "Ward";
-                    String theme = (System.getenv("WARD_THEME") != null) ? System.getenv("WARD_THEME").toLowerCase() : "light";
-                    String port = (System.getenv("WARD_PORT") != null) ? System.getenv("WARD_PORT") : "4000";
-                    String enableFog = (System.getenv("WARD_FOG") != null) ? System.getenv("WARD_FOG") : "true";
-                    String backgroundColor = (System.getenv("WARD_BACKGROUND") != null) ? System.getenv("WARD_BACKGROUND") : "default";
-
-                    putInIniFile(file, "serverName", servername);
-                    putInIniFile(file, "theme", theme);
-                    putInIniFile(file, "port", port);
-                    putInIniFile(file, "enableFog", enableFog);
-                    putInIniFile(file, "backgroundColor", backgroundColor);
-
-                    Ward.restart();
-                } else {
-                    throw new IOException();
-                }
-
+                writeEnvSetup();
+                Ward.restart();
             } catch (IOException e) {
                 e.printStackTrace();
             }
@@ -97,4 +78,34 @@ public class SetupService {
 
         return new ResponseDto("Settings saved correctly");
     }
+
+    /**
+     * Writes ini file from environment variables, replacing existing file
+     * Called before first context is started, so configured Ward starts only once
+     *
+     * @throws IOException if file cant be created
+     */
+    public static void writeEnvSetup() throws IOException {
+        File file = new File(Ward.SETUP_FILE_PATH);
+        if (file.exists()) {
+            file.delete();
+        }
+        if (!file.createNewFile()) {
+            throw new IOException();
+        }
+
+        String servername = (System.getenv("WARD_NAME") != null) ? System.getenv("WARD_NAME") : "Ward";
+        String theme = (System.getenv("WARD_THEME") != null) ? System.getenv("WARD_THEME").toLowerCase() : "light";
+        String port = (System.getenv("WARD_PORT") != null) ? System.getenv("WARD_PORT") : "4000";
+        String enableFog = (System.getenv("WARD_FOG") != null) ? System.getenv("WARD_FOG") : "true";
+        String backgroundColor = (System.getenv("WARD_BACKGROUND") != null) ? System.getenv("WARD_BACKGROUND") : "default";
+        String lowPower = (System.getenv("WARD_LOW_POWER") != null) ? System.getenv("WARD_LOW_POWER") : "false";
+
+        putInIniFile(file, "serverName", servername);
+        putInIniFile(file, "theme", theme);
+        putInIniFile(file, "port", port);
+        putInIniFile(file, "enableFog", enableFog);
+        putInIniFile(file, "backgroundColor", backgroundColor);
+        putInIniFile(file, "lowPower", lowPower);
+    }
 }
\ No newline at end of file
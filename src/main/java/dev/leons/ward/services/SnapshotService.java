@@ -0,0 +1,287 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.HistoryComponent;
+import dev.leons.ward.dto.InfoDto;
+import dev.leons.ward.dto.UptimeDto;
+import dev.leons.ward.dto.UsageDto;
+import dev.leons.ward.events.CollectionEvent;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.UnknownFieldException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SnapshotService samples usage, info and uptime once per tick and shares the result between all clients
+ *
+ * @version 1.0.5
+ */
+@Slf4j
+@Service
+public class SnapshotService
+{
+    /**
+     * Names of sections, which can be requested from snapshot
+     */
+    public static final List<String> SECTIONS = List.of("usage", "info", "uptime");
+
+    /**
+     * Number of usage samples kept in history, one per tick
+     */
+    public static final int HISTORY_SIZE = 60;
+
+    /**
+     * Autowired UsageService object
+     * Used for sampling usage information
+     */
+    @Autowired
+    private UsageService usageService;
+
+    /**
+     * Autowired InfoService object
+     * Used for sampling machine information
+     */
+    @Autowired
+    private InfoService infoService;
+
+    /**
+     * Autowired UptimeService object
+     * Used for sampling uptime information
+     */
+    @Autowired
+    private UptimeService uptimeService;
+
+    /**
+     * Autowired HistoryComponent object
+     * Used for recording usage samples in long history
+     */
+    @Autowired
+    private HistoryComponent historyComponent;
+
+    /**
+     * Latest usage sample, replaced as a whole on every tick
+     */
+    private volatile UsageDto usage;
+
+    /**
+     * Latest usage samples, oldest first, replaced as a whole on every tick
+     */
+    private volatile List<UsageDto> usageHistory = List.of();
+
+    /**
+     * Latest info sample, replaced as a whole on every tick
+     */
+    private volatile InfoDto info;
+
+    /**
+     * Latest uptime sample, replaced as a whole on every tick
+     */
+    private volatile UptimeDto uptime;
+
+    /**
+     * Takes a new sample, clients keep reading the previous one until it is published
+     * Every section is reported as flight recorder event with its collected values
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void sample()
+    {
+        if (Ward.isFirstLaunch())
+        {
+            return;
+        }
+
+        try
+        {
+            CollectionEvent usageEvent = new CollectionEvent();
+            usageEvent.begin();
+            UsageDto usageSample = usageService.getUsage();
+            usageEvent.finish("usage", () -> "processor=" + usageSample.getProcessor() + " ram=" + usageSample.getRam() + " storage=" + usageSample.getStorage());
+            publishUsage(usageSample);
+
+            CollectionEvent infoEvent = new CollectionEvent();
+            infoEvent.begin();
+            InfoDto infoSample = infoService.getInfo();
+            infoEvent.finish("info", () -> "stale=" + ((infoSample.getStale() != null) ? infoSample.getStale() : List.of()));
+            info = infoSample;
+
+            CollectionEvent uptimeEvent = new CollectionEvent();
+            uptimeEvent.begin();
+            UptimeDto uptimeSample = uptimeService.getUptime();
+            uptimeEvent.finish("uptime", () -> "days=" + uptimeSample.getDays() + " hours=" + uptimeSample.getHours() + " minutes=" + uptimeSample.getMinutes() + " seconds=" + uptimeSample.getSeconds());
+            uptime = uptimeSample;
+        }
+        catch (ApplicationNotConfiguredException exception)
+        {
+            log.debug("Skipping sample, application is not configured");
+        }
+    }
+
+    /**
+     * Gets latest usage sample, sampling synchronously if the scheduler has not run yet
+     *
+     * @return UsageDto shared between clients, must not be modified
+     */
+    public UsageDto getUsage() throws ApplicationNotConfiguredException
+    {
+        UsageDto current = usage;
+
+        if (current == null)
+        {
+            synchronized (this)
+            {
+                if (usage == null)
+                {
+                    publishUsage(usageService.getUsage());
+                }
+
+                current = usage;
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Gets latest usage samples, sampling synchronously if the scheduler has not run yet
+     *
+     * @return List with at most HISTORY_SIZE samples, oldest first, shared between clients, must not be modified
+     */
+    public List<UsageDto> getUsageHistory() throws ApplicationNotConfiguredException
+    {
+        getUsage();
+
+        return usageHistory;
+    }
+
+    /**
+     * Gets latest info sample, sampling synchronously if the scheduler has not run yet
+     *
+     * @return InfoDto shared between clients, must not be modified
+     */
+    public InfoDto getInfo() throws ApplicationNotConfiguredException
+    {
+        InfoDto current = info;
+
+        if (current == null)
+        {
+            synchronized (this)
+            {
+                if (info == null)
+                {
+                    info = infoService.getInfo();
+                }
+
+                current = info;
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Gets latest info sample without waiting for probes
+     *
+     * @return InfoDto shared between clients, must not be modified, or null if the scheduler has not sampled it yet
+     */
+    public InfoDto getCachedInfo()
+    {
+        return info;
+    }
+
+    /**
+     * Gets latest uptime sample, sampling synchronously if the scheduler has not run yet
+     *
+     * @return UptimeDto shared between clients, must not be modified
+     */
+    public UptimeDto getUptime()
+    {
+        UptimeDto current = uptime;
+
+        if (current == null)
+        {
+            synchronized (this)
+            {
+                if (uptime == null)
+                {
+                    uptime = uptimeService.getUptime();
+                }
+
+                current = uptime;
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Publishes new usage sample and appends it to history, and to long history
+     *
+     * @param sample new usage sample
+     */
+    private synchronized void publishUsage(final UsageDto sample)
+    {
+        List<UsageDto> history = new ArrayList<>(usageHistory.subList(Math.max(0, (usageHistory.size() + 1) - HISTORY_SIZE), usageHistory.size()));
+        history.add(sample);
+
+        usageHistory = List.copyOf(history);
+        usage = sample;
+
+        historyComponent.record(System.currentTimeMillis(), sample);
+    }
+
+    /**
+     * Gets latest sample of section by its name
+     *
+     * @param section one of SECTIONS
+     * @return dto shared between clients, must not be modified
+     * @throws UnknownFieldException if section does not exist
+     */
+    public Object getSection(final String section) throws ApplicationNotConfiguredException, UnknownFieldException
+    {
+        return switch (section)
+        {
+            case "usage" -> getUsage();
+            case "info" -> getInfo();
+            case "uptime" -> getUptime();
+            default -> throw new UnknownFieldException(section);
+        };
+    }
+
+    /**
+     * Parses comma separated list of sections, all sections are returned if list is empty
+     *
+     * @param fields value of fields parameter, may be null
+     * @return List with section names in request order, without duplicates
+     * @throws UnknownFieldException if list contains unknown section
+     */
+    public List<String> parseFields(final String fields) throws UnknownFieldException
+    {
+        if ((fields == null) || fields.isBlank())
+        {
+            return SECTIONS;
+        }
+
+        List<String> sections = new ArrayList<>();
+
+        for (String field : fields.split(","))
+        {
+            String section = field.trim();
+
+            if (!SECTIONS.contains(section))
+            {
+                throw new UnknownFieldException(section);
+            }
+            if (!sections.contains(section))
+            {
+                sections.add(section);
+            }
+        }
+
+        return sections;
+    }
+}
@@ -0,0 +1,677 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.UtilitiesComponent;
+import dev.leons.ward.dto.StorageFileDto;
+import dev.leons.ward.dto.StorageNodeDto;
+import dev.leons.ward.dto.StorageTreeDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.StorageTreeNotAvailableException;
+import dev.leons.ward.storage.DirectoryScanner;
+import dev.leons.ward.storage.ScanThrottle;
+import dev.leons.ward.storage.StorageNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * StorageTreeService finds out, what is using disk space, by scanning configured roots in background
+ * Tree of directory sizes is kept in memory and replaced as a whole after every scan, so requests never wait for a scan.
+ * Periodic scans list only directories, whose modification time has changed, full scans list everything.
+ * Largest directories are watched, and changes in them are rescanned on next tick without waiting for periodic scan
+ *
+ * @version 1.0.1
+ */
+@Slf4j
+@Service
+@Lazy(false)
+public class StorageTreeService
+{
+    /**
+     * Default interval of periodic scans, in minutes
+     */
+    public static final long DEFAULT_SCAN_INTERVAL = 60;
+
+    /**
+     * Default interval of full scans, in minutes
+     */
+    public static final long DEFAULT_FULL_SCAN_INTERVAL = 1440;
+
+    /**
+     * Default limit of read file system entries per second
+     */
+    public static final long DEFAULT_SCAN_RATE = 5000;
+
+    /**
+     * Default count of scanning threads
+     */
+    public static final int DEFAULT_SCAN_THREADS = 2;
+
+    /**
+     * Default count of watched directories
+     */
+    public static final int DEFAULT_WATCH_LIMIT = 256;
+
+    /**
+     * Deepest tree, which can be requested at once
+     */
+    public static final int MAX_DEPTH = 10;
+
+    /**
+     * Most subdirectories, which can be requested per directory
+     */
+    public static final int MAX_LIMIT = 100;
+
+    /**
+     * Autowired UtilitiesComponent object
+     * Used for reading explorer options
+     */
+    @Autowired
+    private UtilitiesComponent utilitiesComponent;
+
+    /**
+     * Scanned roots, empty if explorer is disabled
+     */
+    private volatile List<Path> roots = List.of();
+
+    /**
+     * Latest tree of every root
+     */
+    private volatile Map<Path, StorageNode> tree = Map.of();
+
+    /**
+     * End of last scan, in epoch milliseconds
+     */
+    private volatile long lastScan;
+
+    /**
+     * End of last full scan, in epoch milliseconds
+     */
+    private volatile long lastFullScan;
+
+    /**
+     * Duration of last scan, in milliseconds
+     */
+    private volatile long scanDuration;
+
+    /**
+     * Set while scan is running
+     */
+    private final AtomicBoolean scanning = new AtomicBoolean();
+
+    /**
+     * Directories reported by watch service since last scan
+     */
+    private final Set<Path> dirty = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Registered watches by directory
+     */
+    private final Map<Path, WatchKey> watchKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Pool of scanning threads, null if explorer is disabled
+     */
+    private volatile ForkJoinPool pool;
+
+    /**
+     * Watch service, null if file system does not support it
+     */
+    private volatile WatchService watchService;
+
+    /**
+     * Limits rate of read entries, shared by all scans
+     */
+    private volatile ScanThrottle throttle;
+
+    /**
+     * Context of running scan, used for cancelling it on shutdown
+     */
+    private volatile DirectoryScanner.Context currentScan;
+
+    /**
+     * Interval of periodic scans, in milliseconds
+     */
+    private long scanInterval;
+
+    /**
+     * Interval of full scans, in milliseconds
+     */
+    private long fullScanInterval;
+
+    /**
+     * Count of watched directories
+     */
+    private int watchLimit;
+
+    /**
+     * Enables explorer, if application is configured and storageRoots option is set
+     * Failure is logged and does not prevent application from starting
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        if (Ward.isFirstLaunch())
+        {
+            return;
+        }
+
+        try
+        {
+            String rootsOption = getOption("storageRoots", "");
+
+            if (!rootsOption.isEmpty())
+            {
+                List<Path> configuredRoots = new ArrayList<>();
+                for (String root : rootsOption.split("\\s*,\\s*"))
+                {
+                    configuredRoots.add(Path.of(root).toAbsolutePath().normalize());
+                }
+
+                start(configuredRoots, getOption("storageScanInterval", DEFAULT_SCAN_INTERVAL), getOption("storageFullScanInterval", DEFAULT_FULL_SCAN_INTERVAL),
+                        getOption("storageScanRate", DEFAULT_SCAN_RATE), (int) getOption("storageScanThreads", DEFAULT_SCAN_THREADS),
+                        (int) getOption("storageWatchLimit", DEFAULT_WATCH_LIMIT));
+            }
+        }
+        catch (IOException | IllegalArgumentException | InvalidPathException exception)
+        {
+            log.error("Could not start storage explorer: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Enables explorer, first scan runs on first tick
+     *
+     * @param roots directories to scan
+     * @param scanInterval interval of periodic scans, in minutes
+     * @param fullScanInterval interval of full scans, in minutes
+     * @param scanRate limit of read entries per second, 0 for no limit
+     * @param scanThreads count of scanning threads
+     * @param watchLimit count of watched directories, 0 to disable watching
+     */
+    public synchronized void start(final List<Path> roots, final long scanInterval, final long fullScanInterval, final long scanRate, final int scanThreads, final int watchLimit)
+    {
+        if (pool != null)
+        {
+            return;
+        }
+
+        this.roots = List.copyOf(roots);
+        this.scanInterval = TimeUnit.MINUTES.toMillis(scanInterval);
+        this.fullScanInterval = TimeUnit.MINUTES.toMillis(fullScanInterval);
+        this.watchLimit = watchLimit;
+        this.throttle = new ScanThrottle(scanRate);
+        this.pool = new ForkJoinPool(Math.max(1, scanThreads));
+
+        if (watchLimit > 0)
+        {
+            try
+            {
+                watchService = FileSystems.getDefault().newWatchService();
+                Thread.ofVirtual().name("ward-storage-watch").start(this::watch);
+            }
+            catch (IOException | UnsupportedOperationException exception)
+            {
+                log.warn("Storage explorer can not watch directories, only periodic scans are used");
+            }
+        }
+
+        log.info("Storage explorer started for {}, at most {} entries per second", this.roots, scanRate);
+    }
+
+    /**
+     * Stops scanning and watching
+     */
+    @PreDestroy
+    public synchronized void stop()
+    {
+        DirectoryScanner.Context scan = currentScan;
+        if (scan != null)
+        {
+            scan.cancel();
+        }
+
+        if (pool != null)
+        {
+            pool.shutdownNow();
+            pool = null;
+        }
+
+        if (watchService != null)
+        {
+            try
+            {
+                watchService.close();
+            }
+            catch (IOException exception)
+            {
+                log.debug("Could not close watch service", exception);
+            }
+            watchService = null;
+        }
+    }
+
+    /**
+     * Starts scan in background, if periodic or full scan is due, or if watched directories have changed
+     * Scan runs on own thread, so slow disks never hold up scheduler, which also takes usage samples
+     */
+    @Scheduled(initialDelay = 10_000, fixedDelay = 60_000)
+    public void tick()
+    {
+        if (pool == null)
+        {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        boolean full = (now - lastFullScan) >= fullScanInterval;
+        boolean due = full || ((now - lastScan) >= scanInterval);
+
+        if ((due || !dirty.isEmpty()) && scanning.compareAndSet(false, true))
+        {
+            Thread.ofVirtual().name("ward-storage-scan").start(() ->
+            {
+                try
+                {
+                    if (due)
+                    {
+                        scan(full);
+                    }
+                    else
+                    {
+                        rescanDirty();
+                    }
+                }
+                catch (RuntimeException exception)
+                {
+                    log.error("Storage scan failed", exception);
+                }
+                finally
+                {
+                    scanning.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Scans all roots and replaces tree
+     *
+     * @param full true to list every directory, false to list only changed ones
+     */
+    void scan(final boolean full)
+    {
+        ForkJoinPool currentPool = pool;
+        List<Path> currentRoots = roots;
+
+        if (currentPool == null)
+        {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Set<Path> changed = takeDirty();
+        Map<Path, StorageNode> previousTree = tree;
+        Map<Path, StorageNode> scanned = new LinkedHashMap<>();
+
+        for (Path root : currentRoots)
+        {
+            DirectoryScanner.Context context = new DirectoryScanner.Context(root, throttle, full, changed);
+            currentScan = context;
+
+            StorageNode node = currentPool.invoke(new DirectoryScanner(root, previousTree.get(root), context));
+            if (node != null)
+            {
+                scanned.put(root, node);
+            }
+        }
+
+        currentScan = null;
+        publish(scanned, start);
+
+        if (full)
+        {
+            lastFullScan = lastScan;
+        }
+
+        updateWatches();
+
+        log.info("{} storage scan of {} finished in {} ms", full ? "Full" : "Periodic", currentRoots, scanDuration);
+    }
+
+    /**
+     * Rescans only directories reported by watch service, and sizes of their parents
+     */
+    void rescanDirty()
+    {
+        ForkJoinPool currentPool = pool;
+        List<Path> currentRoots = roots;
+
+        if (currentPool == null)
+        {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Map<Path, StorageNode> updated = new LinkedHashMap<>(tree);
+        List<Path> changed = new ArrayList<>(takeDirty());
+
+        // Parents first, so rescanned parent already contains changes of its subdirectories
+        changed.sort(Comparator.comparingInt(Path::getNameCount));
+
+        for (Path directory : changed)
+        {
+            Path root = currentRoots.stream().filter(directory::startsWith).findFirst().orElse(null);
+            StorageNode rootNode = (root != null) ? updated.get(root) : null;
+
+            if (rootNode == null)
+            {
+                continue;
+            }
+
+            // Nodes from root to deepest directory on path, which is already in tree
+            List<StorageNode> chain = new ArrayList<>(List.of(rootNode));
+            Path target = root;
+
+            for (Path part : root.relativize(directory))
+            {
+                StorageNode child = chain.getLast().getChild(part.toString());
+
+                if (child == null)
+                {
+                    break;
+                }
+
+                chain.add(child);
+                target = target.resolve(part);
+            }
+
+            DirectoryScanner.Context context = new DirectoryScanner.Context(root, throttle, false, Set.of(target));
+            currentScan = context;
+            StorageNode replacement = currentPool.invoke(new DirectoryScanner(target, chain.getLast(), context));
+
+            for (int i = chain.size() - 1; i > 0; i--)
+            {
+                replacement = chain.get(i - 1).withChild(chain.get(i), replacement);
+            }
+
+            if (replacement != null)
+            {
+                updated.put(root, replacement);
+            }
+            else
+            {
+                updated.remove(root);
+            }
+        }
+
+        currentScan = null;
+        publish(updated, start);
+
+        log.debug("Rescanned {} changed directories in {} ms", changed.size(), scanDuration);
+    }
+
+    /**
+     * Gets scanned tree, or subtree of one directory
+     *
+     * @param path directory inside one of roots, null for all roots
+     * @param depth levels of subdirectories to include
+     * @param limit largest subdirectories to include per directory
+     * @return StorageTreeDto with requested nodes
+     * @throws StorageTreeNotAvailableException if explorer is disabled, has not scanned yet, or path is not in tree
+     */
+    public StorageTreeDto getTree(final String path, final int depth, final int limit) throws ApplicationNotConfiguredException, StorageTreeNotAvailableException
+    {
+        if (Ward.isFirstLaunch())
+        {
+            throw new ApplicationNotConfiguredException();
+        }
+        if (roots.isEmpty())
+        {
+            throw new StorageTreeNotAvailableException("Storage explorer is not enabled, set storageRoots in setup.ini");
+        }
+
+        Map<Path, StorageNode> current = tree;
+
+        if (current.isEmpty())
+        {
+            throw new StorageTreeNotAvailableException("Storage is not scanned yet");
+        }
+
+        int nodeDepth = Math.clamp(depth, 0, MAX_DEPTH);
+        int nodeLimit = Math.clamp(limit, 1, MAX_LIMIT);
+        List<StorageNodeDto> nodes = new ArrayList<>();
+
+        if (path == null)
+        {
+            current.forEach((root, node) -> nodes.add(toDto(root, node, nodeDepth, nodeLimit)));
+        }
+        else
+        {
+            Path directory = Path.of(path).toAbsolutePath().normalize();
+            Path root = current.keySet().stream().filter(directory::startsWith).findFirst()
+                    .orElseThrow(() -> new StorageTreeNotAvailableException("Path is not in scanned tree: " + path));
+            StorageNode node = current.get(root);
+
+            if (!directory.equals(root))
+            {
+                for (Path part : root.relativize(directory))
+                {
+                    node = node.getChild(part.toString());
+
+                    if (node == null)
+                    {
+                        throw new StorageTreeNotAvailableException("Path is not in scanned tree: " + path);
+                    }
+                }
+            }
+
+            nodes.add(toDto(directory, node, nodeDepth, nodeLimit));
+        }
+
+        StorageTreeDto storageTreeDto = new StorageTreeDto();
+        storageTreeDto.setLastScan(lastScan);
+        storageTreeDto.setScanDuration(scanDuration);
+        storageTreeDto.setScanning(scanning.get());
+        storageTreeDto.setNodes(nodes);
+
+        return storageTreeDto;
+    }
+
+    /**
+     * Converts node to dto, down to given depth
+     *
+     * @return StorageNodeDto with filled fields
+     */
+    private static StorageNodeDto toDto(final Path path, final StorageNode node, final int depth, final int limit)
+    {
+        StorageNodeDto storageNodeDto = new StorageNodeDto();
+
+        storageNodeDto.setName(node.name());
+        storageNodeDto.setPath(path.toString());
+        storageNodeDto.setSize(node.size());
+        storageNodeDto.setFileCount(node.fileCount());
+        storageNodeDto.setDirectoryCount(node.children().length);
+        storageNodeDto.setChildren((depth > 0)
+                ? Arrays.stream(node.children()).limit(limit).map(child -> toDto(path.resolve(child.name()), child, depth - 1, limit)).toList()
+                : List.of());
+        storageNodeDto.setFiles(Arrays.stream(node.largestFiles()).map(file ->
+        {
+            StorageFileDto storageFileDto = new StorageFileDto();
+            storageFileDto.setName(file.name());
+            storageFileDto.setSize(file.size());
+            return storageFileDto;
+        }).toList());
+
+        return storageNodeDto;
+    }
+
+    /**
+     * Publishes new tree together with time of scan
+     */
+    private void publish(final Map<Path, StorageNode> scanned, final long start)
+    {
+        tree = Collections.unmodifiableMap(scanned);
+        scanDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        lastScan = System.currentTimeMillis();
+    }
+
+    /**
+     * Marks directory for rescan on next tick
+     *
+     * @param directory changed directory
+     */
+    void markDirty(final Path directory)
+    {
+        dirty.add(directory);
+    }
+
+    /**
+     * Takes and clears directories reported by watch service
+     *
+     * @return Set of changed directories
+     */
+    private Set<Path> takeDirty()
+    {
+        Set<Path> changed = new HashSet<>(dirty);
+        dirty.removeAll(changed);
+
+        return changed;
+    }
+
+    /**
+     * Watches largest directories, changes in them are the most likely to matter
+     * Every watch costs kernel memory, so count is limited
+     */
+    private void updateWatches()
+    {
+        WatchService currentWatchService = watchService;
+
+        if (currentWatchService == null)
+        {
+            return;
+        }
+
+        Set<Path> largest = new HashSet<>();
+        PriorityQueue<Map.Entry<Path, StorageNode>> queue = new PriorityQueue<>(Comparator.comparingLong((Map.Entry<Path, StorageNode> entry) -> entry.getValue().size()).reversed());
+        queue.addAll(tree.entrySet());
+
+        while (!queue.isEmpty() && (largest.size() < watchLimit))
+        {
+            Map.Entry<Path, StorageNode> entry = queue.poll();
+            largest.add(entry.getKey());
+
+            for (StorageNode child : entry.getValue().children())
+            {
+                queue.add(Map.entry(entry.getKey().resolve(child.name()), child));
+            }
+        }
+
+        watchKeys.entrySet().removeIf(watched ->
+        {
+            boolean remove = !largest.contains(watched.getKey());
+            if (remove)
+            {
+                watched.getValue().cancel();
+            }
+            return remove;
+        });
+
+        for (Path directory : largest)
+        {
+            if (!watchKeys.containsKey(directory) && Files.isDirectory(directory))
+            {
+                try
+                {
+                    watchKeys.put(directory, directory.register(currentWatchService,
+                            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY));
+                }
+                catch (IOException | ClosedWatchServiceException exception)
+                {
+                    log.debug("Could not watch {}: {}", directory, exception.getMessage());
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks directories with events as dirty, until watch service is closed
+     */
+    private void watch()
+    {
+        WatchService currentWatchService = watchService;
+
+        try
+        {
+            while (true)
+            {
+                WatchKey key = currentWatchService.take();
+
+                if (key.watchable() instanceof Path directory)
+                {
+                    markDirty(directory);
+                }
+
+                key.pollEvents();
+                key.reset();
+            }
+        }
+        catch (InterruptedException | ClosedWatchServiceException exception)
+        {
+            log.debug("Storage watch stopped");
+        }
+    }
+
+    /**
+     * Gets numeric option from ini file
+     *
+     * @return long with option value, or default value if option is missing
+     */
+    private long getOption(final String optionName, final long defaultValue) throws IOException
+    {
+        String value = utilitiesComponent.getFromIniFile(optionName);
+
+        return ((value != null) && !value.isBlank()) ? Long.parseLong(value.trim()) : defaultValue;
+    }
+
+    /**
+     * Gets text option from ini file
+     *
+     * @return String with option value, or default value if option is missing
+     */
+    private String getOption(final String optionName, final String defaultValue) throws IOException
+    {
+        String value = utilitiesComponent.getFromIniFile(optionName);
+
+        return ((value != null) && !value.isBlank()) ? value.trim() : defaultValue;
+    }
+}
@@ -0,0 +1,337 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.collectors.Metric;
+import dev.leons.ward.collectors.TextfileParser;
+import dev.leons.ward.components.MetricsComponent;
+import dev.leons.ward.components.UtilitiesComponent;
+import dev.leons.ward.dto.MetricSourceDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TextfileService reads metrics, which scripts and cron jobs write to *.prom and *.metrics files of one directory
+ * Directory is watched, and only files with events are parsed again, every file is one metric source.
+ * Writers should write temporary file with other extension and rename it, rename is atomic, so Ward never reads half-written file
+ *
+ * @version 1.0.1
+ */
+@Slf4j
+@Service
+@Lazy(false)
+public class TextfileService
+{
+    /**
+     * Source type of textfile metrics
+     */
+    public static final String SOURCE_TYPE = "textfile";
+
+    /**
+     * Quiet time after last event, before changed files are parsed, so bursts of events cause one parse
+     */
+    static final long SETTLE_MILLIS = 100;
+
+    /**
+     * Pause between attempts to watch directory again, after it was removed or became inaccessible
+     */
+    static final long RETRY_MILLIS = 1000;
+
+    /**
+     * Autowired UtilitiesComponent object
+     * Used for reading textfile directory option
+     */
+    @Autowired
+    private UtilitiesComponent utilitiesComponent;
+
+    /**
+     * Autowired MetricsComponent object
+     * Used for publishing textfile metrics
+     */
+    @Autowired
+    private MetricsComponent metricsComponent;
+
+    /**
+     * Watched directory, null if textfile metrics are disabled
+     */
+    private Path directory;
+
+    /**
+     * Watch service of directory
+     */
+    private WatchService watchService;
+
+    /**
+     * Starts watching directory from textfileDirectory option, if application is configured
+     * Failure is logged and does not prevent application from starting
+     */
+    @PostConstruct
+    public void initialize()
+    {
+        if (Ward.isFirstLaunch())
+        {
+            return;
+        }
+
+        try
+        {
+            String directoryOption = utilitiesComponent.getFromIniFile("textfileDirectory");
+
+            if ((directoryOption != null) && !directoryOption.isBlank())
+            {
+                start(Path.of(directoryOption.trim()));
+            }
+        }
+        catch (IOException exception)
+        {
+            log.error("Could not watch textfile directory: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Parses all metric files of directory and starts watching it
+     *
+     * @param textfileDirectory directory with metric files
+     */
+    public synchronized void start(final Path textfileDirectory) throws IOException
+    {
+        if (watchService != null)
+        {
+            return;
+        }
+
+        directory = textfileDirectory.toAbsolutePath().normalize();
+        watchService = directory.getFileSystem().newWatchService();
+        register(watchService);
+
+        // Registered before first read, so files written meanwhile cause events and are not missed
+        reloadAll();
+
+        Thread.ofVirtual().name("ward-textfile-watch").start(this::watch);
+
+        log.info("Reading metrics from {}", directory);
+    }
+
+    /**
+     * Stops watching
+     */
+    @PreDestroy
+    public synchronized void stop()
+    {
+        if (watchService != null)
+        {
+            try
+            {
+                watchService.close();
+            }
+            catch (IOException exception)
+            {
+                log.debug("Could not close watch service", exception);
+            }
+            watchService = null;
+        }
+    }
+
+    /**
+     * Waits for events, collects changed files until directory is quiet and parses only them
+     */
+    private void watch()
+    {
+        WatchService currentWatchService = watchService;
+
+        try
+        {
+            while (true)
+            {
+                Set<Path> changed = new HashSet<>();
+                boolean overflow = false;
+                WatchKey key = currentWatchService.take();
+
+                while (key != null)
+                {
+                    for (WatchEvent<?> event : key.pollEvents())
+                    {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+                        {
+                            overflow = true;
+                        }
+                        else if ((event.context() instanceof Path file) && isMetricFile(file))
+                        {
+                            changed.add(directory.resolve(file));
+                        }
+                    }
+
+                    if (!key.reset())
+                    {
+                        log.warn("Textfile directory {} is not accessible anymore, metrics are kept until it is back", directory);
+                        awaitDirectory(currentWatchService);
+                        log.info("Textfile directory {} is back, reading metrics again", directory);
+                        overflow = true;
+                    }
+
+                    key = currentWatchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+
+                if (overflow)
+                {
+                    reloadAll();
+                }
+                else
+                {
+                    changed.forEach(this::reload);
+                }
+            }
+        }
+        catch (InterruptedException | ClosedWatchServiceException exception)
+        {
+            log.debug("Textfile watch stopped");
+        }
+    }
+
+    /**
+     * Registers directory with watch service
+     *
+     * @param currentWatchService watch service to register with
+     * @throws IOException if directory can not be watched
+     */
+    private void register(final WatchService currentWatchService) throws IOException
+    {
+        directory.register(currentWatchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    /**
+     * Retries registering directory until it succeeds, or watch service is closed
+     * Files written while directory was not watched are found by reloadAll afterwards
+     *
+     * @param currentWatchService watch service to register with
+     * @throws InterruptedException if thread is interrupted while waiting
+     */
+    private void awaitDirectory(final WatchService currentWatchService) throws InterruptedException
+    {
+        while (true)
+        {
+            Thread.sleep(RETRY_MILLIS);
+
+            try
+            {
+                register(currentWatchService);
+                return;
+            }
+            catch (IOException exception)
+            {
+                log.debug("Textfile directory {} is still not accessible: {}", directory, exception.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Parses every metric file of directory and removes sources of files, which are gone
+     */
+    void reloadAll()
+    {
+        Set<String> present = new HashSet<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, this::isMetricFile))
+        {
+            for (Path file : files)
+            {
+                present.add(getSourceName(file));
+                reload(file);
+            }
+        }
+        catch (IOException exception)
+        {
+            log.warn("Could not list textfile directory {}: {}", directory, exception.getMessage());
+            return;
+        }
+
+        for (String source : getSourceNames())
+        {
+            if (!present.contains(source))
+            {
+                metricsComponent.remove(source);
+            }
+        }
+    }
+
+    /**
+     * Parses one file and replaces its metrics, removes them if file is gone
+     *
+     * @param file metric file
+     */
+    void reload(final Path file)
+    {
+        String source = getSourceName(file);
+        long start = System.nanoTime();
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8))
+        {
+            List<Metric> metrics = TextfileParser.parse(reader, MetricsComponent.MAX_METRICS);
+            metricsComponent.publish(source, SOURCE_TYPE, metrics, System.nanoTime() - start);
+        }
+        catch (NoSuchFileException exception)
+        {
+            metricsComponent.remove(source);
+        }
+        catch (IOException | IllegalArgumentException exception)
+        {
+            metricsComponent.fail(source, SOURCE_TYPE, exception.getMessage(), System.nanoTime() - start);
+            log.warn("Could not read metrics from {}: {}", file, exception.getMessage());
+        }
+    }
+
+    /**
+     * Gets names of textfile sources, which are published now
+     *
+     * @return List of source names
+     */
+    private List<String> getSourceNames()
+    {
+        return metricsComponent.getMetrics().getSources().stream()
+                .filter(source -> SOURCE_TYPE.equals(source.getType()))
+                .map(MetricSourceDto::getName)
+                .toList();
+    }
+
+    /**
+     * Checks file extension, temporary files of writers have other extensions and are ignored
+     *
+     * @return true for *.prom and *.metrics files
+     */
+    private boolean isMetricFile(final Path file)
+    {
+        String name = file.getFileName().toString();
+
+        return name.endsWith(".prom") || name.endsWith(".metrics");
+    }
+
+    /**
+     * Gets source name of file
+     *
+     * @return String with file name
+     */
+    private static String getSourceName(final Path file)
+    {
+        return file.getFileName().toString();
+    }
+}
@@ -1,6 +1,7 @@
 package dev.leons.ward.services;
 
 import dev.leons.ward.Ward;
+import dev.leons.ward.components.StatsComponent;
 import dev.leons.ward.dto.UsageDto;
 import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,7 +19,7 @@ import java.util.Arrays;
  * UsageService provides principal information of processor, RAM and storage usage to rest controller
  *
  * @author Rudolf Barbu
- * @version 1.0.3
+ * @version 1.0.5
  */
 @Service
 public class UsageService
@@ -30,22 +31,41 @@ public class UsageService
     @Autowired
     private SystemInfoFFM systemInfo;
 
+    /**
+     * Autowired StatsComponent object
+     * Used for timing collector steps
+     */
+    @Autowired
+    private StatsComponent statsComponent;
+
+    /**
+     * Ticks taken on previous call of getProcessor, processor usage is measured between consecutive calls
+     */
+    private long[] prevTicksArray;
+
     /**
      * Gets processor usage
+     * First call blocks for a second to take a baseline, next calls use ticks of previous call
      *
      * @return int that display processor usage
      */
-    private int getProcessor() {
+    private synchronized int getProcessor() {
         CentralProcessor centralProcessor = systemInfo.getHardware().getProcessor();
-        long[] prevTicksArray = centralProcessor.getSystemCpuLoadTicks();
+
+        if (prevTicksArray == null) {
+            prevTicksArray = centralProcessor.getSystemCpuLoadTicks();
+            Util.sleep(1000);
+        }
+
         long prevTotalTicks = Arrays.stream(prevTicksArray).sum();
         long prevIdleTicks = prevTicksArray[CentralProcessor.TickType.IDLE.getIndex()];
 
-        Util.sleep(1000);
-
+        long start = System.nanoTime();
         long[] currTicksArray = centralProcessor.getSystemCpuLoadTicks();
+        statsComponent.record(StatsComponent.Collector.CPU_TICKS, System.nanoTime() - start);
         long currTotalTicks = Arrays.stream(currTicksArray).sum();
         long currIdleTicks = currTicksArray[CentralProcessor.TickType.IDLE.getIndex()];
+        prevTicksArray = currTicksArray;
 
         long idleTicksDelta = currIdleTicks - prevIdleTicks;
         long totalTicksDelta = currTotalTicks - prevTotalTicks;
@@ -65,9 +85,11 @@ public class UsageService
      * @return int that display ram usage
      */
     private int getRam() {
+        long start = System.nanoTime();
         GlobalMemory globalMemory = systemInfo.getHardware().getMemory();
         long totalMemory = globalMemory.getTotal();
         long availableMemory = globalMemory.getAvailable();
+        statsComponent.record(StatsComponent.Collector.MEMORY, System.nanoTime() - start);
 
         // Handle possible division by zero
         if (totalMemory == 0) {
@@ -89,10 +111,12 @@ public class UsageService
         // Calculate total storage and free storage for all drives
         long totalStorage = 0;
         long freeStorage = 0;
+        long start = System.nanoTime();
         for (OSFileStore fileStore : fileSystem.getFileStores()) {
             totalStorage += fileStore.getTotalSpace();
             freeStorage += fileStore.getFreeSpace();
         }
+        statsComponent.record(StatsComponent.Collector.FILE_STORES, System.nanoTime() - start);
 
         // Handle possible division by zero
         if (totalStorage == 0) {
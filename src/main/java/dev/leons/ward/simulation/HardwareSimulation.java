@@ -0,0 +1,427 @@
+package dev.leons.ward.simulation;
+
+import lombok.Getter;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * HardwareSimulation generates counters of simulated host, which evolve with time
+ * Time is divided in steps of STEP_MILLIS. Processor load follows seeded random walk, every other value is
+ * a function of step and seeded constants, so catching up after long idle time costs almost nothing
+ * Two simulations with same settings report same values at same step, regardless of how often they are read
+ *
+ * @version 1.0.0
+ */
+public class HardwareSimulation
+{
+    /**
+     * Length of one step
+     */
+    public static final long STEP_MILLIS = 100;
+
+    /**
+     * Processor ticks per core in one step, 100 Hz like Linux
+     */
+    private static final long TICKS_PER_STEP = 10;
+
+    /**
+     * Tick types, in order of CentralProcessor.TickType
+     */
+    private static final int TICK_TYPES = 8;
+
+    /**
+     * Indexes of tick types
+     */
+    private static final int USER = 0, SYSTEM = 2, IDLE = 3, IOWAIT = 4, IRQ = 5, SOFTIRQ = 6;
+
+    /**
+     * Names used for simulated processes
+     */
+    private static final String[] PROCESS_NAMES = {"java", "postgres", "nginx", "redis-server", "node", "python3", "sshd", "systemd", "containerd", "dockerd", "bash", "cron"};
+
+    /**
+     * Settings of simulated host
+     */
+    @Getter
+    private final SimulationSettings settings;
+
+    /**
+     * Source of current time in nanoseconds
+     */
+    private final LongSupplier clock;
+
+    /**
+     * Time of step zero
+     */
+    private final long startNanos;
+
+    /**
+     * Random walk of processor load, advanced one step at a time
+     */
+    private final Random loadRandom;
+
+    /**
+     * Cumulative processor ticks of whole host
+     */
+    private final long[] ticks = new long[TICK_TYPES];
+
+    /**
+     * Share of host load carried by each core, averages to one
+     */
+    private final double[] coreShares;
+
+    /**
+     * Phase of memory usage wave
+     */
+    private final double memoryPhase;
+
+    /**
+     * Host uptime at step zero, in seconds
+     */
+    @Getter
+    private final long initialUptime;
+
+    /**
+     * Sizes of disks in bytes
+     */
+    private final long[] diskSizes;
+
+    /**
+     * Read rates of disks in bytes per step
+     */
+    private final long[] diskReadRates;
+
+    /**
+     * Sizes of file stores in bytes
+     */
+    private final long[] fileStoreSizes;
+
+    /**
+     * Used share of file stores at step zero
+     */
+    private final double[] fileStoreUsage;
+
+    /**
+     * Receive rates of network interfaces in bytes per step
+     */
+    private final long[] networkRates;
+
+    /**
+     * Resident set sizes of processes at step zero
+     */
+    private final long[] processMemory;
+
+    /**
+     * Processor time of processes in milliseconds per step
+     */
+    private final double[] processCpuRates;
+
+    /**
+     * Processor load in last step, between 0 and 1
+     */
+    private double load = 0.25;
+
+    /**
+     * Last step, which is included in ticks
+     */
+    private long step;
+
+    /**
+     * Generates constant parts of host from seed
+     *
+     * @param settings size and seed of host
+     * @param clock source of current time in nanoseconds
+     */
+    public HardwareSimulation(final SimulationSettings settings, final LongSupplier clock)
+    {
+        this.settings = settings;
+        this.clock = clock;
+        this.startNanos = clock.getAsLong();
+        this.loadRandom = new Random(settings.seed());
+
+        SplittableRandom random = new SplittableRandom(settings.seed());
+
+        coreShares = new double[settings.cores()];
+        double shareSum = 0;
+        for (int i = 0; i < coreShares.length; i++)
+        {
+            coreShares[i] = 0.5 + random.nextDouble();
+            shareSum += coreShares[i];
+        }
+        for (int i = 0; i < coreShares.length; i++)
+        {
+            coreShares[i] = coreShares[i] * coreShares.length / shareSum;
+        }
+
+        memoryPhase = random.nextDouble() * 2 * Math.PI;
+        initialUptime = random.nextLong(3_600, 90L * 86_400);
+
+        diskSizes = new long[settings.disks()];
+        diskReadRates = new long[settings.disks()];
+        for (int i = 0; i < diskSizes.length; i++)
+        {
+            diskSizes[i] = (256L << 30) << random.nextInt(7);
+            diskReadRates[i] = random.nextLong(1, 50L << 20) / 10;
+        }
+
+        fileStoreSizes = new long[settings.fileStores()];
+        fileStoreUsage = new double[settings.fileStores()];
+        for (int i = 0; i < fileStoreSizes.length; i++)
+        {
+            fileStoreSizes[i] = (64L << 30) << random.nextInt(8);
+            fileStoreUsage[i] = 0.1 + (random.nextDouble() * 0.7);
+        }
+
+        networkRates = new long[settings.networkInterfaces()];
+        for (int i = 0; i < networkRates.length; i++)
+        {
+            networkRates[i] = random.nextLong(1, 100L << 20) / 10;
+        }
+
+        processMemory = new long[settings.processes()];
+        processCpuRates = new double[settings.processes()];
+        for (int i = 0; i < processMemory.length; i++)
+        {
+            processMemory[i] = random.nextLong(1L << 20, 2L << 30);
+            processCpuRates[i] = random.nextDouble() * random.nextDouble() * 100;
+        }
+    }
+
+    /**
+     * Advances processor counters to current step
+     *
+     * @return long with current step
+     */
+    private synchronized long advance()
+    {
+        long now = Math.max(0, (clock.getAsLong() - startNanos) / (STEP_MILLIS * 1_000_000));
+        long total = settings.cores() * TICKS_PER_STEP;
+
+        for (; step < now; step++)
+        {
+            load = Math.clamp(load + ((loadRandom.nextDouble() - 0.5) * 0.1), 0.02, 0.98);
+
+            long busy = Math.round(total * load);
+            long system = busy / 5;
+            long interrupts = busy / 50;
+            long ioWait = busy / 25;
+
+            ticks[USER] += busy - system - interrupts - ioWait;
+            ticks[SYSTEM] += system;
+            ticks[IRQ] += interrupts / 2;
+            ticks[SOFTIRQ] += interrupts - (interrupts / 2);
+            ticks[IOWAIT] += ioWait;
+            ticks[IDLE] += total - busy;
+        }
+
+        return step;
+    }
+
+    /**
+     * Gets cumulative processor ticks of whole host
+     *
+     * @return long array indexed like CentralProcessor.TickType
+     */
+    public synchronized long[] getSystemTicks()
+    {
+        advance();
+
+        return ticks.clone();
+    }
+
+    /**
+     * Gets cumulative processor ticks of every core
+     *
+     * @return long array of cores, each indexed like CentralProcessor.TickType
+     */
+    public synchronized long[][] getProcessorTicks()
+    {
+        advance();
+
+        long[][] processorTicks = new long[coreShares.length][TICK_TYPES];
+        long perCore = step * TICKS_PER_STEP;
+
+        for (int core = 0; core < coreShares.length; core++)
+        {
+            long busy = 0;
+
+            for (int type = 0; type < TICK_TYPES; type++)
+            {
+                if (type != IDLE)
+                {
+                    processorTicks[core][type] = Math.min(perCore - busy, Math.round(ticks[type] * coreShares[core] / coreShares.length));
+                    busy += processorTicks[core][type];
+                }
+            }
+
+            processorTicks[core][IDLE] = perCore - busy;
+        }
+
+        return processorTicks;
+    }
+
+    /**
+     * Gets current frequency of every core, which rises with load
+     *
+     * @return long array with hertz
+     */
+    public synchronized long[] getFrequencies()
+    {
+        advance();
+
+        long[] frequencies = new long[coreShares.length];
+
+        for (int core = 0; core < frequencies.length; core++)
+        {
+            frequencies[core] = Math.round((1.2E9 + (2.3E9 * Math.min(1, load * coreShares[core]))) / 1E8) * 100_000_000;
+        }
+
+        return frequencies;
+    }
+
+    /**
+     * Gets available memory, which follows slow wave between 15% and 65% of total
+     *
+     * @return long with bytes
+     */
+    public long getAvailableMemory()
+    {
+        return Math.round(settings.memory() * (0.4 + (0.25 * Math.sin((advance() * 2 * Math.PI / 3_000) + memoryPhase))));
+    }
+
+    /**
+     * Gets size of disk
+     *
+     * @param disk disk index
+     * @return long with bytes
+     */
+    public long getDiskSize(final int disk)
+    {
+        return diskSizes[disk];
+    }
+
+    /**
+     * Gets bytes read from disk since boot
+     *
+     * @param disk disk index
+     * @return long with bytes
+     */
+    public long getDiskReadBytes(final int disk)
+    {
+        return diskReadRates[disk] * advance();
+    }
+
+    /**
+     * Gets bytes written to disk since boot, a third of read bytes
+     *
+     * @param disk disk index
+     * @return long with bytes
+     */
+    public long getDiskWriteBytes(final int disk)
+    {
+        return getDiskReadBytes(disk) / 3;
+    }
+
+    /**
+     * Gets size of file store
+     *
+     * @param fileStore file store index
+     * @return long with bytes
+     */
+    public long getFileStoreSize(final int fileStore)
+    {
+        return fileStoreSizes[fileStore];
+    }
+
+    /**
+     * Gets free space of file store, which slowly fills up to 95%
+     *
+     * @param fileStore file store index
+     * @return long with bytes
+     */
+    public long getFileStoreFree(final int fileStore)
+    {
+        double used = Math.min(0.95, fileStoreUsage[fileStore] + (advance() * 1E-6));
+
+        return Math.round(fileStoreSizes[fileStore] * (1 - used));
+    }
+
+    /**
+     * Gets bytes received by network interface
+     *
+     * @param networkInterface network interface index
+     * @return long with bytes
+     */
+    public long getNetworkBytesReceived(final int networkInterface)
+    {
+        return networkRates[networkInterface] * advance();
+    }
+
+    /**
+     * Gets bytes sent by network interface, a quarter of received bytes
+     *
+     * @param networkInterface network interface index
+     * @return long with bytes
+     */
+    public long getNetworkBytesSent(final int networkInterface)
+    {
+        return getNetworkBytesReceived(networkInterface) / 4;
+    }
+
+    /**
+     * Gets running process count, which varies by up to 2% around configured count
+     *
+     * @return int with count
+     */
+    public int getProcessCount()
+    {
+        long current = advance();
+
+        return settings.processes() + (int) Math.round(settings.processes() * 0.02 * Math.sin(current / 50.0));
+    }
+
+    /**
+     * Gets name of process
+     *
+     * @param process process index
+     * @return String with name
+     */
+    public String getProcessName(final int process)
+    {
+        return PROCESS_NAMES[process % PROCESS_NAMES.length];
+    }
+
+    /**
+     * Gets resident set size of process, which breathes around its initial size
+     *
+     * @param process process index
+     * @return long with bytes
+     */
+    public long getProcessMemory(final int process)
+    {
+        return Math.round(processMemory[process] * (1 + (0.1 * Math.sin((advance() / 20.0) + process))));
+    }
+
+    /**
+     * Gets processor time used by process since it started
+     *
+     * @param process process index
+     * @return long with milliseconds
+     */
+    public long getProcessCpuTime(final int process)
+    {
+        return Math.round(processCpuRates[process] * advance());
+    }
+
+    /**
+     * Gets host uptime
+     *
+     * @return long with seconds
+     */
+    public long getUptime()
+    {
+        return initialUptime + ((advance() * STEP_MILLIS) / 1_000);
+    }
+}
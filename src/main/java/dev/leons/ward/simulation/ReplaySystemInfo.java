@@ -0,0 +1,410 @@
+package dev.leons.ward.simulation;
+
+import lombok.extern.slf4j.Slf4j;
+import oshi.SystemInfoFFM;
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.GlobalMemory;
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.hardware.VirtualMemory;
+import oshi.software.os.FileSystem;
+import oshi.software.os.OSFileStore;
+import oshi.software.os.OperatingSystem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * ReplaySystemInfo is SystemInfoFFM, which plays back trace recorded by TraceRecorderComponent instead of reading the real host
+ * UsageService, InfoService and UptimeService read recorded raw values, such as processor ticks, and compute percentages
+ * as they did on recorded host. Trace time runs with wall clock multiplied by speed, frames are streamed from file,
+ * and looped trace keeps counters growing, so usage between last and first frame is not negative.
+ * Ward's own process is still read from the real host
+ *
+ * @version 1.0.0
+ */
+@Slf4j
+public class ReplaySystemInfo extends SystemInfoFFM
+{
+    /**
+     * Recorded trace
+     */
+    private final Path file;
+
+    /**
+     * Trace milliseconds per wall clock millisecond
+     */
+    private final double speed;
+
+    /**
+     * Whether trace starts again after last frame
+     */
+    private final boolean loop;
+
+    /**
+     * Source of current time in nanoseconds
+     */
+    private final LongSupplier clock;
+
+    /**
+     * Time of replay start
+     */
+    private final long startNanos;
+
+    /**
+     * Description of recorded host
+     */
+    private final TraceHeader header;
+
+    /**
+     * First frame of trace, as recorded
+     */
+    private final TraceFrame first;
+
+    /**
+     * Replayed hardware
+     */
+    private final HardwareAbstractionLayer hardware;
+
+    /**
+     * Replayed operating system
+     */
+    private final OperatingSystem operatingSystem;
+
+    /**
+     * Reader of current pass through trace
+     */
+    private TraceReader reader;
+
+    /**
+     * Frame, which is replayed now, shifted to current pass
+     */
+    private TraceFrame current;
+
+    /**
+     * Frame after current one, shifted to current pass, null after last frame
+     */
+    private TraceFrame next;
+
+    /**
+     * Shift of times of current pass in milliseconds
+     */
+    private long timeOffset;
+
+    /**
+     * Shift of processor ticks of current pass
+     */
+    private long[] tickOffsets;
+
+    /**
+     * Shift of uptime of current pass in seconds
+     */
+    private long uptimeOffset;
+
+    /**
+     * Real operating system, for Ward's own process, created on first use
+     */
+    private OperatingSystem host;
+
+    /**
+     * Starts replay, which runs with wall clock
+     *
+     * @param file recorded trace
+     * @param speed trace seconds per second, 1 for real speed
+     * @param loop whether trace starts again after last frame
+     * @throws IOException if trace can not be read or has no frames
+     */
+    public ReplaySystemInfo(final Path file, final double speed, final boolean loop) throws IOException
+    {
+        this(file, speed, loop, System::nanoTime);
+    }
+
+    /**
+     * Starts replay, which runs with given clock
+     *
+     * @param file recorded trace
+     * @param speed trace seconds per second, 1 for real speed
+     * @param loop whether trace starts again after last frame
+     * @param clock source of current time in nanoseconds
+     * @throws IOException if trace can not be read or has no frames
+     */
+    public ReplaySystemInfo(final Path file, final double speed, final boolean loop, final LongSupplier clock) throws IOException
+    {
+        if (!(speed > 0))
+        {
+            throw new IllegalArgumentException("Replay speed must be positive");
+        }
+
+        this.file = file;
+        this.speed = speed;
+        this.loop = loop;
+        this.clock = clock;
+
+        reader = new TraceReader(Files.newInputStream(file));
+        header = reader.getHeader();
+        first = reader.read();
+
+        if (first == null)
+        {
+            reader.close();
+            throw new IOException("Trace " + file + " has no frames");
+        }
+
+        tickOffsets = new long[first.ticks().length];
+        current = first;
+        next = readNext();
+        startNanos = clock.getAsLong();
+        hardware = createHardware();
+        operatingSystem = createOperatingSystem();
+    }
+
+    @Override
+    public HardwareAbstractionLayer getHardware()
+    {
+        return hardware;
+    }
+
+    @Override
+    public OperatingSystem getOperatingSystem()
+    {
+        return operatingSystem;
+    }
+
+    /**
+     * Gets frame of current trace time, reading frames up to it
+     *
+     * @return TraceFrame, last one if trace has ended and is not looped
+     */
+    synchronized TraceFrame getFrame()
+    {
+        long position = first.time() + (long) (((clock.getAsLong() - startNanos) / 1e6) * speed);
+
+        try
+        {
+            while (true)
+            {
+                if (next == null)
+                {
+                    if (!loop)
+                    {
+                        break;
+                    }
+                    restart();
+                }
+                if (next.time() > position)
+                {
+                    break;
+                }
+
+                current = next;
+                next = readNext();
+            }
+        }
+        catch (IOException exception)
+        {
+            log.warn("Could not read trace {}, replaying its last frame: {}", file, exception.getMessage());
+            next = null;
+            closeReader();
+            return current;
+        }
+
+        return current;
+    }
+
+    /**
+     * Starts next pass through trace a second after last frame, counters continue from last frame
+     */
+    private void restart() throws IOException
+    {
+        timeOffset = (current.time() - first.time()) + 1_000;
+        uptimeOffset = (current.uptime() - first.uptime()) + 1;
+        tickOffsets = new long[first.ticks().length];
+        if (current.ticks().length == tickOffsets.length)
+        {
+            Arrays.setAll(tickOffsets, i -> current.ticks()[i] - first.ticks()[i]);
+        }
+
+        closeReader();
+        reader = new TraceReader(Files.newInputStream(file));
+        next = readNext();
+    }
+
+    /**
+     * Reads next frame and shifts it to current pass
+     *
+     * @return TraceFrame, or null at end of trace
+     */
+    private TraceFrame readNext() throws IOException
+    {
+        TraceFrame frame = reader.read();
+
+        if (frame == null)
+        {
+            return null;
+        }
+
+        long[] ticks = frame.ticks().clone();
+        if (ticks.length == tickOffsets.length)
+        {
+            Arrays.setAll(ticks, i -> ticks[i] + tickOffsets[i]);
+        }
+
+        return new TraceFrame(frame.time() + timeOffset, ticks, frame.frequency(), frame.availableMemory(), frame.totalSpace(), frame.freeSpace(),
+                frame.uptime() + uptimeOffset, frame.processCount());
+    }
+
+    /**
+     * Closes reader of current pass
+     */
+    private void closeReader()
+    {
+        try
+        {
+            reader.close();
+        }
+        catch (IOException exception)
+        {
+            log.debug("Could not close trace", exception);
+        }
+    }
+
+    /**
+     * Gets real operating system
+     *
+     * @return OperatingSystem of real host
+     */
+    private synchronized OperatingSystem getHost()
+    {
+        if (host == null)
+        {
+            host = new SystemInfoFFM().getOperatingSystem();
+        }
+
+        return host;
+    }
+
+    /**
+     * Creates processor, memory and disks
+     *
+     * @return HardwareAbstractionLayer proxy
+     */
+    private HardwareAbstractionLayer createHardware()
+    {
+        CentralProcessor.ProcessorIdentifier identifier = new CentralProcessor.ProcessorIdentifier("", header.processorName(), "", "", "", "", header.cpu64bit());
+
+        Map<String, Function<Object[], Object>> processorAnswers = new HashMap<>();
+        processorAnswers.put("getProcessorIdentifier", args -> identifier);
+        processorAnswers.put("getLogicalProcessorCount", args -> header.logicalProcessors());
+        processorAnswers.put("getPhysicalProcessorCount", args -> header.physicalProcessors());
+        processorAnswers.put("getPhysicalPackageCount", args -> 1);
+        processorAnswers.put("getMaxFreq", args -> header.maxFrequency());
+        processorAnswers.put("getCurrentFreq", args ->
+        {
+            long[] frequencies = new long[Math.max(1, header.logicalProcessors())];
+            Arrays.fill(frequencies, getFrame().frequency());
+            return frequencies;
+        });
+        processorAnswers.put("getSystemCpuLoadTicks", args -> getFrame().ticks().clone());
+        processorAnswers.put("getSystemCpuLoadBetweenTicks", args -> SimulatedSystemInfo.getLoadBetween((long[]) args[0], getFrame().ticks()));
+        CentralProcessor processor = SimulatedSystemInfo.proxy(CentralProcessor.class, processorAnswers);
+
+        Map<String, Function<Object[], Object>> virtualMemoryAnswers = new HashMap<>();
+        virtualMemoryAnswers.put("getSwapTotal", args -> header.swapTotal());
+        VirtualMemory virtualMemory = SimulatedSystemInfo.proxy(VirtualMemory.class, virtualMemoryAnswers);
+
+        Map<String, Function<Object[], Object>> memoryAnswers = new HashMap<>();
+        memoryAnswers.put("getTotal", args -> header.totalMemory());
+        memoryAnswers.put("getAvailable", args -> getFrame().availableMemory());
+        memoryAnswers.put("getPageSize", args -> 4096L);
+        memoryAnswers.put("getVirtualMemory", args -> virtualMemory);
+        memoryAnswers.put("getPhysicalMemory", args -> List.of());
+        GlobalMemory memory = SimulatedSystemInfo.proxy(GlobalMemory.class, memoryAnswers);
+
+        List<HWDiskStore> diskStores = new ArrayList<>();
+        for (int i = 0; i < header.disks().size(); i++)
+        {
+            TraceHeader.Disk disk = header.disks().get(i);
+            String name = "disk" + i;
+
+            Map<String, Function<Object[], Object>> diskAnswers = new HashMap<>();
+            diskAnswers.put("getName", args -> name);
+            diskAnswers.put("getModel", args -> disk.model());
+            diskAnswers.put("getSize", args -> disk.size());
+            diskAnswers.put("getPartitions", args -> List.of());
+            diskStores.add(SimulatedSystemInfo.proxy(HWDiskStore.class, diskAnswers));
+        }
+        List<HWDiskStore> disks = List.copyOf(diskStores);
+
+        Map<String, Function<Object[], Object>> hardwareAnswers = new HashMap<>();
+        hardwareAnswers.put("getProcessor", args -> processor);
+        hardwareAnswers.put("getMemory", args -> memory);
+        hardwareAnswers.put("getDiskStores", args -> disks);
+        hardwareAnswers.put("getNetworkIFs", args -> List.of());
+
+        return SimulatedSystemInfo.proxy(HardwareAbstractionLayer.class, hardwareAnswers);
+    }
+
+    /**
+     * Creates operating system with file system
+     *
+     * @return OperatingSystem proxy
+     */
+    private OperatingSystem createOperatingSystem()
+    {
+        Map<String, Function<Object[], Object>> fileSystemAnswers = new HashMap<>();
+        fileSystemAnswers.put("getFileStores", args -> getFileStores(getFrame()));
+        FileSystem fileSystem = SimulatedSystemInfo.proxy(FileSystem.class, fileSystemAnswers);
+
+        OperatingSystem.OSVersionInfo versionInfo = new OperatingSystem.OSVersionInfo(header.version(), "", "");
+
+        Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        answers.put("getFamily", args -> header.family());
+        answers.put("getManufacturer", args -> "Replay");
+        answers.put("getVersionInfo", args -> versionInfo);
+        answers.put("getBitness", args -> header.bitness());
+        answers.put("getFileSystem", args -> fileSystem);
+        answers.put("getProcessCount", args -> getFrame().processCount());
+        answers.put("getSystemUptime", args -> getFrame().uptime());
+        answers.put("getSystemBootTime", args -> (System.currentTimeMillis() / 1_000) - getFrame().uptime());
+        answers.put("getProcessId", args -> getHost().getProcessId());
+        answers.put("getCurrentProcess", args -> getHost().getCurrentProcess());
+
+        return SimulatedSystemInfo.proxy(OperatingSystem.class, answers);
+    }
+
+    /**
+     * Creates file stores of frame
+     *
+     * @return List of OSFileStore proxies
+     */
+    private List<OSFileStore> getFileStores(final TraceFrame frame)
+    {
+        List<OSFileStore> fileStores = new ArrayList<>();
+
+        for (int i = 0; i < frame.totalSpace().length; i++)
+        {
+            String mount = (i < header.mounts().size()) ? header.mounts().get(i) : "/replay" + i;
+            long totalSpace = frame.totalSpace()[i];
+            long freeSpace = (i < frame.freeSpace().length) ? frame.freeSpace()[i] : 0;
+
+            Map<String, Function<Object[], Object>> answers = new HashMap<>();
+            answers.put("getName", args -> mount);
+            answers.put("getMount", args -> mount);
+            answers.put("getTotalSpace", args -> totalSpace);
+            answers.put("getFreeSpace", args -> freeSpace);
+            answers.put("getUsableSpace", args -> freeSpace);
+            answers.put("updateAttributes", args -> true);
+            fileStores.add(SimulatedSystemInfo.proxy(OSFileStore.class, answers));
+        }
+
+        return fileStores;
+    }
+}
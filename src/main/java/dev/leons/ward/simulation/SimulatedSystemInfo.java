@@ -0,0 +1,423 @@
+package dev.leons.ward.simulation;
+
+import oshi.SystemInfoFFM;
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.GlobalMemory;
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.hardware.NetworkIF;
+import oshi.hardware.VirtualMemory;
+import oshi.software.os.FileSystem;
+import oshi.software.os.OSFileStore;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * SimulatedSystemInfo is SystemInfoFFM backed by HardwareSimulation instead of the real host
+ * OSHI interfaces are implemented by dynamic proxies, which answer methods by name. Methods, which Ward and
+ * load tests read, are simulated, any other method throws UnsupportedOperationException, so missing
+ * simulation is noticed instead of returning made up zeros
+ *
+ * @version 1.0.2
+ */
+public class SimulatedSystemInfo extends SystemInfoFFM
+{
+    /**
+     * Pid of first simulated process
+     */
+    private static final int FIRST_PID = 1000;
+
+    /**
+     * Simulation, which provides all values
+     */
+    private final HardwareSimulation simulation;
+
+    /**
+     * Simulated hardware
+     */
+    private final HardwareAbstractionLayer hardware;
+
+    /**
+     * Simulated operating system
+     */
+    private final OperatingSystem operatingSystem;
+
+    /**
+     * Creates host, which evolves with wall clock
+     *
+     * @param settings size and seed of host
+     */
+    public SimulatedSystemInfo(final SimulationSettings settings)
+    {
+        this(settings, System::nanoTime);
+    }
+
+    /**
+     * Creates host, which evolves with given clock
+     *
+     * @param settings size and seed of host
+     * @param clock source of current time in nanoseconds
+     */
+    public SimulatedSystemInfo(final SimulationSettings settings, final LongSupplier clock)
+    {
+        simulation = new HardwareSimulation(settings, clock);
+        hardware = createHardware(settings);
+        operatingSystem = createOperatingSystem(settings);
+    }
+
+    @Override
+    public HardwareAbstractionLayer getHardware()
+    {
+        return hardware;
+    }
+
+    @Override
+    public OperatingSystem getOperatingSystem()
+    {
+        return operatingSystem;
+    }
+
+    /**
+     * Gets simulation behind this host
+     *
+     * @return HardwareSimulation object
+     */
+    public HardwareSimulation getSimulation()
+    {
+        return simulation;
+    }
+
+    /**
+     * Creates processor, memory, disks and network interfaces
+     *
+     * @return HardwareAbstractionLayer proxy
+     */
+    private HardwareAbstractionLayer createHardware(final SimulationSettings settings)
+    {
+        int cores = settings.cores();
+
+        CentralProcessor.ProcessorIdentifier identifier = new CentralProcessor.ProcessorIdentifier("GenuineIntel",
+                "Simulated Xeon " + cores + "-Core @ 2.00GHz", "6", "143", "8", "SIM" + Long.toHexString(settings.seed()), true);
+
+        Map<String, Function<Object[], Object>> processorAnswers = new HashMap<>();
+        processorAnswers.put("getProcessorIdentifier", args -> identifier);
+        processorAnswers.put("getLogicalProcessorCount", args -> cores);
+        processorAnswers.put("getPhysicalProcessorCount", args -> Math.max(1, cores / 2));
+        processorAnswers.put("getPhysicalPackageCount", args -> (cores > 64) ? 2 : 1);
+        processorAnswers.put("getMaxFreq", args -> 3_500_000_000L);
+        processorAnswers.put("getCurrentFreq", args -> simulation.getFrequencies());
+        processorAnswers.put("getSystemCpuLoadTicks", args -> simulation.getSystemTicks());
+        processorAnswers.put("getProcessorCpuLoadTicks", args -> simulation.getProcessorTicks());
+        processorAnswers.put("getSystemCpuLoadBetweenTicks", args -> getLoadBetween((long[]) args[0], simulation.getSystemTicks()));
+        processorAnswers.put("getContextSwitches", args -> simulation.getSystemTicks()[0] * 40);
+        processorAnswers.put("getInterrupts", args -> simulation.getSystemTicks()[0] * 10);
+        CentralProcessor processor = proxy(CentralProcessor.class, processorAnswers);
+
+        long swap = Math.min(settings.memory() / 8, 64L << 30);
+        Map<String, Function<Object[], Object>> virtualMemoryAnswers = new HashMap<>();
+        virtualMemoryAnswers.put("getSwapTotal", args -> swap);
+        virtualMemoryAnswers.put("getSwapUsed", args -> swap / 10);
+        virtualMemoryAnswers.put("getVirtualMax", args -> settings.memory() + swap);
+        virtualMemoryAnswers.put("getVirtualInUse", args -> (settings.memory() - simulation.getAvailableMemory()) + (swap / 10));
+        VirtualMemory virtualMemory = proxy(VirtualMemory.class, virtualMemoryAnswers);
+
+        Map<String, Function<Object[], Object>> memoryAnswers = new HashMap<>();
+        memoryAnswers.put("getTotal", args -> settings.memory());
+        memoryAnswers.put("getAvailable", args -> simulation.getAvailableMemory());
+        memoryAnswers.put("getPageSize", args -> 4096L);
+        memoryAnswers.put("getVirtualMemory", args -> virtualMemory);
+        memoryAnswers.put("getPhysicalMemory", args -> List.of());
+        GlobalMemory memory = proxy(GlobalMemory.class, memoryAnswers);
+
+        List<HWDiskStore> diskStores = new ArrayList<>();
+        for (int i = 0; i < settings.disks(); i++)
+        {
+            diskStores.add(createDiskStore(i));
+        }
+
+        List<NetworkIF> networkIFs = new ArrayList<>();
+        for (int i = 0; i < settings.networkInterfaces(); i++)
+        {
+            networkIFs.add(createNetworkIF(i));
+        }
+
+        Map<String, Function<Object[], Object>> hardwareAnswers = new HashMap<>();
+        hardwareAnswers.put("getProcessor", args -> processor);
+        hardwareAnswers.put("getMemory", args -> memory);
+        hardwareAnswers.put("getDiskStores", args -> List.copyOf(diskStores));
+        hardwareAnswers.put("getNetworkIFs", args -> List.copyOf(networkIFs));
+
+        return proxy(HardwareAbstractionLayer.class, hardwareAnswers);
+    }
+
+    /**
+     * Creates one disk store
+     *
+     * @param disk disk index
+     * @return HWDiskStore proxy
+     */
+    private HWDiskStore createDiskStore(final int disk)
+    {
+        Map<String, Function<Object[], Object>> answers = new HashMap<>();
+
+        answers.put("getName", args -> "/dev/nvme" + disk + "n1");
+        answers.put("getModel", args -> "Simulated NVMe SSD " + (simulation.getDiskSize(disk) >> 30) + "GB");
+        answers.put("getSerial", args -> "SIM-DISK-" + disk);
+        answers.put("getSize", args -> simulation.getDiskSize(disk));
+        answers.put("getReads", args -> simulation.getDiskReadBytes(disk) / 4096);
+        answers.put("getReadBytes", args -> simulation.getDiskReadBytes(disk));
+        answers.put("getWrites", args -> simulation.getDiskWriteBytes(disk) / 4096);
+        answers.put("getWriteBytes", args -> simulation.getDiskWriteBytes(disk));
+        answers.put("getCurrentQueueLength", args -> 0L);
+        answers.put("getTransferTime", args -> simulation.getDiskReadBytes(disk) / (1 << 20));
+        answers.put("getPartitions", args -> List.of());
+        answers.put("getTimeStamp", args -> System.currentTimeMillis());
+        answers.put("updateAttributes", args -> true);
+
+        return proxy(HWDiskStore.class, answers);
+    }
+
+    /**
+     * Creates one network interface
+     *
+     * @param networkInterface network interface index
+     * @return NetworkIF proxy
+     */
+    private NetworkIF createNetworkIF(final int networkInterface)
+    {
+        Map<String, Function<Object[], Object>> answers = new HashMap<>();
+
+        answers.put("getName", args -> "eth" + networkInterface);
+        answers.put("getDisplayName", args -> "Simulated Ethernet " + networkInterface);
+        answers.put("getIndex", args -> networkInterface + 2);
+        answers.put("getMTU", args -> 1500L);
+        answers.put("getSpeed", args -> 10_000_000_000L);
+        answers.put("getMacaddr", args -> String.format("02:00:00:00:%02x:%02x", networkInterface >> 8, networkInterface & 0xff));
+        answers.put("getIPv4addr", args -> new String[] {"10.0." + (networkInterface >> 8) + "." + ((networkInterface & 0xff) + 1)});
+        answers.put("getIPv6addr", args -> new String[0]);
+        answers.put("getBytesRecv", args -> simulation.getNetworkBytesReceived(networkInterface));
+        answers.put("getBytesSent", args -> simulation.getNetworkBytesSent(networkInterface));
+        answers.put("getPacketsRecv", args -> simulation.getNetworkBytesReceived(networkInterface) / 1200);
+        answers.put("getPacketsSent", args -> simulation.getNetworkBytesSent(networkInterface) / 1200);
+        answers.put("getInErrors", args -> 0L);
+        answers.put("getOutErrors", args -> 0L);
+        answers.put("getTimeStamp", args -> System.currentTimeMillis());
+        answers.put("updateAttributes", args -> true);
+
+        return proxy(NetworkIF.class, answers);
+    }
+
+    /**
+     * Creates operating system with file system and process table
+     *
+     * @return OperatingSystem proxy
+     */
+    private OperatingSystem createOperatingSystem(final SimulationSettings settings)
+    {
+        List<OSFileStore> fileStores = new ArrayList<>();
+        for (int i = 0; i < settings.fileStores(); i++)
+        {
+            fileStores.add(createFileStore(i));
+        }
+
+        Map<String, Function<Object[], Object>> fileSystemAnswers = new HashMap<>();
+        fileSystemAnswers.put("getFileStores", args -> List.copyOf(fileStores));
+        fileSystemAnswers.put("getOpenFileDescriptors", args -> settings.processes() * 12L);
+        fileSystemAnswers.put("getMaxFileDescriptors", args -> 9_223_372_036_854_775_807L);
+        FileSystem fileSystem = proxy(FileSystem.class, fileSystemAnswers);
+
+        List<OSProcess> processes = new ArrayList<>();
+        for (int i = 0; i < settings.processes(); i++)
+        {
+            processes.add(createProcess(i));
+        }
+        List<OSProcess> processTable = List.copyOf(processes);
+
+        OperatingSystem.OSVersionInfo versionInfo = new OperatingSystem.OSVersionInfo("6.8.0", "Simulated", "sim");
+
+        Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        answers.put("getFamily", args -> "Simulated Linux");
+        answers.put("getManufacturer", args -> "Ward");
+        answers.put("getVersionInfo", args -> versionInfo);
+        answers.put("getBitness", args -> 64);
+        answers.put("getFileSystem", args -> fileSystem);
+        answers.put("getProcessCount", args -> simulation.getProcessCount());
+        answers.put("getThreadCount", args -> simulation.getProcessCount() * 4);
+        answers.put("getSystemUptime", args -> simulation.getUptime());
+        answers.put("getSystemBootTime", args -> (System.currentTimeMillis() / 1_000) - simulation.getUptime());
+        answers.put("getProcessId", args -> FIRST_PID);
+        answers.put("getCurrentProcess", args -> processTable.getFirst());
+        answers.put("getProcess", args -> getProcess(processTable, (Integer) args[0]));
+        answers.put("getProcesses", args -> getProcesses(processTable, args));
+
+        return proxy(OperatingSystem.class, answers);
+    }
+
+    /**
+     * Creates one file store, first one is mounted at root
+     *
+     * @param fileStore file store index
+     * @return OSFileStore proxy
+     */
+    private OSFileStore createFileStore(final int fileStore)
+    {
+        Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        String mount = (fileStore == 0) ? "/" : "/data" + fileStore;
+
+        answers.put("getName", args -> mount);
+        answers.put("getVolume", args -> "/dev/nvme" + fileStore + "n1p1");
+        answers.put("getLabel", args -> "sim" + fileStore);
+        answers.put("getMount", args -> mount);
+        answers.put("getOptions", args -> "rw,relatime");
+        answers.put("getUUID", args -> String.format("00000000-0000-4000-8000-%012x", fileStore));
+        answers.put("getDescription", args -> "Local Disk");
+        answers.put("getType", args -> "ext4");
+        answers.put("getTotalSpace", args -> simulation.getFileStoreSize(fileStore));
+        answers.put("getFreeSpace", args -> simulation.getFileStoreFree(fileStore));
+        answers.put("getUsableSpace", args -> simulation.getFileStoreFree(fileStore));
+        answers.put("getTotalInodes", args -> simulation.getFileStoreSize(fileStore) / 16_384);
+        answers.put("getFreeInodes", args -> simulation.getFileStoreFree(fileStore) / 16_384);
+        answers.put("updateAttributes", args -> true);
+
+        return proxy(OSFileStore.class, answers);
+    }
+
+    /**
+     * Creates one process
+     *
+     * @param process process index
+     * @return OSProcess proxy
+     */
+    private OSProcess createProcess(final int process)
+    {
+        Map<String, Function<Object[], Object>> answers = new HashMap<>();
+
+        answers.put("getProcessID", args -> FIRST_PID + process);
+        answers.put("getParentProcessID", args -> 1);
+        answers.put("getName", args -> simulation.getProcessName(process));
+        answers.put("getPath", args -> "/usr/bin/" + simulation.getProcessName(process));
+        answers.put("getCommandLine", args -> simulation.getProcessName(process));
+        answers.put("getUser", args -> "ward");
+        answers.put("getState", args -> ((process % 10) == 0) ? OSProcess.State.RUNNING : OSProcess.State.SLEEPING);
+        answers.put("getThreadCount", args -> 1 + (process % 32));
+        answers.put("getResidentSetSize", args -> simulation.getProcessMemory(process));
+        answers.put("getVirtualSize", args -> simulation.getProcessMemory(process) * 3);
+        answers.put("getKernelTime", args -> simulation.getProcessCpuTime(process) / 5);
+        answers.put("getUserTime", args -> simulation.getProcessCpuTime(process) - (simulation.getProcessCpuTime(process) / 5));
+        answers.put("getUpTime", args -> simulation.getUptime() * 1_000);
+        answers.put("getStartTime", args -> System.currentTimeMillis() - (simulation.getUptime() * 1_000));
+        answers.put("getProcessCpuLoadCumulative", args -> (double) simulation.getProcessCpuTime(process) / Math.max(1, simulation.getUptime() * 1_000));
+        answers.put("updateAttributes", args -> true);
+
+        return proxy(OSProcess.class, answers);
+    }
+
+    /**
+     * Finds process by pid
+     *
+     * @return OSProcess or null, if there is no such process
+     */
+    private static OSProcess getProcess(final List<OSProcess> processTable, final int pid)
+    {
+        int index = pid - FIRST_PID;
+
+        return ((index >= 0) && (index < processTable.size())) ? processTable.get(index) : null;
+    }
+
+    /**
+     * Answers every getProcesses overload: all processes, chosen pids, or filtered, sorted and limited processes
+     *
+     * @return List of processes
+     */
+    @SuppressWarnings("unchecked")
+    private static List<OSProcess> getProcesses(final List<OSProcess> processTable, final Object[] args)
+    {
+        if ((args == null) || (args.length == 0))
+        {
+            return processTable;
+        }
+
+        if (args[0] instanceof Collection<?> pids)
+        {
+            return pids.stream().map(pid -> getProcess(processTable, (Integer) pid)).filter(process -> process != null).toList();
+        }
+
+        Predicate<OSProcess> filter = (args[0] != null) ? (Predicate<OSProcess>) args[0] : process -> true;
+        Comparator<OSProcess> sort = (Comparator<OSProcess>) args[1];
+        int limit = (Integer) args[2];
+
+        var stream = processTable.stream().filter(filter);
+        if (sort != null)
+        {
+            stream = stream.sorted(sort);
+        }
+
+        return stream.limit((limit > 0) ? limit : Long.MAX_VALUE).toList();
+    }
+
+    /**
+     * Computes load between two tick arrays
+     *
+     * @return double between 0 and 1
+     */
+    static double getLoadBetween(final long[] previous, final long[] current)
+    {
+        long total = 0;
+        long idle = 0;
+
+        for (int i = 0; i < current.length; i++)
+        {
+            total += current[i] - previous[i];
+        }
+        idle += (current[CentralProcessor.TickType.IDLE.getIndex()] - previous[CentralProcessor.TickType.IDLE.getIndex()])
+                + (current[CentralProcessor.TickType.IOWAIT.getIndex()] - previous[CentralProcessor.TickType.IOWAIT.getIndex()]);
+
+        return (total > 0) ? (double) (total - idle) / total : 0;
+    }
+
+    /**
+     * Creates proxy, which answers methods by name
+     * Shared by simulated, replayed and test systems, so all of them behave the same for methods without answer
+     *
+     * @param type interface to implement
+     * @param answers answers by method name, receiving call arguments
+     * @return proxy, which throws UnsupportedOperationException for methods without answer
+     */
+    public static <T> T proxy(final Class<T> type, final Map<String, Function<Object[], Object>> answers)
+    {
+        Map<String, Function<Object[], Object>> methods = Map.copyOf(answers);
+
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) ->
+        {
+            if (method.getDeclaringClass() == Object.class)
+            {
+                return switch (method.getName())
+                {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "Simulated" + type.getSimpleName();
+                };
+            }
+
+            Function<Object[], Object> answer = methods.get(method.getName());
+
+            if (answer == null)
+            {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not simulated");
+            }
+
+            return answer.apply(args);
+        }));
+    }
+}
@@ -0,0 +1,27 @@
+package dev.leons.ward.simulation;
+
+/**
+ * SimulationSettings describes size and randomness of simulated host
+ *
+ * @param seed seed of all generated values, same seed gives same host and same counters at same time
+ * @param cores logical processor count
+ * @param memory total memory in bytes
+ * @param disks disk store count
+ * @param fileStores file store count
+ * @param processes process count
+ * @param networkInterfaces network interface count
+ * @version 1.0.0
+ */
+public record SimulationSettings(long seed, int cores, long memory, int disks, int fileStores, int processes, int networkInterfaces)
+{
+    /**
+     * Checks, that host has at least one of everything Ward reads
+     */
+    public SimulationSettings
+    {
+        if ((cores < 1) || (memory < 1) || (disks < 1) || (fileStores < 1) || (processes < 1) || (networkInterfaces < 0))
+        {
+            throw new IllegalArgumentException("Simulated host needs at least one core, byte of memory, disk, file store and process");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package dev.leons.ward.simulation;
+
+import oshi.SystemInfoFFM;
+import oshi.hardware.GlobalMemory;
+import oshi.software.os.OSFileStore;
+import oshi.software.os.OperatingSystem;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * TraceFrame holds raw collector outputs of one moment, before Ward turns them into percentages
+ *
+ * @param time epoch milliseconds
+ * @param ticks system processor ticks, indexed by TickType
+ * @param frequency average current processor frequency in hertz
+ * @param availableMemory available memory in bytes
+ * @param totalSpace total space of every file store in bytes
+ * @param freeSpace free space of every file store in bytes
+ * @param uptime system uptime in seconds
+ * @param processCount process count
+ * @version 1.0.0
+ */
+public record TraceFrame(long time, long[] ticks, long frequency, long availableMemory, long[] totalSpace, long[] freeSpace, long uptime, int processCount)
+{
+    /**
+     * Reads raw outputs of host
+     *
+     * @param systemInfo host to read
+     * @param time epoch milliseconds of reading
+     * @return TraceFrame of host
+     */
+    public static TraceFrame capture(final SystemInfoFFM systemInfo, final long time)
+    {
+        GlobalMemory memory = systemInfo.getHardware().getMemory();
+        OperatingSystem operatingSystem = systemInfo.getOperatingSystem();
+        List<OSFileStore> fileStores = operatingSystem.getFileSystem().getFileStores();
+        long[] frequencies = systemInfo.getHardware().getProcessor().getCurrentFreq();
+
+        return new TraceFrame(time, systemInfo.getHardware().getProcessor().getSystemCpuLoadTicks(),
+                (frequencies.length > 0) ? Arrays.stream(frequencies).sum() / frequencies.length : 0, memory.getAvailable(),
+                fileStores.stream().mapToLong(OSFileStore::getTotalSpace).toArray(),
+                fileStores.stream().mapToLong(OSFileStore::getFreeSpace).toArray(),
+                operatingSystem.getSystemUptime(), operatingSystem.getProcessCount());
+    }
+
+    @Override
+    public boolean equals(final Object other)
+    {
+        return (other instanceof TraceFrame frame) && (time == frame.time) && Arrays.equals(ticks, frame.ticks) && (frequency == frame.frequency)
+                && (availableMemory == frame.availableMemory) && Arrays.equals(totalSpace, frame.totalSpace) && Arrays.equals(freeSpace, frame.freeSpace)
+                && (uptime == frame.uptime) && (processCount == frame.processCount);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Long.hashCode(time) * 31 + Arrays.hashCode(ticks);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TraceFrame[time=" + time + ", ticks=" + Arrays.toString(ticks) + ", frequency=" + frequency + ", availableMemory=" + availableMemory
+                + ", totalSpace=" + Arrays.toString(totalSpace) + ", freeSpace=" + Arrays.toString(freeSpace) + ", uptime=" + uptime + ", processCount=" + processCount + "]";
+    }
+}
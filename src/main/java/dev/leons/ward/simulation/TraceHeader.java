@@ -0,0 +1,69 @@
+package dev.leons.ward.simulation;
+
+import oshi.SystemInfoFFM;
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.GlobalMemory;
+import oshi.software.os.OSFileStore;
+import oshi.software.os.OperatingSystem;
+
+import java.util.List;
+
+/**
+ * TraceHeader describes recorded host once, with values, which do not change while Ward runs
+ *
+ * @param processorName processor name
+ * @param cpu64bit whether processor is 64-bit
+ * @param logicalProcessors logical processor count
+ * @param physicalProcessors physical processor count
+ * @param maxFrequency maximum processor frequency in hertz
+ * @param family operating system family
+ * @param version operating system version
+ * @param bitness operating system bitness
+ * @param totalMemory total memory in bytes
+ * @param swapTotal total swap in bytes
+ * @param disks disk stores
+ * @param mounts mount points of file stores, in order of frame values
+ * @version 1.0.0
+ */
+public record TraceHeader(String processorName, boolean cpu64bit, int logicalProcessors, int physicalProcessors, long maxFrequency,
+                          String family, String version, int bitness, long totalMemory, long swapTotal, List<Disk> disks, List<String> mounts)
+{
+    /**
+     * Copies lists, so header can not change after it is written
+     */
+    public TraceHeader
+    {
+        disks = List.copyOf(disks);
+        mounts = List.copyOf(mounts);
+    }
+
+    /**
+     * Describes host
+     *
+     * @param systemInfo host to describe
+     * @return TraceHeader of host
+     */
+    public static TraceHeader describe(final SystemInfoFFM systemInfo)
+    {
+        CentralProcessor processor = systemInfo.getHardware().getProcessor();
+        GlobalMemory memory = systemInfo.getHardware().getMemory();
+        OperatingSystem operatingSystem = systemInfo.getOperatingSystem();
+
+        return new TraceHeader(processor.getProcessorIdentifier().getName(), processor.getProcessorIdentifier().isCpu64bit(),
+                processor.getLogicalProcessorCount(), processor.getPhysicalProcessorCount(), processor.getMaxFreq(),
+                operatingSystem.getFamily(), operatingSystem.getVersionInfo().getVersion(), operatingSystem.getBitness(),
+                memory.getTotal(), memory.getVirtualMemory().getSwapTotal(),
+                systemInfo.getHardware().getDiskStores().stream().map(disk -> new Disk(disk.getModel(), disk.getSize())).toList(),
+                operatingSystem.getFileSystem().getFileStores().stream().map(OSFileStore::getMount).toList());
+    }
+
+    /**
+     * Disk describes one disk store
+     *
+     * @param model disk model
+     * @param size disk size in bytes
+     */
+    public record Disk(String model, long size)
+    {
+    }
+}
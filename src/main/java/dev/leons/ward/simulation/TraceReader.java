@@ -0,0 +1,183 @@
+package dev.leons.ward.simulation;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TraceReader reads trace written by TraceWriter frame by frame, so traces of any length are streamed
+ *
+ * @version 1.0.0
+ */
+public final class TraceReader implements Closeable
+{
+    /**
+     * Frame before first one, first frame is written relative to it
+     */
+    static final TraceFrame EMPTY_FRAME = new TraceFrame(0, new long[0], 0, 0, new long[0], new long[0], 0, 0);
+
+    /**
+     * Most values of one array, guards against allocating for corrupted length
+     */
+    private static final int MAX_LENGTH = 1 << 16;
+
+    /**
+     * Input of trace
+     */
+    private final DataInputStream input;
+
+    /**
+     * Description of host
+     */
+    private final TraceHeader header;
+
+    /**
+     * Previous frame, values are read relative to it
+     */
+    private TraceFrame previous = EMPTY_FRAME;
+
+    /**
+     * Reads header
+     *
+     * @param inputStream input of trace
+     * @throws IOException if input is not trace of supported version
+     */
+    public TraceReader(final InputStream inputStream) throws IOException
+    {
+        input = new DataInputStream(new BufferedInputStream(inputStream));
+
+        long magic = input.readLong();
+        if (magic != (TraceWriter.MAGIC | TraceWriter.VERSION))
+        {
+            throw new IOException("Not a Ward trace, or trace of unsupported version");
+        }
+
+        String processorName = input.readUTF();
+        boolean cpu64bit = input.readBoolean();
+        int logicalProcessors = input.readInt();
+        int physicalProcessors = input.readInt();
+        long maxFrequency = input.readLong();
+        String family = input.readUTF();
+        String version = input.readUTF();
+        int bitness = input.readInt();
+        long totalMemory = input.readLong();
+        long swapTotal = input.readLong();
+
+        List<TraceHeader.Disk> disks = new ArrayList<>();
+        for (int i = checkLength(input.readInt()); i > 0; i--)
+        {
+            disks.add(new TraceHeader.Disk(input.readUTF(), input.readLong()));
+        }
+        List<String> mounts = new ArrayList<>();
+        for (int i = checkLength(input.readInt()); i > 0; i--)
+        {
+            mounts.add(input.readUTF());
+        }
+
+        header = new TraceHeader(processorName, cpu64bit, logicalProcessors, physicalProcessors, maxFrequency, family, version, bitness,
+                totalMemory, swapTotal, disks, mounts);
+    }
+
+    /**
+     * Gets description of host
+     *
+     * @return TraceHeader
+     */
+    public TraceHeader getHeader()
+    {
+        return header;
+    }
+
+    /**
+     * Reads next frame
+     *
+     * @return TraceFrame, or null at end of trace, also if last frame was cut off
+     * @throws IOException if input can not be read or is corrupted
+     */
+    public TraceFrame read() throws IOException
+    {
+        try
+        {
+            TraceFrame frame = new TraceFrame(readValue(previous.time()), readValues(previous.ticks()), readValue(previous.frequency()),
+                    readValue(previous.availableMemory()), readValues(previous.totalSpace()), readValues(previous.freeSpace()),
+                    readValue(previous.uptime()), (int) readValue(previous.processCount()));
+            previous = frame;
+
+            return frame;
+        }
+        catch (EOFException exception)
+        {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        input.close();
+    }
+
+    /**
+     * Reads array, previous array of other length counts as zeros
+     */
+    private long[] readValues(final long[] previousValues) throws IOException
+    {
+        long[] values = new long[checkLength((int) readVarint())];
+
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = readValue((previousValues.length == values.length) ? previousValues[i] : 0);
+        }
+
+        return values;
+    }
+
+    /**
+     * Reads zigzag varint difference and adds it to previous value
+     */
+    private long readValue(final long previousValue) throws IOException
+    {
+        long zigzag = readVarint();
+
+        return previousValue + ((zigzag >>> 1) ^ -(zigzag & 1));
+    }
+
+    /**
+     * Reads unsigned value written in groups of 7 bits
+     */
+    private long readVarint() throws IOException
+    {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            int group = input.readUnsignedByte();
+            value |= (long) (group & 0x7F) << shift;
+
+            if ((group & 0x80) == 0)
+            {
+                return value;
+            }
+        }
+
+        throw new IOException("Corrupted trace, varint is too long");
+    }
+
+    /**
+     * Checks array length
+     */
+    private static int checkLength(final int length) throws IOException
+    {
+        if ((length < 0) || (length > MAX_LENGTH))
+        {
+            throw new IOException("Corrupted trace, length " + length);
+        }
+
+        return length;
+    }
+}
@@ -0,0 +1,184 @@
+package dev.leons.ward.simulation;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * TraceWriter writes header and frames of trace
+ * Every value of frame is written as zigzag varint of its difference to previous frame, counters grow by small steps,
+ * so typical frame takes few dozen bytes. Frames are flushed one by one, so trace of crashed Ward ends at last whole frame
+ *
+ * @version 1.0.1
+ */
+public final class TraceWriter implements Closeable
+{
+    /**
+     * First bytes of trace, "WARDTRC"
+     */
+    static final long MAGIC = 0x5741524454524300L;
+
+    /**
+     * Format version
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Output of trace
+     */
+    private final DataOutputStream output;
+
+    /**
+     * Counts written bytes, DataOutputStream counts in int, which overflows for traces over 2 GiB
+     */
+    private final CountingOutputStream counter;
+
+    /**
+     * Previous frame, values are written relative to it
+     */
+    private TraceFrame previous = TraceReader.EMPTY_FRAME;
+
+    /**
+     * Writes header
+     *
+     * @param outputStream output of trace
+     * @param header description of host
+     */
+    public TraceWriter(final OutputStream outputStream, final TraceHeader header) throws IOException
+    {
+        counter = new CountingOutputStream(new BufferedOutputStream(outputStream));
+        output = new DataOutputStream(counter);
+
+        output.writeLong(MAGIC | VERSION);
+        output.writeUTF(header.processorName());
+        output.writeBoolean(header.cpu64bit());
+        output.writeInt(header.logicalProcessors());
+        output.writeInt(header.physicalProcessors());
+        output.writeLong(header.maxFrequency());
+        output.writeUTF(header.family());
+        output.writeUTF(header.version());
+        output.writeInt(header.bitness());
+        output.writeLong(header.totalMemory());
+        output.writeLong(header.swapTotal());
+        output.writeInt(header.disks().size());
+        for (TraceHeader.Disk disk : header.disks())
+        {
+            output.writeUTF(disk.model());
+            output.writeLong(disk.size());
+        }
+        output.writeInt(header.mounts().size());
+        for (String mount : header.mounts())
+        {
+            output.writeUTF(mount);
+        }
+        output.flush();
+    }
+
+    /**
+     * Writes frame
+     *
+     * @param frame frame, not before previous one
+     */
+    public void write(final TraceFrame frame) throws IOException
+    {
+        writeDifference(frame.time(), previous.time());
+        writeDifferences(frame.ticks(), previous.ticks());
+        writeDifference(frame.frequency(), previous.frequency());
+        writeDifference(frame.availableMemory(), previous.availableMemory());
+        writeDifferences(frame.totalSpace(), previous.totalSpace());
+        writeDifferences(frame.freeSpace(), previous.freeSpace());
+        writeDifference(frame.uptime(), previous.uptime());
+        writeDifference(frame.processCount(), previous.processCount());
+        output.flush();
+
+        previous = frame;
+    }
+
+    /**
+     * Gets number of written bytes
+     *
+     * @return long with bytes
+     */
+    public long size()
+    {
+        return counter.count;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        output.close();
+    }
+
+    /**
+     * Writes length of array and differences of its values, previous array of other length counts as zeros
+     */
+    private void writeDifferences(final long[] values, final long[] previousValues) throws IOException
+    {
+        writeVarint(values.length);
+
+        for (int i = 0; i < values.length; i++)
+        {
+            writeDifference(values[i], (previousValues.length == values.length) ? previousValues[i] : 0);
+        }
+    }
+
+    /**
+     * Writes difference as zigzag varint, so small negative differences take few bytes too
+     */
+    private void writeDifference(final long value, final long previousValue) throws IOException
+    {
+        long difference = value - previousValue;
+
+        writeVarint((difference << 1) ^ (difference >> 63));
+    }
+
+    /**
+     * Writes unsigned value in groups of 7 bits, lowest first, high bit marks following group
+     */
+    private void writeVarint(final long value) throws IOException
+    {
+        long rest = value;
+
+        while ((rest & ~0x7FL) != 0)
+        {
+            output.writeByte((int) ((rest & 0x7F) | 0x80));
+            rest >>>= 7;
+        }
+
+        output.writeByte((int) rest);
+    }
+
+    /**
+     * CountingOutputStream passes bytes through and counts them
+     */
+    private static final class CountingOutputStream extends FilterOutputStream
+    {
+        /**
+         * Number of written bytes
+         */
+        private long count;
+
+        private CountingOutputStream(final OutputStream outputStream)
+        {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(final int b) throws IOException
+        {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException
+        {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package dev.leons.ward.storage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * DirectoryScanner builds StorageNode of one directory, scanning subdirectories as forked tasks
+ * Directory, which has same modification time as in previous scan and is not marked dirty, is not listed again:
+ * its file summary and subdirectory names are taken from previous node, and only subdirectories are checked.
+ * Modification time of directory does not change, when file inside it grows, so full scans ignore previous nodes
+ *
+ * @version 1.0.0
+ */
+public final class DirectoryScanner extends RecursiveTask<StorageNode>
+{
+    /**
+     * Scanned directory
+     */
+    private final Path directory;
+
+    /**
+     * Name of node, full path for roots
+     */
+    private final String name;
+
+    /**
+     * Node of directory from previous scan, null if directory is new
+     */
+    private final StorageNode previous;
+
+    /**
+     * Attributes read by parent while listing, null if they must be read
+     */
+    private final BasicFileAttributes attributes;
+
+    /**
+     * Settings shared by all tasks of one scan
+     */
+    private final Context context;
+
+    /**
+     * Creates scanner of root or of directory already in tree
+     *
+     * @param directory directory to scan
+     * @param previous node of directory from previous scan, null for first scan of root
+     * @param context settings of scan
+     */
+    public DirectoryScanner(final Path directory, final StorageNode previous, final Context context)
+    {
+        this(directory, (previous != null) ? previous.name() : directory.toString(), previous, null, context);
+    }
+
+    private DirectoryScanner(final Path directory, final String name, final StorageNode previous, final BasicFileAttributes attributes, final Context context)
+    {
+        this.directory = directory;
+        this.name = name;
+        this.previous = previous;
+        this.attributes = attributes;
+        this.context = context;
+    }
+
+    /**
+     * Scans directory
+     *
+     * @return StorageNode, previous node if nothing changed, or null if directory does not exist anymore
+     */
+    @Override
+    protected StorageNode compute()
+    {
+        if (context.cancelled)
+        {
+            return previous;
+        }
+
+        BasicFileAttributes directoryAttributes = attributes;
+
+        try
+        {
+            if (directoryAttributes == null)
+            {
+                context.throttle.acquire();
+                directoryAttributes = Files.readAttributes(directory, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            }
+        }
+        catch (IOException exception)
+        {
+            return null;
+        }
+
+        long modified = directoryAttributes.lastModifiedTime().toMillis();
+
+        if (!context.full && (previous != null) && (previous.modified() == modified) && !context.dirty.contains(directory))
+        {
+            return rescanChildren(modified);
+        }
+
+        return list(modified);
+    }
+
+    /**
+     * Reuses file summary of previous node and checks only subdirectories
+     *
+     * @return StorageNode, previous node itself if no subdirectory has changed
+     */
+    private StorageNode rescanChildren(final long modified)
+    {
+        List<DirectoryScanner> tasks = new ArrayList<>();
+
+        for (StorageNode child : previous.children())
+        {
+            tasks.add(new DirectoryScanner(directory.resolve(child.name()), child.name(), child, null, context));
+        }
+
+        invokeAll(tasks);
+
+        boolean changed = false;
+        StorageNode[] children = new StorageNode[tasks.size()];
+
+        for (int i = 0; i < children.length; i++)
+        {
+            children[i] = tasks.get(i).join();
+            changed |= children[i] != previous.children()[i];
+        }
+
+        if (!changed)
+        {
+            return previous;
+        }
+
+        return StorageNode.of(name, modified, previous.ownSize(), previous.ownFileCount(),
+                Arrays.stream(children).filter(Objects::nonNull).toArray(StorageNode[]::new), previous.largestFiles().clone());
+    }
+
+    /**
+     * Lists directory, sums its files and forks scanners of subdirectories
+     *
+     * @return StorageNode of directory, without files and subdirectories if it can not be listed
+     */
+    private StorageNode list(final long modified)
+    {
+        List<DirectoryScanner> tasks = new ArrayList<>();
+        PriorityQueue<StorageNode.FileEntry> largestFiles = new PriorityQueue<>(StorageNode.FileEntry.BY_SIZE.reversed());
+        long ownSize = 0;
+        long ownFileCount = 0;
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory))
+        {
+            for (Path entry : entries)
+            {
+                context.throttle.acquire();
+
+                BasicFileAttributes entryAttributes;
+                try
+                {
+                    entryAttributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                }
+                catch (NoSuchFileException exception)
+                {
+                    continue;
+                }
+
+                String entryName = entry.getFileName().toString();
+
+                if (entryAttributes.isDirectory())
+                {
+                    if (context.isSameDevice(entry))
+                    {
+                        StorageNode previousChild = (previous != null) ? previous.getChild(entryName) : null;
+                        tasks.add(new DirectoryScanner(entry, entryName, previousChild, entryAttributes, context));
+                    }
+                }
+                else if (entryAttributes.isRegularFile())
+                {
+                    ownSize += entryAttributes.size();
+                    ownFileCount++;
+
+                    largestFiles.add(new StorageNode.FileEntry(entryName, entryAttributes.size()));
+                    if (largestFiles.size() > StorageNode.LARGEST_FILES)
+                    {
+                        largestFiles.poll();
+                    }
+                }
+            }
+        }
+        catch (IOException | SecurityException exception)
+        {
+            // Unreadable directory is kept with what was listed before failure
+        }
+
+        invokeAll(tasks);
+
+        StorageNode[] children = tasks.stream().map(DirectoryScanner::join).filter(Objects::nonNull).toArray(StorageNode[]::new);
+
+        return StorageNode.of(name, modified, ownSize, ownFileCount, children, largestFiles.toArray(StorageNode.FileEntry[]::new));
+    }
+
+    /**
+     * Context holds settings shared by all tasks of one scan
+     */
+    public static final class Context
+    {
+        /**
+         * True, if unix attribute view is available for checking devices
+         */
+        private static final boolean UNIX = FileSystems.getDefault().supportedFileAttributeViews().contains("unix");
+
+        /**
+         * Limits rate of read entries
+         */
+        private final ScanThrottle throttle;
+
+        /**
+         * True to list every directory, ignoring previous nodes
+         */
+        private final boolean full;
+
+        /**
+         * Directories, which must be listed again, even if their modification time has not changed
+         */
+        private final Set<Path> dirty;
+
+        /**
+         * Device of root, scan does not cross into other file systems
+         */
+        private final Object device;
+
+        /**
+         * Set to stop scan, remaining directories keep their previous nodes
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * @param root scanned root, used for device check
+         * @param throttle limits rate of read entries
+         * @param full true to list every directory
+         * @param dirty directories, which must be listed again
+         */
+        public Context(final Path root, final ScanThrottle throttle, final boolean full, final Set<Path> dirty)
+        {
+            this.throttle = throttle;
+            this.full = full;
+            this.dirty = dirty;
+            this.device = getDevice(root);
+        }
+
+        /**
+         * Stops scan
+         */
+        public void cancel()
+        {
+            cancelled = true;
+        }
+
+        /**
+         * Checks, if directory is on same file system as root
+         *
+         * @return true, if it is, or if devices can not be compared
+         */
+        private boolean isSameDevice(final Path directory)
+        {
+            return (device == null) || device.equals(getDevice(directory));
+        }
+
+        /**
+         * Gets device of path
+         *
+         * @return Object with device id, or null if it can not be read
+         */
+        private static Object getDevice(final Path path)
+        {
+            if (!UNIX)
+            {
+                return null;
+            }
+
+            try
+            {
+                return Files.getAttribute(path, "unix:dev", LinkOption.NOFOLLOW_LINKS);
+            }
+            catch (IOException | UnsupportedOperationException | IllegalArgumentException exception)
+            {
+                return null;
+            }
+        }
+    }
+}
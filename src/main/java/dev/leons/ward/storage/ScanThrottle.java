@@ -0,0 +1,51 @@
+package dev.leons.ward.storage;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ScanThrottle limits rate of file system entries read by scan, so scan does not starve real I/O of host
+ * Every entry takes next free time slot, shared by all scanning threads, and waits for it
+ *
+ * @version 1.0.0
+ */
+public final class ScanThrottle
+{
+    /**
+     * Time between two entries, 0 for no limit
+     */
+    private final long nanosPerEntry;
+
+    /**
+     * Next free time slot
+     */
+    private final AtomicLong next = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param entriesPerSecond maximum rate, 0 or less for no limit
+     */
+    public ScanThrottle(final long entriesPerSecond)
+    {
+        this.nanosPerEntry = (entriesPerSecond > 0) ? TimeUnit.SECONDS.toNanos(1) / entriesPerSecond : 0;
+    }
+
+    /**
+     * Waits for time slot of one entry
+     */
+    public void acquire()
+    {
+        if (nanosPerEntry == 0)
+        {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long slot = next.getAndUpdate(previous -> Math.max(previous, now) + nanosPerEntry);
+
+        if (slot > now)
+        {
+            LockSupport.parkNanos(slot - now);
+        }
+    }
+}
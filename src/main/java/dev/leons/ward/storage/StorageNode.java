@@ -0,0 +1,106 @@
+package dev.leons.ward.storage;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * StorageNode is immutable size summary of one directory and its subtree
+ * Files are not kept, only their count, total size and the largest few, so tree costs one node per directory
+ * Unchanged subtrees are shared between scans, new scan replaces nodes only on path to changed directories
+ *
+ * @param name directory name, or full path for scanned roots
+ * @param modified last modification time of directory in milliseconds, changes when entries are added or removed
+ * @param size bytes of all files in subtree
+ * @param fileCount count of all files in subtree
+ * @param ownSize bytes of files directly in directory
+ * @param ownFileCount count of files directly in directory
+ * @param children subdirectories, largest first
+ * @param largestFiles largest files directly in directory, largest first
+ * @version 1.0.0
+ */
+public record StorageNode(String name, long modified, long size, long fileCount, long ownSize, long ownFileCount,
+                          StorageNode[] children, FileEntry[] largestFiles)
+{
+    /**
+     * Largest files kept per directory
+     */
+    public static final int LARGEST_FILES = 5;
+
+    /**
+     * Orders by size, largest first
+     */
+    static final Comparator<StorageNode> BY_SIZE = Comparator.comparingLong(StorageNode::size).reversed();
+
+    /**
+     * Creates node, summing sizes of files and children
+     *
+     * @param children subdirectories in any order
+     * @param largestFiles largest files in any order, at most LARGEST_FILES
+     */
+    static StorageNode of(final String name, final long modified, final long ownSize, final long ownFileCount,
+                          final StorageNode[] children, final FileEntry[] largestFiles)
+    {
+        long size = ownSize;
+        long fileCount = ownFileCount;
+
+        for (StorageNode child : children)
+        {
+            size += child.size;
+            fileCount += child.fileCount;
+        }
+
+        Arrays.sort(children, BY_SIZE);
+        Arrays.sort(largestFiles, FileEntry.BY_SIZE);
+
+        return new StorageNode(name, modified, size, fileCount, ownSize, ownFileCount, children, largestFiles);
+    }
+
+    /**
+     * Finds direct subdirectory by name
+     *
+     * @return StorageNode or null, if there is no such subdirectory
+     */
+    public StorageNode getChild(final String childName)
+    {
+        for (StorageNode child : children)
+        {
+            if (child.name.equals(childName))
+            {
+                return child;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates copy with one subdirectory replaced, sizes are adjusted by difference
+     *
+     * @param previous subdirectory to replace
+     * @param replacement new subdirectory, or null to remove previous one
+     * @return StorageNode with replaced subdirectory
+     */
+    StorageNode withChild(final StorageNode previous, final StorageNode replacement)
+    {
+        StorageNode[] replaced = Arrays.stream(children)
+                .map(child -> (child == previous) ? replacement : child)
+                .filter(child -> child != null)
+                .toArray(StorageNode[]::new);
+
+        return of(name, modified, ownSize, ownFileCount, replaced, largestFiles.clone());
+    }
+
+    /**
+     * FileEntry is name and size of one file
+     *
+     * @param name file name
+     * @param size bytes
+     */
+    public record FileEntry(String name, long size)
+    {
+        /**
+         * Orders by size, largest first
+         */
+        static final Comparator<FileEntry> BY_SIZE = Comparator.comparingLong(FileEntry::size).reversed();
+    }
+}
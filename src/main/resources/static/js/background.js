@@ -1,10 +1,10 @@
 
 /**
- * Initializes dynamic background
+ * Initializes dynamic background, fog is never started in low power mode, because it renders with WebGL on every frame
  */
 function backgroundInitialization()
 {
-if (html.getAttribute("enableFog") === "true")
+    if ((html.getAttribute("enableFog") === "true") && !lowPower && (typeof VANTA !== "undefined"))
     {
         background = VANTA.FOG({el: "#background", blurFactor: 0.40, zoom: 1.50});
         if (html.getAttribute("theme") === "light")
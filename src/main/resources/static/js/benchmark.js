@@ -0,0 +1,134 @@
+"use strict";
+
+/**
+ * Modes, which are measured one after another
+ */
+const benchmarkModes = [{name: "normal", lowPower: false}, {name: "low power", lowPower: true}];
+
+/**
+ * Frame intervals and update times, received from dashboard during current mode
+ */
+let benchmarkSamples;
+
+/**
+ * Initializes start button and listener for dashboard reports
+ */
+function benchmarkInitialization()
+{
+    document.getElementById("start").addEventListener("click", runBenchmark);
+
+    window.addEventListener("message", (event) =>
+    {
+        if ((event.origin === window.location.origin) && (event.data.type === "ward-benchmark") && benchmarkSamples)
+        {
+            benchmarkSamples.frames.push(...event.data.frames);
+            benchmarkSamples.updates.push(...event.data.updates);
+        }
+    });
+}
+
+/**
+ * Loads dashboard in every mode and measures it for chosen duration
+ * First seconds after load are skipped, so page load does not count as slow frames
+ */
+async function runBenchmark()
+{
+    const duration = Math.max(5, Number(document.getElementById("duration").value)) * 1000;
+    const status = document.getElementById("status");
+    const dashboard = document.getElementById("dashboard");
+    const start = document.getElementById("start");
+
+    start.disabled = true;
+    document.getElementById("results").innerHTML = "";
+
+    for (const mode of benchmarkModes)
+    {
+        status.innerHTML = "Loading " + mode.name + " mode";
+        benchmarkSamples = null;
+        dashboard.src = "/?benchmark&lowPower=" + mode.lowPower;
+
+        await sleep(5000);
+
+        status.innerHTML = "Measuring " + mode.name + " mode";
+        benchmarkSamples = {frames: [], updates: []};
+
+        await sleep(duration);
+
+        addResult(mode.name, benchmarkSamples);
+    }
+
+    benchmarkSamples = null;
+    dashboard.src = "about:blank";
+    status.innerHTML = "Done";
+    start.disabled = false;
+}
+
+/**
+ * Adds row with summary of one mode
+ *
+ * @param {*} name mode name
+ * @param {*} samples frame intervals and update times in milliseconds
+ */
+function addResult(name, samples)
+{
+    const row = document.createElement("tr");
+    const slowFrames = samples.frames.filter((frame) => frame > 1000 / 30).length;
+    const cells =
+    [
+        name,
+        samples.frames.length,
+        mean(samples.frames).toFixed(2),
+        percentile(samples.frames, 0.95).toFixed(2),
+        slowFrames,
+        samples.updates.length,
+        mean(samples.updates).toFixed(2),
+        percentile(samples.updates, 0.95).toFixed(2)
+    ];
+
+    for (const cell of cells)
+    {
+        const td = document.createElement("td");
+        td.textContent = cell;
+        row.appendChild(td);
+    }
+
+    document.getElementById("results").appendChild(row);
+}
+
+/**
+ * Calculates mean value
+ *
+ * @param {*} values array of numbers
+ */
+function mean(values)
+{
+    return (values.length > 0) ? values.reduce((sum, value) => sum + value, 0) / values.length : 0;
+}
+
+/**
+ * Calculates percentile by nearest rank
+ *
+ * @param {*} values array of numbers
+ * @param {*} rank percentile between 0 and 1
+ */
+function percentile(values, rank)
+{
+    if (values.length === 0)
+    {
+        return 0;
+    }
+
+    const sorted = [...values].sort((a, b) => a - b);
+
+    return sorted[Math.min(sorted.length - 1, Math.ceil(rank * sorted.length) - 1)];
+}
+
+/**
+ * Resolves after given time
+ *
+ * @param {*} milliseconds time to wait
+ */
+function sleep(milliseconds)
+{
+    return new Promise((resolve) => setTimeout(resolve, milliseconds));
+}
@@ -0,0 +1,195 @@
+/**
+ * Decodes CBOR (RFC 8949) data item, used for compact api responses
+ * Supports integers, strings, arrays, maps, floats and simple values, which are produced by server
+ * Items of indefinite length are supported too, Jackson writes objects as indefinite length maps
+ *
+ * @param {ArrayBuffer} buffer encoded data
+ * @returns {*} decoded value
+ */
+function decodeCbor(buffer)
+{
+    const view = new DataView(buffer);
+    const textDecoder = new TextDecoder();
+    let offset = 0;
+
+    function readLength(additionalInfo)
+    {
+        switch (additionalInfo)
+        {
+            case 24:
+            {
+                offset += 1;
+                return view.getUint8(offset - 1);
+            }
+            case 25:
+            {
+                offset += 2;
+                return view.getUint16(offset - 2);
+            }
+            case 26:
+            {
+                offset += 4;
+                return view.getUint32(offset - 4);
+            }
+            case 27:
+            {
+                offset += 8;
+                return Number(view.getBigUint64(offset - 8));
+            }
+            case 31:
+            {
+                // Indefinite length, item ends with break
+                return -1;
+            }
+            default:
+            {
+                return additionalInfo;
+            }
+        }
+    }
+
+    /**
+     * Consumes break, which ends item of indefinite length, if it is next
+     */
+    function readBreak()
+    {
+        if (view.getUint8(offset) === 0xFF)
+        {
+            offset++;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks, if item of given length has more content, indefinite length items end with break
+     */
+    function hasNext(length, index)
+    {
+        return (length < 0) ? !readBreak() : (index < length);
+    }
+
+    /**
+     * Reads bytes of definite string, or concatenates chunks of indefinite one
+     */
+    function readBytes(length)
+    {
+        if (length >= 0)
+        {
+            offset += length;
+            return new Uint8Array(buffer, offset - length, length);
+        }
+
+        const chunks = [];
+        let total = 0;
+
+        while (!readBreak())
+        {
+            const chunk = readBytes(readLength(view.getUint8(offset++) & 0x1F));
+            chunks.push(chunk);
+            total += chunk.length;
+        }
+
+        const bytes = new Uint8Array(total);
+        let position = 0;
+
+        for (const chunk of chunks)
+        {
+            bytes.set(chunk, position);
+            position += chunk.length;
+        }
+
+        return bytes;
+    }
+
+    function readHalfFloat()
+    {
+        const half = view.getUint16(offset);
+        const exponent = (half >> 10) & 0x1F;
+        const fraction = half & 0x3FF;
+        const sign = (half & 0x8000) ? -1 : 1;
+
+        offset += 2;
+
+        if (exponent === 0)
+        {
+            return sign * Math.pow(2, -14) * (fraction / 1024);
+        }
+
+        return (exponent === 0x1F) ? (fraction ? NaN : sign * Infinity) : sign * Math.pow(2, exponent - 15) * (1 + fraction / 1024);
+    }
+
+    function readItem()
+    {
+        const initialByte = view.getUint8(offset++);
+        const majorType = initialByte >> 5;
+        const additionalInfo = initialByte & 0x1F;
+
+        if (majorType === 7)
+        {
+            switch (additionalInfo)
+            {
+                case 20: return false;
+                case 21: return true;
+                case 22: return null;
+                case 23: return undefined;
+                case 25: return readHalfFloat();
+                case 26: offset += 4; return view.getFloat32(offset - 4);
+                case 27: offset += 8; return view.getFloat64(offset - 8);
+                default: throw new Error("Unsupported CBOR simple value " + additionalInfo);
+            }
+        }
+
+        const length = readLength(additionalInfo);
+
+        switch (majorType)
+        {
+            case 0:
+            {
+                return length;
+            }
+            case 1:
+            {
+                return -1 - length;
+            }
+            case 2:
+            {
+                return readBytes(length);
+            }
+            case 3:
+            {
+                return textDecoder.decode(readBytes(length));
+            }
+            case 4:
+            {
+                const array = [];
+
+                for (let i = 0; hasNext(length, i); i++)
+                {
+                    array.push(readItem());
+                }
+
+                return array;
+            }
+            case 5:
+            {
+                const map = {};
+
+                for (let i = 0; hasNext(length, i); i++)
+                {
+                    const key = readItem();
+                    map[key] = readItem();
+                }
+
+                return map;
+            }
+            default:
+            {
+                throw new Error("Unsupported CBOR major type " + majorType);
+            }
+        }
+    }
+
+    return readItem();
+}
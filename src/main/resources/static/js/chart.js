@@ -149,7 +149,7 @@ function chartInitialization()
                     }
                 }
             },
-            animation:
+            animation: lowPower ? false :
             {
                 duration: 150
             }
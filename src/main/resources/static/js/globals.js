@@ -20,6 +20,16 @@ let backgroundColor;
  */
 let enableFog;
 
+/**
+ * Used to determine if low power mode is on: no WebGL background, no chart animations
+ */
+let lowPower;
+
+/**
+ * Used to toggle low power mode in setup
+ */
+let lowPowerToggle;
+
 /**
  * Light theme square
  */
@@ -46,54 +56,59 @@ let port;
 let setupXHR;
 
 /**
- * Used for sending usage requests
+ * Used for sending snapshot requests
  */
-let usageXHR;
+let snapshotXHR;
 
 /**
- * Used for sending info requests
+ * Used to hold ETags of snapshot sections, which were already received
  */
-let infoXHR;
+let snapshotETags;
 
 /**
- * Used for sending uptime requests
+ * Used to hold last received usage, chart keeps ticking with it while usage does not change
  */
-let uptimeXHR;
+let lastUsage;
 
 /**
- * Used to hold values of processor usage
+ * Used to hold snapshot sections, which are waiting for next animation frame
  */
-let processorLabelsArray;
+let pendingSnapshot;
 
 /**
- * Used to hold value of clock speed
+ * Used to determine if animation frame for pending snapshot is already requested
  */
-let currentClockSpeed;
+let renderScheduled;
 
 /**
- * Used to hold values tens of processor usage
+ * Used to hold timeout of next snapshot request, null while polling is paused
  */
-let ramLabelsArray;
+let pollTimeout;
 
 /**
- * Used to hold value of processes count
+ * Used to collect frame and update times, when dashboard runs inside benchmark page
  */
-let currentProcCount;
+let benchmarkStats;
 
 /**
- * Used to hold values ones of processor usage
+ * Used to hold values of processor usage
  */
-let storageLabelsArray;
+let processorLabelsArray;
 
 /**
- * Used to hold values of total storage
+ * Used to hold elements with machine information, filled from snapshot
  */
-let currentTotalStorage
+let infoFields;
 
 /**
- * Used to hold values of disk count
+ * Used to hold values tens of processor usage
  */
-let currentDiskCount
+let ramLabelsArray;
+
+/**
+ * Used to hold values ones of processor usage
+ */
+let storageLabelsArray;
 
 /**
  * Used to manipulate processor triangle div
@@ -151,4 +166,7 @@ let chart;
 function globalsInitialization()
 {
     html = document.getElementById("html");
+
+    const lowPowerParameter = new URLSearchParams(window.location.search).get("lowPower");
+    lowPower = (lowPowerParameter !== null) ? (lowPowerParameter !== "false") : (html.getAttribute("lowPower") === "true");
 }
\ No newline at end of file
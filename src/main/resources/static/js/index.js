@@ -6,10 +6,7 @@ function indexInitialization()
 {
     showCards();
 
-    currentClockSpeed = document.getElementById("currentClockSpeed");
-    currentProcCount = document.getElementById("currentProcCount");
-    currentTotalStorage = document.getElementById("currentTotalStorage");
-    currentDiskCount = document.getElementById("currentDiskCount");
+    infoFields = document.querySelectorAll("[data-info]");
 
     cloudLeft = document.getElementById("cloud-left");
     cloudRight = document.getElementById("cloud-right");
@@ -19,11 +16,34 @@ function indexInitialization()
     minutes = document.getElementById("uptime-minutes");
     seconds = document.getElementById("uptime-seconds");
 
-    usageXHR = new XMLHttpRequest();
-    infoXHR = new XMLHttpRequest();
-    uptimeXHR = new XMLHttpRequest();
+    snapshotXHR = new XMLHttpRequest();
+    snapshotETags = {};
+    pendingSnapshot = {};
+    renderScheduled = false;
+    pollTimeout = null;
 
-    sendUsageRequest();
+    document.addEventListener("visibilitychange", changePolling);
+
+    if (new URLSearchParams(window.location.search).has("benchmark"))
+    {
+        startBenchmarkRecording();
+    }
+
+    if (new URLSearchParams(window.location.search).has("stats"))
+    {
+        statsInitialization();
+    }
+
+    if (new URLSearchParams(window.location.search).has("ward"))
+    {
+        jvmInitialization();
+    }
+
+    probesInitialization();
+
+    metricsInitialization();
+
+    sendSnapshotRequest();
 }
 
 /**
@@ -71,73 +91,161 @@ function getRandomSequenceArray()
 }
 
 /**
- * Sending ajax request to receive usage info
+ * Sending ajax request to receive usage, info and uptime in one response
+ * Sections which did not change since previous request are omitted by server
  */
-function sendUsageRequest()
+function sendSnapshotRequest()
 {
-    usageXHR.onreadystatechange = function()
+    pollTimeout = null;
+
+    snapshotXHR.onreadystatechange = function()
     {
-        if ((this.readyState === 4) && (this.status === 200))
+        if (this.readyState === 4)
         {
-            const response = JSON.parse(this.response);
+            if (this.status === 200)
+            {
+                const response = decodeCbor(this.response);
+
+                if (response.usage)
+                {
+                    lastUsage = response.usage;
+                }
+                if (response.info)
+                {
+                    pendingSnapshot.info = response.info;
+                }
+                if (response.uptime)
+                {
+                    pendingSnapshot.uptime = response.uptime;
+                }
 
-            labelsTick(response);
-            chartTick(response);
+                snapshotETags = response.etags;
+            }
+
+            if (lastUsage && ((this.status === 200) || (this.status === 304)))
+            {
+                pendingSnapshot.usage = lastUsage;
+                scheduleRender();
+            }
 
-            sendInfoRequest();
+            if (!document.hidden)
+            {
+                pollTimeout = setTimeout(sendSnapshotRequest, 1000);
+            }
         }
     }
 
-    usageXHR.open("GET", "/api/usage");
-    usageXHR.send();
+    snapshotXHR.open("GET", "/api/snapshot");
+    snapshotXHR.responseType = "arraybuffer";
+    snapshotXHR.setRequestHeader("Accept", "application/cbor");
+
+    const knownETags = Object.values(snapshotETags).map((eTag) => `"${eTag}"`);
+
+    if (knownETags.length > 0)
+    {
+        snapshotXHR.setRequestHeader("If-None-Match", knownETags.join(", "));
+    }
+
+    snapshotXHR.send();
 }
 
 /**
- * Sending ajax request to receive info about server
+ * Pauses polling while page is hidden and resumes it immediately, when page is shown again
  */
-function sendInfoRequest()
+function changePolling()
 {
-    infoXHR.onreadystatechange = function()
+    if (document.hidden)
     {
-        if ((this.readyState === 4) && (this.status === 200))
-        {
-            const response = JSON.parse(this.response);
+        clearTimeout(pollTimeout);
+        pollTimeout = null;
+    }
+    else if ((pollTimeout === null) && ((snapshotXHR.readyState === 0) || (snapshotXHR.readyState === 4)))
+    {
+        sendSnapshotRequest();
+    }
+}
+
+/**
+ * Requests one animation frame for all pending updates of a tick
+ */
+function scheduleRender()
+{
+    if (!renderScheduled)
+    {
+        renderScheduled = true;
+        requestAnimationFrame(renderSnapshot);
+    }
+}
 
-            currentClockSpeed.innerHTML = response.processor.clockSpeed;
-            currentProcCount.innerHTML = response.machine.procCount;
-            currentTotalStorage.innerHTML = response.storage.total;
-            currentDiskCount.innerHTML = response.storage.diskCount;
+/**
+ * Writes pending snapshot to page, all dom changes of a tick happen in this frame
+ */
+function renderSnapshot()
+{
+    const start = performance.now();
+
+    renderScheduled = false;
+
+    if (pendingSnapshot.info)
+    {
+        for (const field of infoFields)
+        {
+            const value = field.dataset.info.split(".").reduce((section, key) => section?.[key], pendingSnapshot.info);
 
-            sendUptimeRequest();
+            if ((value !== undefined) && (value !== null) && (field.textContent !== value))
+            {
+                field.textContent = value;
+            }
         }
     }
+    if (pendingSnapshot.uptime)
+    {
+        days.innerHTML = pendingSnapshot.uptime.days;
+        hours.innerHTML = pendingSnapshot.uptime.hours;
+        minutes.innerHTML = pendingSnapshot.uptime.minutes;
+        seconds.innerHTML = pendingSnapshot.uptime.seconds;
+    }
+    if (pendingSnapshot.usage)
+    {
+        labelsTick(pendingSnapshot.usage);
+        chartTick(pendingSnapshot.usage);
+    }
 
-    infoXHR.open("GET", "/api/info");
-    infoXHR.send();
+    pendingSnapshot = {};
+
+    if (benchmarkStats)
+    {
+        benchmarkStats.updates.push(performance.now() - start);
+    }
 }
 
 /**
- * Sending ajax request to receive server uptime
+ * Records frame intervals and update times, and reports them to benchmark page every second
  */
-function sendUptimeRequest()
+function startBenchmarkRecording()
 {
-    infoXHR.onreadystatechange = function()
+    benchmarkStats = {frames: [], updates: [], lastFrame: null};
+
+    const recordFrame = (timestamp) =>
     {
-        if ((this.readyState === 4) && (this.status === 200))
+        if (benchmarkStats.lastFrame !== null)
         {
-            const response = JSON.parse(this.response);
+            benchmarkStats.frames.push(timestamp - benchmarkStats.lastFrame);
+        }
 
-            days.innerHTML = response.days;
-            hours.innerHTML = response.hours;
-            minutes.innerHTML = response.minutes;
-            seconds.innerHTML = response.seconds;
+        benchmarkStats.lastFrame = timestamp;
+        requestAnimationFrame(recordFrame);
+    };
 
-            sendUsageRequest()
-        }
-    }
+    requestAnimationFrame(recordFrame);
+
+    setInterval(() =>
+    {
+        window.parent.postMessage({type: "ward-benchmark", lowPower: lowPower, frames: benchmarkStats.frames, updates: benchmarkStats.updates}, window.location.origin);
 
-    infoXHR.open("GET", "/api/uptime");
-    infoXHR.send();
+        benchmarkStats.frames = [];
+        benchmarkStats.updates = [];
+    }, 1000);
 }
 
 /**
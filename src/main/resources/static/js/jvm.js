@@ -0,0 +1,71 @@
+/**
+ * Used to request resources used by Ward itself
+ */
+let jvmXHR;
+
+/**
+ * Shows Ward card and starts refreshing it every two seconds
+ */
+function jvmInitialization()
+{
+    document.getElementById("ward-column").hidden = false;
+
+    jvmXHR = new XMLHttpRequest();
+
+    sendJvmRequest();
+}
+
+/**
+ * Sending ajax request to receive heap, GC and thread information
+ */
+function sendJvmRequest()
+{
+    jvmXHR.onreadystatechange = function()
+    {
+        if (this.readyState === 4)
+        {
+            if (this.status === 200)
+            {
+                renderJvm(JSON.parse(this.response));
+            }
+
+            if (!document.hidden)
+            {
+                setTimeout(sendJvmRequest, 2000);
+            }
+            else
+            {
+                document.addEventListener("visibilitychange", sendJvmRequest, {once: true});
+            }
+        }
+    }
+
+    jvmXHR.open("GET", "/api/jvm");
+    jvmXHR.send();
+}
+
+/**
+ * Writes values to Ward card
+ *
+ * @param {*} jvm resources used by Ward
+ */
+function renderJvm(jvm)
+{
+    document.getElementById("ward-java").textContent = "Java " + jvm.javaVersion;
+    document.getElementById("ward-heap").textContent = formatMebibytes(jvm.heapUsed) + " / " + formatMebibytes((jvm.heapMax > 0) ? jvm.heapMax : jvm.heapCommitted);
+    document.getElementById("ward-rss").textContent = formatMebibytes(jvm.rss);
+    document.getElementById("ward-gc").textContent = (jvm.gcPauses.p50 / 1000).toFixed(1) + " / " + (jvm.gcPauses.p99 / 1000).toFixed(1) + " ms";
+    document.getElementById("ward-threads").textContent = jvm.platformThreads + " / " + jvm.mountedVirtualThreads + " / " + jvm.queuedVirtualThreads;
+    document.getElementById("ward-pinned").textContent = jvm.pinnedEvents;
+    document.getElementById("ward-pinned-frame").textContent = jvm.lastPinnedFrame ? "PINNED AT " + jvm.lastPinnedFrame : "PINNED";
+}
+
+/**
+ * Converts bytes to mebibytes
+ *
+ * @param {*} bytes value in bytes
+ */
+function formatMebibytes(bytes)
+{
+    return Math.round(bytes / 1048576) + " MiB";
+}
@@ -0,0 +1,141 @@
+/**
+ * Used to request custom metrics
+ */
+let metricsXHR;
+
+/**
+ * Milliseconds between requests, while any source publishes metrics
+ */
+const METRICS_DELAY = 5000;
+
+/**
+ * Milliseconds between requests, while no source publishes metrics, plugins and metric files may appear later
+ */
+const METRICS_IDLE_DELAY = 30000;
+
+/**
+ * Requests custom metrics, shows their tiles and keeps refreshing them, slower while no source publishes metrics
+ */
+function metricsInitialization()
+{
+    metricsXHR = new XMLHttpRequest();
+
+    sendMetricsRequest();
+}
+
+/**
+ * Sending ajax request to receive custom metrics
+ */
+function sendMetricsRequest()
+{
+    metricsXHR.onreadystatechange = function()
+    {
+        if (this.readyState === 4)
+        {
+            // Failed request, for example while Ward restarts, is retried, so tiles do not freeze
+            if (this.status !== 200)
+            {
+                scheduleMetricsRequest(METRICS_DELAY);
+                return;
+            }
+
+            const metrics = JSON.parse(this.response);
+
+            if (metrics.sources.length === 0)
+            {
+                document.getElementById("metrics-column").hidden = true;
+                scheduleMetricsRequest(METRICS_IDLE_DELAY);
+                return;
+            }
+
+            renderMetrics(metrics.sources);
+            scheduleMetricsRequest(METRICS_DELAY);
+        }
+    }
+
+    metricsXHR.open("GET", "/api/metrics");
+    metricsXHR.send();
+}
+
+/**
+ * Schedules next request, or waits until page is visible again
+ *
+ * @param {*} delay milliseconds until next request
+ */
+function scheduleMetricsRequest(delay)
+{
+    if (!document.hidden)
+    {
+        setTimeout(sendMetricsRequest, delay);
+    }
+    else
+    {
+        document.addEventListener("visibilitychange", sendMetricsRequest, {once: true});
+    }
+}
+
+/**
+ * Replaces tiles with one tile per metric, failed source gets one tile with its error
+ *
+ * @param {*} sources metrics and health of every source
+ */
+function renderMetrics(sources)
+{
+    const tiles = [];
+
+    for (const source of sources)
+    {
+        if (source.error)
+        {
+            tiles.push(createMetricTile("FAILED", source.name, source.error, false));
+        }
+
+        for (const metric of source.metrics)
+        {
+            const labels = Object.entries(metric.labels).map(([name, value]) => name + "=" + value).join(", ");
+            const label = metric.name + (labels ? " {" + labels + "}" : "");
+
+            tiles.push(createMetricTile(formatMetricValue(metric.value), label, source.name, true));
+        }
+    }
+
+    document.getElementById("metrics-tiles").replaceChildren(...tiles);
+    document.getElementById("metrics-column").hidden = false;
+}
+
+/**
+ * Creates one tile
+ *
+ * @param {*} value text shown large
+ * @param {*} label text shown under value
+ * @param {*} title text shown on hover
+ * @param {*} healthy false to mark tile as failed
+ */
+function createMetricTile(value, label, title, healthy)
+{
+    const tile = document.createElement("div");
+    tile.className = "status-tile " + (healthy ? "status-up" : "status-down");
+    tile.title = title;
+
+    const valueElement = document.createElement("div");
+    valueElement.className = "ward-value";
+    valueElement.textContent = value;
+
+    const labelElement = document.createElement("div");
+    labelElement.className = "hw-name";
+    labelElement.textContent = label.toUpperCase();
+
+    tile.append(valueElement, labelElement);
+
+    return tile;
+}
+
+/**
+ * Shortens value to at most three decimals
+ *
+ * @param {*} value metric value
+ */
+function formatMetricValue(value)
+{
+    return Number.isInteger(value) ? String(value) : String(Math.round(value * 1000) / 1000);
+}
@@ -0,0 +1,100 @@
+/**
+ * Used to request health of probed services
+ */
+let probesXHR;
+
+/**
+ * Milliseconds between requests, taken from probe interval of last response
+ */
+let probesDelay = 2000;
+
+/**
+ * Requests probed services once, shows their tiles and keeps refreshing them, if any service is probed
+ */
+function probesInitialization()
+{
+    probesXHR = new XMLHttpRequest();
+
+    sendProbesRequest();
+}
+
+/**
+ * Sending ajax request to receive result of last probe round
+ */
+function sendProbesRequest()
+{
+    probesXHR.onreadystatechange = function()
+    {
+        if (this.readyState === 4)
+        {
+            // Failed request, for example while Ward restarts, is retried, so tiles do not freeze
+            if (this.status !== 200)
+            {
+                scheduleProbesRequest();
+                return;
+            }
+
+            const probes = JSON.parse(this.response);
+
+            if (probes.probes.length === 0)
+            {
+                return;
+            }
+
+            renderProbes(probes.probes);
+
+            // Results change only once per round, polling faster would only repeat them
+            probesDelay = Math.max(2, probes.interval) * 1000;
+            scheduleProbesRequest();
+        }
+    }
+
+    probesXHR.open("GET", "/api/probes");
+    probesXHR.send();
+}
+
+/**
+ * Schedules next request, or waits until page is visible again
+ */
+function scheduleProbesRequest()
+{
+    if (!document.hidden)
+    {
+        setTimeout(sendProbesRequest, probesDelay);
+    }
+    else
+    {
+        document.addEventListener("visibilitychange", sendProbesRequest, {once: true});
+    }
+}
+
+/**
+ * Replaces tiles with status of every probed service
+ *
+ * @param {*} probes status, latency and history of every service
+ */
+function renderProbes(probes)
+{
+    const tiles = [];
+
+    for (const probe of probes)
+    {
+        const tile = document.createElement("div");
+        tile.className = "status-tile " + (probe.up ? "status-up" : "status-down");
+        tile.title = probe.target + (probe.message ? "\n" + probe.message : "");
+
+        const value = document.createElement("div");
+        value.className = "ward-value";
+        value.textContent = probe.up ? probe.latency.toFixed(1) + " ms" : "DOWN";
+
+        const name = document.createElement("div");
+        name.className = "hw-name";
+        name.textContent = probe.name.toUpperCase() + "  P99 " + probe.p99.toFixed(1) + " ms  " + Math.round(probe.availability * 100) + "%";
+
+        tile.append(value, name);
+        tiles.push(tile);
+    }
+
+    document.getElementById("probes-tiles").replaceChildren(...tiles);
+    document.getElementById("probes-column").hidden = false;
+}
@@ -17,6 +17,7 @@ function setupInitialization()
     port = document.getElementById("port");
     enableFog = document.getElementById("fog-toggle");
     backgroundColor = document.getElementById("color-selector");
+    lowPowerToggle = document.getElementById("low-power-toggle");
 
     setupXHR = new XMLHttpRequest();
 
@@ -25,6 +26,7 @@ function setupInitialization()
     submit.addEventListener("click", function(event) {sendSetupRequest(event.target || event.srcElement)});
     enableFog.addEventListener("change", function(event) {toggleFog()});
     backgroundColor.addEventListener("input", function(event) {changeBackgroundColor()});
+    lowPowerToggle.addEventListener("change", function(event) {toggleLowPower()});
 }
 
 /**
@@ -120,7 +122,8 @@ function sendSetupRequest()
         theme: html.getAttribute("theme"),
         port: port.value,
         enableFog: String(enableFog.checked),
-        backgroundColor: backgroundColor.value
+        backgroundColor: backgroundColor.value,
+        lowPower: String(lowPowerToggle.checked)
     }
 
     setupXHR.send(JSON.stringify(data));
@@ -136,6 +139,15 @@ function toggleFog()
     backgroundColor.disabled = enableFog.checked;
 }
 
+/**
+ * Toggles low power mode, background is previewed as it will be shown
+ */
+function toggleLowPower()
+{
+    lowPower = lowPowerToggle.checked;
+    backgroundInitialization();
+}
+
 /**
  * Change background color
  */
@@ -0,0 +1,106 @@
+/**
+ * Used to show latency percentiles over dashboard
+ */
+let statsOverlay;
+
+/**
+ * Used to request latency percentiles
+ */
+let statsXHR;
+
+/**
+ * Adds overlay with latencies of Ward endpoints, collector steps and info sections, refreshed every two seconds
+ */
+function statsInitialization()
+{
+    statsOverlay = document.createElement("div");
+    statsOverlay.id = "stats-overlay";
+    document.body.appendChild(statsOverlay);
+
+    statsXHR = new XMLHttpRequest();
+
+    sendStatsRequest();
+}
+
+/**
+ * Sending ajax request to receive latency percentiles
+ */
+function sendStatsRequest()
+{
+    statsXHR.onreadystatechange = function()
+    {
+        if (this.readyState === 4)
+        {
+            if (this.status === 200)
+            {
+                renderStats(JSON.parse(this.response));
+            }
+
+            setTimeout(sendStatsRequest, 2000);
+        }
+    }
+
+    statsXHR.open("GET", "/api/internal/stats");
+    statsXHR.send();
+}
+
+/**
+ * Replaces overlay content with tables of endpoints, collector steps and info sections
+ *
+ * @param {*} stats latencies in microseconds, by endpoint and by collector step, and last probe of info sections in milliseconds
+ */
+function renderStats(stats)
+{
+    const table = document.createElement("table");
+
+    addStatsRows(table, "endpoint", stats.endpoints);
+    addStatsRows(table, "collector", stats.collectors);
+
+    if (stats.sections)
+    {
+        addStatsRow(table, "th", ["info section", "last ms"]);
+
+        for (const [name, duration] of Object.entries(stats.sections))
+        {
+            addStatsRow(table, "td", [name, duration]);
+        }
+    }
+
+    statsOverlay.replaceChildren(table);
+}
+
+/**
+ * Adds header and one row per histogram
+ *
+ * @param {*} table target table
+ * @param {*} title name of first column
+ * @param {*} latencies latencies by name
+ */
+function addStatsRows(table, title, latencies)
+{
+    addStatsRow(table, "th", [title, "count", "p50 µs", "p99 µs", "p999 µs", "max µs"]);
+
+    for (const [name, latency] of Object.entries(latencies))
+    {
+        addStatsRow(table, "td", [name, latency.count, latency.p50, latency.p99, latency.p999, latency.max]);
+    }
+}
+
+/**
+ * Adds one row of cells
+ *
+ * @param {*} table target table
+ * @param {*} tag cell tag
+ * @param {*} cells cell values
+ */
+function addStatsRow(table, tag, cells)
+{
+    const row = table.insertRow();
+
+    for (const cell of cells)
+    {
+        const element = document.createElement(tag);
+        element.textContent = cell;
+        row.appendChild(element);
+    }
+}
@@ -0,0 +1,232 @@
+package dev.leons.ward;
+
+import dev.leons.ward.components.HistoryComponent;
+import dev.leons.ward.components.ResponseCacheComponent;
+import dev.leons.ward.components.StatsComponent;
+import dev.leons.ward.components.UtilitiesComponent;
+import dev.leons.ward.controllers.InfoController;
+import dev.leons.ward.controllers.SnapshotController;
+import dev.leons.ward.controllers.UptimeController;
+import dev.leons.ward.controllers.UsageController;
+import dev.leons.ward.handlers.ControllerExceptionHandler;
+import dev.leons.ward.services.InfoService;
+import dev.leons.ward.services.SnapshotService;
+import dev.leons.ward.services.UptimeService;
+import dev.leons.ward.services.UsageService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Measures bytes allocated per call of hot paths and compares them with budgets in allocation-budgets.properties
+ * Every path is warmed up first, so the JIT has removed allocations it can, then averaged over many calls.
+ * Budgets hold only with JIT and without agents, so test is skipped in interpreter, under agents or without allocation counter
+ */
+public class AllocationBudgetTest {
+
+    private static final int WARMUP = 2_000;
+
+    private static final int ITERATIONS = 5_000;
+
+    private static final int ROUNDS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final Properties BUDGETS = loadBudgets();
+
+    private static boolean wasFirstLaunch;
+
+    private static UsageService usageService;
+
+    private static InfoService infoService;
+
+    private static UptimeService uptimeService;
+
+    private static MockMvc mockMvc;
+
+    private static long baseline;
+
+    @BeforeAll
+    static void setUp() {
+        List<String> arguments = ManagementFactory.getRuntimeMXBean().getInputArguments();
+        assumeFalse(arguments.contains("-Xint"), "Allocation budgets need the JIT");
+        assumeFalse(arguments.stream().anyMatch(argument -> argument.startsWith("-javaagent")), "Agents, such as coverage, add allocations");
+        assumeTrue(THREAD_MX_BEAN.isThreadAllocatedMemorySupported() && THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled(), "JVM does not count allocated bytes");
+
+        wasFirstLaunch = Ward.isFirstLaunch();
+        ReflectionTestUtils.setField(Ward.class, "isFirstLaunch", false);
+
+        FakeSystemInfo systemInfo = new FakeSystemInfo();
+        StatsComponent statsComponent = new StatsComponent();
+        ResponseCacheComponent responseCacheComponent = new ResponseCacheComponent();
+
+        usageService = new UsageService();
+        ReflectionTestUtils.setField(usageService, "systemInfo", systemInfo);
+        ReflectionTestUtils.setField(usageService, "statsComponent", statsComponent);
+
+        infoService = new InfoService();
+        ReflectionTestUtils.setField(infoService, "systemInfo", systemInfo);
+        ReflectionTestUtils.setField(infoService, "statsComponent", statsComponent);
+        ReflectionTestUtils.setField(infoService, "utilitiesComponent", new UtilitiesComponent());
+
+        uptimeService = new UptimeService();
+        ReflectionTestUtils.setField(uptimeService, "systemInfo", systemInfo);
+
+        SnapshotService snapshotService = new SnapshotService();
+        ReflectionTestUtils.setField(snapshotService, "usageService", usageService);
+        ReflectionTestUtils.setField(snapshotService, "infoService", infoService);
+        ReflectionTestUtils.setField(snapshotService, "uptimeService", uptimeService);
+        ReflectionTestUtils.setField(snapshotService, "historyComponent", new HistoryComponent());
+        snapshotService.sample();
+
+        Object[] controllers = {new UsageController(), new InfoController(), new UptimeController(), new SnapshotController()};
+        for (Object controller : controllers) {
+            ReflectionTestUtils.setField(controller, "snapshotService", snapshotService);
+            ReflectionTestUtils.setField(controller, "responseCacheComponent", responseCacheComponent);
+        }
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controllers[0], controllers[1], controllers[2], controllers[3], new BaselineController())
+                .setControllerAdvice(new ControllerExceptionHandler())
+                .build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        ReflectionTestUtils.setField(Ward.class, "isFirstLaunch", wasFirstLaunch);
+    }
+
+    @Test
+    void testUsageService() throws Exception {
+        assertWithinBudget("service.usage", measureCurrentThread(() -> usageService.getUsage(), WARMUP, ITERATIONS));
+    }
+
+    @Test
+    void testInfoService() throws Exception {
+        // Sections are collected on virtual threads, so whole JVM is measured, with fewer calls and best of several rounds
+        assertWithinBudget("service.info", measureAllThreads(() -> infoService.getInfo(), WARMUP / 10, ITERATIONS / 10));
+    }
+
+    @Test
+    void testUptimeService() throws Exception {
+        assertWithinBudget("service.uptime", measureCurrentThread(() -> uptimeService.getUptime(), WARMUP, ITERATIONS));
+    }
+
+    @Test
+    void testUsageController() throws Exception {
+        assertWithinBudget("controller.usage", measureController("/api/usage"));
+    }
+
+    @Test
+    void testInfoController() throws Exception {
+        assertWithinBudget("controller.info", measureController("/api/info"));
+    }
+
+    @Test
+    void testUptimeController() throws Exception {
+        assertWithinBudget("controller.uptime", measureController("/api/uptime"));
+    }
+
+    @Test
+    void testSnapshotController() throws Exception {
+        assertWithinBudget("controller.snapshot", measureController("/api/snapshot"));
+    }
+
+    private long measureController(String path) throws Exception {
+        // MockMvc allocates far more than controllers, its share is measured once with controller, which returns constant body
+        if (baseline == 0) {
+            baseline = measureCurrentThread(() -> mockMvc.perform(get(BaselineController.PATH)).andExpect(status().isOk()), WARMUP, ITERATIONS);
+        }
+
+        return measureCurrentThread(() -> mockMvc.perform(get(path)).andExpect(status().isOk()), WARMUP, ITERATIONS) - baseline;
+    }
+
+    private long measureCurrentThread(Call call, int warmup, int iterations) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            call.run();
+        }
+
+        long before = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+
+        for (int i = 0; i < iterations; i++) {
+            call.run();
+        }
+
+        return (THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - before) / iterations;
+    }
+
+    private long measureAllThreads(Call call, int warmup, int iterations) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            call.run();
+        }
+
+        // Other JVM threads, such as GC or JIT, only add to the count, so the lowest round is closest to the path itself
+        long lowest = Long.MAX_VALUE;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = THREAD_MX_BEAN.getTotalThreadAllocatedBytes();
+
+            for (int i = 0; i < iterations; i++) {
+                call.run();
+            }
+
+            lowest = Math.min(lowest, (THREAD_MX_BEAN.getTotalThreadAllocatedBytes() - before) / iterations);
+        }
+
+        return lowest;
+    }
+
+    private void assertWithinBudget(String key, long bytesPerCall) {
+        long budget = Long.parseLong(BUDGETS.getProperty(key));
+
+        assertTrue(bytesPerCall <= budget, key + " allocates " + bytesPerCall + " B per call, budget is " + budget + " B");
+    }
+
+    private static Properties loadBudgets() {
+        Properties properties = new Properties();
+
+        try (InputStream inputStream = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            properties.load(inputStream);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not read allocation budgets", exception);
+        }
+
+        return properties;
+    }
+
+    @RestController
+    static class BaselineController {
+
+        static final String PATH = "/api/baseline";
+
+        private static final byte[] BODY = "{\"processor\":10,\"ram\":20,\"storage\":30}".getBytes();
+
+        @GetMapping(PATH)
+        ResponseEntity<byte[]> getBaseline() {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(BODY);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,98 @@
+package dev.leons.ward;
+
+import dev.leons.ward.simulation.SimulatedSystemInfo;
+import oshi.SystemInfoFFM;
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.GlobalMemory;
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.hardware.VirtualMemory;
+import oshi.software.os.FileSystem;
+import oshi.software.os.OSFileStore;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Deterministic SystemInfoFFM, which returns the same values on every call
+ * Values are boxed once and returned by dynamic proxies, so the fake itself allocates nothing per call,
+ * unlike Mockito mocks, which record every invocation
+ */
+public class FakeSystemInfo extends SystemInfoFFM {
+
+    private final HardwareAbstractionLayer hardware;
+
+    private final OperatingSystem operatingSystem;
+
+    public FakeSystemInfo() {
+        CentralProcessor processor = fake(CentralProcessor.class, Map.of(
+                "getSystemCpuLoadTicks", new long[] {1_000, 0, 500, 8_000, 100, 0, 0, 0},
+                "getProcessorIdentifier", new CentralProcessor.ProcessorIdentifier("GenuineIntel", "Fake Processor @ 3.00GHz", "6", "158", "10", "BFEBFBFF000906EA", true),
+                "getLogicalProcessorCount", 8,
+                "getCurrentFreq", new long[] {3_000_000_000L, 3_000_000_000L, 3_000_000_000L, 3_000_000_000L}));
+
+        VirtualMemory virtualMemory = fake(VirtualMemory.class, Map.of(
+                "getSwapTotal", 2_147_483_648L));
+
+        GlobalMemory memory = fake(GlobalMemory.class, Map.of(
+                "getTotal", 17_179_869_184L,
+                "getAvailable", 8_589_934_592L,
+                "getPhysicalMemory", List.of(),
+                "getVirtualMemory", virtualMemory));
+
+        HWDiskStore diskStore = fake(HWDiskStore.class, Map.of(
+                "getModel", "Fake SSD (Standard disk drives)",
+                "getSize", 1_000_204_886_016L));
+
+        hardware = fake(HardwareAbstractionLayer.class, Map.of(
+                "getProcessor", processor,
+                "getMemory", memory,
+                "getDiskStores", List.of(diskStore)));
+
+        OSFileStore fileStore = fake(OSFileStore.class, Map.of(
+                "getTotalSpace", 1_000_000_000_000L,
+                "getFreeSpace", 400_000_000_000L));
+
+        FileSystem fileSystem = fake(FileSystem.class, Map.of(
+                "getFileStores", List.of(fileStore)));
+
+        OSProcess process = fake(OSProcess.class, Map.of(
+                "getResidentSetSize", 104_857_600L));
+
+        operatingSystem = fake(OperatingSystem.class, Map.of(
+                "getFileSystem", fileSystem,
+                "getVersionInfo", new OperatingSystem.OSVersionInfo("1.0", "Fake", "100"),
+                "getFamily", "FakeOS",
+                "getBitness", 64,
+                "getProcessCount", 123,
+                "getSystemUptime", 93_784L,
+                "getCurrentProcess", process));
+    }
+
+    @Override
+    public HardwareAbstractionLayer getHardware() {
+        return hardware;
+    }
+
+    @Override
+    public OperatingSystem getOperatingSystem() {
+        return operatingSystem;
+    }
+
+    /**
+     * Creates proxy, which returns the same value for every call of method, overloads share one value
+     *
+     * @param type interface to implement
+     * @param values return values by method name
+     * @return proxy, which throws UnsupportedOperationException for methods without value
+     */
+    private static <T> T fake(Class<T> type, Map<String, Object> values) {
+        Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        values.forEach((name, value) -> answers.put(name, args -> value));
+        return SimulatedSystemInfo.proxy(type, answers);
+    }
+}
@@ -7,6 +7,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.SpringApplication;
 import org.springframework.context.ConfigurableApplicationContext;
 
+import java.io.File;
+import java.io.IOException;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -34,6 +37,29 @@ public class WardTest {
         }
     }
     
+    @Test
+    void testConfiguredWardStartsOnce() throws IOException {
+        // Arrange
+        File setupFile = new File(Ward.SETUP_FILE_PATH);
+        assertTrue(setupFile.createNewFile());
+        ConfigurableApplicationContext mockContext = mock(ConfigurableApplicationContext.class);
+
+        try (MockedStatic<SpringApplication> springApplicationMock = mockStatic(SpringApplication.class)) {
+            springApplicationMock.when(() -> SpringApplication.run(eq(Ward.class), any(String[].class)))
+                    .thenReturn(mockContext);
+
+            // Act
+            Ward.main(new String[]{});
+
+            // Assert - no setup context is started and closed before the configured one
+            assertFalse(Ward.isFirstLaunch());
+            springApplicationMock.verify(() -> SpringApplication.run(eq(Ward.class), any(String[].class)), times(1));
+            verify(mockContext, never()).close();
+        } finally {
+            setupFile.delete();
+        }
+    }
+
     @Test
     void testConstants() {
         // Assert that constants have expected values
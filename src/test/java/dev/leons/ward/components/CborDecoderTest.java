@@ -0,0 +1,153 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.dto.InfoDto;
+import dev.leons.ward.dto.MachineDto;
+import dev.leons.ward.dto.ProcessorDto;
+import dev.leons.ward.dto.StorageDto;
+import dev.leons.ward.dto.UptimeDto;
+import dev.leons.ward.dto.UsageDto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Decodes real server CBOR with dashboard's cbor.js and compares it with json of the same payload
+ * Needs node on path, skipped without it
+ */
+public class CborDecoderTest {
+
+    private static final Path SCRIPT = Path.of("src/main/resources/static/js/cbor.js");
+
+    private static final String RUNNER = """
+            const fs = require("fs");
+            const decodeCbor = new Function(fs.readFileSync(process.argv[1], "utf8") + "; return decodeCbor;")();
+            const input = JSON.parse(fs.readFileSync(0, "utf8"));
+            const bytes = Buffer.from(input.cbor, "base64");
+            const decoded = JSON.stringify(decodeCbor(bytes.buffer.slice(bytes.byteOffset, bytes.byteOffset + bytes.length)));
+            const expected = JSON.stringify(JSON.parse(Buffer.from(input.json, "base64").toString("utf8")));
+            console.log(decoded === expected ? "equal" : decoded + " != " + expected);
+            """;
+
+    private final ResponseCacheComponent responseCacheComponent = new ResponseCacheComponent();
+
+    private final CBORMapper cborMapper = CBORMapper.builder().build();
+
+    @BeforeAll
+    static void requireNode() throws InterruptedException {
+        boolean available;
+        try {
+            available = new ProcessBuilder("node", "--version").redirectErrorStream(true).start().waitFor() == 0;
+        } catch (IOException exception) {
+            available = false;
+        }
+        assumeTrue(available, "node is not installed");
+    }
+
+    @Test
+    void testMapperOutputIsIndefiniteLength() {
+        // Act
+        byte[] cbor = cborMapper.writeValueAsBytes(createUsageDto());
+
+        // Assert - the case cbor.js has to support
+        assertEquals(0xBF, cbor[0] & 0xFF);
+        assertEquals(0xFF, cbor[cbor.length - 1] & 0xFF);
+    }
+
+    @Test
+    void testSectionsAreDecoded() throws Exception {
+        for (Object section : List.of(createUsageDto(), createInfoDto(), createUptimeDto())) {
+            // Act
+            ResponseCacheComponent.Entry entry = responseCacheComponent.getEncoded(section.getClass().getSimpleName(), section);
+
+            // Assert
+            assertEquals("equal", decode(entry.getCbor(), entry.getJson()), section.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void testSnapshotIsDecoded() throws Exception {
+        // Arrange
+        Map<String, ResponseCacheComponent.Entry> sections = new LinkedHashMap<>();
+        sections.put("usage", responseCacheComponent.getEncoded("usage", createUsageDto()));
+        sections.put("info", responseCacheComponent.getEncoded("info", createInfoDto()));
+        sections.put("uptime", responseCacheComponent.getEncoded("uptime", createUptimeDto()));
+
+        // Act
+        ResponseEntity<byte[]> json = responseCacheComponent.toSnapshotResponseEntity(sections, null, null);
+        ResponseEntity<byte[]> cbor = responseCacheComponent.toSnapshotResponseEntity(sections, "application/cbor", null);
+
+        // Assert
+        assertEquals("equal", decode(cbor.getBody(), json.getBody()));
+    }
+
+    private String decode(byte[] cbor, byte[] json) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder("node", "-e", RUNNER, SCRIPT.toAbsolutePath().toString()).redirectErrorStream(true).start();
+        String input = "{\"cbor\":\"" + Base64.getEncoder().encodeToString(cbor) + "\",\"json\":"
+                + "\"" + Base64.getEncoder().encodeToString(json) + "\"}";
+
+        try (OutputStream outputStream = process.getOutputStream()) {
+            outputStream.write(input.getBytes(StandardCharsets.UTF_8));
+        }
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).strip();
+        assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+        return output;
+    }
+
+    private UsageDto createUsageDto() {
+        UsageDto usageDto = new UsageDto();
+        usageDto.setProcessor(12);
+        usageDto.setRam(45);
+        usageDto.setStorage(78);
+        return usageDto;
+    }
+
+    private InfoDto createInfoDto() {
+        ProcessorDto processorDto = new ProcessorDto();
+        processorDto.setName("Intel Core i7-9750H");
+        processorDto.setCoreCount("6 Cores");
+        processorDto.setClockSpeed("2.59 GHz");
+        processorDto.setBitDepth("64-bit");
+
+        MachineDto machineDto = new MachineDto();
+        machineDto.setOperatingSystem("Windows 10 build 19045");
+        machineDto.setTotalRam("16 GiB RAM");
+        machineDto.setRamTypeOrOSBitDepth("64-bit");
+        machineDto.setProcCount("312 Procs");
+
+        StorageDto storageDto = new StorageDto();
+        storageDto.setMainStorage("Samsung SSD 970 EVO Plus");
+        storageDto.setTotal("1 TiB Total");
+        storageDto.setDiskCount("2 Disks");
+        storageDto.setSwapAmount("4 GiB Swap");
+
+        InfoDto infoDto = new InfoDto();
+        infoDto.setProcessor(processorDto);
+        infoDto.setMachine(machineDto);
+        infoDto.setStorage(storageDto);
+        infoDto.setStale(List.of("storage"));
+        return infoDto;
+    }
+
+    private UptimeDto createUptimeDto() {
+        UptimeDto uptimeDto = new UptimeDto();
+        uptimeDto.setDays("01");
+        uptimeDto.setHours("02");
+        uptimeDto.setMinutes("03");
+        uptimeDto.setSeconds("04");
+        return uptimeDto;
+    }
+}
@@ -0,0 +1,151 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.events.CollectionEvent;
+import dev.leons.ward.events.RequestEvent;
+import dev.leons.ward.exceptions.RecordingNotActiveException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FlightRecorderComponentTest {
+
+    private static final int ITERATIONS = 1_000_000;
+
+    @Mock
+    private UtilitiesComponent utilitiesComponent;
+
+    @InjectMocks
+    private FlightRecorderComponent flightRecorderComponent;
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        flightRecorderComponent.stop();
+    }
+
+    @Test
+    void testDumpContainsWardEvents() throws Exception {
+        // Arrange
+        flightRecorderComponent.start(16, 5, tempDir, 5);
+
+        CollectionEvent collectionEvent = new CollectionEvent();
+        collectionEvent.begin();
+        collectionEvent.finish("usage", () -> "processor=10 ram=20 storage=30");
+
+        RequestEvent requestEvent = new RequestEvent();
+        requestEvent.begin();
+        requestEvent.finish("GET", "/api/usage", 200);
+
+        // Act
+        Path file = flightRecorderComponent.dump(1);
+
+        // Assert
+        assertEquals(tempDir, file.getParent());
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent collection = events.stream().filter(event -> event.getEventType().getName().equals("dev.leons.ward.Collection")).findFirst().orElseThrow();
+        RecordedEvent request = events.stream().filter(event -> event.getEventType().getName().equals("dev.leons.ward.Request")).findFirst().orElseThrow();
+
+        assertEquals("usage", collection.getString("section"));
+        assertEquals("processor=10 ram=20 storage=30", collection.getString("values"));
+        assertEquals("/api/usage", request.getString("path"));
+        assertEquals(200, request.getInt("status"));
+    }
+
+    @Test
+    void testDumpsOfSameSecondAreKeptApartAndOldOnesDeleted() throws Exception {
+        // Arrange
+        flightRecorderComponent.stop();
+        flightRecorderComponent.start(16, 5, tempDir, 2);
+        emitEvent(1);
+
+        // Act
+        Path first = flightRecorderComponent.dump(1);
+        Path second = flightRecorderComponent.dump(1);
+        Path third = flightRecorderComponent.dump(1);
+
+        // Assert
+        assertNotEquals(first, second);
+        assertNotEquals(second, third);
+        assertFalse(Files.exists(first));
+        assertTrue(Files.exists(second));
+        assertTrue(Files.exists(third));
+    }
+
+    @Test
+    void testDumpIsAllowedOnlyForLoopbackOrToken() {
+        // Act & Assert - without token option, loopback clients must still send header, which other sites can not send
+        assertTrue(flightRecorderComponent.isAllowed("127.0.0.1", ""));
+        assertTrue(flightRecorderComponent.isAllowed("0:0:0:0:0:0:0:1", "any"));
+        assertFalse(flightRecorderComponent.isAllowed("127.0.0.1", null));
+        assertFalse(flightRecorderComponent.isAllowed("192.168.1.20", "any"));
+
+        ReflectionTestUtils.setField(flightRecorderComponent, "token", "secret");
+
+        assertTrue(flightRecorderComponent.isAllowed("192.168.1.20", "secret"));
+        assertFalse(flightRecorderComponent.isAllowed("127.0.0.1", "any"));
+        assertFalse(flightRecorderComponent.isAllowed("192.168.1.20", null));
+    }
+
+    @Test
+    void testDumpWithoutRecording() {
+        // Act & Assert
+        assertFalse(flightRecorderComponent.isActive());
+        assertThrows(RecordingNotActiveException.class, () -> flightRecorderComponent.dump(5));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testEventOverhead() throws Exception {
+        // Arrange - events cost only their timestamps, while recording is off
+        long disabled = measureEvents();
+
+        flightRecorderComponent.start(16, 5, tempDir, 5);
+
+        // Act
+        long enabled = measureEvents();
+
+        // Assert - runs with -Pbenchmark, which shows printed timings
+        System.out.printf("collection event: %.1f ns while recording is off, %.1f ns while recording%n",
+                (double) disabled / ITERATIONS, (double) enabled / ITERATIONS);
+
+        assertTrue(flightRecorderComponent.isActive());
+    }
+
+    private long measureEvents() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            emitEvent(i);
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            emitEvent(i);
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    private void emitEvent(int value) {
+        CollectionEvent event = new CollectionEvent();
+        event.begin();
+        event.finish("usage", () -> "processor=" + value);
+    }
+}
@@ -0,0 +1,85 @@
+package dev.leons.ward.components;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    void testBucketsCoverValues() {
+        // Arrange
+        long[] values = {0, 1, 31, 32, 63, 64, 65, 1_000, 123_456, 987_654_321L};
+
+        for (long value : values) {
+            // Act
+            int index = LatencyHistogram.getIndex(value);
+
+            // Assert - value lies in its bucket, and next bucket starts above it
+            assertTrue(LatencyHistogram.getLowerBound(index) <= value);
+            assertTrue(LatencyHistogram.getLowerBound(index + 1) > value);
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act - 1 µs to 1 ms, uniformly
+        for (long micros = 1; micros <= 1_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+
+        // Assert
+        assertEquals(1_000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_000, histogram.getValueAtPercentile(0.5), 500_000 * 0.035);
+        assertEquals(990_000, histogram.getValueAtPercentile(0.99), 990_000 * 0.035);
+        assertEquals(999_000, histogram.getValueAtPercentile(0.999), 999_000 * 0.035);
+    }
+
+    @Test
+    void testEmptyAndOutOfRangeValues() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act & Assert
+        assertEquals(0, histogram.getValueAtPercentile(0.99));
+
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(0.5));
+        assertTrue(histogram.getValueAtPercentile(1) > 0);
+    }
+
+    @Test
+    void testRecordingDoesNotAllocate() {
+        // Arrange
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            histogram.record(i);
+        }
+
+        // Act
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            histogram.record(i);
+        }
+
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        // Assert
+        assertEquals(2L * ITERATIONS, histogram.getCount());
+        assertTrue(allocated < 1_024);
+    }
+}
@@ -0,0 +1,150 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.dto.UsageDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheComponentTest {
+
+    private final ResponseCacheComponent responseCacheComponent = new ResponseCacheComponent();
+
+    @Test
+    void testSameSampleIsEncodedOnce() {
+        // Arrange
+        UsageDto usageDto = createUsageDto(10, 20, 30);
+
+        // Act
+        ResponseCacheComponent.Entry first = responseCacheComponent.getEncoded("usage", usageDto);
+        ResponseCacheComponent.Entry second = responseCacheComponent.getEncoded("usage", usageDto);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("{\"processor\":10,\"ram\":20,\"storage\":30}", new String(first.getJson()));
+    }
+
+    @Test
+    void testETagDependsOnContent() {
+        // Arrange & Act
+        ResponseCacheComponent.Entry first = responseCacheComponent.getEncoded("usage", createUsageDto(10, 20, 30));
+        ResponseCacheComponent.Entry same = responseCacheComponent.getEncoded("usage", createUsageDto(10, 20, 30));
+        ResponseCacheComponent.Entry changed = responseCacheComponent.getEncoded("usage", createUsageDto(11, 20, 30));
+
+        // Assert
+        assertNotSame(first, same);
+        assertEquals(first.getETag(), same.getETag());
+        assertNotEquals(first.getETag(), changed.getETag());
+        assertTrue(first.getETag().startsWith("\"") && first.getETag().endsWith("\""));
+    }
+
+    @Test
+    void testGzipVariant() throws IOException {
+        // Arrange
+        ResponseCacheComponent.Entry entry = responseCacheComponent.getEncoded("usage", createUsageDto(1, 2, 3));
+
+        // Act
+        ResponseEntity<byte[]> gzipResponse = responseCacheComponent.toResponseEntity(entry, null, "br;q=1.0, gzip;q=0.8");
+        ResponseEntity<byte[]> refusedResponse = responseCacheComponent.toResponseEntity(entry, "*/*", "gzip;q=0, identity");
+        ResponseEntity<byte[]> plainResponse = responseCacheComponent.toResponseEntity(entry, null, null);
+
+        // Assert
+        assertEquals("gzip", gzipResponse.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(gzipResponse.getBody()))) {
+            assertArrayEquals(entry.getJson(), gzipInputStream.readAllBytes());
+        }
+        assertNull(refusedResponse.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertSame(entry.getJson(), plainResponse.getBody());
+        assertEquals(entry.getETag(), plainResponse.getHeaders().getETag());
+        assertEquals(entry.getGzipETag(), gzipResponse.getHeaders().getETag());
+        assertEquals("no-cache", plainResponse.getHeaders().getCacheControl());
+        assertNotEquals(entry.getETag(), entry.getGzipETag());
+    }
+
+    @Test
+    void testEncodingCountDoesNotGrowWithClientCount() throws Exception {
+        // Arrange - 10 samples, each one read by 50 concurrent clients
+        int samples = 10;
+        int clients = 50;
+        Set<ResponseCacheComponent.Entry> entries = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < samples; i++) {
+                UsageDto sample = createUsageDto(i, i, i);
+                List<Future<?>> futures = new ArrayList<>();
+
+                for (int k = 0; k < clients; k++) {
+                    futures.add(executorService.submit(() -> entries.add(responseCacheComponent.getEncoded("usage", sample))));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+        }
+
+        // Assert - one encoded entry per sample, regardless of client count
+        assertEquals(samples, entries.size());
+    }
+
+    @Test
+    void testCborNegotiation() {
+        // Arrange
+        ResponseCacheComponent.Entry entry = responseCacheComponent.getEncoded("usage", createUsageDto(1, 2, 3));
+
+        // Act
+        ResponseEntity<byte[]> cborResponse = responseCacheComponent.toResponseEntity(entry, "application/cbor", "gzip");
+        ResponseEntity<byte[]> jsonPreferredResponse = responseCacheComponent.toResponseEntity(entry, "application/json, application/cbor;q=0.5", null);
+        ResponseEntity<byte[]> wildcardResponse = responseCacheComponent.toResponseEntity(entry, "*/*", null);
+
+        // Assert
+        assertEquals(ResponseCacheComponent.APPLICATION_CBOR, cborResponse.getHeaders().getContentType());
+        assertSame(entry.getCbor(), cborResponse.getBody());
+        assertEquals(entry.getCborETag(), cborResponse.getHeaders().getETag());
+        assertNull(cborResponse.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertSame(entry.getJson(), jsonPreferredResponse.getBody());
+        assertSame(entry.getJson(), wildcardResponse.getBody());
+        assertTrue(entry.getCbor().length < entry.getJson().length);
+    }
+
+    @Test
+    void testCborSnapshotMatchesJsonSnapshot() {
+        // Arrange
+        Map<String, ResponseCacheComponent.Entry> sections = new LinkedHashMap<>();
+        sections.put("usage", responseCacheComponent.getEncoded("usage", createUsageDto(1, 2, 3)));
+        sections.put("other", responseCacheComponent.getEncoded("other", createUsageDto(4, 5, 6)));
+        String knownETag = sections.get("other").getETag();
+
+        // Act
+        ResponseEntity<byte[]> jsonResponse = responseCacheComponent.toSnapshotResponseEntity(sections, null, knownETag);
+        ResponseEntity<byte[]> cborResponse = responseCacheComponent.toSnapshotResponseEntity(sections, "application/cbor", knownETag);
+
+        // Assert
+        assertEquals(JsonMapper.builder().build().readTree(jsonResponse.getBody()), CBORMapper.builder().build().readTree(cborResponse.getBody()));
+        assertEquals(ResponseCacheComponent.APPLICATION_CBOR, cborResponse.getHeaders().getContentType());
+    }
+
+    private UsageDto createUsageDto(int processor, int ram, int storage) {
+        UsageDto usageDto = new UsageDto();
+        usageDto.setProcessor(processor);
+        usageDto.setRam(ram);
+        usageDto.setStorage(storage);
+        return usageDto;
+    }
+}
@@ -0,0 +1,43 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.dto.StatsDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatsComponentTest {
+
+    private final StatsComponent statsComponent = new StatsComponent();
+
+    @Test
+    void testOnlyKnownEndpointsAreTimed() throws Exception {
+        // Act
+        statsComponent.doFilter(new MockHttpServletRequest("GET", "/api/usage"), new MockHttpServletResponse(), new MockFilterChain());
+        statsComponent.doFilter(new MockHttpServletRequest("GET", "/api/usage"), new MockHttpServletResponse(), new MockFilterChain());
+        statsComponent.doFilter(new MockHttpServletRequest("GET", "/css/ward.css"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        StatsDto stats = statsComponent.getStats();
+        assertEquals(StatsComponent.ENDPOINTS, stats.getEndpoints().keySet().stream().toList());
+        assertEquals(2, stats.getEndpoints().get("/api/usage").getCount());
+        assertEquals(0, stats.getEndpoints().get("/api/info").getCount());
+    }
+
+    @Test
+    void testCollectorPercentilesInMicroseconds() {
+        // Act
+        for (int i = 0; i < 100; i++) {
+            statsComponent.record(StatsComponent.Collector.DISK_STORES, 2_000_000);
+        }
+
+        // Assert
+        StatsDto stats = statsComponent.getStats();
+        assertEquals(100, stats.getCollectors().get("disk.stores").getCount());
+        assertEquals(2_000, stats.getCollectors().get("disk.stores").getP99(), 2_000 * 0.035);
+        assertEquals(2_000, stats.getCollectors().get("disk.stores").getMax());
+        assertEquals(0, stats.getCollectors().get("cpu.ticks").getCount());
+    }
+}
@@ -0,0 +1,210 @@
+package dev.leons.ward.components;
+
+import com.sun.net.httpserver.HttpServer;
+import dev.leons.ward.dto.UsageDto;
+import dev.leons.ward.exceptions.UnknownFieldException;
+import dev.leons.ward.services.SnapshotService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.URI;
+import java.net.UnixDomainSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+public class UnixSocketComponentTest {
+
+    private static final int ITERATIONS = 2_000;
+
+    @Mock
+    private SnapshotService snapshotService;
+
+    @Mock
+    private UtilitiesComponent utilitiesComponent;
+
+    @Spy
+    private ResponseCacheComponent responseCacheComponent = new ResponseCacheComponent();
+
+    @InjectMocks
+    private UnixSocketComponent unixSocketComponent;
+
+    @TempDir
+    Path tempDir;
+
+    private Path socketPath;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UsageDto usageDto = new UsageDto();
+        usageDto.setProcessor(5);
+        usageDto.setRam(50);
+        usageDto.setStorage(75);
+
+        lenient().when(snapshotService.getSection("usage")).thenReturn(usageDto);
+        lenient().when(snapshotService.getSection("cpu")).thenThrow(new UnknownFieldException("cpu"));
+        lenient().when(snapshotService.parseFields(any())).thenReturn(List.of("usage"));
+
+        socketPath = tempDir.resolve("ward.sock");
+    }
+
+    @AfterEach
+    void tearDown() {
+        unixSocketComponent.stop();
+    }
+
+    @Test
+    void testRequestsOverSocket() throws IOException {
+        // Arrange
+        unixSocketComponent.start(socketPath, UnixSocketComponent.DEFAULT_PERMISSIONS);
+
+        try (SocketChannel socketChannel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(socketChannel), StandardCharsets.UTF_8));
+
+            // Act & Assert - several requests over one connection
+            assertEquals("{\"processor\":5,\"ram\":50,\"storage\":75}", request(socketChannel, reader, "usage"));
+            assertTrue(request(socketChannel, reader, "snapshot usage").startsWith("{\"usage\":{\"processor\":5"));
+            assertTrue(request(socketChannel, reader, "cpu").contains("Unknown field: cpu"));
+        }
+    }
+
+    @Test
+    void testSocketPermissions() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+
+        // Act
+        unixSocketComponent.start(socketPath, "rw-------");
+
+        // Assert
+        assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(socketPath));
+    }
+
+    @Test
+    void testPrivateBindDirectoryIsRemoved() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+
+        // Act
+        unixSocketComponent.start(socketPath, "rw-------");
+
+        // Assert
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of(socketPath), files.toList());
+        }
+    }
+
+    @Test
+    void testStopRemovesSocketFile() throws IOException {
+        // Arrange
+        unixSocketComponent.start(socketPath, UnixSocketComponent.DEFAULT_PERMISSIONS);
+
+        // Act
+        unixSocketComponent.stop();
+
+        // Assert
+        assertFalse(Files.exists(socketPath));
+    }
+
+    @Test
+    void testRegularFileIsNotReplaced() throws IOException {
+        // Arrange
+        Files.writeString(socketPath, "important");
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> unixSocketComponent.start(socketPath, UnixSocketComponent.DEFAULT_PERMISSIONS));
+        assertEquals("important", Files.readString(socketPath));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testCompareWithHttpOverLoopback() throws Exception {
+        // Arrange - http server answers with the same cached bytes, so only transport cost differs
+        unixSocketComponent.start(socketPath, UnixSocketComponent.DEFAULT_PERMISSIONS);
+        byte[] body = responseCacheComponent.getEncoded("usage", snapshotService.getSection("usage")).getJson();
+
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        httpServer.createContext("/api/usage", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        httpServer.start();
+
+        try (HttpClient httpClient = HttpClient.newHttpClient()) {
+            URI uri = URI.create("http://127.0.0.1:" + httpServer.getAddress().getPort() + "/api/usage");
+            HttpRequest httpRequest = HttpRequest.newBuilder(uri).header("Connection", "close").build();
+
+            // Act - every read opens a new connection, as polling scripts do
+            long socketNanos = measure(() -> {
+                try (SocketChannel socketChannel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+                    socketChannel.connect(UnixDomainSocketAddress.of(socketPath));
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(socketChannel), StandardCharsets.UTF_8));
+                    return request(socketChannel, reader, "usage").length();
+                }
+            });
+            long httpNanos = measure(() -> httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString()).body().length());
+
+            // Assert - runs with -Pbenchmark, which shows printed timings
+            System.out.printf("unix socket: %d us/request, http over loopback: %d us/request%n", socketNanos / 1000, httpNanos / 1000);
+            assertTrue(socketNanos > 0 && httpNanos > 0);
+        } finally {
+            httpServer.stop(0);
+        }
+    }
+
+    private long measure(Request request) throws Exception {
+        long sink = 0;
+
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            sink += request.call();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += request.call();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(sink > 0);
+        return elapsed / ITERATIONS;
+    }
+
+    private String request(SocketChannel socketChannel, BufferedReader reader, String line) throws IOException {
+        socketChannel.write(ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8)));
+        return reader.readLine();
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        int call() throws Exception;
+    }
+}
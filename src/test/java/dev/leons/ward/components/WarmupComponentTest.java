@@ -0,0 +1,75 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.services.SnapshotService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WarmupComponentTest {
+
+    @Mock
+    private SnapshotService snapshotService;
+
+    @InjectMocks
+    private WarmupComponent warmupComponent;
+
+    @Test
+    void testSetupModeDoesNotTouchHardware() {
+        try (MockedStatic<Ward> wardMockedStatic = mockStatic(Ward.class)) {
+            // Arrange
+            wardMockedStatic.when(Ward::isFirstLaunch).thenReturn(true);
+
+            // Act
+            warmupComponent.onApplicationReady();
+
+            // Assert
+            verifyNoInteractions(snapshotService);
+        }
+    }
+
+    @Test
+    void testConfiguredApplicationIsWarmedUpInBackground() throws Exception {
+        try (MockedStatic<Ward> wardMockedStatic = mockStatic(Ward.class)) {
+            // Arrange
+            wardMockedStatic.when(Ward::isFirstLaunch).thenReturn(false);
+
+            // Act
+            warmupComponent.onApplicationReady();
+
+            // Assert
+            verify(snapshotService, timeout(5000)).getUsage();
+        }
+    }
+
+    @Test
+    void testInfoIsSampledFirst() throws Exception {
+        // Act
+        warmupComponent.warmUp();
+
+        // Assert
+        InOrder inOrder = inOrder(snapshotService);
+        inOrder.verify(snapshotService).getInfo();
+        inOrder.verify(snapshotService).getUptime();
+        inOrder.verify(snapshotService).getUsage();
+    }
+
+    @Test
+    void testFailedProbeDoesNotEscape() throws Exception {
+        // Arrange
+        when(snapshotService.getInfo()).thenThrow(new IllegalStateException("probe failed"));
+
+        // Act
+        warmupComponent.warmUp();
+
+        // Assert
+        verify(snapshotService, never()).getUsage();
+    }
+}
@@ -0,0 +1,133 @@
+package dev.leons.ward.components;
+
+import dev.leons.ward.dto.InfoDto;
+import dev.leons.ward.dto.MachineDto;
+import dev.leons.ward.dto.ProcessorDto;
+import dev.leons.ward.dto.StorageDto;
+import dev.leons.ward.dto.UptimeDto;
+import dev.leons.ward.dto.UsageDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prints bytes on the wire and encode/decode time of json, gzip and CBOR representations of every dto
+ * Runs with -Pbenchmark, CBOR must still be smaller than json there
+ */
+@Tag("benchmark")
+public class WireFormatBenchmarkTest {
+
+    private static final int ITERATIONS = 20_000;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private final CBORMapper cborMapper = CBORMapper.builder().build();
+
+    @Test
+    void testCompareWireFormats() {
+        ResponseCacheComponent responseCacheComponent = new ResponseCacheComponent();
+        Map<String, Object> samples = Map.of("usage", createUsageDto(), "info", createInfoDto(), "uptime", createUptimeDto());
+
+        System.out.printf("%-8s %8s %8s %8s %14s %14s %14s %14s%n", "dto", "json B", "gzip B", "cbor B", "json enc ns", "cbor enc ns", "json dec ns", "cbor dec ns");
+
+        for (Map.Entry<String, Object> sample : samples.entrySet()) {
+            ResponseCacheComponent.Entry entry = responseCacheComponent.getEncoded(sample.getKey(), sample.getValue());
+
+            // Both representations must carry the same data
+            assertEquals(jsonMapper.readTree(entry.getJson()), cborMapper.readTree(entry.getCbor()));
+            assertTrue(entry.getCbor().length < entry.getJson().length);
+
+            System.out.printf("%-8s %8d %8d %8d %14d %14d %14d %14d%n", sample.getKey(),
+                    entry.getJson().length, entry.getGzip().length, entry.getCbor().length,
+                    measureEncode(jsonMapper, sample.getValue()), measureEncode(cborMapper, sample.getValue()),
+                    measureDecode(jsonMapper, entry.getJson()), measureDecode(cborMapper, entry.getCbor()));
+        }
+    }
+
+    private long measureEncode(ObjectMapper mapper, Object value) {
+        long sink = 0;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += mapper.writeValueAsBytes(value).length;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += mapper.writeValueAsBytes(value).length;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(sink > 0);
+        return elapsed / ITERATIONS;
+    }
+
+    private long measureDecode(ObjectMapper mapper, byte[] bytes) {
+        long sink = 0;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            JsonNode node = mapper.readTree(bytes);
+            sink += node.size();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            JsonNode node = mapper.readTree(bytes);
+            sink += node.size();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(sink > 0);
+        return elapsed / ITERATIONS;
+    }
+
+    private UsageDto createUsageDto() {
+        UsageDto usageDto = new UsageDto();
+        usageDto.setProcessor(37);
+        usageDto.setRam(64);
+        usageDto.setStorage(81);
+        return usageDto;
+    }
+
+    private InfoDto createInfoDto() {
+        ProcessorDto processorDto = new ProcessorDto();
+        processorDto.setName("AMD Ryzen 9 7950X 16-Core Processor");
+        processorDto.setCoreCount("32 Cores");
+        processorDto.setClockSpeed("4.5 GHz");
+        processorDto.setBitDepth("64-bit");
+
+        MachineDto machineDto = new MachineDto();
+        machineDto.setOperatingSystem("Ubuntu 24.04.1 LTS");
+        machineDto.setTotalRam("64 GiB RAM");
+        machineDto.setRamTypeOrOSBitDepth("DDR5");
+        machineDto.setProcCount("412 Procs");
+
+        StorageDto storageDto = new StorageDto();
+        storageDto.setMainStorage("Samsung SSD 990 PRO 2TB");
+        storageDto.setTotal("3.6 TiB Total");
+        storageDto.setDiskCount("2 Disks");
+        storageDto.setSwapAmount("8 GiB Swap");
+
+        InfoDto infoDto = new InfoDto();
+        infoDto.setProcessor(processorDto);
+        infoDto.setMachine(machineDto);
+        infoDto.setStorage(storageDto);
+        return infoDto;
+    }
+
+    private UptimeDto createUptimeDto() {
+        UptimeDto uptimeDto = new UptimeDto();
+        uptimeDto.setDays("12");
+        uptimeDto.setHours("05");
+        uptimeDto.setMinutes("42");
+        uptimeDto.setSeconds("09");
+        return uptimeDto;
+    }
+}
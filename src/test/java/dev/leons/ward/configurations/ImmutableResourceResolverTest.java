@@ -0,0 +1,110 @@
+package dev.leons.ward.configurations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImmutableResourceResolverTest {
+
+    private static final byte[] CSS = "body{margin:0}".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path tempDir;
+
+    private ResourceHttpRequestHandler handler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectories(tempDir.resolve("css"));
+        Files.createDirectories(tempDir.resolve("fonts"));
+        Files.write(tempDir.resolve("css/ward.css"), CSS);
+        Files.write(tempDir.resolve("css/ward.css.gz"), gzip(CSS));
+        Files.write(tempDir.resolve("fonts/regular.woff2"), new byte[] { 1, 2, 3 });
+
+        handler = new ResourceHttpRequestHandler();
+        handler.setLocations(List.of(new FileSystemResource(tempDir + "/")));
+        handler.setResourceResolvers(List.of(new ImmutableResourceResolver(), new EncodedResourceResolver(),
+                new VersionResourceResolver().addContentVersionStrategy("/**"), new PathResourceResolver()));
+        handler.setCacheControl(CacheControl.noCache());
+        handler.setServletContext(new MockServletContext());
+        handler.afterPropertiesSet();
+    }
+
+    @Test
+    void testFingerprintedResourceIsImmutable() throws Exception {
+        // Act
+        MockHttpServletResponse response = get("css/ward-" + DigestUtils.md5DigestAsHex(CSS) + ".css", "gzip, br");
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(ImmutableResourceResolver.IMMUTABLE.getHeaderValue(), response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    void testUnversionedResourceIsRevalidated() throws Exception {
+        // Act
+        MockHttpServletResponse response = get("css/ward.css", null);
+
+        // Assert - served uncompressed, but still varies, because a compressed variant exists
+        assertEquals(200, response.getStatus());
+        assertEquals("no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertArrayEquals(CSS, response.getContentAsByteArray());
+    }
+
+    @Test
+    void testResourceWithoutVariantsDoesNotVary() throws Exception {
+        // Act
+        MockHttpServletResponse response = get("fonts/regular.woff2", "gzip");
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.VARY));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private MockHttpServletResponse get(String path, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/" + path);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, path);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleRequest(request, response);
+        return response;
+    }
+
+    private byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream)) {
+            gzipOutputStream.write(bytes);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+}
@@ -1,27 +1,32 @@
 package dev.leons.ward.controllers;
 
+import dev.leons.ward.components.ResponseCacheComponent;
 import dev.leons.ward.dto.InfoDto;
 import dev.leons.ward.dto.MachineDto;
 import dev.leons.ward.dto.ProcessorDto;
 import dev.leons.ward.dto.StorageDto;
 import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
 import dev.leons.ward.handlers.ControllerExceptionHandler;
-import dev.leons.ward.services.InfoService;
+import dev.leons.ward.services.SnapshotService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -29,7 +34,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 public class InfoControllerTest {
 
     @Mock
-    private InfoService infoService;
+    private SnapshotService snapshotService;
+
+    @Spy
+    private ResponseCacheComponent responseCacheComponent = new ResponseCacheComponent();
 
     @InjectMocks
     private InfoController infoController;
@@ -47,22 +55,23 @@ public class InfoControllerTest {
     void testGetInfo() throws ApplicationNotConfiguredException {
         // Arrange
         InfoDto infoDto = createMockInfoDto();
-        when(infoService.getInfo()).thenReturn(infoDto);
+        when(snapshotService.getInfo()).thenReturn(infoDto);
 
         // Act
-        ResponseEntity<InfoDto> response = infoController.getInfo();
+        ResponseEntity<byte[]> response = infoController.getInfo(null, null);
 
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(infoDto, response.getBody());
+        assertNotNull(response.getBody());
+        assertNotNull(response.getHeaders().getETag());
     }
 
     @Test
     void testGetInfoEndpoint() throws Exception {
         // Arrange
         InfoDto infoDto = createMockInfoDto();
-        when(infoService.getInfo()).thenReturn(infoDto);
+        when(snapshotService.getInfo()).thenReturn(infoDto);
 
         // Act & Assert
         mockMvc.perform(get("/api/info"))
@@ -81,13 +90,54 @@ public class InfoControllerTest {
     @Test
     void testGetInfoThrowsException() throws Exception {
         // Arrange
-        when(infoService.getInfo()).thenThrow(new ApplicationNotConfiguredException());
+        when(snapshotService.getInfo()).thenThrow(new ApplicationNotConfiguredException());
 
         // Act & Assert - this will be handled by the global exception handler
         mockMvc.perform(get("/api/info"))
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void testGetInfoNotModified() throws Exception {
+        // Arrange
+        when(snapshotService.getInfo()).thenReturn(createMockInfoDto());
+        String eTag = mockMvc.perform(get("/api/info"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        assertNotNull(eTag);
+        mockMvc.perform(get("/api/info").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    void testGetInfoGzip() throws Exception {
+        // Arrange
+        when(snapshotService.getInfo()).thenReturn(createMockInfoDto());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/info").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, containsString("-gzip")))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    @Test
+    void testGetInfoCbor() throws Exception {
+        // Arrange
+        when(snapshotService.getInfo()).thenReturn(createMockInfoDto());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/info").header(HttpHeaders.ACCEPT, "application/cbor, application/json;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/cbor"))
+                .andExpect(header().string(HttpHeaders.ETAG, containsString("-cbor")));
+    }
+
     private InfoDto createMockInfoDto() {
         ProcessorDto processorDto = new ProcessorDto();
         processorDto.setName("Test Processor");
@@ -0,0 +1,117 @@
+package dev.leons.ward.controllers;
+
+import dev.leons.ward.components.ResponseCacheComponent;
+import dev.leons.ward.dto.UptimeDto;
+import dev.leons.ward.dto.UsageDto;
+import dev.leons.ward.handlers.ControllerExceptionHandler;
+import dev.leons.ward.services.SnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class SnapshotControllerTest {
+
+    @Mock
+    private SnapshotService snapshotService;
+
+    @Spy
+    private ResponseCacheComponent responseCacheComponent = new ResponseCacheComponent();
+
+    @InjectMocks
+    private SnapshotController snapshotController;
+
+    private MockMvc mockMvc;
+
+    private final UsageDto usageDto = new UsageDto();
+
+    private final UptimeDto uptimeDto = new UptimeDto();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(snapshotController)
+                .setControllerAdvice(new ControllerExceptionHandler())
+                .build();
+
+        usageDto.setProcessor(12);
+        usageDto.setRam(34);
+        usageDto.setStorage(56);
+        uptimeDto.setDays("01");
+        uptimeDto.setHours("02");
+        uptimeDto.setMinutes("03");
+        uptimeDto.setSeconds("04");
+
+        lenient().when(snapshotService.getSection("usage")).thenReturn(usageDto);
+        lenient().when(snapshotService.getSection("uptime")).thenReturn(uptimeDto);
+    }
+
+    @Test
+    void testGetSnapshotWithFields() throws Exception {
+        // Arrange
+        when(snapshotService.parseFields("usage,uptime")).thenReturn(List.of("usage", "uptime"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/snapshot").param("fields", "usage,uptime"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.usage.processor").value(12))
+                .andExpect(jsonPath("$.uptime.seconds").value("04"))
+                .andExpect(jsonPath("$.info").doesNotExist())
+                .andExpect(jsonPath("$.etags.usage").exists())
+                .andExpect(jsonPath("$.etags.uptime").exists());
+    }
+
+    @Test
+    void testGetSnapshotOmitsKnownSections() throws Exception {
+        // Arrange
+        when(snapshotService.parseFields(any())).thenReturn(List.of("usage", "uptime"));
+        String usageETag = responseCacheComponent.getEncoded("usage", usageDto).getETag();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/snapshot").header(HttpHeaders.IF_NONE_MATCH, usageETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usage").doesNotExist())
+                .andExpect(jsonPath("$.uptime.days").value("01"))
+                .andExpect(jsonPath("$.etags.usage").value(usageETag.replace("\"", "")));
+    }
+
+    @Test
+    void testGetSnapshotNotModified() throws Exception {
+        // Arrange
+        when(snapshotService.parseFields(any())).thenReturn(List.of("usage", "uptime"));
+        String usageETag = responseCacheComponent.getEncoded("usage", usageDto).getETag();
+        String uptimeETag = responseCacheComponent.getEncoded("uptime", uptimeDto).getETag();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/snapshot").header(HttpHeaders.IF_NONE_MATCH, usageETag + ", W/" + uptimeETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testGetSnapshotUnknownField() throws Exception {
+        // Arrange
+        when(snapshotService.parseFields("cpu")).thenCallRealMethod();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/snapshot").param("fields", "cpu"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errMessage").value("Unknown field: cpu"));
+    }
+}
@@ -0,0 +1,72 @@
+package dev.leons.ward.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LttbDownsamplerTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void testSpikesAndEndsAreKept() {
+        // Arrange - flat line with one short spike and one short dip
+        TimeSeries series = new TimeSeries(Long.MAX_VALUE / 4, 1000);
+        for (int i = 0; i < 10_000; i++) {
+            series.append(START + i * 1000L, (i == 2_345) ? 100 : ((i == 7_777) ? 0 : 20));
+        }
+        long end = START + 9_999_000L;
+
+        // Act
+        List<Point> points = downsample(series, end, 100);
+
+        // Assert
+        assertTrue(points.size() <= 100);
+        assertEquals(new Point(START, 20), points.getFirst());
+        assertEquals(new Point(end, 20), points.getLast());
+        assertTrue(points.contains(new Point(START + 2_345_000L, 100)));
+        assertTrue(points.contains(new Point(START + 7_777_000L, 0)));
+        for (int i = 1; i < points.size(); i++) {
+            assertTrue(points.get(i).timestamp() > points.get(i - 1).timestamp());
+        }
+    }
+
+    @Test
+    void testFewSamplesAreKept() {
+        // Arrange
+        TimeSeries series = new TimeSeries(Long.MAX_VALUE / 4);
+        series.append(START, 1);
+        series.append(START + 5_000, 2);
+        series.append(START + 9_000, 3);
+
+        // Act
+        List<Point> points = downsample(series, START + 9_000, 500);
+
+        // Assert
+        assertEquals(List.of(new Point(START, 1), new Point(START + 5_000, 2), new Point(START + 9_000, 3)), points);
+    }
+
+    @Test
+    void testSingleSampleAndEmptyRange() {
+        // Arrange
+        TimeSeries series = new TimeSeries(Long.MAX_VALUE / 4);
+        series.append(START, 1);
+
+        // Act & Assert
+        assertEquals(List.of(new Point(START, 1)), downsample(series, START + 1000, 10));
+        assertTrue(downsample(new TimeSeries(1000), START + 1000, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new LttbDownsampler(START, START + 1000, 2, (timestamp, value) -> { }));
+    }
+
+    private List<Point> downsample(TimeSeries series, long end, int count) {
+        List<Point> points = new ArrayList<>();
+        LttbDownsampler.downsample(series.iterator(START, end), START, end, count, (timestamp, value) -> points.add(new Point(timestamp, value)));
+        return points;
+    }
+
+    private record Point(long timestamp, double value) {
+    }
+}
@@ -0,0 +1,81 @@
+package dev.leons.ward.history;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Queries a month of one second processor samples with every aggregation and with LTTB, and prints time and bytes allocated per query
+ * Part of -Pbenchmark, a query allocating a tenth of the raw month fails it
+ */
+@Tag("benchmark")
+public class RangeQueryBenchmarkTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    private static final int SAMPLES = (int) TimeUnit.DAYS.toSeconds(30);
+
+    private static final int ITERATIONS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void testMonthLongWindows() {
+        Random random = new Random(42);
+        TimeSeries series = new TimeSeries(TimeUnit.DAYS.toMillis(30));
+        long time = START;
+        double value = 30;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            time += 1000 + random.nextInt(6);
+            value = Math.clamp(Math.round(value + random.nextGaussian() * 4), 0, 100);
+            series.append(time, value);
+        }
+
+        long end = time;
+        long hour = TimeUnit.HOURS.toMillis(1);
+        // Raw timestamps and values of whole month, which queries must not hold
+        long rawBytes = SAMPLES * 16L;
+
+        System.out.printf("%-8s %8s %10s %14s %14s%n", "query", "points", "ms/query", "samples/s", "alloc B");
+
+        for (Aggregation aggregation : Aggregation.values()) {
+            measure(aggregation.name().toLowerCase(), rawBytes, consumer -> StepAggregator.aggregate(series.iterator(START, end), aggregation, START, hour, consumer));
+        }
+        long points = measure("lttb", rawBytes, consumer -> LttbDownsampler.downsample(series.iterator(START, end), START, end, 500, consumer));
+
+        assertTrue(points <= 500);
+    }
+
+    private long measure(String name, long rawBytes, Query query) {
+        long[] points = new long[1];
+        SampleConsumer consumer = (timestamp, value) -> points[0]++;
+
+        // Warm up, so the JIT has compiled decoder
+        query.run(consumer);
+
+        long allocated = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            points[0] = 0;
+            query.run(consumer);
+        }
+        long elapsed = (System.nanoTime() - start) / ITERATIONS;
+        allocated = (THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocated) / ITERATIONS;
+
+        System.out.printf("%-8s %8d %10.1f %14d %14d%n", name, points[0], elapsed / 1e6, SAMPLES * TimeUnit.SECONDS.toNanos(1) / Math.max(1, elapsed), allocated);
+
+        assertTrue(points[0] > 0);
+        assertTrue(allocated < rawBytes / 10, name + " allocated " + allocated + " bytes per query");
+        return points[0];
+    }
+
+    private interface Query {
+        void run(SampleConsumer consumer);
+    }
+}
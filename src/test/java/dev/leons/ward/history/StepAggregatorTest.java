@@ -0,0 +1,114 @@
+package dev.leons.ward.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StepAggregatorTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void testEveryAggregationOfOneStep() {
+        // Arrange - values 1 to 100, one per second
+        TimeSeries series = createSeries(100, i -> i + 1);
+
+        // Act & Assert
+        assertEquals(List.of(new Point(START, 50.5)), aggregate(series, Aggregation.AVG, 100_000));
+        assertEquals(List.of(new Point(START, 1)), aggregate(series, Aggregation.MIN, 100_000));
+        assertEquals(List.of(new Point(START, 100)), aggregate(series, Aggregation.MAX, 100_000));
+        assertEquals(List.of(new Point(START, 95)), aggregate(series, Aggregation.P95, 100_000));
+        assertEquals(List.of(new Point(START, 1)), aggregate(series, Aggregation.RATE, 100_000));
+    }
+
+    @Test
+    void testStepsAreAlignedToStartAndGapsAreLeftOut() {
+        // Arrange - minute of samples, minute of gap, minute of samples
+        TimeSeries series = new TimeSeries(Long.MAX_VALUE / 4, 100);
+        for (int i = 0; i < 180; i++) {
+            if ((i < 60) || (i >= 120)) {
+                series.append(START + i * 1000L, (i < 60) ? 10 : 30);
+            }
+        }
+
+        // Act
+        List<Point> points = aggregate(series, Aggregation.AVG, 30_000);
+
+        // Assert
+        assertEquals(List.of(new Point(START, 10), new Point(START + 30_000, 10), new Point(START + 120_000, 30), new Point(START + 150_000, 30)), points);
+    }
+
+    @Test
+    void testPercentileOfStepSpanningWholeRangeHoldsBoundedValues() {
+        // Arrange - 30 days of whole percentages, one per second, in one step
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int count = 30 * 24 * 3600;
+        Random random = new Random(42);
+        double[] samples = new double[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = random.nextInt(101);
+        }
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        List<Point> points = new ArrayList<>();
+        StepAggregator aggregator = new StepAggregator(Aggregation.P95, START, count * 1000L, (timestamp, value) -> points.add(new Point(timestamp, value)));
+
+        // Act
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < count; i++) {
+            aggregator.accept(START + i * 1000L, samples[i]);
+        }
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        aggregator.finish();
+
+        // Assert - estimate from evenly spaced samples, buffer never grows past MAX_VALUES
+        assertEquals(1, points.size());
+        assertEquals(sorted[(int) Math.ceil(0.95 * count) - 1], points.getFirst().value(), 1);
+        assertTrue(allocated < StepAggregator.MAX_VALUES * 8L * 4, "Aggregation allocated " + allocated + " B");
+    }
+
+    @Test
+    void testMissingValuesAndSingleSampleRateAreSkipped() {
+        // Arrange
+        TimeSeries series = new TimeSeries(Long.MAX_VALUE / 4);
+        series.append(START, Double.NaN);
+        series.append(START + 1000, 4);
+        series.append(START + 11_000, Double.NaN);
+
+        // Act & Assert
+        assertEquals(List.of(new Point(START, 4)), aggregate(series, Aggregation.AVG, 10_000));
+        assertTrue(aggregate(series, Aggregation.RATE, 10_000).isEmpty());
+    }
+
+    @Test
+    void testInvalidArgumentsAreRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> Aggregation.parse("median"));
+        assertEquals(Aggregation.P95, Aggregation.parse("p95"));
+        assertThrows(IllegalArgumentException.class, () -> new StepAggregator(Aggregation.AVG, START, 0, (timestamp, value) -> { }));
+    }
+
+    private TimeSeries createSeries(int count, IntToDoubleFunction value) {
+        TimeSeries series = new TimeSeries(Long.MAX_VALUE / 4, 30);
+        for (int i = 0; i < count; i++) {
+            series.append(START + i * 1000L, value.applyAsDouble(i));
+        }
+        return series;
+    }
+
+    private List<Point> aggregate(TimeSeries series, Aggregation aggregation, long step) {
+        List<Point> points = new ArrayList<>();
+        StepAggregator.aggregate(series.iterator(START, START + 1_000_000), aggregation, START, step, (timestamp, value) -> points.add(new Point(timestamp, value)));
+        return points;
+    }
+
+    private record Point(long timestamp, double value) {
+    }
+}
@@ -0,0 +1,115 @@
+package dev.leons.ward.history;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fills a week of one second samples of typical host metrics, then prints bytes per sample, scan speed and hour-long window queries per second
+ * Part of -Pbenchmark, the bytes per sample limits still fail the run
+ */
+@Tag("benchmark")
+public class TimeSeriesBenchmarkTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    private static final int SAMPLES = (int) TimeUnit.DAYS.toSeconds(7);
+
+    private static final int WINDOW_QUERIES = 2_000;
+
+    private static final Set<String> USAGE_SERIES = Set.of("processor", "ram", "storage");
+
+    @Test
+    void testCompressionAndQueryThroughput() {
+        Random random = new Random(42);
+        Map<String, DoubleUnaryOperator> generators = new LinkedHashMap<>();
+        // Whole percentages, like UsageDto, cpu moves every second, ram drifts, storage barely changes
+        generators.put("processor", previous -> Math.clamp(Math.round(previous + random.nextGaussian() * 4), 0, 100));
+        generators.put("ram", previous -> Math.clamp(Math.round(previous + ((random.nextInt(30) == 0) ? random.nextInt(3) - 1 : 0)), 0, 100));
+        generators.put("storage", previous -> (random.nextInt(3600) == 0) ? Math.min(100, previous + 1) : previous);
+        // Bytes per second of network interface, idle most of the time with bursts
+        generators.put("network", previous -> (random.nextInt(20) == 0) ? Math.round(random.nextDouble() * 50_000_000) : Math.round(2_000 + random.nextDouble() * 500));
+        // Load of single core from tick counters, fractions without rounding
+        for (int core = 0; core < 4; core++) {
+            generators.put("core" + core, previous -> Math.clamp(previous + random.nextGaussian() * 0.05, 0, 1));
+        }
+
+        System.out.printf("%-10s %10s %10s %10s %14s %14s%n", "series", "samples", "B/sample", "raw ratio", "scan samples/s", "1h queries/s");
+
+        long totalBytes = 0;
+        for (Map.Entry<String, DoubleUnaryOperator> generator : generators.entrySet()) {
+            TimeSeries series = new TimeSeries(TimeUnit.DAYS.toMillis(7));
+            long time = START;
+            double value = 50;
+
+            for (int i = 0; i < SAMPLES; i++) {
+                // Scheduler runs with fixed delay, so intervals are a second plus time the sample took
+                time += 1000 + random.nextInt(6);
+                value = generator.getValue().applyAsDouble(value);
+                series.append(time, value);
+            }
+
+            long bytes = series.getOffHeapBytes() + series.getHeapBytes();
+            double bytesPerSample = (double) bytes / series.getSampleCount();
+            totalBytes += bytes;
+
+            assertEquals(SAMPLES, series.getSampleCount());
+            // Whole percentages of UsageDto, mostly timestamp jitter
+            if (USAGE_SERIES.contains(generator.getKey())) {
+                assertTrue(bytesPerSample < 3, generator.getKey() + " takes " + bytesPerSample + " bytes per sample");
+            }
+            System.out.printf("%-10s %10d %10.2f %10.1f %14d %14d%n", generator.getKey(), series.getSampleCount(), bytesPerSample,
+                    16 / bytesPerSample, measureScan(series), measureWindows(series, time, random));
+        }
+
+        double averageBytesPerSample = (double) totalBytes / (generators.size() * (long) SAMPLES);
+        System.out.printf("%-10s %10d %10.2f %10.1f%n", "all", generators.size() * (long) SAMPLES, averageBytesPerSample, 16 / averageBytesPerSample);
+
+        // Raw long timestamp and double value take 16 bytes, noisy fractions of cores are worst case of XOR encoding
+        assertTrue(averageBytesPerSample < 8, "Expected at least 2x compression, got " + averageBytesPerSample + " bytes per sample");
+    }
+
+    private long measureScan(TimeSeries series) {
+        long start = System.nanoTime();
+        long count = 0;
+        double sink = 0;
+
+        SampleIterator iterator = series.iterator(Long.MIN_VALUE, Long.MAX_VALUE);
+        while (iterator.next()) {
+            sink += iterator.getValue();
+            count++;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(series.getSampleCount(), count);
+        assertTrue(!Double.isNaN(sink));
+        return count * TimeUnit.SECONDS.toNanos(1) / Math.max(1, elapsed);
+    }
+
+    private long measureWindows(TimeSeries series, long end, Random random) {
+        long hour = TimeUnit.HOURS.toMillis(1);
+        long count = 0;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < WINDOW_QUERIES; i++) {
+            long from = START + (long) (random.nextDouble() * (end - START - hour));
+            SampleIterator iterator = series.iterator(from, from + hour);
+            while (iterator.next()) {
+                count++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(count > 0);
+        return WINDOW_QUERIES * TimeUnit.SECONDS.toNanos(1) / Math.max(1, elapsed);
+    }
+}
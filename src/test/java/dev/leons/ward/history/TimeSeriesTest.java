@@ -0,0 +1,149 @@
+package dev.leons.ward.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeSeriesTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void testSamplesAreDecompressedBitExact() {
+        // Arrange - jitter, long gaps, special values and random bit patterns cover every encoding branch
+        Random random = new Random(1);
+        int count = 20_000;
+        long[] times = new long[count];
+        double[] values = new double[count];
+        TimeSeries series = new TimeSeries(Long.MAX_VALUE / 4, 1000);
+        long time = START;
+
+        for (int i = 0; i < count; i++) {
+            time += 1000 + random.nextInt(11) - 5;
+            if (i % 500 == 7) {
+                time += 100_000;
+            }
+            if (i % 3000 == 5) {
+                time += 5_000_000_000L;
+            }
+            times[i] = time;
+            values[i] = switch (i % 7) {
+                case 0 -> Double.NaN;
+                case 1 -> random.nextGaussian();
+                case 2 -> Math.round(random.nextDouble() * 100);
+                case 3 -> Double.NEGATIVE_INFINITY;
+                case 4 -> -0.0;
+                default -> values[Math.max(0, i - 1)];
+            };
+            if (i % 11 == 0) {
+                values[i] = Double.longBitsToDouble(random.nextLong());
+            }
+
+            series.append(times[i], values[i]);
+        }
+
+        // Act
+        SampleIterator iterator = series.iterator(Long.MIN_VALUE, Long.MAX_VALUE);
+
+        // Assert
+        int index = 0;
+        while (iterator.next()) {
+            assertEquals(times[index], iterator.getTimestamp());
+            assertEquals(Double.doubleToRawLongBits(values[index]), Double.doubleToRawLongBits(iterator.getValue()));
+            index++;
+        }
+        assertEquals(count, index);
+        assertEquals(count, series.getSampleCount());
+    }
+
+    @Test
+    void testRangeSpansSealedAndOpenChunks() {
+        // Arrange
+        TimeSeries series = new TimeSeries(Long.MAX_VALUE / 4, 100);
+        for (int i = 0; i < 250; i++) {
+            series.append(START + i * 1000L, i);
+        }
+
+        // Act
+        SampleIterator iterator = series.iterator(START + 150_500, START + 210_000);
+
+        // Assert
+        int expected = 151;
+        while (iterator.next()) {
+            assertEquals(START + expected * 1000L, iterator.getTimestamp());
+            assertEquals(expected, iterator.getValue());
+            expected++;
+        }
+        assertEquals(211, expected);
+        assertFalse(iterator.next());
+        assertFalse(series.iterator(START + 300_000, START + 400_000).next());
+    }
+
+    @Test
+    void testQueryDoesNotSeeLaterAppends() {
+        // Arrange
+        TimeSeries series = new TimeSeries(Long.MAX_VALUE / 4, 100);
+        series.append(START, 1);
+        SampleIterator iterator = series.iterator(START, Long.MAX_VALUE);
+
+        // Act
+        series.append(START + 1000, 2);
+
+        // Assert
+        assertTrue(iterator.next());
+        assertFalse(iterator.next());
+    }
+
+    @Test
+    void testWholePercentagesAreCompressed() {
+        // Arrange - a day of usage percentages with scheduler jitter, like HistoryComponent records
+        Random random = new Random(42);
+        TimeSeries series = new TimeSeries(86_400_000L);
+        long time = START;
+        double value = 50;
+
+        // Act
+        for (int i = 0; i < 86_400; i++) {
+            time += 1000 + random.nextInt(6);
+            value = Math.clamp(Math.round(value + random.nextGaussian() * 4), 0, 100);
+            series.append(time, value);
+        }
+
+        // Assert - raw long timestamp and double value take 16 bytes
+        double bytesPerSample = (double) (series.getOffHeapBytes() + series.getHeapBytes()) / series.getSampleCount();
+        assertTrue(bytesPerSample < 3, "Expected less than 3 bytes per sample, got " + bytesPerSample);
+    }
+
+    @Test
+    void testSampleBeforeLastOneIsRejected() {
+        // Arrange
+        TimeSeries series = new TimeSeries(60_000);
+        series.append(START, 1);
+
+        // Act & Assert
+        assertFalse(series.append(START - 1, 2));
+        assertTrue(series.append(START, 3));
+        assertEquals(2, series.getSampleCount());
+    }
+
+    @Test
+    void testChunksOlderThanRetentionAreDropped() {
+        // Arrange
+        TimeSeries series = new TimeSeries(60_000, 10);
+
+        // Act - five minutes of one second samples with one minute of retention
+        for (int i = 0; i < 300; i++) {
+            series.append(START + i * 1000L, 50);
+        }
+
+        // Assert - chunks, which end within retention, are kept whole
+        assertTrue(series.getSampleCount() <= 70);
+        assertTrue(series.getSampleCount() >= 60);
+        SampleIterator iterator = series.iterator(Long.MIN_VALUE, Long.MAX_VALUE);
+        assertTrue(iterator.next());
+        assertTrue(iterator.getTimestamp() >= START + 229_000);
+        assertTrue(series.getOffHeapBytes() > 0);
+    }
+}
@@ -0,0 +1,267 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.collectors.Metric;
+import dev.leons.ward.collectors.WardCollector;
+import dev.leons.ward.components.MetricsComponent;
+import dev.leons.ward.dto.MetricSourceDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CollectorServiceTest {
+
+    @Spy
+    private MetricsComponent metricsComponent = new MetricsComponent();
+
+    @InjectMocks
+    private CollectorService collectorService;
+
+    @AfterEach
+    void tearDown() {
+        collectorService.stop();
+    }
+
+    @Test
+    void testMetricsArePublished() throws Exception {
+        // Arrange
+        WardCollector collector = new TestCollector("queues", () -> List.of(
+                new Metric("queue_depth", Map.of("queue", "mail"), 12),
+                Metric.of("jobs_running", 3)));
+
+        // Act
+        CompletableFuture<Void> inFlight = collectorService.collect(collectorService.describe(collector), null);
+
+        // Assert
+        MetricSourceDto source = getSource("queues");
+        assertNull(inFlight);
+        assertNull(source.getError());
+        assertEquals("plugin", source.getType());
+        assertEquals(2, source.getMetrics().size());
+        assertEquals("mail", source.getMetrics().getFirst().getLabels().get("queue"));
+        assertEquals(12, source.getMetrics().getFirst().getValue());
+    }
+
+    @Test
+    void testThrowingCollectorIsReported() throws Exception {
+        // Arrange
+        WardCollector collector = new TestCollector("broken", () -> {
+            throw new IllegalStateException("database is down");
+        });
+
+        // Act
+        collectorService.collect(collectorService.describe(collector), null);
+
+        // Assert
+        MetricSourceDto source = getSource("broken");
+        assertEquals("IllegalStateException: database is down", source.getError());
+        assertEquals(1, source.getFailures());
+        assertTrue(source.getMetrics().isEmpty());
+    }
+
+    @Test
+    void testSlowCollectorIsInterruptedAndSkipped() throws Exception {
+        // Arrange - collector ignores interrupt until released, like blocking client without timeout
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        WardCollector collector = new TestCollector("slow", () -> {
+            calls.incrementAndGet();
+            while (true) {
+                try {
+                    if (release.await(10, TimeUnit.SECONDS)) {
+                        return List.of();
+                    }
+                } catch (InterruptedException exception) {
+                    // Ignored on purpose
+                }
+            }
+        }, Duration.ofMillis(100));
+        CollectorService.Plugin plugin = collectorService.describe(collector);
+        long start = System.nanoTime();
+
+        // Act
+        CompletableFuture<Void> overBudget = collectorService.collect(plugin, null);
+        CompletableFuture<Void> skipped = collectorService.collect(plugin, overBudget);
+
+        // Assert
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertSame(overBudget, skipped);
+        assertEquals(1, calls.get());
+        MetricSourceDto source = getSource("slow");
+        assertEquals("Skipped, previous collection is still running", source.getError());
+        assertEquals(2, source.getFailures());
+
+        release.countDown();
+        overBudget.get(5, TimeUnit.SECONDS);
+        assertNull(collectorService.collect(plugin, overBudget));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testSlowCollectorDoesNotHoldUpOthers() throws Exception {
+        // Arrange
+        WardCollector slow = new TestCollector("slow", () -> {
+            Thread.sleep(60_000);
+            return List.of();
+        }, Duration.ofMillis(50), Duration.ofMillis(50));
+        WardCollector fast = new TestCollector("fast", () -> List.of(Metric.of("value", 1)), Duration.ofMillis(50), Duration.ofMillis(50));
+
+        // Act
+        collectorService.start(List.of(collectorService.describe(slow), collectorService.describe(fast)));
+        Thread.sleep(500);
+
+        // Assert
+        assertNull(getSource("fast").getError());
+        assertEquals(1, getSource("fast").getMetrics().size());
+        assertNotNull(getSource("slow").getError());
+        assertTrue(getSource("slow").getFailures() >= 2);
+    }
+
+    @Test
+    void testTooManyMetricsAreRejected() throws Exception {
+        // Arrange
+        List<Metric> metrics = IntStream.range(0, MetricsComponent.MAX_METRICS + 1).mapToObj(i -> Metric.of("value_" + i, i)).toList();
+
+        // Act
+        collectorService.collect(collectorService.describe(new TestCollector("flood", () -> metrics)), null);
+
+        // Assert
+        assertTrue(getSource("flood").getMetrics().isEmpty());
+        assertNotNull(getSource("flood").getError());
+    }
+
+    @Test
+    void testInvalidMetricNameIsRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> Metric.of("queue depth", 1));
+        assertThrows(IllegalArgumentException.class, () -> new Metric("queue_depth", Map.of("1queue", "mail"), 1));
+    }
+
+    @Test
+    void testMissingPluginDirectoryIsIgnored(@TempDir Path directory) throws Exception {
+        // Act
+        List<CollectorService.Plugin> plugins = collectorService.loadCollectors(directory.resolve("missing"));
+
+        // Assert
+        assertTrue(plugins.isEmpty());
+    }
+
+    @Test
+    void testBrokenServiceEntryIsSkipped(@TempDir Path directory) throws Exception {
+        // Arrange - jar lists missing class and abstract class before valid collector
+        try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(directory.resolve("broken.jar")))) {
+            jar.putNextEntry(new JarEntry("META-INF/services/" + WardCollector.class.getName()));
+            jar.write(("dev.example.MissingCollector\n" + AbstractCollector.class.getName() + "\n" + ValidCollector.class.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+            jar.closeEntry();
+        }
+
+        // Act
+        List<CollectorService.Plugin> plugins = collectorService.loadCollectors(directory);
+
+        // Assert
+        assertEquals(List.of("valid"), plugins.stream().map(CollectorService.Plugin::name).toList());
+    }
+
+    @Test
+    void testThrowingGetterIsReported() {
+        // Arrange
+        WardCollector collector = new WardCollector() {
+            @Override
+            public String getName() {
+                return "getter";
+            }
+
+            @Override
+            public Duration getInterval() {
+                throw new IllegalStateException("not configured");
+            }
+
+            @Override
+            public List<Metric> collect() {
+                return List.of();
+            }
+        };
+
+        // Act
+        CollectorService.Plugin plugin = collectorService.describe(collector);
+
+        // Assert
+        assertNull(plugin);
+        assertEquals("IllegalStateException: not configured", getSource(collector.getClass().getName()).getError());
+    }
+
+    private MetricSourceDto getSource(String name) {
+        return metricsComponent.getMetrics().getSources().stream().filter(source -> source.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    public abstract static class AbstractCollector implements WardCollector {
+    }
+
+    public static class ValidCollector implements WardCollector {
+
+        @Override
+        public String getName() {
+            return "valid";
+        }
+
+        @Override
+        public List<Metric> collect() {
+            return List.of();
+        }
+    }
+
+    private interface Collection {
+        List<Metric> collect() throws Exception;
+    }
+
+    private record TestCollector(String name, Collection collection, Duration timeBudget, Duration interval) implements WardCollector {
+
+        private TestCollector(String name, Collection collection) {
+            this(name, collection, Duration.ofSeconds(1), Duration.ofSeconds(10));
+        }
+
+        private TestCollector(String name, Collection collection, Duration timeBudget) {
+            this(name, collection, timeBudget, Duration.ofSeconds(10));
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Duration getInterval() {
+            return interval;
+        }
+
+        @Override
+        public Duration getTimeBudget() {
+            return timeBudget;
+        }
+
+        @Override
+        public List<Metric> collect() throws Exception {
+            return collection.collect();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.HistoryComponent;
+import dev.leons.ward.dto.HistoryDto;
+import dev.leons.ward.dto.UsageDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.InvalidHistoryQueryException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.MockedStatic;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+@ExtendWith(MockitoExtension.class)
+public class HistoryServiceTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Spy
+    private HistoryComponent historyComponent = new HistoryComponent();
+
+    @InjectMocks
+    private HistoryService historyService;
+
+    private MockedStatic<Ward> wardMockedStatic;
+
+    @BeforeEach
+    void setUp() {
+        wardMockedStatic = mockStatic(Ward.class);
+        wardMockedStatic.when(Ward::isFirstLaunch).thenReturn(false);
+
+        // Hour of usage, processor climbs by one percent a minute
+        for (int i = 0; i < 3600; i++) {
+            UsageDto usageDto = new UsageDto();
+            usageDto.setProcessor(i / 60);
+            usageDto.setRam(50);
+            usageDto.setStorage(70);
+            historyComponent.record(START + i * 1000L, usageDto);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        wardMockedStatic.close();
+    }
+
+    @Test
+    void testAggregationOverStep() throws Exception {
+        // Act
+        HistoryDto historyDto = historyService.query("processor", START, START + 3_599_999, "max", 600L, null);
+
+        // Assert
+        assertEquals(600_000, historyDto.getStep());
+        assertArrayEquals(new long[]{START, START + 600_000, START + 1_200_000, START + 1_800_000, START + 2_400_000, START + 3_000_000}, historyDto.getTimestamps());
+        assertArrayEquals(new double[]{9, 19, 29, 39, 49, 59}, historyDto.getValues());
+    }
+
+    @Test
+    void testDefaultStepSplitsRangeIntoWholeSeconds() throws Exception {
+        // Act
+        HistoryDto historyDto = historyService.query("ram", START, START + 3_599_999, "avg", null, null);
+
+        // Assert
+        assertEquals(8000, historyDto.getStep());
+        assertEquals(450, historyDto.getValues().length);
+        assertEquals(50, historyDto.getValues()[0]);
+    }
+
+    @Test
+    void testDownsampling() throws Exception {
+        // Act
+        HistoryDto historyDto = historyService.query("processor", START, START + 3_599_999, "LTTB", null, 100);
+
+        // Assert
+        assertEquals("lttb", historyDto.getAggregation());
+        assertTrue(historyDto.getValues().length <= 100);
+        assertEquals(START, historyDto.getTimestamps()[0]);
+        assertEquals(59, historyDto.getValues()[historyDto.getValues().length - 1]);
+    }
+
+    @Test
+    void testInvalidQueriesAreRejected() {
+        // Act & Assert
+        assertThrows(InvalidHistoryQueryException.class, () -> historyService.query("network", START, START + 1000, "avg", null, null));
+        assertThrows(InvalidHistoryQueryException.class, () -> historyService.query("processor", START + 1000, START, "avg", null, null));
+        assertThrows(InvalidHistoryQueryException.class, () -> historyService.query("processor", START, START + 1000, "median", null, null));
+        assertThrows(InvalidHistoryQueryException.class, () -> historyService.query("processor", START, START + 3_600_000, "avg", 0L, null));
+        assertThrows(InvalidHistoryQueryException.class, () -> historyService.query("processor", 0L, START, "avg", 1L, null));
+        assertThrows(InvalidHistoryQueryException.class, () -> historyService.query("processor", START, START + 1000, "lttb", null, 2));
+    }
+
+    @Test
+    void testNotConfigured() {
+        // Arrange
+        wardMockedStatic.when(Ward::isFirstLaunch).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ApplicationNotConfiguredException.class, () -> historyService.query("processor", null, null, "avg", null, null));
+    }
+}
@@ -0,0 +1,99 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.UtilitiesComponent;
+import dev.leons.ward.dto.InfoDto;
+import dev.leons.ward.dto.UptimeDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.ui.Model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class IndexServiceTest {
+
+    private static final long PROBE_MILLIS = 500;
+
+    @Mock
+    private SnapshotService snapshotService;
+
+    @Mock
+    private UtilitiesComponent utilitiesComponent;
+
+    @InjectMocks
+    private IndexService indexService;
+
+    private MockedStatic<Ward> wardMockedStatic;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        wardMockedStatic = mockStatic(Ward.class);
+        wardMockedStatic.when(Ward::isFirstLaunch).thenReturn(false);
+
+        lenient().when(utilitiesComponent.getFromIniFile("theme")).thenReturn("light");
+        lenient().when(utilitiesComponent.getFromIniFile("serverName")).thenReturn("Ward");
+        lenient().when(utilitiesComponent.getFromIniFile("enableFog")).thenReturn("true");
+        lenient().when(utilitiesComponent.getFromIniFile("backgroundColor")).thenReturn("#303030");
+        lenient().when(utilitiesComponent.getFromIniFile("lowPower")).thenReturn("false");
+        when(snapshotService.getUptime()).thenReturn(new UptimeDto());
+
+        // Sampling info synchronously takes as long as slowest hardware probe
+        lenient().when(snapshotService.getInfo()).thenAnswer(invocation -> {
+            Thread.sleep(PROBE_MILLIS);
+            return new InfoDto();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        wardMockedStatic.close();
+    }
+
+    @Test
+    void testIndexDoesNotWaitForProbes() throws Exception {
+        // Arrange - scheduler has not sampled info yet
+        Model model = new ExtendedModelMap();
+        when(snapshotService.getCachedInfo()).thenReturn(null);
+
+        // Act
+        long start = System.nanoTime();
+        String template = indexService.getIndex(model);
+        long nanos = System.nanoTime() - start;
+
+        // Assert - cards are rendered empty and filled by first snapshot request
+        assertEquals("index", template);
+        assertTrue(model.containsAttribute("info"));
+        assertNull(model.getAttribute("info"));
+        assertTrue(nanos < PROBE_MILLIS * 1_000_000 / 2);
+        verify(snapshotService, never()).getInfo();
+    }
+
+    @Test
+    void testIndexUsesCachedInfo() throws Exception {
+        // Arrange
+        Model model = new ExtendedModelMap();
+        InfoDto infoDto = new InfoDto();
+        when(snapshotService.getCachedInfo()).thenReturn(infoDto);
+
+        // Act
+        indexService.getIndex(model);
+
+        // Assert
+        assertSame(infoDto, model.getAttribute("info"));
+        assertEquals(false, model.getAttribute("lowPower"));
+        verify(snapshotService, never()).getInfo();
+    }
+}
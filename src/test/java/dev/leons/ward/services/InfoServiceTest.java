@@ -1,6 +1,7 @@
 package dev.leons.ward.services;
 
 import dev.leons.ward.Ward;
+import dev.leons.ward.components.StatsComponent;
 import dev.leons.ward.components.UtilitiesComponent;
 import dev.leons.ward.dto.InfoDto;
 import dev.leons.ward.dto.MachineDto;
@@ -14,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import oshi.SystemInfoFFM;
 import oshi.hardware.CentralProcessor;
@@ -23,11 +25,16 @@ import oshi.hardware.HardwareAbstractionLayer;
 import oshi.hardware.PhysicalMemory;
 import oshi.software.os.OperatingSystem;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +45,9 @@ public class InfoServiceTest {
     @Mock
     private SystemInfoFFM systemInfo;
 
+    @Spy
+    private StatsComponent statsComponent;
+
     @Mock
     private UtilitiesComponent utilitiesComponent;
 
@@ -155,4 +165,58 @@ public class InfoServiceTest {
         assertEquals("1 Disk", storageDto.getDiskCount());
         assertNotNull(storageDto.getSwapAmount());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSlowSectionServesLastValue() throws Exception {
+        // Arrange - second disk probe hangs until released
+        CountDownLatch release = new CountDownLatch(1);
+        stubFastSections();
+        when(diskStore.getSize()).thenReturn(1099511627776L);
+        when(diskStore.getModel()).thenReturn("Test Disk");
+        when(hardware.getDiskStores())
+                .thenReturn(List.of(diskStore))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    return List.of(diskStore);
+                });
+
+        InfoDto first = infoService.getInfo();
+        infoService.setDeadline("storage", Duration.ofMillis(100));
+
+        try {
+            // Act
+            long start = System.nanoTime();
+            InfoDto second = infoService.getInfo();
+            InfoDto third = infoService.getInfo();
+            long elapsed = System.nanoTime() - start;
+
+            // Assert - fresh sections are served, storage falls back to its last good value
+            assertEquals(List.of(), first.getStale());
+            assertEquals(List.of("storage"), second.getStale());
+            assertEquals(first.getStorage(), second.getStorage());
+            assertEquals("Test Processor", second.getProcessor().getName());
+            assertEquals(List.of("storage"), third.getStale());
+            assertTrue(elapsed < Duration.ofSeconds(1).toNanos());
+
+            // Hung probe is joined, not started again
+            verify(hardware, times(2)).getDiskStores();
+            assertTrue(infoService.getTimings().get("storage").toMillis() >= 100);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private void stubFastSections() {
+        when(processorIdentifier.getName()).thenReturn("Test Processor");
+        when(processorIdentifier.isCpu64bit()).thenReturn(true);
+        when(processor.getLogicalProcessorCount()).thenReturn(4);
+        when(processor.getCurrentFreq()).thenReturn(new long[] { 3000000000L });
+        when(operatingSystem.getFamily()).thenReturn("Test OS");
+        when(osVersionInfo.getVersion()).thenReturn("1.0");
+        when(operatingSystem.getBitness()).thenReturn(64);
+        when(operatingSystem.getProcessCount()).thenReturn(1);
+        when(memory.getTotal()).thenReturn(8589934592L);
+        when(memory.getPhysicalMemory()).thenReturn(Collections.emptyList());
+        when(virtualMemory.getSwapTotal()).thenReturn(4294967296L);
+    }
+}
@@ -0,0 +1,102 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.dto.JvmDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import oshi.SystemInfoFFM;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JvmServiceTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private SystemInfoFFM systemInfo;
+
+    @InjectMocks
+    private JvmService jvmService;
+
+    @AfterEach
+    void tearDown() {
+        jvmService.stop();
+    }
+
+    @Test
+    void testGetJvm() {
+        // Arrange
+        when(systemInfo.getOperatingSystem().getCurrentProcess().getResidentSetSize()).thenReturn(123_456_789L);
+        jvmService.initialize();
+
+        // Act
+        JvmDto jvmDto = jvmService.getJvm();
+
+        // Assert
+        assertEquals(Runtime.version().toString(), jvmDto.getJavaVersion());
+        assertTrue(jvmDto.getHeapUsed() > 0);
+        assertTrue(jvmDto.getHeapCommitted() >= jvmDto.getHeapUsed());
+        assertEquals(123_456_789L, jvmDto.getRss());
+        assertTrue(jvmDto.getPlatformThreads() > 0);
+        assertTrue(jvmDto.getMountedVirtualThreads() >= 0);
+        assertTrue(jvmDto.getQueuedVirtualThreads() >= 0);
+        assertNotNull(jvmDto.getGcPauses());
+    }
+
+    @Test
+    void testGarbageCollectionIsRecorded() throws Exception {
+        // Arrange
+        jvmService.initialize();
+
+        // Act - notifications are delivered asynchronously
+        System.gc();
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while ((jvmService.getJvm().getGcPauses().getCount() == 0) && (System.nanoTime() < deadline)) {
+            Thread.sleep(50);
+        }
+
+        // Assert
+        JvmDto jvmDto = jvmService.getJvm();
+        assertTrue(jvmDto.getGcCount() > 0);
+        assertTrue(jvmDto.getGcPauses().getCount() > 0);
+    }
+
+    @Test
+    void testRunningVirtualThreadIsMounted() throws Exception {
+        // Arrange
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(1);
+        Thread thread = Thread.ofVirtual().start(() -> {
+            started.countDown();
+            while (running.get()) {
+                Thread.onSpinWait();
+            }
+        });
+        started.await();
+
+        // Act
+        JvmDto jvmDto = jvmService.getJvm();
+        running.set(false);
+        thread.join();
+
+        // Assert
+        assertTrue(jvmDto.getMountedVirtualThreads() >= 1);
+    }
+
+    @Test
+    void testPauseCollectors() {
+        // Assert
+        assertTrue(JvmService.isPauseCollector("G1 Young Generation"));
+        assertTrue(JvmService.isPauseCollector("ZGC Major Pauses"));
+        assertFalse(JvmService.isPauseCollector("G1 Concurrent GC"));
+        assertFalse(JvmService.isPauseCollector("ZGC Major Cycles"));
+    }
+}
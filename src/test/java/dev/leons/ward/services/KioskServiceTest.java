@@ -0,0 +1,172 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.components.UtilitiesComponent;
+import dev.leons.ward.dto.InfoDto;
+import dev.leons.ward.dto.MachineDto;
+import dev.leons.ward.dto.ProcessorDto;
+import dev.leons.ward.dto.StorageDto;
+import dev.leons.ward.dto.UptimeDto;
+import dev.leons.ward.dto.UsageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class KioskServiceTest {
+
+    @Mock
+    private SnapshotService snapshotService;
+
+    @Mock
+    private UtilitiesComponent utilitiesComponent;
+
+    @Spy
+    private SpringTemplateEngine templateEngine = createTemplateEngine();
+
+    @InjectMocks
+    private KioskService kioskService;
+
+    private final InfoDto infoDto = createInfoDto();
+
+    private final UptimeDto uptimeDto = createUptimeDto();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(utilitiesComponent.getFromIniFile("theme")).thenReturn("light");
+        lenient().when(utilitiesComponent.getFromIniFile("serverName")).thenReturn("Kiosk");
+        when(snapshotService.getInfo()).thenReturn(infoDto);
+        when(snapshotService.getUptime()).thenReturn(uptimeDto);
+    }
+
+    @Test
+    void testPageIsRenderedOncePerSample() throws Exception {
+        // Arrange
+        List<UsageDto> firstHistory = List.of(createUsageDto(10, 20, 30));
+        List<UsageDto> secondHistory = List.of(createUsageDto(10, 20, 30), createUsageDto(40, 50, 60));
+        when(snapshotService.getUsageHistory()).thenReturn(firstHistory, firstHistory, firstHistory, secondHistory);
+
+        // Act - three kiosks read the same sample, then the sample changes
+        KioskService.Page first = kioskService.getPage(null, 5);
+        KioskService.Page second = kioskService.getPage(null, 5);
+        KioskService.Page third = kioskService.getPage("unknown", 5);
+        KioskService.Page changed = kioskService.getPage(null, 5);
+
+        // Assert
+        assertSame(first, second);
+        assertSame(first, third);
+        assertNotSame(first, changed);
+        assertNotEquals(first.getETag(), changed.getETag());
+        verify(templateEngine, times(2)).process(eq("kiosk"), any(IContext.class));
+    }
+
+    @Test
+    void testThemesAreRenderedSeparately() throws Exception {
+        // Arrange
+        when(snapshotService.getUsageHistory()).thenReturn(List.of(createUsageDto(10, 20, 30)));
+
+        // Act
+        String light = new String(kioskService.getPage("light", 5).getHtml(), StandardCharsets.UTF_8);
+        String dark = new String(kioskService.getPage("dark", 30).getHtml(), StandardCharsets.UTF_8);
+
+        // Assert
+        assertTrue(light.contains("class=\"light\""));
+        assertTrue(dark.contains("class=\"dark\""));
+        assertTrue(dark.contains("content=\"30\""));
+        assertTrue(dark.contains("<polyline"));
+        assertFalse(dark.contains("<script"));
+    }
+
+    @Test
+    void testPageCacheIsBounded() throws Exception {
+        // Arrange
+        when(snapshotService.getUsageHistory()).thenReturn(List.of(createUsageDto(10, 20, 30)));
+        KioskService.Page first = kioskService.getPage(null, KioskService.MIN_REFRESH);
+
+        // Act - every allowed refresh interval is requested
+        for (int refresh = KioskService.MIN_REFRESH; refresh <= KioskService.MAX_REFRESH; refresh++) {
+            kioskService.getPage(null, refresh);
+        }
+
+        // Assert - pages requested first are kept, later ones are rendered but not kept
+        assertSame(first, kioskService.getPage(null, KioskService.MIN_REFRESH));
+        assertNotSame(kioskService.getPage(null, KioskService.MAX_REFRESH), kioskService.getPage(null, KioskService.MAX_REFRESH));
+        assertTrue(new String(kioskService.getPage(null, KioskService.MAX_REFRESH).getHtml(), StandardCharsets.UTF_8).contains("content=\"3600\""));
+    }
+
+    @Test
+    void testSparklinePoints() {
+        // Arrange - newest sample is drawn at right edge, 100% at top
+        List<UsageDto> history = List.of(createUsageDto(0, 0, 0), createUsageDto(100, 0, 0));
+
+        // Act
+        String points = KioskService.getPoints(history, UsageDto::getProcessor);
+
+        // Assert
+        assertEquals("294.9,60.0 300.0,0.0", points);
+    }
+
+    private static SpringTemplateEngine createTemplateEngine() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+
+        SpringTemplateEngine springTemplateEngine = new SpringTemplateEngine();
+        springTemplateEngine.setTemplateResolver(templateResolver);
+        return springTemplateEngine;
+    }
+
+    private UsageDto createUsageDto(int processor, int ram, int storage) {
+        UsageDto usageDto = new UsageDto();
+        usageDto.setProcessor(processor);
+        usageDto.setRam(ram);
+        usageDto.setStorage(storage);
+        return usageDto;
+    }
+
+    private InfoDto createInfoDto() {
+        ProcessorDto processorDto = new ProcessorDto();
+        processorDto.setName("Test Processor");
+        processorDto.setClockSpeed("3.0 GHz");
+
+        MachineDto machineDto = new MachineDto();
+        machineDto.setTotalRam("8 GiB RAM");
+        machineDto.setProcCount("100 Procs");
+
+        StorageDto storageDto = new StorageDto();
+        storageDto.setTotal("1 TiB Total");
+        storageDto.setDiskCount("1 Disk");
+
+        InfoDto info = new InfoDto();
+        info.setProcessor(processorDto);
+        info.setMachine(machineDto);
+        info.setStorage(storageDto);
+        return info;
+    }
+
+    private UptimeDto createUptimeDto() {
+        UptimeDto uptime = new UptimeDto();
+        uptime.setDays("01");
+        uptime.setHours("02");
+        uptime.setMinutes("03");
+        uptime.setSeconds("04");
+        return uptime;
+    }
+}
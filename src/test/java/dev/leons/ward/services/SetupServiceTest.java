@@ -55,6 +55,7 @@ public class SetupServiceTest {
         setupDto.setPort("8080");
         setupDto.setEnableFog("true");
         setupDto.setBackgroundColor("#000000");
+        setupDto.setLowPower("true");
         
         // Ensure setup.ini doesn't exist before test
         File setupFile = new File(Ward.SETUP_FILE_PATH);
@@ -78,6 +79,7 @@ public class SetupServiceTest {
             Ini ini = new Ini(setupFile);
             assertEquals("Test Server", ini.get("setup", "serverName", String.class));
             assertEquals("dark", ini.get("setup", "theme", String.class));
+            assertEquals("true", ini.get("setup", "lowPower", String.class));
         } finally {
             // Clean up
             if (setupFile.exists()) {
@@ -0,0 +1,138 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.dto.StorageNodeDto;
+import dev.leons.ward.dto.StorageTreeDto;
+import dev.leons.ward.exceptions.ApplicationNotConfiguredException;
+import dev.leons.ward.exceptions.StorageTreeNotAvailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+public class StorageTreeServiceTest {
+
+    @TempDir
+    private Path root;
+
+    private final StorageTreeService storageTreeService = new StorageTreeService();
+
+    private MockedStatic<Ward> wardMockedStatic;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        wardMockedStatic = mockStatic(Ward.class);
+        wardMockedStatic.when(Ward::isFirstLaunch).thenReturn(false);
+
+        for (int i = 1; i <= 4; i++) {
+            write(root.resolve("dir" + i + "/nested/file.bin"), i * 100);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        storageTreeService.stop();
+        wardMockedStatic.close();
+    }
+
+    @Test
+    void testTreeIsLimitedByDepthAndCount() throws Exception {
+        // Arrange
+        storageTreeService.start(List.of(root), 60, 1440, 0, 2, 0);
+        storageTreeService.scan(true);
+
+        // Act
+        StorageTreeDto tree = storageTreeService.getTree(null, 1, 2);
+
+        // Assert
+        StorageNodeDto rootNode = tree.getNodes().getFirst();
+        assertEquals(1000, rootNode.getSize());
+        assertEquals(4, rootNode.getDirectoryCount());
+        assertEquals(2, rootNode.getChildren().size());
+        assertEquals("dir4", rootNode.getChildren().getFirst().getName());
+        assertEquals(root.resolve("dir4").toString(), rootNode.getChildren().getFirst().getPath());
+        assertTrue(rootNode.getChildren().getFirst().getChildren().isEmpty());
+        assertTrue(tree.getLastScan() > 0);
+    }
+
+    @Test
+    void testSubtreeIsFoundByPath() throws Exception {
+        // Arrange
+        storageTreeService.start(List.of(root), 60, 1440, 0, 2, 0);
+        storageTreeService.scan(true);
+
+        // Act
+        StorageTreeDto tree = storageTreeService.getTree(root.resolve("dir2").toString(), 2, 10);
+
+        // Assert
+        StorageNodeDto node = tree.getNodes().getFirst();
+        assertEquals(200, node.getSize());
+        assertEquals("file.bin", node.getChildren().getFirst().getFiles().getFirst().getName());
+        assertThrows(StorageTreeNotAvailableException.class, () -> storageTreeService.getTree(root.resolve("missing").toString(), 2, 10));
+    }
+
+    @Test
+    void testChangedDirectoryIsRescannedWithParents() throws Exception {
+        // Arrange
+        storageTreeService.start(List.of(root), 60, 1440, 0, 2, 0);
+        storageTreeService.scan(true);
+        Files.write(root.resolve("dir1/nested/file.bin"), new byte[600]);
+
+        // Act
+        storageTreeService.markDirty(root.resolve("dir1/nested"));
+        storageTreeService.rescanDirty();
+
+        // Assert
+        StorageNodeDto rootNode = storageTreeService.getTree(null, 1, 10).getNodes().getFirst();
+        assertEquals(1500, rootNode.getSize());
+        assertEquals("dir1", rootNode.getChildren().getFirst().getName());
+    }
+
+    @Test
+    void testTreeIsNotAvailableBeforeScanOrWhenDisabled() {
+        // Act & Assert
+        assertThrows(StorageTreeNotAvailableException.class, () -> storageTreeService.getTree(null, 2, 10));
+
+        storageTreeService.start(List.of(root), 60, 1440, 0, 2, 0);
+        assertThrows(StorageTreeNotAvailableException.class, () -> storageTreeService.getTree(null, 2, 10));
+    }
+
+    @Test
+    void testScanAfterStopDoesNothing() throws Exception {
+        // Arrange
+        storageTreeService.start(List.of(root), 60, 1440, 0, 2, 10);
+        storageTreeService.scan(true);
+        storageTreeService.stop();
+
+        // Act
+        storageTreeService.markDirty(root.resolve("dir1"));
+        storageTreeService.scan(true);
+        storageTreeService.rescanDirty();
+
+        // Assert
+        assertEquals(1000, storageTreeService.getTree(null, 0, 10).getNodes().getFirst().getSize());
+    }
+
+    @Test
+    void testSetupModeThrowsNotConfigured() {
+        // Arrange
+        wardMockedStatic.when(Ward::isFirstLaunch).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ApplicationNotConfiguredException.class, () -> storageTreeService.getTree(null, 2, 10));
+    }
+
+    private static void write(Path file, int size) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[size]);
+    }
+}
@@ -0,0 +1,153 @@
+package dev.leons.ward.services;
+
+import dev.leons.ward.collectors.Metric;
+import dev.leons.ward.collectors.TextfileParser;
+import dev.leons.ward.components.MetricsComponent;
+import dev.leons.ward.dto.MetricSourceDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TextfileServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    @Spy
+    private MetricsComponent metricsComponent = new MetricsComponent();
+
+    @InjectMocks
+    private TextfileService textfileService;
+
+    @AfterEach
+    void tearDown() {
+        textfileService.stop();
+    }
+
+    @Test
+    void testExistingFilesAreReadOnStart() throws Exception {
+        // Arrange
+        Files.writeString(directory.resolve("backup.prom"), "# TYPE backup_age_seconds gauge\nbackup_age_seconds 3600\n");
+        Files.writeString(directory.resolve("jobs.metrics"), "job_duration_seconds{job=\"nightly\"} 12.5 1700000000\n");
+        Files.writeString(directory.resolve("notes.txt"), "not metrics\n");
+
+        // Act
+        textfileService.start(directory);
+
+        // Assert
+        assertEquals(List.of("backup.prom", "jobs.metrics"), metricsComponent.getMetrics().getSources().stream().map(MetricSourceDto::getName).toList());
+        assertEquals(3600, getSource("backup.prom").orElseThrow().getMetrics().getFirst().getValue());
+        assertEquals("nightly", getSource("jobs.metrics").orElseThrow().getMetrics().getFirst().getLabels().get("job"));
+    }
+
+    @Test
+    void testAtomicallyReplacedFileIsReloaded() throws Exception {
+        // Arrange
+        Files.writeString(directory.resolve("backup.prom"), "backup_age_seconds 3600\n");
+        textfileService.start(directory);
+
+        // Act - write temporary file and rename it, like cron jobs should
+        Path temporary = directory.resolve("backup.prom.tmp");
+        Files.writeString(temporary, "backup_age_seconds 60\n");
+        Files.move(temporary, directory.resolve("backup.prom"), StandardCopyOption.ATOMIC_MOVE);
+
+        // Assert
+        awaitSource("backup.prom", source -> source.getMetrics().getFirst().getValue() == 60);
+        assertTrue(getSource("backup.prom.tmp").isEmpty());
+    }
+
+    @Test
+    void testDeletedFileIsRemoved() throws Exception {
+        // Arrange
+        Files.writeString(directory.resolve("backup.prom"), "backup_age_seconds 3600\n");
+        textfileService.start(directory);
+
+        // Act
+        Files.delete(directory.resolve("backup.prom"));
+
+        // Assert
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (getSource("backup.prom").isPresent() && (System.currentTimeMillis() < deadline)) {
+            Thread.sleep(20);
+        }
+        assertTrue(getSource("backup.prom").isEmpty());
+    }
+
+    @Test
+    void testRecreatedDirectoryIsWatchedAgain() throws Exception {
+        // Arrange
+        Path textfiles = Files.createDirectory(directory.resolve("textfiles"));
+        Files.writeString(textfiles.resolve("backup.prom"), "backup_age_seconds 3600\n");
+        textfileService.start(textfiles);
+
+        // Act - remove directory, like cleanup of temporary directory would, and create it again
+        Files.delete(textfiles.resolve("backup.prom"));
+        Files.delete(textfiles);
+        Files.createDirectory(textfiles);
+        Files.writeString(textfiles.resolve("jobs.prom"), "job_duration_seconds 12.5\n");
+
+        // Assert
+        awaitSource("jobs.prom", source -> source.getMetrics().getFirst().getValue() == 12.5);
+    }
+
+    @Test
+    void testInvalidFileIsReported() throws Exception {
+        // Arrange
+        Files.writeString(directory.resolve("broken.prom"), "valid 1\ninvalid{job=\"x} 2\n");
+
+        // Act
+        textfileService.start(directory);
+
+        // Assert
+        MetricSourceDto source = getSource("broken.prom").orElseThrow();
+        assertEquals("Line 2: Unterminated value of label job", source.getError());
+        assertTrue(source.getMetrics().isEmpty());
+    }
+
+    @Test
+    void testParserHandlesEscapesAndSpecialValues() throws Exception {
+        // Arrange
+        String text = "# HELP escaped Escaped label\nescaped{path=\"C:\\\\temp\",quote=\"a\\\"b\"} +Inf\nmissing NaN\n";
+
+        // Act
+        List<Metric> metrics = TextfileParser.parse(new StringReader(text), 10);
+
+        // Assert
+        assertEquals("C:\\temp", metrics.get(0).labels().get("path"));
+        assertEquals("a\"b", metrics.get(0).labels().get("quote"));
+        assertEquals(Double.POSITIVE_INFINITY, metrics.get(0).value());
+        assertTrue(Double.isNaN(metrics.get(1).value()));
+        assertThrows(IllegalArgumentException.class, () -> TextfileParser.parse(new StringReader("a 1\nb 2\n"), 1));
+    }
+
+    private Optional<MetricSourceDto> getSource(String name) {
+        return metricsComponent.getMetrics().getSources().stream().filter(source -> source.getName().equals(name)).findFirst();
+    }
+
+    private void awaitSource(String name, Predicate<MetricSourceDto> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<MetricSourceDto> source = getSource(name);
+            if (source.isPresent() && (source.get().getError() == null) && condition.test(source.get())) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("Source " + name + " was not updated");
+    }
+}
@@ -0,0 +1,162 @@
+package dev.leons.ward.simulation;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.StatsComponent;
+import dev.leons.ward.components.UtilitiesComponent;
+import dev.leons.ward.dto.InfoDto;
+import dev.leons.ward.dto.UsageDto;
+import dev.leons.ward.services.InfoService;
+import dev.leons.ward.services.UptimeService;
+import dev.leons.ward.services.UsageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import oshi.SystemInfoFFM;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplaySystemInfoTest {
+
+    private static final SimulationSettings HOST = new SimulationSettings(7, 12, 32L << 30, 2, 3, 250, 1);
+
+    private static final long START = 1_700_000_000_000L;
+
+    private static final int SECONDS = 120;
+
+    @TempDir
+    private Path directory;
+
+    private final AtomicLong recordedClock = new AtomicLong();
+
+    private final AtomicLong replayClock = new AtomicLong();
+
+    private SimulatedSystemInfo recorded;
+
+    private Path trace;
+
+    private boolean wasFirstLaunch;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        wasFirstLaunch = Ward.isFirstLaunch();
+        ReflectionTestUtils.setField(Ward.class, "isFirstLaunch", false);
+
+        recorded = new SimulatedSystemInfo(HOST, recordedClock::get);
+        trace = directory.resolve("host.trace");
+        try (TraceWriter writer = new TraceWriter(Files.newOutputStream(trace), TraceHeader.describe(recorded))) {
+            for (int i = 0; i < SECONDS; i++) {
+                recordedClock.set(i * 1_000_000_000L);
+                writer.write(TraceFrame.capture(recorded, START + i * 1000L));
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(Ward.class, "isFirstLaunch", wasFirstLaunch);
+    }
+
+    @Test
+    void testServicesComputeRecordedUsage() throws Exception {
+        // Arrange
+        ReplaySystemInfo replay = new ReplaySystemInfo(trace, 1, false, replayClock::get);
+        UsageService recordedUsage = createUsageService(recorded);
+        UsageService replayedUsage = createUsageService(replay);
+        InfoService replayedInfo = createInfoService(replay);
+
+        // Act & Assert - both hosts are read at same moments, first call takes baseline
+        for (int second = 10; second < SECONDS; second += 10) {
+            recordedClock.set(second * 1_000_000_000L);
+            replayClock.set(second * 1_000_000_000L);
+            UsageDto expected = recordedUsage.getUsage();
+            UsageDto actual = replayedUsage.getUsage();
+
+            assertEquals(expected.getProcessor(), actual.getProcessor());
+            assertEquals(expected.getRam(), actual.getRam());
+            assertEquals(expected.getStorage(), actual.getStorage());
+        }
+
+        InfoDto expectedInfo = createInfoService(recorded).getInfo();
+        InfoDto actualInfo = replayedInfo.getInfo();
+        assertEquals(expectedInfo.getProcessor().getName(), actualInfo.getProcessor().getName());
+        assertEquals(expectedInfo.getProcessor().getCoreCount(), actualInfo.getProcessor().getCoreCount());
+        assertEquals(expectedInfo.getMachine().getTotalRam(), actualInfo.getMachine().getTotalRam());
+        assertEquals(expectedInfo.getStorage().getDiskCount(), actualInfo.getStorage().getDiskCount());
+        assertEquals(expectedInfo.getStorage().getTotal(), actualInfo.getStorage().getTotal());
+    }
+
+    @Test
+    void testAcceleratedReplay() throws Exception {
+        // Arrange
+        ReplaySystemInfo replay = new ReplaySystemInfo(trace, 60, false, replayClock::get);
+        UptimeService uptimeService = new UptimeService();
+        ReflectionTestUtils.setField(uptimeService, "systemInfo", replay);
+
+        // Act - one second of wall clock is a minute of trace
+        replayClock.set(1_000_000_000L);
+        recordedClock.set(60_000_000_000L);
+
+        // Assert
+        assertEquals(recorded.getOperatingSystem().getSystemUptime(), replay.getOperatingSystem().getSystemUptime());
+        assertEquals(recorded.getHardware().getMemory().getAvailable(), replay.getHardware().getMemory().getAvailable());
+        assertEquals(String.format("%02d", recorded.getOperatingSystem().getSystemUptime() % 60), uptimeService.getUptime().getSeconds());
+    }
+
+    @Test
+    void testReplayHoldsLastFrameOrLoops() throws Exception {
+        // Arrange
+        ReplaySystemInfo held = new ReplaySystemInfo(trace, 1, false, replayClock::get);
+        ReplaySystemInfo looped = new ReplaySystemInfo(trace, 1, true, replayClock::get);
+        replayClock.set((SECONDS - 1) * 1_000_000_000L);
+        long[] lastTicks = looped.getHardware().getProcessor().getSystemCpuLoadTicks();
+        long lastUptime = looped.getOperatingSystem().getSystemUptime();
+
+        // Act - past end of trace, into its second pass
+        replayClock.set((SECONDS + 30) * 1_000_000_000L);
+
+        // Assert
+        assertArrayEquals(lastTicks, held.getHardware().getProcessor().getSystemCpuLoadTicks());
+        assertEquals(lastUptime, held.getOperatingSystem().getSystemUptime());
+
+        long[] loopedTicks = looped.getHardware().getProcessor().getSystemCpuLoadTicks();
+        assertTrue(Arrays.stream(loopedTicks).sum() > Arrays.stream(lastTicks).sum());
+        for (int i = 0; i < loopedTicks.length; i++) {
+            assertTrue(loopedTicks[i] >= lastTicks[i]);
+        }
+        assertTrue(looped.getOperatingSystem().getSystemUptime() > lastUptime);
+    }
+
+    @Test
+    void testEmptyTraceIsRejected() throws Exception {
+        // Arrange
+        Path empty = directory.resolve("empty.trace");
+        new TraceWriter(Files.newOutputStream(empty), TraceHeader.describe(recorded)).close();
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> new ReplaySystemInfo(empty, 1, true, replayClock::get));
+        assertThrows(IllegalArgumentException.class, () -> new ReplaySystemInfo(trace, 0, true, replayClock::get));
+    }
+
+    private UsageService createUsageService(SystemInfoFFM systemInfo) {
+        UsageService usageService = new UsageService();
+        ReflectionTestUtils.setField(usageService, "systemInfo", systemInfo);
+        ReflectionTestUtils.setField(usageService, "statsComponent", new StatsComponent());
+        return usageService;
+    }
+
+    private InfoService createInfoService(SystemInfoFFM systemInfo) {
+        InfoService infoService = new InfoService();
+        ReflectionTestUtils.setField(infoService, "systemInfo", systemInfo);
+        ReflectionTestUtils.setField(infoService, "statsComponent", new StatsComponent());
+        ReflectionTestUtils.setField(infoService, "utilitiesComponent", new UtilitiesComponent());
+        return infoService;
+    }
+}
@@ -0,0 +1,173 @@
+package dev.leons.ward.simulation;
+
+import dev.leons.ward.Ward;
+import dev.leons.ward.components.StatsComponent;
+import dev.leons.ward.components.UtilitiesComponent;
+import dev.leons.ward.dto.InfoDto;
+import dev.leons.ward.dto.UsageDto;
+import dev.leons.ward.services.InfoService;
+import dev.leons.ward.services.UsageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import oshi.hardware.CentralProcessor;
+import oshi.software.os.OSProcess;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulatedSystemInfoTest {
+
+    private static final SimulationSettings LARGE_HOST = new SimulationSettings(42, 256, 1024L << 30, 40, 40, 5000, 8);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private boolean wasFirstLaunch;
+
+    @BeforeEach
+    void setUp() {
+        wasFirstLaunch = Ward.isFirstLaunch();
+        ReflectionTestUtils.setField(Ward.class, "isFirstLaunch", false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(Ward.class, "isFirstLaunch", wasFirstLaunch);
+    }
+
+    @Test
+    void testSameSeedGivesSameCounters() {
+        // Arrange - second simulation is read ten times as often, which must not change its values
+        AtomicLong otherClock = new AtomicLong();
+        HardwareSimulation first = new HardwareSimulation(LARGE_HOST, clock::get);
+        HardwareSimulation second = new HardwareSimulation(LARGE_HOST, otherClock::get);
+
+        // Act
+        for (int i = 1; i <= 100; i++) {
+            otherClock.set(i * 10_000_000L);
+            second.getSystemTicks();
+        }
+        clock.set(1_000_000_000L);
+
+        // Assert
+        assertArrayEquals(first.getSystemTicks(), second.getSystemTicks());
+        assertArrayEquals(first.getFrequencies(), second.getFrequencies());
+        assertEquals(first.getAvailableMemory(), second.getAvailableMemory());
+        assertEquals(first.getDiskReadBytes(7), second.getDiskReadBytes(7));
+        assertEquals(first.getUptime(), second.getUptime());
+    }
+
+    @Test
+    void testDifferentSeedGivesDifferentHost() {
+        // Arrange
+        HardwareSimulation first = new HardwareSimulation(LARGE_HOST, clock::get);
+        HardwareSimulation second = new HardwareSimulation(new SimulationSettings(43, 256, 1024L << 30, 40, 40, 5000, 8), clock::get);
+
+        // Act
+        clock.set(1_000_000_000L);
+
+        // Assert
+        assertFalse(Arrays.equals(first.getSystemTicks(), second.getSystemTicks()));
+        assertNotEquals(first.getUptime(), second.getUptime());
+    }
+
+    @Test
+    void testCountersEvolveWithTime() {
+        // Arrange
+        SimulatedSystemInfo systemInfo = new SimulatedSystemInfo(LARGE_HOST, clock::get);
+        CentralProcessor processor = systemInfo.getHardware().getProcessor();
+
+        // Act
+        clock.set(1_000_000_000L);
+        long[] before = processor.getSystemCpuLoadTicks();
+        long readBefore = systemInfo.getHardware().getDiskStores().getFirst().getReadBytes();
+        clock.set(2_000_000_000L);
+        long[] after = processor.getSystemCpuLoadTicks();
+        long readAfter = systemInfo.getHardware().getDiskStores().getFirst().getReadBytes();
+
+        // Assert - one second of 256 cores at 100 Hz
+        assertEquals(256 * 100, Arrays.stream(after).sum() - Arrays.stream(before).sum());
+        assertTrue(readAfter > readBefore);
+        double load = processor.getSystemCpuLoadBetweenTicks(before);
+        assertTrue((load > 0) && (load < 1));
+    }
+
+    @Test
+    void testProcessorTicksAddUpToHost() {
+        // Arrange
+        SimulatedSystemInfo systemInfo = new SimulatedSystemInfo(LARGE_HOST, clock::get);
+        clock.set(10_000_000_000L);
+
+        // Act
+        long[][] processorTicks = systemInfo.getHardware().getProcessor().getProcessorCpuLoadTicks();
+
+        // Assert - every core has exactly 100 Hz of ticks
+        assertEquals(256, processorTicks.length);
+        for (long[] coreTicks : processorTicks) {
+            assertEquals(1000, Arrays.stream(coreTicks).sum());
+            assertTrue(Arrays.stream(coreTicks).allMatch(tick -> tick >= 0));
+        }
+    }
+
+    @Test
+    void testProcessesCanBeFilteredSortedAndLimited() {
+        // Arrange
+        SimulatedSystemInfo systemInfo = new SimulatedSystemInfo(LARGE_HOST, clock::get);
+
+        // Act
+        List<OSProcess> all = systemInfo.getOperatingSystem().getProcesses();
+        List<OSProcess> top = systemInfo.getOperatingSystem().getProcesses(process -> process.getName().equals("java"),
+                Comparator.comparingLong(OSProcess::getResidentSetSize).reversed(), 5);
+
+        // Assert
+        assertEquals(5000, all.size());
+        assertEquals(5, top.size());
+        assertTrue(top.getFirst().getResidentSetSize() >= top.getLast().getResidentSetSize());
+        assertEquals(1000, systemInfo.getOperatingSystem().getProcess(1000).getProcessID());
+    }
+
+    @Test
+    void testUnsimulatedMethodIsReported() {
+        // Arrange
+        SimulatedSystemInfo systemInfo = new SimulatedSystemInfo(LARGE_HOST, clock::get);
+
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> systemInfo.getHardware().getSensors());
+    }
+
+    @Test
+    void testWardServicesReadSimulatedHost() throws Exception {
+        // Arrange
+        SimulatedSystemInfo systemInfo = new SimulatedSystemInfo(LARGE_HOST, clock::get);
+        StatsComponent statsComponent = new StatsComponent();
+
+        UsageService usageService = new UsageService();
+        ReflectionTestUtils.setField(usageService, "systemInfo", systemInfo);
+        ReflectionTestUtils.setField(usageService, "statsComponent", statsComponent);
+
+        InfoService infoService = new InfoService();
+        ReflectionTestUtils.setField(infoService, "systemInfo", systemInfo);
+        ReflectionTestUtils.setField(infoService, "statsComponent", statsComponent);
+        ReflectionTestUtils.setField(infoService, "utilitiesComponent", new UtilitiesComponent());
+
+        // Act
+        clock.set(5_000_000_000L);
+        usageService.getUsage();
+        clock.set(6_000_000_000L);
+        UsageDto usage = usageService.getUsage();
+        InfoDto info = infoService.getInfo();
+
+        // Assert
+        assertEquals("256 Cores", info.getProcessor().getCoreCount());
+        assertEquals("40 Disks", info.getStorage().getDiskCount());
+        assertTrue(info.getMachine().getOperatingSystem().startsWith("Simulated Linux"));
+        assertTrue((usage.getProcessor() >= 0) && (usage.getProcessor() <= 100));
+        assertTrue((usage.getRam() > 0) && (usage.getRam() < 100));
+        assertTrue((usage.getStorage() > 0) && (usage.getStorage() < 100));
+    }
+}
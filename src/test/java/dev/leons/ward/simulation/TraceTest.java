@@ -0,0 +1,94 @@
+package dev.leons.ward.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TraceTest {
+
+    private static final SimulationSettings HOST = new SimulationSettings(42, 16, 64L << 30, 3, 4, 400, 2);
+
+    private static final long START = 1_700_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void testFramesAreReadAsWritten() throws Exception {
+        // Arrange
+        SimulatedSystemInfo systemInfo = new SimulatedSystemInfo(HOST, clock::get);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<TraceFrame> frames = new ArrayList<>();
+
+        // Act
+        try (TraceWriter writer = new TraceWriter(output, TraceHeader.describe(systemInfo))) {
+            for (int i = 0; i < 600; i++) {
+                clock.set(i * 1_000_000_000L);
+                TraceFrame frame = TraceFrame.capture(systemInfo, START + i * 1000L);
+                frames.add(frame);
+                writer.write(frame);
+            }
+        }
+
+        // Assert
+        try (TraceReader reader = new TraceReader(new ByteArrayInputStream(output.toByteArray()))) {
+            assertEquals(TraceHeader.describe(systemInfo), reader.getHeader());
+            for (TraceFrame frame : frames) {
+                assertEquals(frame, reader.read());
+            }
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    void testFramesAreCompact() throws Exception {
+        // Arrange
+        SimulatedSystemInfo systemInfo = new SimulatedSystemInfo(HOST, clock::get);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int headerSize;
+
+        // Act
+        try (TraceWriter writer = new TraceWriter(output, TraceHeader.describe(systemInfo))) {
+            headerSize = (int) writer.size();
+            for (int i = 0; i < 3600; i++) {
+                clock.set(i * 1_000_000_000L);
+                writer.write(TraceFrame.capture(systemInfo, START + i * 1000L));
+            }
+        }
+
+        // Assert - raw frame of this host holds 21 longs, 168 bytes
+        double bytesPerFrame = (output.size() - headerSize) / 3600.0;
+        assertTrue(bytesPerFrame < 84, "Frame takes " + bytesPerFrame + " bytes");
+    }
+
+    @Test
+    void testCutOffFrameEndsTrace() throws Exception {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (TraceWriter writer = new TraceWriter(output, TraceHeader.describe(new SimulatedSystemInfo(HOST, clock::get)))) {
+            writer.write(new TraceFrame(START, new long[]{100, 200}, 2_000_000_000L, 1 << 30, new long[]{1 << 30}, new long[]{1 << 29}, 60, 300));
+            writer.write(new TraceFrame(START + 1000, new long[]{150, 250}, 2_000_000_000L, 1 << 30, new long[]{1 << 30}, new long[]{1 << 29}, 61, 301));
+        }
+        byte[] bytes = output.toByteArray();
+
+        // Act
+        TraceReader reader = new TraceReader(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 2)));
+
+        // Assert
+        assertEquals(60, reader.read().uptime());
+        assertNull(reader.read());
+    }
+
+    @Test
+    void testOtherFileIsRejected() {
+        // Act & Assert
+        assertThrows(IOException.class, () -> new TraceReader(new ByteArrayInputStream("not a trace at all".getBytes())));
+    }
+}
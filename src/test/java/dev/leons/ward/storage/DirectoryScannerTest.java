@@ -0,0 +1,134 @@
+package dev.leons.ward.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DirectoryScannerTest {
+
+    @TempDir
+    private Path root;
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @Test
+    void testSizesAreSummedAndSorted() throws Exception {
+        // Arrange
+        write(root.resolve("small/a.bin"), 10);
+        write(root.resolve("large/b.bin"), 300);
+        write(root.resolve("large/nested/c.bin"), 200);
+        write(root.resolve("d.bin"), 5);
+
+        // Act
+        StorageNode node = scan(null, true, Set.of());
+
+        // Assert
+        assertEquals(515, node.size());
+        assertEquals(4, node.fileCount());
+        assertEquals(5, node.ownSize());
+        assertEquals("large", node.children()[0].name());
+        assertEquals(500, node.children()[0].size());
+        assertEquals("small", node.children()[1].name());
+        assertEquals("b.bin", node.getChild("large").largestFiles()[0].name());
+    }
+
+    @Test
+    void testOnlyLargestFilesAreKept() throws Exception {
+        // Arrange
+        for (int i = 1; i <= 8; i++) {
+            write(root.resolve("file" + i), i);
+        }
+
+        // Act
+        StorageNode node = scan(null, true, Set.of());
+
+        // Assert
+        assertEquals(8, node.ownFileCount());
+        assertEquals(StorageNode.LARGEST_FILES, node.largestFiles().length);
+        assertEquals("file8", node.largestFiles()[0].name());
+        assertEquals("file4", node.largestFiles()[4].name());
+    }
+
+    @Test
+    void testUnchangedTreeIsReused() throws Exception {
+        // Arrange
+        write(root.resolve("first/a.bin"), 10);
+        write(root.resolve("second/b.bin"), 20);
+        StorageNode previous = scan(null, true, Set.of());
+
+        // Act
+        StorageNode rescanned = scan(previous, false, Set.of());
+
+        // Assert
+        assertSame(previous, rescanned);
+    }
+
+    @Test
+    void testDirtyDirectoryIsListedAndSiblingsAreShared() throws Exception {
+        // Arrange - growing file does not change modification time of its directory, so watch hint is needed
+        write(root.resolve("first/a.bin"), 10);
+        write(root.resolve("second/b.bin"), 20);
+        StorageNode previous = scan(null, true, Set.of());
+        Files.write(root.resolve("first/a.bin"), new byte[100]);
+
+        // Act
+        StorageNode unmarked = scan(previous, false, Set.of());
+        StorageNode marked = scan(previous, false, Set.of(root.resolve("first")));
+
+        // Assert
+        assertEquals(30, unmarked.size());
+        assertEquals(120, marked.size());
+        assertSame(previous.getChild("second"), marked.getChild("second"));
+        assertNotSame(previous.getChild("first"), marked.getChild("first"));
+    }
+
+    @Test
+    void testRemovedDirectoryIsDropped() throws Exception {
+        // Arrange
+        write(root.resolve("kept/a.bin"), 10);
+        write(root.resolve("removed/b.bin"), 20);
+        StorageNode previous = scan(null, true, Set.of());
+        Files.delete(root.resolve("removed/b.bin"));
+        Files.delete(root.resolve("removed"));
+
+        // Act
+        StorageNode rescanned = scan(previous, false, Set.of());
+
+        // Assert
+        assertEquals(10, rescanned.size());
+        assertNull(rescanned.getChild("removed"));
+    }
+
+    @Test
+    void testThrottleLimitsRate() {
+        // Arrange
+        ScanThrottle throttle = new ScanThrottle(1000);
+        long start = System.nanoTime();
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            throttle.acquire();
+        }
+
+        // Assert - 200 entries at 1000 per second take at least 199 ms
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 190);
+    }
+
+    private StorageNode scan(StorageNode previous, boolean full, Set<Path> dirty) {
+        DirectoryScanner.Context context = new DirectoryScanner.Context(root, new ScanThrottle(0), full, dirty);
+        return pool.invoke(new DirectoryScanner(root, previous, context));
+    }
+
+    private static void write(Path file, int size) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[size]);
+    }
+}